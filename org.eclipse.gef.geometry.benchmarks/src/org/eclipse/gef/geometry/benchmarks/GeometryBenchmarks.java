@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for running the geometry benchmarks. Accepts the regular JMH
+ * command line options, and in addition always enables the
+ * {@link GCProfiler}, so that allocation rates are reported along with the
+ * execution times.
+ *
+ * @author agent
+ *
+ */
+public final class GeometryBenchmarks {
+
+	private GeometryBenchmarks() {
+		// not intended to be instantiated
+	}
+
+	/**
+	 * Runs the benchmarks selected by the given command line arguments (or all
+	 * benchmarks if none are selected).
+	 *
+	 * @param args
+	 *            The JMH command line arguments.
+	 * @throws CommandLineOptionException
+	 *             If the given arguments cannot be parsed.
+	 * @throws RunnerException
+	 *             If running the benchmarks fails.
+	 * @throws IOException
+	 *             If printing the help fails.
+	 */
+	public static void main(String[] args) throws CommandLineOptionException,
+			RunnerException, IOException {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		if (commandLineOptions.shouldHelp()) {
+			commandLineOptions.showHelp();
+			return;
+		}
+		new Runner(new OptionsBuilder().parent(commandLineOptions)
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.benchmarks;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
+import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.planar.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the boolean operations of {@link Path} against the equivalent
+ * operations of {@link Area} (including the conversion from and to
+ * {@link Path}), on which they had been based before. The operands are two
+ * overlapping, wavy polygons with the given number of vertices each, whose
+ * outlines intersect each other a few dozen times.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class PathBooleanOperationsBenchmark {
+
+	/**
+	 * The benchmarked boolean operations.
+	 */
+	public enum Operation {
+		/**
+		 * {@link Path#add(Path, Path)} or {@link Area#add(Area)}.
+		 */
+		ADD {
+			@Override
+			Path apply(Path pa, Path pb) {
+				return Path.add(pa, pb);
+			}
+
+			@Override
+			void apply(Area a, Area b) {
+				a.add(b);
+			}
+		},
+		/**
+		 * {@link Path#exclusiveOr(Path, Path)} or
+		 * {@link Area#exclusiveOr(Area)}.
+		 */
+		EXCLUSIVE_OR {
+			@Override
+			Path apply(Path pa, Path pb) {
+				return Path.exclusiveOr(pa, pb);
+			}
+
+			@Override
+			void apply(Area a, Area b) {
+				a.exclusiveOr(b);
+			}
+		},
+		/**
+		 * {@link Path#intersect(Path, Path)} or {@link Area#intersect(Area)}.
+		 */
+		INTERSECT {
+			@Override
+			Path apply(Path pa, Path pb) {
+				return Path.intersect(pa, pb);
+			}
+
+			@Override
+			void apply(Area a, Area b) {
+				a.intersect(b);
+			}
+		},
+		/**
+		 * {@link Path#subtract(Path, Path)} or {@link Area#subtract(Area)}.
+		 */
+		SUBTRACT {
+			@Override
+			Path apply(Path pa, Path pb) {
+				return Path.subtract(pa, pb);
+			}
+
+			@Override
+			void apply(Area a, Area b) {
+				a.subtract(b);
+			}
+		};
+
+		abstract void apply(Area a, Area b);
+
+		abstract Path apply(Path pa, Path pb);
+	}
+
+	/**
+	 * Creates a closed polygon around the given center, whose radius varies
+	 * with the given number of waves (and a high frequency ripple).
+	 */
+	private static Path createWavyPolygon(int vertexCount, double cx,
+			double cy, double radius, int waves) {
+		Path path = new Path();
+		for (int i = 0; i < vertexCount; i++) {
+			double angle = 2 * Math.PI * i / vertexCount;
+			double r = radius * (1 + 0.2 * Math.sin(waves * angle)
+					+ 0.05 * Math.sin(vertexCount / 7d * angle));
+			double x = cx + r * Math.cos(angle);
+			double y = cy + r * Math.sin(angle);
+			if (i == 0) {
+				path.moveTo(x, y);
+			} else {
+				path.lineTo(x, y);
+			}
+		}
+		return path.close();
+	}
+
+	/**
+	 * The benchmarked {@link Operation}.
+	 */
+	@Param
+	public Operation operation;
+
+	/**
+	 * The number of vertices of each operand.
+	 */
+	@Param({ "1000", "10000", "50000" })
+	public int vertexCount;
+
+	private Path pa;
+	private Path pb;
+
+	/**
+	 * Benchmarks the conversion to {@link Area}s, the operation on them, and
+	 * the conversion of the result back to a {@link Path}.
+	 *
+	 * @return The resulting {@link Path}.
+	 */
+	@Benchmark
+	public Path awt() {
+		Area a = new Area(Geometry2AWT.toAWTPath(pa));
+		Area b = new Area(Geometry2AWT.toAWTPath(pb));
+		operation.apply(a, b);
+		return AWT2Geometry.toPath(new Path2D.Double(a));
+	}
+
+	/**
+	 * Benchmarks the native operation of {@link Path}.
+	 *
+	 * @return The resulting {@link Path}.
+	 */
+	@Benchmark
+	public Path path() {
+		return operation.apply(pa, pb);
+	}
+
+	/**
+	 * Creates the operands.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		pa = createWavyPolygon(vertexCount, 50, 50, 50, 7);
+		pb = createWavyPolygon(vertexCount, 60, 40, 45, 11);
+	}
+
+}
@@ -12,8 +12,12 @@
  *******************************************************************************/
 package org.eclipse.gef.geometry.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.awt.geom.NoninvertibleTransformException;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.planar.AffineTransform;
@@ -22,6 +26,19 @@ import org.junit.Test;
 
 public class AffineTransformTests {
 
+	@Test
+	public void test_concatenate() {
+		AffineTransform tx = new AffineTransform().translate(10, 0).scale(2, 2);
+		// concatenation with itself
+		tx.concatenate(tx);
+		assertEquals(new AffineTransform(4, 0, 0, 4, 30, 0), tx);
+		AffineTransform rotation = new AffineTransform().quadrantRotate(1);
+		tx.setToTranslation(10, 0).preConcatenate(rotation);
+		assertEquals(new Point(0, 11), tx.getTransformed(new Point(1, 0)));
+		tx.setToTranslation(10, 0).concatenate(rotation);
+		assertEquals(new Point(10, 1), tx.getTransformed(new Point(1, 0)));
+	}
+
 	@Test
 	public void test_equals() {
 		AffineTransform t0 = new AffineTransform();
@@ -36,6 +53,28 @@ public class AffineTransformTests {
 		assertEquals(t0, t1);
 	}
 
+	@Test
+	public void test_inverse() throws NoninvertibleTransformException {
+		AffineTransform tx = new AffineTransform().translate(10, 20).scale(2,
+				4);
+		Point p = new Point(3, 5);
+		assertEquals(p, tx.inverseTransform(tx.getTransformed(p)));
+		assertEquals(p, tx.getInverse().getTransformed(tx.getTransformed(p)));
+		// the (cached) inverse has to reflect changes of the matrix
+		tx.translate(-5, -5);
+		assertEquals(p, tx.inverseTransform(tx.getTransformed(p)));
+		AffineTransform inverse = tx.getInverse();
+		assertEquals(inverse, tx.getCopy().invert());
+		assertEquals(tx, tx.getCopy().invert().invert());
+		tx.scale(0, 1);
+		try {
+			tx.invert();
+			fail("NoninvertibleTransformException expected");
+		} catch (NoninvertibleTransformException e) {
+			// expected
+		}
+	}
+
 	@Test
 	public void test_rotate90() {
 		AffineTransform tx = new AffineTransform();
@@ -44,4 +83,20 @@ public class AffineTransformTests {
 		assertEquals(new Point(0, 1), tx.getTransformed(new Point(1, 0)));
 	}
 
+	@Test
+	public void test_transform() {
+		AffineTransform tx = new AffineTransform().translate(1, 2).scale(2,
+				3);
+		double[] points = new double[] { 1, 1, 2, 2, 0, 0 };
+		// transform the first two points in place, but shifted by one point
+		tx.transform(points, 0, points, 2, 2);
+		assertArrayEquals(new double[] { 1, 1, 3, 5, 5, 8 }, points, 0);
+		tx.deltaTransform(points, 4, points, 4, 1);
+		assertArrayEquals(new double[] { 1, 1, 3, 5, 10, 24 }, points, 0);
+		assertArrayEquals(
+				new Point[] { new Point(1, 2), new Point(3, 5) },
+				tx.getTransformed(
+						new Point[] { new Point(0, 0), new Point(1, 1) }));
+	}
+
 }
@@ -19,15 +19,15 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ AffineTransformTests.class, AngleTests.class, ArcTests.class,
-		AWTConversionTests.class, BezierCurveTests.class, CubicCurveTests.class,
-		CurvedPolygonTests.class, CurveUtilsTests.class, DimensionTests.class,
-		EllipseTests.class, IGeometryTests.class, LineTests.class,
-		PathTests.class, PieTests.class, PointListUtilsTests.class,
-		PointTests.class, PolygonTests.class, PolylineTests.class,
-		PrecisionUtilsTests.class, QuadraticCurveTests.class,
-		RectangleTests.class, RegionTests.class, RingTests.class,
-		RoundedRectangleTests.class, StraightTests.class, VectorTests.class,
-		Vector3DTests.class })
+		AWTConversionTests.class, BezierCurveTests.class, BezierUtilsTests.class,
+		CubicCurveTests.class, CurvedPolygonTests.class, CurveUtilsTests.class,
+		DimensionTests.class, EllipseTests.class, IGeometryTests.class,
+		LineTests.class, PathTests.class, PieTests.class,
+		PointListUtilsTests.class, PointTests.class, PolygonTests.class,
+		PolylineTests.class, PrecisionUtilsTests.class,
+		QuadraticCurveTests.class, RectangleTests.class, RegionTests.class,
+		RingTests.class, RoundedRectangleTests.class, StraightTests.class,
+		VectorTests.class, Vector3DTests.class })
 public class AllTests {
 
 }
@@ -23,6 +23,7 @@ import java.util.Arrays;
 
 import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
 import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.CubicCurve;
@@ -679,6 +680,27 @@ public class BezierCurveTests {
 				.getDistance(test));
 	}
 
+	@Test
+	public void test_projection_after_change() {
+		BezierCurve c0 = new BezierCurve(0, 0, 50, 50, 100, 0);
+		Point reference = new Point(50, 100);
+		assertEquals(new Point(50, 25), c0.getProjection(reference));
+
+		// the cached look up table has to be updated
+		c0.setPoint(1, new Point(50, -50));
+		assertEquals(new Point(50, -25),
+				c0.getProjection(new Point(50, -100)));
+		assertEquals(new Point(0, 0), c0.getProjection(reference));
+		c0.rotateCCW(Angle.fromDeg(180), new Point(50, 0));
+		assertEquals(new Point(50, 25), c0.getProjection(reference));
+
+		// the projection is a local minimum of the distance
+		for (double t = 0; t <= 1; t += 0.01) {
+			assertTrue(reference.getDistance(c0.get(t)) >= reference
+					.getDistance(c0.getProjection(reference)) - 1e-9);
+		}
+	}
+
 	@Test
 	public void test_split() {
 		BezierCurve c0 = new BezierCurve(1, 1, 1, 10, 10, 1, 10, 10);
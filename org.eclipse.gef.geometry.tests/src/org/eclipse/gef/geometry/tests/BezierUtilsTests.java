@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.geometry.internal.utils.BezierUtils;
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+import org.eclipse.gef.geometry.planar.Point;
+import org.junit.Test;
+
+public class BezierUtilsTests {
+
+	private static final double[] CUBIC = new double[] { 0, 0, 10, 30, 40, -20,
+			50, 10 };
+
+	private static void assertCoordinatesEqual(double[] expected,
+			double[] actual, int count) {
+		for (int i = 0; i < 2 * count; i++) {
+			assertTrue(expected[i] + " != " + actual[i],
+					PrecisionUtils.equal(expected[i], actual[i]));
+		}
+	}
+
+	@Test
+	public void test_clip() {
+		double[] clipped = new double[8];
+		BezierUtils.clip(CUBIC, 4, 0.25, 0.75, clipped);
+		// start and end points are the points at s and e
+		assertTrue(new Point(clipped[0], clipped[1]).equals(
+				new Point(BezierUtils.evaluate(CUBIC, 4, 0, 0.25),
+						BezierUtils.evaluate(CUBIC, 4, 1, 0.25))));
+		assertTrue(new Point(clipped[6], clipped[7]).equals(
+				new Point(BezierUtils.evaluate(CUBIC, 4, 0, 0.75),
+						BezierUtils.evaluate(CUBIC, 4, 1, 0.75))));
+		// the clipped curve covers the original curve between s and e
+		for (double t = 0; t <= 1; t += 0.125) {
+			assertEquals(BezierUtils.evaluate(CUBIC, 4, 0, 0.25 + t / 2),
+					BezierUtils.evaluate(clipped, 4, 0, t), 1e-9);
+			assertEquals(BezierUtils.evaluate(CUBIC, 4, 1, 0.25 + t / 2),
+					BezierUtils.evaluate(clipped, 4, 1, t), 1e-9);
+		}
+
+		// clipping in-place yields the same result
+		double[] inPlace = CUBIC.clone();
+		BezierUtils.clip(inPlace, 4, 0.25, 0.75, inPlace);
+		assertCoordinatesEqual(clipped, inPlace, 4);
+
+		// clipping from 1 degenerates to the end point
+		BezierUtils.clip(CUBIC, 4, 1, 1, clipped);
+		for (int i = 0; i < 4; i++) {
+			assertEquals(50, clipped[2 * i], 0);
+			assertEquals(10, clipped[2 * i + 1], 0);
+		}
+	}
+
+	@Test
+	public void test_derivative() {
+		double[] derivative = new double[6];
+		BezierUtils.derivative(CUBIC, 4, derivative);
+		assertCoordinatesEqual(new double[] { 30, 90, 90, -150, 30, 90 },
+				derivative, 3);
+
+		// the derivative of a line is constant
+		double[] line = new double[] { 1, 2, 4, 6 };
+		BezierUtils.derivative(line, 2, derivative);
+		assertCoordinatesEqual(new double[] { 3, 4 }, derivative, 1);
+	}
+
+	@Test
+	public void test_evaluate() {
+		assertEquals(0, BezierUtils.evaluate(CUBIC, 4, 0, 0), 0);
+		assertEquals(50, BezierUtils.evaluate(CUBIC, 4, 0, 1), 0);
+		assertEquals(10, BezierUtils.evaluate(CUBIC, 4, 1, 1), 0);
+		// (1-t)^3 p0 + 3(1-t)^2 t p1 + 3(1-t) t^2 p2 + t^3 p3 at t = 0.5
+		assertEquals(25, BezierUtils.evaluate(CUBIC, 4, 0, 0.5), 1e-12);
+		assertEquals(5, BezierUtils.evaluate(CUBIC, 4, 1, 0.5), 1e-12);
+
+		// buffers may be larger than needed
+		double[] buffer = new double[] { 0, 0, 10, 10, 99, 99 };
+		double[] out = new double[4];
+		BezierUtils.evaluate(buffer, 2, 0.5, out, 2);
+		assertEquals(5, out[2], 0);
+		assertEquals(5, out[3], 0);
+	}
+
+	@Test
+	public void test_evaluateBatch() {
+		double[] t = new double[] { 0, 0.2, 0.5, 0.9, 1 };
+		double[] out = new double[2 * t.length];
+		BezierUtils.evaluateBatch(CUBIC, 4, t, out);
+		for (int i = 0; i < t.length; i++) {
+			assertEquals(BezierUtils.evaluate(CUBIC, 4, 0, t[i]), out[2 * i],
+					0);
+			assertEquals(BezierUtils.evaluate(CUBIC, 4, 1, t[i]),
+					out[2 * i + 1], 0);
+		}
+	}
+
+	@Test
+	public void test_getDistanceToBaseLine() {
+		double[] curve = new double[] { 0, 0, 5, 3, 8, -4, 10, 0 };
+		assertEquals(4, BezierUtils.getDistanceToBaseLine(curve, 4), 1e-12);
+		// collinear control points
+		curve = new double[] { 0, 0, 3, 3, 10, 10 };
+		assertEquals(0, BezierUtils.getDistanceToBaseLine(curve, 3), 1e-12);
+		// coinciding start and end points
+		curve = new double[] { 0, 0, 5, 5, 0, 0 };
+		assertEquals(0, BezierUtils.getDistanceToBaseLine(curve, 3), 0);
+	}
+
+	@Test
+	public void test_split() {
+		double[] left = new double[8];
+		double[] right = new double[8];
+		BezierUtils.split(CUBIC, 4, 0.5, left, right);
+		assertCoordinatesEqual(new double[] { 0, 0, 5, 15, 15, 10, 25, 5 },
+				left, 4);
+		assertCoordinatesEqual(
+				new double[] { 25, 5, 35, 0, 45, -5, 50, 10 }, right, 4);
+
+		// splitting in-place (into the right buffer) yields the same result
+		double[] inPlace = CUBIC.clone();
+		BezierUtils.split(inPlace, 4, 0.5, left, inPlace);
+		assertCoordinatesEqual(right, inPlace, 4);
+	}
+
+}
@@ -16,8 +16,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
 import java.util.List;
+import java.util.Random;
 
+import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.planar.Ellipse;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
@@ -26,6 +31,26 @@ import org.junit.Test;
 
 public class PathTests {
 
+	private static void assertSameArea(Area expected, Path actual,
+			Random random) {
+		Path2D path = Geometry2AWT.toAWTPath(actual);
+		for (int i = 0; i < 200; i++) {
+			double x = random.nextDouble() * 100;
+			double y = random.nextDouble() * 100;
+			assertEquals(expected.contains(x, y), path.contains(x, y));
+		}
+	}
+
+	private static Path createRandomPolygon(Random random, int vertexCount) {
+		Path path = new Path(random.nextBoolean() ? Path.WIND_EVEN_ODD
+				: Path.WIND_NON_ZERO);
+		path.moveTo(random.nextInt(100), random.nextInt(100));
+		for (int i = 1; i < vertexCount; i++) {
+			path.lineTo(random.nextInt(100), random.nextInt(100));
+		}
+		return path.close();
+	}
+
 	@Test
 	public void test_CAG_add() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -35,6 +60,68 @@ public class PathTests {
 		assertTrue(unionPath.contains(r1.getCenter()));
 	}
 
+	@Test
+	public void test_CAG_compareToAWT() {
+		// random (self-intersecting) polygons, using both winding rules
+		Random random = new Random(0);
+		for (int i = 0; i < 100; i++) {
+			Path p0 = createRandomPolygon(random, 3 + random.nextInt(30));
+			Path p1 = createRandomPolygon(random, 3 + random.nextInt(30));
+			Area a0 = new Area(Geometry2AWT.toAWTPath(p0));
+			Area a1 = new Area(Geometry2AWT.toAWTPath(p1));
+
+			Area expected = new Area(a0);
+			expected.add(a1);
+			assertSameArea(expected, Path.add(p0, p1), random);
+			expected = new Area(a0);
+			expected.intersect(a1);
+			assertSameArea(expected, Path.intersect(p0, p1), random);
+			expected = new Area(a0);
+			expected.subtract(a1);
+			assertSameArea(expected, Path.subtract(p0, p1), random);
+			expected = new Area(a0);
+			expected.exclusiveOr(a1);
+			assertSameArea(expected, Path.exclusiveOr(p0, p1), random);
+		}
+	}
+
+	@Test
+	public void test_CAG_curves() {
+		Ellipse ellipse = new Ellipse(0, 0, 100, 50);
+		Rectangle r = new Rectangle(50, 0, 100, 100);
+		Path intersectionPath = Path.intersect(ellipse.toPath(), r.toPath());
+		assertTrue(intersectionPath.contains(new Point(75, 25)));
+		assertTrue(intersectionPath.contains(new Point(98, 25)));
+		assertFalse(intersectionPath.contains(new Point(25, 25)));
+		assertFalse(intersectionPath.contains(new Point(100, 1)));
+		// the flattened arc does not deviate noticeably from the ellipse
+		// (which is itself approximated by cubic curves)
+		for (Path.Segment s : intersectionPath.getSegments()) {
+			for (Point p : s.getPoints()) {
+				if (p.x > 50) {
+					double dx = (p.x - 50) / 50;
+					double dy = (p.y - 25) / 25;
+					assertEquals(1, Math.sqrt(dx * dx + dy * dy), 0.002);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_CAG_evenOdd() {
+		// two nested, equally oriented rectangles
+		Path path = new Path(Path.WIND_EVEN_ODD).moveTo(0, 0).lineTo(100, 0)
+				.lineTo(100, 100).lineTo(0, 100).close().moveTo(25, 25)
+				.lineTo(75, 25).lineTo(75, 75).lineTo(25, 75).close();
+		Path evenOdd = Path.add(path, new Path());
+		assertTrue(evenOdd.contains(new Point(10, 10)));
+		assertFalse(evenOdd.contains(new Point(50, 50)));
+		path.setWindingRule(Path.WIND_NON_ZERO);
+		Path nonZero = Path.add(path, new Path());
+		assertTrue(nonZero.contains(new Point(10, 10)));
+		assertTrue(nonZero.contains(new Point(50, 50)));
+	}
+
 	@Test
 	public void test_CAG_exclusiveOr() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -55,6 +142,25 @@ public class PathTests {
 		assertFalse(intersectionPath.contains(new Point(125, 125)));
 	}
 
+	@Test
+	public void test_CAG_overlappingEdges() {
+		Rectangle r0 = new Rectangle(0, 0, 100, 100);
+		Rectangle r1 = new Rectangle(100, 0, 100, 100);
+		// the common edge is removed, and collinear edges are merged
+		Path unionPath = Path.add(r0.toPath(), r1.toPath());
+		assertEquals(5, unionPath.getSegments().length);
+		assertEquals(new Rectangle(0, 0, 200, 100), unionPath.getBounds());
+		assertEquals(0,
+				Path.intersect(r0.toPath(), r1.toPath()).getSegments().length);
+		// identical operands
+		assertEquals(r0, Path.add(r0.toPath(), r0.toPath()).getBounds());
+		assertEquals(r0, Path.intersect(r0.toPath(), r0.toPath()).getBounds());
+		assertEquals(0, Path.subtract(r0.toPath(), r0.toPath())
+				.getSegments().length);
+		assertEquals(0, Path.exclusiveOr(r0.toPath(), r0.toPath())
+				.getSegments().length);
+	}
+
 	@Test
 	public void test_CAG_subtract() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
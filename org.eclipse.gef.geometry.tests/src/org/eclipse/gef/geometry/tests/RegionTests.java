@@ -37,6 +37,50 @@ public class RegionTests {
 		assertEquals(1, region.getShapes().length);
 	}
 
+	@Test
+	public void test_contains_point() {
+		// a checkerboard of 10x10 cells, of which only the black ones are
+		// covered
+		Region region = new Region();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				if ((i + j) % 2 == 0) {
+					region.add(new Rectangle(i * 10, j * 10, 10, 10));
+				}
+			}
+		}
+		assertEquals(200, region.getShapes().length);
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				assertEquals((i + j) % 2 == 0,
+						region.contains(new Point(i * 10 + 5, j * 10 + 5)));
+			}
+		}
+		assertTrue(region.contains(new Point(10, 10)));
+		assertFalse(region.contains(new Point(-5, 5)));
+		assertFalse(region.contains(new Point(205, 5)));
+
+		// covering a white cell fills the checkerboard there
+		region.add(new Rectangle(12, 2, 6, 6));
+		assertTrue(region.contains(new Point(15, 5)));
+		assertFalse(region.contains(new Point(11, 5)));
+
+		// containment has to respect transformations
+		region.translate(3, 0);
+		assertFalse(region.contains(new Point(2, 5)));
+		assertTrue(region.contains(new Point(12, 5)));
+		region.scale(2, 0, 0);
+		assertTrue(region.contains(new Point(25, 10)));
+		assertFalse(region.contains(new Point(45, 10)));
+
+		// changing the returned shapes does not change the region
+		for (Rectangle r : region.getShapes()) {
+			r.translate(1000, 0);
+		}
+		assertTrue(region.contains(new Point(25, 10)));
+		assertFalse(region.contains(new Point(1025, 10)));
+	}
+
 	@Test
 	public void test_copy_semantics() {
 		Rectangle r1 = new Rectangle(0, 0, 100, 100);
@@ -34,6 +34,37 @@ public class RingTests {
 
 	public static class ContainmentTests {
 
+		@Test
+		public void contains_point() {
+			// a row of adjacent squares, each split into two triangles
+			Ring ring = new Ring();
+			for (int i = 0; i < 50; i++) {
+				ring.add(new Polygon(i * 10, 0, i * 10 + 10, 0, i * 10, 10));
+				ring.add(new Polygon(i * 10 + 10, 0, i * 10 + 10, 10, i * 10,
+						10));
+			}
+			for (int i = 0; i < 50; i++) {
+				assertTrue(ring.contains(new Point(i * 10 + 2, 2)));
+				assertTrue(ring.contains(new Point(i * 10 + 8, 8)));
+			}
+			assertTrue(ring.contains(new Point(500, 10)));
+			assertFalse(ring.contains(new Point(-1, 5)));
+			assertFalse(ring.contains(new Point(250, 11)));
+			assertEquals(1, ring.getOutlines().length);
+
+			// containment has to respect transformations
+			ring.translate(0, 20);
+			assertFalse(ring.contains(new Point(250, 5)));
+			assertTrue(ring.contains(new Point(250, 25)));
+
+			// changing the returned shapes does not change the ring
+			for (Polygon triangle : ring.getShapes()) {
+				triangle.translate(0, 100);
+			}
+			assertFalse(ring.contains(new Point(250, 125)));
+			assertTrue(ring.contains(new Point(250, 25)));
+		}
+
 		@Test
 		public void cover_single_polygon() {
 			Polygon p1 = new Polygon(1, 2, 1, 3, 2, 4, 3, 4, 4, 3, 4, 2, 3, 1,
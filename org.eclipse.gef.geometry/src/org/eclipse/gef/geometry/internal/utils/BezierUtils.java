@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.internal.utils;
+
+/**
+ * A utility class that provides primitive operations on Bezier curves, which
+ * are given by buffers of control point coordinates in x, y order, i.e. x1,
+ * y1, x2, y2, ... As the number of control points is passed in explicitly,
+ * buffers may be larger than needed, so that they can be reused, and none of
+ * the operations creates any intermediate objects.
+ *
+ * @author agent
+ *
+ */
+public class BezierUtils {
+
+	/**
+	 * Computes the control points of the clipped curve, which represents the
+	 * given curve on the parameter interval <code>[s;e]</code>.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @param s
+	 *            The lower limit of the parameter interval.
+	 * @param e
+	 *            The upper limit of the parameter interval.
+	 * @param out
+	 *            The buffer (of at least <code>2 * count</code> length) to
+	 *            store the control point coordinates of the clipped curve in.
+	 *            It may be the same as <i>controlPoints</i>.
+	 */
+	public static void clip(double[] controlPoints, int count, double s,
+			double e, double[] out) {
+		if (out != controlPoints) {
+			System.arraycopy(controlPoints, 0, out, 0, 2 * count);
+		}
+		if (s == 1) {
+			// degenerated to the end point
+			for (int i = 0; i < count - 1; i++) {
+				out[2 * i] = out[2 * count - 2];
+				out[2 * i + 1] = out[2 * count - 1];
+			}
+			return;
+		}
+		// right part at s (in-place de Casteljau)
+		for (int i = 0; i < count - 1; i++) {
+			for (int j = 0; j < count - i - 1; j++) {
+				out[2 * j] = lerp(out[2 * j], out[2 * j + 2], s);
+				out[2 * j + 1] = lerp(out[2 * j + 1], out[2 * j + 3], s);
+			}
+		}
+		// left part of the right part at the rescaled e (in-place de
+		// Casteljau)
+		double t = (e - s) / (1 - s);
+		for (int i = 1; i < count; i++) {
+			for (int j = count - 1; j >= i; j--) {
+				out[2 * j] = lerp(out[2 * j - 2], out[2 * j], t);
+				out[2 * j + 1] = lerp(out[2 * j - 1], out[2 * j + 1], t);
+			}
+		}
+	}
+
+	/**
+	 * Computes the control points of the hodograph (the first parametric
+	 * derivative) of the given curve, which has one control point less.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @param out
+	 *            The buffer (of at least <code>2 * (count - 1)</code> length)
+	 *            to store the control point coordinates of the hodograph in.
+	 *            It may be the same as <i>controlPoints</i>.
+	 */
+	public static void derivative(double[] controlPoints, int count,
+			double[] out) {
+		for (int i = 0; i < 2 * (count - 1); i++) {
+			out[i] = (controlPoints[i + 2] - controlPoints[i]) * (count - 1);
+		}
+	}
+
+	/**
+	 * Evaluates the given curve at the given parameter value, storing the x
+	 * and y coordinates of the resulting point in the given buffer.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @param t
+	 *            The parameter value.
+	 * @param out
+	 *            The buffer to store the coordinates in.
+	 * @param offset
+	 *            The index within the buffer at which the x coordinate is
+	 *            stored (followed by the y coordinate).
+	 */
+	public static void evaluate(double[] controlPoints, int count, double t,
+			double[] out, int offset) {
+		out[offset] = evaluate(controlPoints, count, 0, t);
+		out[offset + 1] = evaluate(controlPoints, count, 1, t);
+	}
+
+	/**
+	 * Evaluates a single coordinate of the given curve at the given parameter
+	 * value, using Horner's scheme.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @param dimension
+	 *            <code>0</code> to evaluate the x coordinate, <code>1</code>
+	 *            to evaluate the y coordinate.
+	 * @param t
+	 *            The parameter value.
+	 * @return The x or y coordinate of the point on the curve at the given
+	 *         parameter value, or <code>0</code> if the curve does not have
+	 *         any control points.
+	 */
+	public static double evaluate(double[] controlPoints, int count,
+			int dimension, double t) {
+		if (count < 1) {
+			return 0;
+		}
+		double bn = 1, tn = 1, d = 1d - t;
+		double p = controlPoints[dimension];
+		for (int i = 1; i < count; i++) {
+			bn = bn * (count - i) / i;
+			tn = tn * t;
+			p = p * d + controlPoints[2 * i + dimension] * bn * tn;
+		}
+		return p;
+	}
+
+	/**
+	 * Evaluates the given curve at each of the given parameter values.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @param t
+	 *            The parameter values.
+	 * @param out
+	 *            The buffer (of at least <code>2 * t.length</code> length) to
+	 *            store the coordinates of the resulting points in, in x, y
+	 *            order.
+	 */
+	public static void evaluateBatch(double[] controlPoints, int count,
+			double[] t, double[] out) {
+		for (int i = 0; i < t.length; i++) {
+			evaluate(controlPoints, count, t[i], out, 2 * i);
+		}
+	}
+
+	/**
+	 * Computes the maximum distance of the inner control points of the given
+	 * curve to its base line, i.e. the straight line through its start and
+	 * end point. If start and end point coincide, <code>0</code> is returned.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @return The maximum distance of an inner control point to the base line.
+	 */
+	public static double getDistanceToBaseLine(double[] controlPoints,
+			int count) {
+		double x0 = controlPoints[0];
+		double y0 = controlPoints[1];
+		double x1 = controlPoints[2 * count - 2];
+		double y1 = controlPoints[2 * count - 1];
+		// homogeneous coordinates of the base line (cross product of the
+		// start and end point)
+		double lx = y0 - y1;
+		double ly = x1 - x0;
+		double lz = x0 * y1 - y0 * x1;
+		double f = Math.sqrt(lx * lx + ly * ly);
+		if (f == 0d) {
+			return 0d;
+		}
+		double maxDistance = 0d;
+		for (int i = 1; i < count - 1; i++) {
+			maxDistance = Math.max(maxDistance,
+					Math.abs((lx * controlPoints[2 * i]
+							+ ly * controlPoints[2 * i + 1] + lz) / f));
+		}
+		return maxDistance;
+	}
+
+	private static double lerp(double a, double b, double t) {
+		return a + (b - a) * t;
+	}
+
+	/**
+	 * Subdivides the given curve at the given parameter value, using de
+	 * Casteljau's algorithm.
+	 *
+	 * @param controlPoints
+	 *            The control point coordinates of the curve.
+	 * @param count
+	 *            The number of control points.
+	 * @param t
+	 *            The parameter value.
+	 * @param left
+	 *            The buffer (of at least <code>2 * count</code> length) to
+	 *            store the control point coordinates of the curve over
+	 *            <code>[0;t]</code> in.
+	 * @param right
+	 *            The buffer (of at least <code>2 * count</code> length) to
+	 *            store the control point coordinates of the curve over
+	 *            <code>[t;1]</code> in. It may be the same as
+	 *            <i>controlPoints</i>, but not the same as <i>left</i>.
+	 */
+	public static void split(double[] controlPoints, int count, double t,
+			double[] left, double[] right) {
+		if (right != controlPoints) {
+			System.arraycopy(controlPoints, 0, right, 0, 2 * count);
+		}
+		// right serves as the buffer for the intermediate points, of which
+		// the first one of each level belongs to the left part
+		for (int i = 0; i < count; i++) {
+			left[2 * i] = right[0];
+			left[2 * i + 1] = right[1];
+			for (int j = 0; j < count - i - 1; j++) {
+				right[2 * j] = lerp(right[2 * j], right[2 * j + 2], t);
+				right[2 * j + 1] = lerp(right[2 * j + 1], right[2 * j + 3], t);
+			}
+		}
+	}
+
+	private BezierUtils() {
+		// this class should not be instantiated by clients
+	}
+
+}
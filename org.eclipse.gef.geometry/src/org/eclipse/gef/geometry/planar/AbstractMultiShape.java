@@ -14,9 +14,9 @@ package org.eclipse.gef.geometry.planar;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -78,17 +78,100 @@ abstract class AbstractMultiShape extends AbstractGeometry
 		return 1;
 	}
 
+	/**
+	 * Returns the seen segment that is equal to the given one, or
+	 * <code>null</code> if no such segment has been seen yet. As the hash code
+	 * of a {@link Line} cannot reflect its (imprecise) equality, equal
+	 * segments are looked up by means of the spatial index.
+	 *
+	 * @param seenIndex
+	 * @param seg
+	 * @return the seen segment that is equal to the given one, or
+	 *         <code>null</code>
+	 */
+	private static Line findSeen(BoundingBoxIndex<Line> seenIndex, Line seg) {
+		for (Line candidate : queryNear(seenIndex, seg)) {
+			if (candidate.equals(seg)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private static Point getOtherEndPoint(Map<Line, Point[]> endPoints,
+			Line seg, Point endPoint) {
+		Point[] ends = endPoints.get(seg);
+		return ends[0] == endPoint ? ends[1] : ends[0];
+	}
+
+	/**
+	 * Returns the vertex that is equal to the given {@link Point}, registering
+	 * the given {@link Point} as a new vertex in case no such vertex exists
+	 * yet. As the hash code of a {@link Point} cannot reflect its (imprecise)
+	 * equality, vertices are looked up by means of a spatial index.
+	 *
+	 * @param vertices
+	 * @param p
+	 * @return the vertex that is equal to the given {@link Point}
+	 */
+	private static Point getVertex(BoundingBoxIndex<Point> vertices, Point p) {
+		for (Point v : vertices.query(p.x, p.y, p.x, p.y,
+				new ArrayList<Point>())) {
+			if (v.equals(p)) {
+				return v;
+			}
+		}
+		vertices.add(p, p.x, p.y, p.x, p.y);
+		return p;
+	}
+
+	private static <T> Set<T> newIdentitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+	}
+
+	private static void putSeen(Map<Line, Integer> seen,
+			BoundingBoxIndex<Line> seenIndex, Line seg, int count) {
+		Line known = findSeen(seenIndex, seg);
+		if (known == null) {
+			seenIndex.add(seg, Math.min(seg.getX1(), seg.getX2()),
+					Math.min(seg.getY1(), seg.getY2()),
+					Math.max(seg.getX1(), seg.getX2()),
+					Math.max(seg.getY1(), seg.getY2()));
+			known = seg;
+		}
+		seen.put(known, count);
+	}
+
+	private static List<Line> queryNear(BoundingBoxIndex<Line> seenIndex,
+			Line seg) {
+		return seenIndex.query(Math.min(seg.getX1(), seg.getX2()),
+				Math.min(seg.getY1(), seg.getY2()),
+				Math.max(seg.getX1(), seg.getX2()),
+				Math.max(seg.getY1(), seg.getY2()), new ArrayList<Line>());
+	}
+
+	private static void removeSeen(Map<Line, Integer> seen,
+			BoundingBoxIndex<Line> seenIndex, Line seg) {
+		seen.remove(seg);
+		seenIndex.remove(seg, Math.min(seg.getX1(), seg.getX2()),
+				Math.min(seg.getY1(), seg.getY2()),
+				Math.max(seg.getX1(), seg.getX2()),
+				Math.max(seg.getY1(), seg.getY2()));
+	}
+
 	private static final long serialVersionUID = 1L;
 
-	private void assignRemainingSegment(HashMap<Line, Integer> seen,
-			Stack<Line> addends, Line toAdd, Point start, Point end) {
+	private void assignRemainingSegment(Map<Line, Integer> seen,
+			BoundingBoxIndex<Line> seenIndex, Stack<Line> addends, Line toAdd,
+			Point start, Point end) {
 		if (!start.equals(end)) {
 			Line rest = new Line(start, end);
 			if (start.equals(toAdd.getP1()) || start.equals(toAdd.getP2())) {
 				addends.push(rest);
 			} else {
-				seen.put(rest,
-						seen.containsKey(rest) && seen.get(rest) == 2 ? 2 : 1);
+				Line known = findSeen(seenIndex, rest);
+				putSeen(seen, seenIndex, rest,
+						known != null && seen.get(known) == 2 ? 2 : 1);
 			}
 		}
 	}
@@ -108,29 +191,42 @@ abstract class AbstractMultiShape extends AbstractGeometry
 	 *
 	 * @param seen
 	 */
-	private void filterOutInnerSegments(HashMap<Line, Integer> seen) {
-		for (Line seg : new HashSet<>(seen.keySet())) {
-			if (seen.get(seg) == 2) {
-				seen.remove(seg);
+	private void filterOutInnerSegments(Map<Line, Integer> seen) {
+		for (Iterator<Integer> i = seen.values().iterator(); i.hasNext();) {
+			if (i.next() == 2) {
+				i.remove();
 			}
 		}
 	}
 
-	private Polyline findOutline(Set<Line> outlineSegments,
-			Map<Point, List<Line>> segsAt) {
+	private Polyline findOutline(Line initial, Set<Line> outlineSegments,
+			Map<Point, List<Line>> segsAt, Map<Line, Point[]> endPoints) {
 		// System.out.println("findOutline");
 
-		Set<Point> visited = new HashSet<>();
-		Line initial = outlineSegments.iterator().next();
-		List<Point> way = findWay(segsAt, visited, initial.getP1(),
-				initial.getP2(), 1);
+		Set<Point> visited = newIdentitySet();
+		Point[] ends = endPoints.get(initial);
+		List<Point> way = findWay(segsAt, endPoints, visited, ends[0], ends[1],
+				1);
 
 		if (way == null) {
 			// System.out.println("Cannot find outline!");
+			outlineSegments.remove(initial);
 			return new Polyline(new Line[] { initial });
 		}
 
-		way.add(0, initial.getP1());
+		way.add(0, ends[0]);
+
+		// Remove the segments of the found outline from the set of remaining
+		// outline segments.
+		for (int i = 0; i < way.size(); i++) {
+			Point start = way.get(i);
+			Point end = way.get((i + 1) % way.size());
+			for (Line seg : segsAt.get(start)) {
+				if (getOtherEndPoint(endPoints, seg, start) == end) {
+					outlineSegments.remove(seg);
+				}
+			}
+		}
 
 		return new Polyline(
 				CurveUtils.toSegmentsArray(way.toArray(new Point[] {}), true));
@@ -138,9 +234,11 @@ abstract class AbstractMultiShape extends AbstractGeometry
 
 	/**
 	 * Searches for the longest cycle-free way from the given start
-	 * {@link Point} to the given end {@link Point} on the given segments.
+	 * {@link Point} to the given end {@link Point} on the given segments. All
+	 * end {@link Point}s are identified by reference.
 	 *
 	 * @param segmentsByEndPoints
+	 * @param endPoints
 	 * @param visited
 	 * @param start
 	 * @param end
@@ -148,11 +246,12 @@ abstract class AbstractMultiShape extends AbstractGeometry
 	 * @return
 	 */
 	private List<Point> findWay(Map<Point, List<Line>> segmentsByEndPoints,
-			Set<Point> visited, Point start, Point end, int indent) {
+			Map<Line, Point[]> endPoints, Set<Point> visited, Point start,
+			Point end, int indent) {
 		// System.out.printf("%" + indent + "s", " ");
 		// System.out.println("findWay from " + start + " to " + end);
 
-		if (segmentsByEndPoints.get(end) == segmentsByEndPoints.get(start)) {
+		if (end == start) {
 			// System.out.printf("%" + indent + "s", " ");
 			// System.out.println("#closed");
 			return new ArrayList<>(0);
@@ -161,19 +260,12 @@ abstract class AbstractMultiShape extends AbstractGeometry
 		visited.add(start);
 
 		// find unvisited neighbors
-		@SuppressWarnings("unchecked")
-		List<Line> nextSegs = (List<Line>) ((ArrayList<Line>) segmentsByEndPoints
-				.get(start)).clone();
+		List<Line> nextSegs = new ArrayList<>(segmentsByEndPoints.get(start));
 		for (Iterator<Line> i = nextSegs.iterator(); i.hasNext();) {
 			Line l = i.next();
 			// System.out.printf("%" + indent + "s", " ");
 			// System.out.print(l + "? ");
-			if (l.getP1().equals(start)) {
-				if (visited.contains(l.getP2())) {
-					// System.out.print("delete");
-					i.remove();
-				}
-			} else if (visited.contains(l.getP1())) {
+			if (visited.contains(getOtherEndPoint(endPoints, l, start))) {
 				// System.out.print("delete");
 				i.remove();
 			}
@@ -187,11 +279,10 @@ abstract class AbstractMultiShape extends AbstractGeometry
 		} else if (nextSegs.size() == 1) {
 			// System.out.printf("%" + indent + "s", " ");
 			// System.out.println("#single");
-			Line nextSeg = nextSegs.get(0);
-			Point nextPoint = start.equals(nextSeg.getP1()) ? nextSeg.getP2()
-					: nextSeg.getP1();
-			List<Point> way = findWay(segmentsByEndPoints, visited, nextPoint,
-					end, indent + 1);
+			Point nextPoint = getOtherEndPoint(endPoints, nextSegs.get(0),
+					start);
+			List<Point> way = findWay(segmentsByEndPoints, endPoints, visited,
+					nextPoint, end, indent + 1);
 			if (way != null) {
 				way.add(0, nextPoint);
 			}
@@ -205,13 +296,11 @@ abstract class AbstractMultiShape extends AbstractGeometry
 		int longestWayLength = -1;
 		List<Point> longestWay = null;
 		for (Line nextSeg : nextSegs) {
-			@SuppressWarnings("unchecked")
-			Set<Point> visitedCopy = (Set<Point>) ((HashSet<Point>) visited)
-					.clone();
-			Point nextPoint = start.equals(nextSeg.getP1()) ? nextSeg.getP2()
-					: nextSeg.getP1();
-			List<Point> way = findWay(segmentsByEndPoints, visitedCopy,
-					nextPoint, end, indent + 1);
+			Set<Point> visitedCopy = newIdentitySet();
+			visitedCopy.addAll(visited);
+			Point nextPoint = getOtherEndPoint(endPoints, nextSeg, start);
+			List<Point> way = findWay(segmentsByEndPoints, endPoints,
+					visitedCopy, nextPoint, end, indent + 1);
 			if (way != null && way.size() >= longestWayLength) {
 				way.add(0, nextPoint);
 				longestWay = way;
@@ -243,28 +332,28 @@ abstract class AbstractMultiShape extends AbstractGeometry
 	@Override
 	public Polyline[] getOutlines() {
 		List<Polyline> outlines = new ArrayList<>();
-		Map<Point, List<Line>> segmentsByEndPoints = new HashMap<>();
-		Set<Line> outlineSegments = new HashSet<>();
-
-		for (Line seg : getOutlineSegments()) {
-			// if (comparePoints(seg.getP1(), seg.getP2()) == 1) {
-			// seg = new Line(seg.getP2(), seg.getP1());
-			// }
-			outlineSegments.add(seg);
-		}
+		// segments and end points are identified by reference, where equal
+		// end points are unified (see getVertex())
+		Map<Point, List<Line>> segmentsByEndPoints = new IdentityHashMap<>();
+		Map<Line, Point[]> endPoints = new IdentityHashMap<>();
+		BoundingBoxIndex<Point> vertices = new BoundingBoxIndex<>();
+		Line[] allOutlineSegments = getOutlineSegments();
+		Set<Line> outlineSegments = newIdentitySet();
+		outlineSegments.addAll(Arrays.asList(allOutlineSegments));
 
 		// constructs segments tree
-		for (Line seg : outlineSegments) {
-			if (!segmentsByEndPoints.containsKey(seg.getP1())) {
-				ArrayList<Line> segList = new ArrayList<>();
-				segmentsByEndPoints.put(seg.getP1(), segList);
-			}
-			if (!segmentsByEndPoints.containsKey(seg.getP2())) {
-				ArrayList<Line> segList = new ArrayList<>();
-				segmentsByEndPoints.put(seg.getP2(), segList);
+		for (Line seg : allOutlineSegments) {
+			Point[] ends = new Point[] { getVertex(vertices, seg.getP1()),
+					getVertex(vertices, seg.getP2()) };
+			endPoints.put(seg, ends);
+			for (Point end : ends) {
+				List<Line> segList = segmentsByEndPoints.get(end);
+				if (segList == null) {
+					segList = new ArrayList<>();
+					segmentsByEndPoints.put(end, segList);
+				}
+				segList.add(seg);
 			}
-			segmentsByEndPoints.get(seg.getP1()).add(seg);
-			segmentsByEndPoints.get(seg.getP2()).add(seg);
 		}
 
 		// search for broken end points
@@ -288,22 +377,12 @@ abstract class AbstractMultiShape extends AbstractGeometry
 			}
 		}
 
-		while (!outlineSegments.isEmpty()) {
-			Polyline outline = findOutline(outlineSegments,
-					segmentsByEndPoints);
-			// System.out.println("outline: " + outline);
-			outlines.add(outline);
-
-			// Remove the segments of the previously found outline from the set
-			// of remaining outline segments.
-			for (Line outlineSeg : CurveUtils
-					.toSegmentsArray(outline.getPoints(), false)) {
-				if (comparePoints(outlineSeg.getP1(),
-						outlineSeg.getP2()) == 1) {
-					outlineSeg = new Line(outlineSeg.getP2(),
-							outlineSeg.getP1());
-				}
-				outlineSegments.remove(outlineSeg);
+		for (Line initial : allOutlineSegments) {
+			if (outlineSegments.contains(initial)) {
+				Polyline outline = findOutline(initial, outlineSegments,
+						segmentsByEndPoints, endPoints);
+				// System.out.println("outline: " + outline);
+				outlines.add(outline);
 			}
 		}
 
@@ -320,12 +399,18 @@ abstract class AbstractMultiShape extends AbstractGeometry
 	 * The outline segments of this {@link AbstractMultiShape} are those outline
 	 * segments of the internal {@link IShape}s that only exist once.
 	 * </p>
+	 * <p>
+	 * The segments seen so far are kept in a spatial index, so that only those
+	 * located near a new segment need to be tested for overlaps (or equality).
+	 * </p>
 	 *
 	 * @return the outline segments of this {@link AbstractMultiShape}
 	 */
 	@Override
 	public Line[] getOutlineSegments() {
-		HashMap<Line, Integer> seen = new HashMap<>();
+		// seen segments are identified by reference (see findSeen())
+		Map<Line, Integer> seen = new IdentityHashMap<>();
+		BoundingBoxIndex<Line> seenIndex = new BoundingBoxIndex<>();
 		Stack<Line> elementsToAdd = new Stack<>();
 		for (Line e : getAllEdges()) {
 			elementsToAdd.push(e);
@@ -333,19 +418,19 @@ abstract class AbstractMultiShape extends AbstractGeometry
 
 		addingElements: while (!elementsToAdd.empty()) {
 			Line toAdd = elementsToAdd.pop();
-			for (Line seg : new HashSet<>(seen.keySet())) {
+			for (Line seg : queryNear(seenIndex, toAdd)) {
 				if (seg.overlaps(toAdd)) {
 					Point[] p = getSortedEndpoints(toAdd, seg);
-					seen.remove(seg);
-					assignRemainingSegment(seen, elementsToAdd, toAdd, p[0],
-							p[1]);
-					assignRemainingSegment(seen, elementsToAdd, toAdd, p[3],
-							p[2]);
-					markOverlap(seen, p[1], p[2]);
+					removeSeen(seen, seenIndex, seg);
+					assignRemainingSegment(seen, seenIndex, elementsToAdd,
+							toAdd, p[0], p[1]);
+					assignRemainingSegment(seen, seenIndex, elementsToAdd,
+							toAdd, p[3], p[2]);
+					markOverlap(seen, seenIndex, p[1], p[2]);
 					continue addingElements;
 				}
 			}
-			seen.put(toAdd, 1);
+			putSeen(seen, seenIndex, toAdd, 1);
 		}
 
 		filterOutInnerSegments(seen);
@@ -378,20 +463,21 @@ abstract class AbstractMultiShape extends AbstractGeometry
 
 	/**
 	 * Marks a given segment from start to end {@link Point} as an overlap in
-	 * the seen {@link HashMap} if the segment is not degenerated, i.e. it is
+	 * the seen {@link Map} if the segment is not degenerated, i.e. it is
 	 * not just a single {@link Point}.
 	 *
 	 * @param seen
+	 * @param seenIndex
 	 * @param start
 	 * @param end
 	 */
-	private void markOverlap(HashMap<Line, Integer> seen, Point start,
-			Point end) {
+	private void markOverlap(Map<Line, Integer> seen,
+			BoundingBoxIndex<Line> seenIndex, Point start, Point end) {
 		if (!start.equals(end)) {
 			// Count an overlapping segment twice to assure that it is going to
 			// get deleted afterwards.
 			Line overlap = new Line(start, end);
-			seen.put(overlap, 2);
+			putSeen(seen, seenIndex, overlap, 2);
 		}
 	}
 
@@ -15,8 +15,6 @@ package org.eclipse.gef.geometry.planar;
 
 import java.awt.geom.NoninvertibleTransformException;
 
-import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
-import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
 
@@ -26,7 +24,12 @@ import org.eclipse.gef.geometry.euclidean.Vector;
  * 2-dimensional affine transformations.
  * </p>
  * <p>
- * It delegates to the {@link java.awt.geom.AffineTransform} functionality.
+ * The transformation matrix is stored in six primitive values and all
+ * operations are computed directly on them, so that transforming, combining,
+ * and inverting does not allocate any intermediate objects. The semantics of
+ * all operations follow those of {@link java.awt.geom.AffineTransform}. The
+ * inverse transformation matrix is computed lazily and cached until the
+ * transformation matrix is changed.
  * </p>
  *
  * @author anyssen
@@ -35,10 +38,58 @@ import org.eclipse.gef.geometry.euclidean.Vector;
  */
 public class AffineTransform implements Cloneable {
 
-	// TODO: implement affine transform locally to get rid of dependency on
-	// awt.geom.
+	private static int getScaleType(double s0, double s1, boolean swapped) {
+		// s0 and s1 are the diagonal (or anti-diagonal, if swapped) elements
+		boolean flip = s0 >= 0 == s1 >= 0 ? swapped : !swapped;
+		int type = 0;
+		if (flip) {
+			type |= java.awt.geom.AffineTransform.TYPE_FLIP;
+		}
+		if (swapped || s0 < 0 && s1 < 0) {
+			// a rotation by 90deg, 180deg, or 270deg
+			type |= java.awt.geom.AffineTransform.TYPE_QUADRANT_ROTATION;
+		}
+		if (Math.abs(s0) != Math.abs(s1)) {
+			type |= java.awt.geom.AffineTransform.TYPE_GENERAL_SCALE;
+		} else if (Math.abs(s0) != 1 || swapped && flip) {
+			// like java.awt.geom.AffineTransform, report a flipped quadrant
+			// rotation as uniformly scaled
+			type |= java.awt.geom.AffineTransform.TYPE_UNIFORM_SCALE;
+		}
+		return type;
+	}
+
+	private static double round(double matrixElement) {
+		return Math.rint(matrixElement * 1E15) / 1E15;
+	}
+
+	private static void transform(double m00, double m10, double m01,
+			double m11, double m02, double m12, double[] srcPts, int srcOff,
+			double[] dstPts, int dstOff, int numPts) {
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			// the ranges overlap in a way that would overwrite source values
+			// before they are read
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		for (int i = 0; i < numPts; i++) {
+			double x = srcPts[srcOff++];
+			double y = srcPts[srcOff++];
+			dstPts[dstOff++] = m00 * x + m01 * y + m02;
+			dstPts[dstOff++] = m10 * x + m11 * y + m12;
+		}
+	}
+
+	private double m00 = 1;
+	private double m01;
+	private double m02;
+	private double m10;
+	private double m11 = 1;
+	private double m12;
 
-	private java.awt.geom.AffineTransform delegate = new java.awt.geom.AffineTransform();
+	// the cached inverse matrix (in the flat matrix format), or null
+	private double[] inverse;
 
 	/**
 	 * Creates a new {@link AffineTransform} with its transformation matrix set
@@ -73,8 +124,7 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform(double m00, double m10, double m01, double m11,
 			double m02, double m12) {
-		delegate = new java.awt.geom.AffineTransform(m00, m10, m01, m11, m02,
-				m12);
+		setTransform(m00, m10, m01, m11, m02, m12);
 	}
 
 	/**
@@ -90,16 +140,19 @@ public class AffineTransform implements Cloneable {
 	 *      double, double)
 	 */
 	public AffineTransform(double[] flatmatrix) {
-		delegate = new java.awt.geom.AffineTransform(flatmatrix);
-	}
-
-	private AffineTransform(java.awt.geom.AffineTransform delegate) {
-		this.delegate = delegate;
+		m00 = flatmatrix[0];
+		m10 = flatmatrix[1];
+		m01 = flatmatrix[2];
+		m11 = flatmatrix[3];
+		if (flatmatrix.length > 5) {
+			m02 = flatmatrix[4];
+			m12 = flatmatrix[5];
+		}
 	}
 
 	@Override
 	public Object clone() {
-		return delegate.clone();
+		return getCopy();
 	}
 
 	/**
@@ -114,8 +167,17 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform concatenate(AffineTransform Tx) {
-		delegate.concatenate(Tx.delegate);
-		return this;
+		// read the other matrix first, as Tx may be this
+		double t00 = Tx.m00, t01 = Tx.m01, t02 = Tx.m02;
+		double t10 = Tx.m10, t11 = Tx.m11, t12 = Tx.m12;
+		return setTransform(m00 * t00 + m01 * t10, m10 * t00 + m11 * t10,
+				m00 * t01 + m01 * t11, m10 * t01 + m11 * t11,
+				m00 * t02 + m01 * t12 + m02, m10 * t02 + m11 * t12 + m12);
+	}
+
+	private AffineTransform concatenateRotation(double sin, double cos) {
+		return setTransform(cos * m00 + sin * m01, cos * m10 + sin * m11,
+				cos * m01 - sin * m00, cos * m11 - sin * m10, m02, m12);
 	}
 
 	/**
@@ -140,7 +202,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public void deltaTransform(double[] srcPts, int srcOff, double[] dstPts,
 			int dstOff, int numPts) {
-		delegate.deltaTransform(srcPts, srcOff, dstPts, dstOff, numPts);
+		transform(m00, m10, m01, m11, 0, 0, srcPts, srcOff, dstPts, dstOff,
+				numPts);
 	}
 
 	/**
@@ -153,14 +216,15 @@ public class AffineTransform implements Cloneable {
 	 * @return a new, transformed {@link Point}
 	 */
 	public Point deltaTransform(Point pt) {
-		return AWT2Geometry.toPoint(
-				delegate.deltaTransform(Geometry2AWT.toAWTPoint(pt), null));
+		return new Point(m00 * pt.x + m01 * pt.y, m10 * pt.x + m11 * pt.y);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof AffineTransform) {
-			return delegate.equals(((AffineTransform) obj).delegate);
+			AffineTransform t = (AffineTransform) obj;
+			return m00 == t.m00 && m01 == t.m01 && m02 == t.m02 && m10 == t.m10
+					&& m11 == t.m11 && m12 == t.m12;
 		}
 		return false;
 	}
@@ -171,7 +235,7 @@ public class AffineTransform implements Cloneable {
 	 * @return a copy of this {@link AffineTransform}
 	 */
 	public AffineTransform getCopy() {
-		return new AffineTransform(getMatrix());
+		return new AffineTransform().setTransform(this);
 	}
 
 	/**
@@ -182,7 +246,7 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public double getDeterminant() {
-		return delegate.getDeterminant();
+		return m00 * m11 - m01 * m10;
 	}
 
 	/**
@@ -194,19 +258,33 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform getInverse() {
 		try {
-			return new AffineTransform(delegate.createInverse());
+			return new AffineTransform(getInverseMatrix());
 		} catch (NoninvertibleTransformException e) {
 			throw new IllegalArgumentException(e);
 		}
 	}
 
+	private double[] getInverseMatrix() throws NoninvertibleTransformException {
+		if (inverse == null) {
+			double det = getDeterminant();
+			if (Math.abs(det) <= Double.MIN_VALUE) {
+				throw new NoninvertibleTransformException(
+						"Determinant is " + det);
+			}
+			inverse = new double[] { m11 / det, -m10 / det, -m01 / det,
+					m00 / det, (m01 * m12 - m11 * m02) / det,
+					(m10 * m02 - m00 * m12) / det };
+		}
+		return inverse;
+	}
+
 	/**
 	 * Returns the matrix component in the first row and first column.
 	 *
 	 * @return The matrix component in the first row and first column.
 	 */
 	public double getM00() {
-		return delegate.getScaleX();
+		return m00;
 	}
 
 	/**
@@ -215,7 +293,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the first row and second column.
 	 */
 	public double getM01() {
-		return delegate.getShearX();
+		return m01;
 	}
 
 	/**
@@ -224,7 +302,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the second row and first column.
 	 */
 	public double getM10() {
-		return delegate.getShearY();
+		return m10;
 	}
 
 	/**
@@ -233,7 +311,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the second row and second column.
 	 */
 	public double getM11() {
-		return delegate.getScaleY();
+		return m11;
 	}
 
 	/**
@@ -244,9 +322,7 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public double[] getMatrix() {
-		double[] flatmatrix = new double[6];
-		delegate.getMatrix(flatmatrix);
-		return flatmatrix;
+		return new double[] { m00, m10, m01, m11, m02, m12 };
 	}
 
 	/**
@@ -291,8 +367,8 @@ public class AffineTransform implements Cloneable {
 	 * @return a new, transformed {@link Point}
 	 */
 	public Point getTransformed(Point ptSrc) {
-		return AWT2Geometry.toPoint(
-				delegate.transform(Geometry2AWT.toAWTPoint(ptSrc), null));
+		return new Point(m00 * ptSrc.x + m01 * ptSrc.y + m02,
+				m10 * ptSrc.x + m11 * ptSrc.y + m12);
 	}
 
 	/**
@@ -309,7 +385,10 @@ public class AffineTransform implements Cloneable {
 		Point[] result = new Point[points.length];
 
 		for (int i = 0; i < points.length; i++) {
-			result[i] = getTransformed(points[i]);
+			double x = points[i].x;
+			double y = points[i].y;
+			result[i] = new Point(m00 * x + m01 * y + m02,
+					m10 * x + m11 * y + m12);
 		}
 
 		return result;
@@ -323,7 +402,7 @@ public class AffineTransform implements Cloneable {
 	 *         transformation matrix
 	 */
 	public double getTranslateX() {
-		return delegate.getTranslateX();
+		return m02;
 	}
 
 	/**
@@ -334,7 +413,7 @@ public class AffineTransform implements Cloneable {
 	 *         transformation matrix
 	 */
 	public double getTranslateY() {
-		return delegate.getTranslateY();
+		return m12;
 	}
 
 	/**
@@ -347,12 +426,44 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public int getType() {
-		return delegate.getType();
+		int type = m02 != 0 || m12 != 0
+				? java.awt.geom.AffineTransform.TYPE_TRANSLATION
+				: java.awt.geom.AffineTransform.TYPE_IDENTITY;
+		if (m01 == 0 && m10 == 0) {
+			if (m00 == 1 && m11 == 1) {
+				return type;
+			}
+			return type | getScaleType(m00, m11, false);
+		}
+		if (m00 == 0 && m11 == 0) {
+			return type | getScaleType(m01, m10, true);
+		}
+		if (m00 * m01 + m10 * m11 != 0) {
+			// the transformed unit vectors are not perpendicular
+			return java.awt.geom.AffineTransform.TYPE_GENERAL_TRANSFORM;
+		}
+		type |= java.awt.geom.AffineTransform.TYPE_GENERAL_ROTATION;
+		boolean flip = m00 >= 0 != m11 >= 0;
+		if (flip) {
+			type |= java.awt.geom.AffineTransform.TYPE_FLIP;
+		}
+		if (flip ? m00 != -m11 || m01 != m10 : m00 != m11 || m01 != -m10) {
+			return type | java.awt.geom.AffineTransform.TYPE_GENERAL_SCALE;
+		} else if (m00 * m11 - m01 * m10 != 1) {
+			return type | java.awt.geom.AffineTransform.TYPE_UNIFORM_SCALE;
+		}
+		return type;
 	}
 
 	@Override
 	public int hashCode() {
-		return delegate.hashCode();
+		long bits = Double.doubleToLongBits(m00);
+		bits = bits * 31 + Double.doubleToLongBits(m01);
+		bits = bits * 31 + Double.doubleToLongBits(m02);
+		bits = bits * 31 + Double.doubleToLongBits(m10);
+		bits = bits * 31 + Double.doubleToLongBits(m11);
+		bits = bits * 31 + Double.doubleToLongBits(m12);
+		return (int) bits ^ (int) (bits >> 32);
 	}
 
 	/**
@@ -378,7 +489,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public void inverseTransform(double[] srcPts, int srcOff, double[] dstPts,
 			int dstOff, int numPts) throws NoninvertibleTransformException {
-		delegate.inverseTransform(srcPts, srcOff, dstPts, dstOff, numPts);
+		double[] i = getInverseMatrix();
+		transform(i[0], i[1], i[2], i[3], i[4], i[5], srcPts, srcOff, dstPts,
+				dstOff, numPts);
 	}
 
 	/**
@@ -393,8 +506,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public Point inverseTransform(Point pt)
 			throws NoninvertibleTransformException {
-		return AWT2Geometry.toPoint(
-				delegate.inverseTransform(Geometry2AWT.toAWTPoint(pt), null));
+		double[] i = getInverseMatrix();
+		return new Point(i[0] * pt.x + i[2] * pt.y + i[4],
+				i[1] * pt.x + i[3] * pt.y + i[5]);
 	}
 
 	/**
@@ -405,7 +519,11 @@ public class AffineTransform implements Cloneable {
 	 *             when this {@link AffineTransform} is not invertible.
 	 */
 	public AffineTransform invert() throws NoninvertibleTransformException {
-		delegate.invert();
+		double[] i = getInverseMatrix();
+		double[] matrix = getMatrix();
+		setTransform(i[0], i[1], i[2], i[3], i[4], i[5]);
+		// the inverse of the inverse is known as well
+		inverse = matrix;
 		return this;
 	}
 
@@ -418,7 +536,8 @@ public class AffineTransform implements Cloneable {
 	 *         <code>false</code>
 	 */
 	public boolean isIdentity() {
-		return delegate.isIdentity();
+		return m00 == 1 && m10 == 0 && m01 == 0 && m11 == 1 && m02 == 0
+				&& m12 == 0;
 	}
 
 	/**
@@ -433,8 +552,12 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform preConcatenate(AffineTransform Tx) {
-		delegate.preConcatenate(Tx.delegate);
-		return this;
+		// read the other matrix first, as Tx may be this
+		double t00 = Tx.m00, t01 = Tx.m01, t02 = Tx.m02;
+		double t10 = Tx.m10, t11 = Tx.m11, t12 = Tx.m12;
+		return setTransform(t00 * m00 + t01 * m10, t10 * m00 + t11 * m10,
+				t00 * m01 + t01 * m11, t10 * m01 + t11 * m11,
+				t00 * m02 + t01 * m12 + t02, t10 * m02 + t11 * m12 + t12);
 	}
 
 	/**
@@ -447,8 +570,16 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform quadrantRotate(int numquadrants) {
-		delegate.quadrantRotate(numquadrants);
-		return this;
+		switch (numquadrants & 3) {
+		case 1:
+			return concatenateRotation(1, 0);
+		case 2:
+			return concatenateRotation(0, -1);
+		case 3:
+			return concatenateRotation(-1, 0);
+		default:
+			return this;
+		}
 	}
 
 	/**
@@ -466,8 +597,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform quadrantRotate(int numquadrants, double anchorx,
 			double anchory) {
-		delegate.quadrantRotate(numquadrants, anchorx, anchory);
-		return this;
+		return translate(anchorx, anchory).quadrantRotate(numquadrants)
+				.translate(-anchorx, -anchory);
 	}
 
 	/**
@@ -479,8 +610,15 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform rotate(double theta) {
-		delegate.rotate(theta);
-		return this;
+		double sin = Math.sin(theta);
+		if (sin == 1 || sin == -1) {
+			return concatenateRotation(sin, 0);
+		}
+		double cos = Math.cos(theta);
+		if (cos == 1 || cos == -1) {
+			return concatenateRotation(0, cos);
+		}
+		return concatenateRotation(sin, cos);
 	}
 
 	/**
@@ -497,8 +635,13 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform rotate(double vecx, double vecy) {
-		delegate.rotate(vecx, vecy);
-		return this;
+		if (vecy == 0) {
+			return concatenateRotation(0, vecx < 0 ? -1 : 1);
+		} else if (vecx == 0) {
+			return concatenateRotation(vecy > 0 ? 1 : -1, 0);
+		}
+		double length = Math.sqrt(vecx * vecx + vecy * vecy);
+		return concatenateRotation(vecy / length, vecx / length);
 	}
 
 	/**
@@ -516,8 +659,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform rotate(double theta, double anchorx,
 			double anchory) {
-		delegate.rotate(theta, anchorx, anchory);
-		return this;
+		return translate(anchorx, anchory).rotate(theta).translate(-anchorx,
+				-anchory);
 	}
 
 	// TODO: Add the possibility to pass Angle objects instead of simple double
@@ -543,8 +686,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform rotate(double vecx, double vecy, double anchorx,
 			double anchory) {
-		delegate.rotate(vecx, vecy, anchorx, anchory);
-		return this;
+		return translate(anchorx, anchory).rotate(vecx, vecy)
+				.translate(-anchorx, -anchory);
 	}
 
 	/**
@@ -560,8 +703,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform scale(double sx, double sy) {
-		delegate.scale(sx, sy);
-		return this;
+		return setTransform(m00 * sx, m10 * sx, m01 * sy, m11 * sy, m02, m12);
 	}
 
 	/**
@@ -571,8 +713,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToIdentity() {
-		delegate.setToIdentity();
-		return this;
+		return setTransform(1, 0, 0, 1, 0, 0);
 	}
 
 	/**
@@ -584,8 +725,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToQuadrantRotation(int numquadrants) {
-		delegate.setToQuadrantRotation(numquadrants);
-		return this;
+		return setToIdentity().quadrantRotate(numquadrants);
 	}
 
 	/**
@@ -604,8 +744,7 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToQuadrantRotation(int numquadrants,
 			double anchorx, double anchory) {
-		delegate.setToQuadrantRotation(numquadrants, anchorx, anchory);
-		return this;
+		return setToIdentity().quadrantRotate(numquadrants, anchorx, anchory);
 	}
 
 	/**
@@ -617,8 +756,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToRotation(double theta) {
-		delegate.setToRotation(theta);
-		return this;
+		return setToIdentity().rotate(theta);
 	}
 
 	/**
@@ -635,8 +773,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToRotation(double vecx, double vecy) {
-		delegate.setToRotation(vecx, vecy);
-		return this;
+		return setToIdentity().rotate(vecx, vecy);
 	}
 
 	/**
@@ -655,8 +792,7 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToRotation(double theta, double anchorx,
 			double anchory) {
-		delegate.setToRotation(theta, anchorx, anchory);
-		return this;
+		return setToIdentity().rotate(theta, anchorx, anchory);
 	}
 
 	/**
@@ -680,8 +816,7 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToRotation(double vecx, double vecy,
 			double anchorx, double anchory) {
-		delegate.setToRotation(vecx, vecy, anchorx, anchory);
-		return this;
+		return setToIdentity().rotate(vecx, vecy, anchorx, anchory);
 	}
 
 	/**
@@ -695,8 +830,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToScale(double sx, double sy) {
-		delegate.setToScale(sx, sy);
-		return this;
+		return setTransform(sx, 0, 0, sy, 0, 0);
 	}
 
 	/**
@@ -710,8 +844,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToShear(double shx, double shy) {
-		delegate.setToShear(shx, shy);
-		return this;
+		return setTransform(1, shy, shx, 1, 0, 0);
 	}
 
 	/**
@@ -726,8 +859,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToTranslation(double tx, double ty) {
-		delegate.setToTranslation(tx, ty);
-		return this;
+		return setTransform(1, 0, 0, 1, tx, ty);
 	}
 
 	/**
@@ -740,7 +872,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setTransform(AffineTransform Tx) {
-		delegate.setTransform(Tx.delegate);
+		setTransform(Tx.m00, Tx.m10, Tx.m01, Tx.m11, Tx.m02, Tx.m12);
+		inverse = Tx.inverse;
 		return this;
 	}
 
@@ -771,7 +904,13 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setTransform(double m00, double m10, double m01,
 			double m11, double m02, double m12) {
-		delegate.setTransform(m00, m10, m01, m11, m02, m12);
+		this.m00 = m00;
+		this.m10 = m10;
+		this.m01 = m01;
+		this.m11 = m11;
+		this.m02 = m02;
+		this.m12 = m12;
+		inverse = null;
 		return this;
 	}
 
@@ -788,13 +927,42 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform shear(double shx, double shy) {
-		delegate.shear(shx, shy);
-		return this;
+		return setTransform(m00 + m01 * shy, m10 + m11 * shy, m01 + m00 * shx,
+				m11 + m10 * shx, m02, m12);
 	}
 
 	@Override
 	public String toString() {
-		return delegate.toString();
+		return "AffineTransform[[" + round(m00) + ", " + round(m01) + ", "
+				+ round(m02) + "], [" + round(m10) + ", " + round(m11) + ", "
+				+ round(m12) + "]]";
+	}
+
+	/**
+	 * Transforms an array of {@link Point}s specified by their coordinate
+	 * values with this {@link AffineTransform}. The source and destination
+	 * arrays may be identical, so that the coordinates can be transformed in
+	 * place.
+	 *
+	 * @param srcPts
+	 *            the array of x and y coordinates specifying the {@link Point}s
+	 *            that are transformed
+	 * @param srcOff
+	 *            the index of the <i>srcPts</i> array where the x coordinate of
+	 *            the first {@link Point} to transform is found
+	 * @param dstPts
+	 *            the destination array of x and y coordinates for the result of
+	 *            the transformation
+	 * @param dstOff
+	 *            the index of the <i>dstPts</i> array where the x coordinate of
+	 *            the first transformed {@link Point} is stored
+	 * @param numPts
+	 *            the number of {@link Point}s to transform
+	 */
+	public void transform(double[] srcPts, int srcOff, double[] dstPts,
+			int dstOff, int numPts) {
+		transform(m00, m10, m01, m11, m02, m12, srcPts, srcOff, dstPts, dstOff,
+				numPts);
 	}
 
 	/**
@@ -808,8 +976,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform translate(double tx, double ty) {
-		delegate.translate(tx, ty);
-		return this;
+		return setTransform(m00, m10, m01, m11, tx * m00 + ty * m01 + m02,
+				tx * m10 + ty * m11 + m12);
 	}
 
 }
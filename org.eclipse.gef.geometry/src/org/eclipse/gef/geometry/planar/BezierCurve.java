@@ -24,6 +24,7 @@ import java.util.Stack;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
+import org.eclipse.gef.geometry.internal.utils.BezierUtils;
 import org.eclipse.gef.geometry.internal.utils.PointListUtils;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 import org.eclipse.gef.geometry.projective.Straight3D;
@@ -362,11 +363,11 @@ public class BezierCurve extends AbstractGeometry
 		 *         converge, otherwise <code>false</code>
 		 */
 		public boolean converges(int shift) {
-			return (pi.converges(shift) || pointsEquals(p.getHC(pi.a).toPoint(),
-					p.getHC(pi.b).toPoint(), shift))
+			return (pi.converges(shift) || pointsEquals(p.get(pi.a),
+					p.get(pi.b), shift))
 					&& (qi.converges(shift)
-							|| pointsEquals(q.getHC(qi.a).toPoint(),
-									q.getHC(qi.b).toPoint(), shift));
+							|| pointsEquals(q.get(qi.a),
+									q.get(qi.b), shift));
 		}
 
 		/**
@@ -377,8 +378,8 @@ public class BezierCurve extends AbstractGeometry
 		 *         point, otherwise <code>false</code>.
 		 */
 		public boolean convergesP() {
-			return pointsEquals(p.getHC(pi.a).toPoint(),
-					p.getHC(pi.b).toPoint(), 0);
+			return pointsEquals(p.get(pi.a),
+					p.get(pi.b), 0);
 		}
 
 		/**
@@ -389,8 +390,8 @@ public class BezierCurve extends AbstractGeometry
 		 *         single point, otherwise <code>false</code>.
 		 */
 		public boolean convergesQ() {
-			return pointsEquals(q.getHC(qi.a).toPoint(),
-					q.getHC(qi.b).toPoint(), 0);
+			return pointsEquals(q.get(qi.a),
+					q.get(qi.b), 0);
 		}
 
 		/**
@@ -512,19 +513,101 @@ public class BezierCurve extends AbstractGeometry
 	}
 
 	/**
-	 * <p>
-	 * The {@link IPointCmp} interface specifies a method to determine which of
-	 * two given {@link Point}s "is better than" the other.
-	 * </p>
-	 * <p>
-	 * It is used to identify the bounding box of an arbitrary
-	 * {@link BezierCurve} by searching for the minimal and maximal x and y
-	 * coordinates while sub-dividing the {@link BezierCurve} until all of its
-	 * control {@link Point}s are not "better than" the one selected.
-	 * </p>
+	 * The data that is needed to compute projections onto a
+	 * {@link BezierCurve} without creating any intermediate objects: the
+	 * (Cartesian) coordinates of the control points of the curve and of its
+	 * first and second derivatives, as well as a look up table (LUT) of
+	 * evenly distributed points on the curve. All coordinates are stored as x,
+	 * y pairs.
 	 */
-	private interface IPointCmp {
-		public boolean pIsBetterThanQ(Point p, Point q);
+	private static final class ProjectionCache {
+
+		private static final int LUT_SIZE = 100;
+
+		private static final double[] LUT_PARAMETERS = new double[LUT_SIZE];
+
+		static {
+			for (int i = 0; i < LUT_SIZE; i++) {
+				LUT_PARAMETERS[i] = i / (double) (LUT_SIZE - 1);
+			}
+		}
+
+		private static final int MAX_NEWTON_ITERATIONS = 16;
+
+		private static final double NEWTON_TOLERANCE = PrecisionUtils
+				.calculateFraction(6);
+
+		private final double[] coordinates;
+		private final int count;
+		private final double[] derivative;
+		private final double[] secondDerivative;
+		private final double[] lut = new double[2 * LUT_SIZE];
+
+		private ProjectionCache(double[] coordinates) {
+			this.coordinates = coordinates;
+			count = coordinates.length / 2;
+			derivative = new double[Math.max(0, 2 * (count - 1))];
+			BezierUtils.derivative(coordinates, count, derivative);
+			secondDerivative = new double[Math.max(0, 2 * (count - 2))];
+			BezierUtils.derivative(derivative, count - 1, secondDerivative);
+			BezierUtils.evaluateBatch(coordinates, count, LUT_PARAMETERS, lut);
+		}
+
+		/**
+		 * Finds the LUT entry that is nearest to the reference point, and
+		 * refines its parameter value (within the neighboring LUT intervals)
+		 * by Newton iteration on the derivative of the squared distance.
+		 */
+		private Point getProjection(double rx, double ry) {
+			int nearest = 0;
+			double distance = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < LUT_SIZE; i++) {
+				double dx = lut[2 * i] - rx;
+				double dy = lut[2 * i + 1] - ry;
+				double dist = dx * dx + dy * dy;
+				if (dist < distance) {
+					distance = dist;
+					nearest = i;
+				}
+			}
+			double lower = Math.max(0, (nearest - 1) / (double) (LUT_SIZE - 1));
+			double upper = Math.min(1,
+					(nearest + 1) / (double) (LUT_SIZE - 1));
+			double t = nearest / (double) (LUT_SIZE - 1);
+			for (int i = 0; i < MAX_NEWTON_ITERATIONS; i++) {
+				double dx = BezierUtils.evaluate(coordinates, count, 0, t) - rx;
+				double dy = BezierUtils.evaluate(coordinates, count, 1, t) - ry;
+				double d1x = BezierUtils.evaluate(derivative, count - 1, 0, t);
+				double d1y = BezierUtils.evaluate(derivative, count - 1, 1, t);
+				double numerator = dx * d1x + dy * d1y;
+				double denominator = d1x * d1x + d1y * d1y
+						+ dx * BezierUtils.evaluate(secondDerivative,
+								count - 2, 0, t)
+						+ dy * BezierUtils.evaluate(secondDerivative,
+								count - 2, 1, t);
+				if (denominator <= 0) {
+					// not a local minimum of the distance
+					break;
+				}
+				double next = Math.min(upper,
+						Math.max(lower, t - numerator / denominator));
+				boolean converged = Math.abs(next - t) <= NEWTON_TOLERANCE;
+				t = next;
+				if (converged) {
+					break;
+				}
+			}
+			double x = BezierUtils.evaluate(coordinates, count, 0, t);
+			double y = BezierUtils.evaluate(coordinates, count, 1, t);
+			double dx = x - rx;
+			double dy = y - ry;
+			if (dx * dx + dy * dy > distance) {
+				// fall back to the LUT entry
+				x = lut[2 * nearest];
+				y = lut[2 * nearest + 1];
+			}
+			return new Point(x, y);
+		}
 	}
 
 	private static final long serialVersionUID = 1L;
@@ -542,50 +625,6 @@ public class BezierCurve extends AbstractGeometry
 	private static final double UNRECOGNIZABLE_PRECISION_FRACTION = PrecisionUtils
 			.calculateFraction(0) / 10;
 
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * minimal x coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp xminCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.smallerEqual(p.x, q.x);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * maximal x coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp xmaxCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.greaterEqual(p.x, q.x);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * minimal y coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp yminCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.smallerEqual(p.y, q.y);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * maximal y coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp ymaxCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.greaterEqual(p.y, q.y);
-		}
-	};
-
 	/**
 	 * <p>
 	 * Clusters consecutive {@link IntervalPair}s into a new array of
@@ -725,40 +764,6 @@ public class BezierCurve extends AbstractGeometry
 		dst.qi = src.qi;
 	}
 
-	/**
-	 * <p>
-	 * Returns the similarity of the given {@link BezierCurve} to a {@link Line}
-	 * , which is defined as the absolute distance of its control {@link Point}s
-	 * to the base {@link Line} connecting its end {@link Point}s.
-	 * </p>
-	 * <p>
-	 * A similarity of <code>0</code> means that the given {@link BezierCurve}'s
-	 * control {@link Point}s are on a straight {@link Line}.
-	 * </p>
-	 *
-	 * @param c
-	 *            the {@link BezierCurve} of which the distance to its base
-	 *            {@link Line} is computed
-	 * @return the distance of the given {@link BezierCurve} to its base
-	 *         {@link Line}
-	 */
-	private static double distanceToBaseLine(BezierCurve c) {
-		Straight3D baseLine = Straight3D.through(c.points[0],
-				c.points[c.points.length - 1]);
-
-		if (baseLine == null) {
-			return 0d;
-		}
-
-		double maxDistance = 0d;
-		for (int i = 1; i < c.points.length - 1; i++) {
-			maxDistance = Math.max(maxDistance,
-					Math.abs(baseLine.getSignedDistanceCW(c.points[i])));
-		}
-
-		return maxDistance;
-	}
-
 	/**
 	 * Searches for an overlapping segment within the given {@link IntervalPair}
 	 * s.
@@ -863,6 +868,26 @@ public class BezierCurve extends AbstractGeometry
 		return (y - p.y + m * p.x) / m;
 	}
 
+	/**
+	 * Checks if the given coordinate p is better than (or equal to) the given
+	 * coordinate q, i.e. whether it is greater or equal (when searching for a
+	 * maximum) or smaller or equal (when searching for a minimum).
+	 *
+	 * @param p
+	 *            the coordinate to test
+	 * @param q
+	 *            the coordinate to compare with
+	 * @param maximum
+	 *            <code>true</code> if searching for a maximum,
+	 *            <code>false</code> if searching for a minimum
+	 * @return <code>true</code> if p is better than q, otherwise
+	 *         <code>false</code>
+	 */
+	private static boolean isBetter(double p, double q, boolean maximum) {
+		return maximum ? PrecisionUtils.greaterEqual(p, q)
+				: PrecisionUtils.smallerEqual(p, q);
+	}
+
 	/**
 	 * Checks if the given {@link Interval}s are considered to be next to each
 	 * other within the specified imprecision. Two {@link Interval}s are
@@ -1044,6 +1069,19 @@ public class BezierCurve extends AbstractGeometry
 	 */
 	private final Vector3D[] points;
 
+	/**
+	 * The (Cartesian) coordinates of the control points of this
+	 * {@link BezierCurve} in x, y order, which are lazily computed, and reset
+	 * whenever a control point is changed.
+	 */
+	private transient double[] coordinates;
+
+	/**
+	 * The {@link ProjectionCache} of this {@link BezierCurve}, which is lazily
+	 * created, and reset whenever a control point is changed.
+	 */
+	private transient ProjectionCache projectionCache;
+
 	/**
 	 * Constructs a new {@link BezierCurve} from the given {@link CubicCurve}.
 	 *
@@ -1094,6 +1132,28 @@ public class BezierCurve extends AbstractGeometry
 		this(c.getP1(), c.getCtrl(), c.getP2());
 	}
 
+	/**
+	 * Constructs a new {@link BezierCurve} from the first <i>count</i> control
+	 * {@link Point}s of the given coordinates (in x, y order), as computed by
+	 * {@link BezierUtils}. The given array is adopted as the coordinates cache,
+	 * and may thus not be modified afterwards.
+	 *
+	 * @param controlPoints
+	 *            the control {@link Point} coordinates in x, y order
+	 * @param count
+	 *            the number of control {@link Point}s
+	 */
+	private BezierCurve(double[] controlPoints, int count) {
+		points = new Vector3D[count];
+		for (int i = 0; i < count; i++) {
+			points[i] = new Vector3D(controlPoints[2 * i],
+					controlPoints[2 * i + 1], 1);
+		}
+		if (controlPoints.length == 2 * count) {
+			coordinates = controlPoints;
+		}
+	}
+
 	/**
 	 * <p>
 	 * Constructs a new {@link BezierCurve} object from the control points
@@ -1202,14 +1262,6 @@ public class BezierCurve extends AbstractGeometry
 		return interval;
 	}
 
-	private Point[] constructLUT(double start, double end, int size) {
-		Point[] lut = new Point[size];
-		for (int i = 0; i < size; i++) {
-			lut[i] = get(start + i * (end - start) / (size - 1));
-		}
-		return lut;
-	}
-
 	/**
 	 * <p>
 	 * Tests if this {@link BezierCurve} contains the given other
@@ -1333,68 +1385,6 @@ public class BezierCurve extends AbstractGeometry
 		}
 	}
 
-	/**
-	 * Searches for the specified extreme on this {@link BezierCurve}.
-	 *
-	 * @param cmp
-	 *            the {@link IPointCmp} that specifies the extreme to search for
-	 * @return the extreme {@link Point} that can be identified
-	 */
-	private Point findExtreme(IPointCmp cmp) {
-		return findExtreme(cmp, Interval.getFull());
-	}
-
-	/**
-	 * <p>
-	 * Searches for an extreme {@link Point} on this {@link BezierCurve}.
-	 * </p>
-	 *
-	 * @param cmp
-	 *            the {@link IPointCmp} that is used to find the extreme
-	 *            {@link Point}
-	 * @param iStart
-	 *            the start {@link Interval} on this {@link BezierCurve} in
-	 *            which the extreme {@link Point} is searched for
-	 * @return the extreme {@link Point} that could be found
-	 */
-	private Point findExtreme(IPointCmp cmp, Interval iStart) {
-		Stack<Interval> parts = new Stack<>();
-		parts.push(iStart);
-
-		Point xtreme = getHC(iStart.a).toPoint();
-
-		while (!parts.isEmpty()) {
-			Interval i = parts.pop();
-			BezierCurve clipped = getClipped(i.a, i.b);
-
-			Point sp = clipped.points[0].toPoint();
-			xtreme = cmp.pIsBetterThanQ(sp, xtreme) ? sp : xtreme;
-			Point ep = clipped.points[clipped.points.length - 1].toPoint();
-			xtreme = cmp.pIsBetterThanQ(ep, xtreme) ? ep : xtreme;
-
-			boolean everythingWorse = true;
-			for (int j = 1; j < clipped.points.length - 1; j++) {
-				if (!cmp.pIsBetterThanQ(xtreme, clipped.points[j].toPoint())) {
-					everythingWorse = false;
-					break;
-				}
-			}
-
-			if (everythingWorse) {
-				continue;
-			}
-
-			// split interval
-			if (!i.converges()) {
-				double im = i.getMid();
-				parts.push(new Interval(im, i.b));
-				parts.push(new Interval(i.a, im));
-			}
-		}
-
-		return xtreme;
-	}
-
 	/**
 	 * <p>
 	 * Find intersection {@link IntervalPair} chunks. The chunks are not very
@@ -1433,7 +1423,7 @@ public class BezierCurve extends AbstractGeometry
 		// curve implosion check
 		if (L1 == null || L2 == null) {
 			// q is degenerated
-			Point poi = ip.q.getHC(ip.qi.getMid()).toPoint();
+			Point poi = ip.q.get(ip.qi.getMid());
 			double[] interval = new double[] { 0, 1 };
 			if (poi != null && containmentParameter(ip.p, interval, poi)) {
 				intersections.add(poi);
@@ -1502,14 +1492,14 @@ public class BezierCurve extends AbstractGeometry
 			}
 
 			if (ip.convergesP()) {
-				Point p = ip.p.getHC(ip.pi.a).toPoint();
+				Point p = ip.p.get(ip.pi.a);
 				if (ip.q.contains(p)) {
 					return p;
 				}
 			}
 
 			if (ip.convergesQ()) {
-				Point q = ip.q.getHC(ip.qi.a).toPoint();
+				Point q = ip.q.get(ip.qi.a);
 				if (ip.p.contains(q)) {
 					return q;
 				}
@@ -1536,7 +1526,7 @@ public class BezierCurve extends AbstractGeometry
 			// curve implosion check
 			if (L1 == null || L2 == null) {
 				// q is degenerated
-				Point poi = ip.q.getHC(ip.qi.getMid()).toPoint();
+				Point poi = ip.q.get(ip.qi.getMid());
 				if (ip.p.contains(poi)) {
 					copyIntervalPair(ipIO, ip);
 					return poi;
@@ -1615,15 +1605,21 @@ public class BezierCurve extends AbstractGeometry
 	 *         parameter value
 	 */
 	public Point get(double t) {
-		return getHC(t).toPoint();
+		if (t < 0 || t > 1) {
+			throw new IllegalArgumentException("t out of range: " + t);
+		}
+		double[] controlPoints = getCoordinates();
+		return new Point(
+				BezierUtils.evaluate(controlPoints, points.length, 0, t),
+				BezierUtils.evaluate(controlPoints, points.length, 1, t));
 	}
 
 	@Override
 	public Rectangle getBounds() {
-		double xmin = findExtreme(xminCmp).x;
-		double xmax = findExtreme(xmaxCmp).x;
-		double ymin = findExtreme(yminCmp).y;
-		double ymax = findExtreme(ymaxCmp).y;
+		double xmin = getExtreme(0, false);
+		double xmax = getExtreme(0, true);
+		double ymin = getExtreme(1, false);
+		double ymax = getExtreme(1, true);
 		return new Rectangle(new Point(xmin, ymin), new Point(xmax, ymax));
 	}
 
@@ -1644,9 +1640,9 @@ public class BezierCurve extends AbstractGeometry
 		if (s == 1) {
 			return new BezierCurve(points[points.length - 1]);
 		}
-		BezierCurve right = split(s)[1];
-		double rightT2 = (e - s) / (1 - s);
-		return right.split(rightT2)[0];
+		double[] clipped = new double[2 * points.length];
+		BezierUtils.clip(getCoordinates(), points.length, s, e, clipped);
+		return new BezierCurve(clipped, points.length);
 	}
 
 	/**
@@ -1679,6 +1675,28 @@ public class BezierCurve extends AbstractGeometry
 		return new Rectangle(xmin, ymin, xmax - xmin, ymax - ymin);
 	}
 
+	/**
+	 * Returns the (Cartesian) coordinates of the control points of this
+	 * {@link BezierCurve} in x, y order, as expected by {@link BezierUtils}.
+	 * The returned array is cached, and may thus not be modified by the
+	 * caller.
+	 *
+	 * @return the coordinates of the control points of this
+	 *         {@link BezierCurve}
+	 */
+	double[] getCoordinates() {
+		double[] controlPoints = coordinates;
+		if (controlPoints == null) {
+			controlPoints = new double[2 * points.length];
+			for (int i = 0; i < points.length; i++) {
+				controlPoints[2 * i] = points[i].x / points[i].z;
+				controlPoints[2 * i + 1] = points[i].y / points[i].z;
+			}
+			coordinates = controlPoints;
+		}
+		return controlPoints;
+	}
+
 	@Override
 	public BezierCurve getCopy() {
 		return new BezierCurve(points);
@@ -1691,16 +1709,9 @@ public class BezierCurve extends AbstractGeometry
 	 * @return the hodograph of this {@link BezierCurve}
 	 */
 	public BezierCurve getDerivative() {
-		Vector3D[] controlPoints = new Vector3D[points.length - 1];
-
-		for (int i = 0; i < controlPoints.length; i++) {
-			controlPoints[i] = points[i + 1].getSubtracted(points[i])
-					.getScaled(points.length - 1);
-			// ignore z coordinate:
-			controlPoints[i].z = 1;
-		}
-
-		return new BezierCurve(controlPoints);
+		double[] derivative = new double[2 * (points.length - 1)];
+		BezierUtils.derivative(getCoordinates(), points.length, derivative);
+		return new BezierCurve(derivative, points.length - 1);
 	}
 
 	/**
@@ -1723,34 +1734,75 @@ public class BezierCurve extends AbstractGeometry
 	}
 
 	/**
-	 * Returns a {@link Vector3D} representing the {@link Point} at the given
-	 * parameter value.
+	 * <p>
+	 * Searches for the minimal or maximal x or y coordinate of a
+	 * {@link Point} on this {@link BezierCurve}.
+	 * </p>
+	 * <p>
+	 * The {@link BezierCurve} is recursively subdivided until none of the
+	 * inner control {@link Point}s of a sub-curve is better than the extreme
+	 * found so far (or until its parameter {@link Interval} converges). The
+	 * sub-curves are clipped into a reused buffer, and their parameter
+	 * {@link Interval}s are kept on a primitive stack, so that no intermediate
+	 * objects are created.
+	 * </p>
 	 *
-	 * @param t
-	 *            the parameter value for which this {@link BezierCurve} is
-	 *            evaluated
-	 * @return the {@link Vector3D} at the given parameter value
-	 */
-	private Vector3D getHC(double t) {
-		if (t < 0 || t > 1) {
-			throw new IllegalArgumentException("t out of range: " + t);
-		}
+	 * @param dimension
+	 *            <code>0</code> to search for an extreme x coordinate,
+	 *            <code>1</code> to search for an extreme y coordinate
+	 * @param maximum
+	 *            <code>true</code> to search for the maximum,
+	 *            <code>false</code> to search for the minimum
+	 * @return the extreme coordinate that could be found
+	 */
+	double getExtreme(int dimension, boolean maximum) {
+		double[] controlPoints = getCoordinates();
+		int count = points.length;
+		double[] part = new double[2 * count];
+		// (a, b) pairs of the parameter intervals that are to be processed
+		double[] parts = new double[32];
+		int size = 0;
+		parts[size++] = 0;
+		parts[size++] = 1;
+
+		double xtreme = controlPoints[dimension];
+
+		while (size > 0) {
+			double b = parts[--size];
+			double a = parts[--size];
+			BezierUtils.clip(controlPoints, count, a, b, part);
+
+			double start = part[dimension];
+			xtreme = isBetter(start, xtreme, maximum) ? start : xtreme;
+			double end = part[2 * count - 2 + dimension];
+			xtreme = isBetter(end, xtreme, maximum) ? end : xtreme;
 
-		// using horner's scheme:
-		int n = points.length;
-		if (n < 1) {
-			return null;
-		}
+			boolean everythingWorse = true;
+			for (int j = 1; j < count - 1; j++) {
+				if (!isBetter(xtreme, part[2 * j + dimension], maximum)) {
+					everythingWorse = false;
+					break;
+				}
+			}
 
-		double bn = 1, tn = 1, d = 1d - t;
-		Vector3D pn = points[0].getScaled(bn * tn);
-		for (int i = 1; i < n; i++) {
-			bn = bn * (n - i) / i;
-			tn = tn * t;
-			pn = pn.getScaled(d).getAdded(points[i].getScaled(bn * tn));
+			if (everythingWorse) {
+				continue;
+			}
+
+			// split interval
+			if (!PrecisionUtils.equal(a, b)) {
+				if (size + 4 > parts.length) {
+					parts = Arrays.copyOf(parts, 2 * parts.length);
+				}
+				double m = (a + b) / 2;
+				parts[size++] = m;
+				parts[size++] = b;
+				parts[size++] = a;
+				parts[size++] = m;
+			}
 		}
 
-		return pn;
+		return xtreme;
 	}
 
 	/**
@@ -1984,83 +2036,14 @@ public class BezierCurve extends AbstractGeometry
 		return realPoints;
 	}
 
-	/**
-	 * Returns a copy of the {@link Vector3D} representations of the control
-	 * points of this {@link BezierCurve}.
-	 *
-	 * @return a copy of the {@link Vector3D} representations of the control
-	 *         points of this {@link BezierCurve}
-	 */
-	private Vector3D[] getPointsCopy() {
-		Vector3D[] copy = new Vector3D[points.length];
-		for (int i = 0; i < points.length; i++) {
-			copy[i] = points[i].getCopy();
-		}
-		return copy;
-	}
-
 	@Override
 	public Point getProjection(final Point reference) {
-		// construct look up table (LUT)
-		int size = 100;
-		Point[] lut = constructLUT(0, 1, size);
-
-		// find nearest LUT entry
-		int nearestLut = 0;
-		double distance = reference.getDistance(lut[0]);
-		for (int i = 1; i < lut.length; i++) {
-			double dist = reference.getDistance(lut[i]);
-			if (dist < distance) {
-				distance = dist;
-				nearestLut = i;
-			}
-		}
-		Point nearest = lut[nearestLut];
-
-		// compute interval based on LUT
-		Interval interval = new Interval(
-				nearestLut / (double) (size - 1) - 1 / (double) (size - 1),
-				nearestLut / (double) (size - 1) + 1 / (double) (size - 1));
-		// ensure interval is valid
-		interval.a = Math.min(1, Math.max(0, interval.a));
-		interval.b = Math.min(1, Math.max(0, interval.b));
-
-		// refine interval
-		while (!interval.converges()) {
-			// compute start point and end point for the current interval
-			Point sp = get(interval.a);
-			Point ep = get(interval.b);
-
-			// compute distance to reference point
-			double sDist = reference.getDistance(sp);
-			double eDist = reference.getDistance(ep);
-
-			if (sDist >= distance && eDist >= distance) {
-				// start point and end point have greater distance
-				// => reduce interval on both sides
-				double range = interval.b - interval.a;
-				interval.b = interval.a + 0.75 * range;
-				interval.a = interval.a + 0.25 * range;
-			} else if (sDist < distance && sDist < eDist) {
-				// start has smaller distance
-				distance = sDist;
-				nearest = sp;
-				// reduce interval to its left side
-				interval.b = (interval.a + interval.b) / 2;
-			} else if (eDist < distance) {
-				// end has smaller distance
-				distance = eDist;
-				nearest = ep;
-				// reduce interval to its right side
-				interval.a = (interval.a + interval.b) / 2;
-			} else {
-				// impossible
-				throw new IllegalStateException(
-						"condition should not be reachable");
-			}
+		ProjectionCache cache = projectionCache;
+		if (cache == null) {
+			cache = new ProjectionCache(getCoordinates());
+			projectionCache = cache;
 		}
-
-		return nearest;
+		return cache.getProjection(reference.x, reference.y);
 	}
 
 	@Override
@@ -2272,6 +2255,8 @@ public class BezierCurve extends AbstractGeometry
 							.getRotatedCCW(angle).toPoint()
 							.getTranslated(center));
 		}
+		coordinates = null;
+		projectionCache = null;
 		return this;
 	}
 
@@ -2408,6 +2393,8 @@ public class BezierCurve extends AbstractGeometry
 					+ (points.length - 1) + ".");
 		}
 		points[i] = new Vector3D(p);
+		coordinates = null;
+		projectionCache = null;
 		return this;
 	}
 
@@ -2425,23 +2412,11 @@ public class BezierCurve extends AbstractGeometry
 	 *         <code>[0;t]</code>) and the right (<code>[t;1]</code>)
 	 */
 	public BezierCurve[] split(double t) {
-		Vector3D[] leftPoints = new Vector3D[points.length];
-		Vector3D[] rightPoints = new Vector3D[points.length];
-
-		Vector3D[] ratioPoints = getPointsCopy();
-
-		for (int i = 0; i < points.length; i++) {
-			leftPoints[i] = ratioPoints[0];
-			rightPoints[points.length - 1 - i] = ratioPoints[points.length - 1
-					- i];
-
-			for (int j = 0; j < points.length - i - 1; j++) {
-				ratioPoints[j] = ratioPoints[j].getRatio(ratioPoints[j + 1], t);
-			}
-		}
-
-		return new BezierCurve[] { new BezierCurve(leftPoints),
-				new BezierCurve(rightPoints) };
+		double[] left = new double[2 * points.length];
+		double[] right = new double[2 * points.length];
+		BezierUtils.split(getCoordinates(), points.length, t, left, right);
+		return new BezierCurve[] { new BezierCurve(left, points.length),
+				new BezierCurve(right, points.length) };
 	}
 
 	@Override
@@ -2531,17 +2506,21 @@ public class BezierCurve extends AbstractGeometry
 	public Line[] toLineStrip(double lineSimilarity, Interval startInterval) {
 		ArrayList<Line> lines = new ArrayList<>();
 
-		Point startPoint = getHC(startInterval.a).toPoint();
+		Point startPoint = get(startInterval.a);
+
+		double[] controlPoints = getCoordinates();
+		double[] part = new double[controlPoints.length];
 
 		Stack<Interval> parts = new Stack<>();
 		parts.push(startInterval);
 
 		while (!parts.isEmpty()) {
 			Interval i = parts.pop();
-			BezierCurve part = getClipped(i.a, i.b);
+			BezierUtils.clip(controlPoints, points.length, i.a, i.b, part);
 
-			if (distanceToBaseLine(part) < lineSimilarity) {
-				Point endPoint = getHC(i.b).toPoint();
+			if (BezierUtils.getDistanceToBaseLine(part,
+					points.length) < lineSimilarity) {
+				Point endPoint = get(i.b);
 				lines.add(new Line(startPoint, endPoint));
 				startPoint = endPoint;
 			} else {
@@ -2589,27 +2568,30 @@ public class BezierCurve extends AbstractGeometry
 	 */
 	public Point[] toPoints(Interval startInterval) {
 		ArrayList<Point> points = new ArrayList<>();
-		points.add(getHC(startInterval.a).toPoint());
+		points.add(get(startInterval.a));
 
 		Stack<Interval> parts = new Stack<>();
 		parts.push(startInterval);
 
+		double[] controlPoints = getCoordinates();
+		int count = this.points.length;
+		double[] part = new double[controlPoints.length];
+
 		while (!parts.isEmpty()) {
 			Interval i = parts.pop();
-			BezierCurve part = getClipped(i.a, i.b);
-
-			Point[] partPoints = part.getPoints();
+			BezierUtils.clip(controlPoints, count, i.a, i.b, part);
 
 			boolean allTogether = true;
-			for (int j = 1; j < partPoints.length; j++) {
-				if (!partPoints[0].equals(partPoints[j])) {
+			for (int j = 1; j < count; j++) {
+				if (!PrecisionUtils.equal(part[0], part[2 * j])
+						|| !PrecisionUtils.equal(part[1], part[2 * j + 1])) {
 					allTogether = false;
 					break;
 				}
 			}
 
 			if (allTogether) {
-				points.add(partPoints[partPoints.length - 1]);
+				points.add(new Point(part[2 * count - 2], part[2 * count - 1]));
 			} else {
 				double im = i.getMid();
 				parts.push(new Interval(im, i.b));
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.List;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+
+/**
+ * A spatial index (an R-tree) that maps items to their axis-parallel bounding
+ * boxes, so that all items whose bounding boxes intersect a given box can be
+ * found in logarithmic (plus output sensitive) time. It is used by the
+ * {@link IMultiShape} implementations to only compare their internal
+ * {@link IShape}s (or edges) with those that are located nearby.
+ * <p>
+ * All queries are imprecise, i.e. boxes that are separated by a gap not larger
+ * than the imprecision used by the geometry API are regarded to intersect, so
+ * that the index does not exclude any candidates that would be regarded as
+ * touching by the imprecise geometric predicates.
+ *
+ * @author agent
+ *
+ * @param <T>
+ *            The type of the indexed items.
+ */
+final class BoundingBoxIndex<T> {
+
+	/**
+	 * A node of the tree, storing the bounding boxes of its entries (which are
+	 * either items or child nodes) in a flat array.
+	 */
+	private static final class Node {
+
+		private final boolean leaf;
+		private final Object[] entries = new Object[MAX_ENTRIES + 1];
+		private final double[] boxes = new double[4 * (MAX_ENTRIES + 1)];
+		private int size;
+
+		private Node(boolean leaf) {
+			this.leaf = leaf;
+		}
+
+		private void add(Object entry, double minX, double minY, double maxX,
+				double maxY) {
+			entries[size] = entry;
+			boxes[4 * size] = minX;
+			boxes[4 * size + 1] = minY;
+			boxes[4 * size + 2] = maxX;
+			boxes[4 * size + 3] = maxY;
+			size++;
+		}
+
+		private void getBounds(double[] bounds) {
+			bounds[0] = bounds[1] = Double.POSITIVE_INFINITY;
+			bounds[2] = bounds[3] = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < size; i++) {
+				bounds[0] = Math.min(bounds[0], boxes[4 * i]);
+				bounds[1] = Math.min(bounds[1], boxes[4 * i + 1]);
+				bounds[2] = Math.max(bounds[2], boxes[4 * i + 2]);
+				bounds[3] = Math.max(bounds[3], boxes[4 * i + 3]);
+			}
+		}
+
+		private void remove(int i) {
+			size--;
+			entries[i] = entries[size];
+			System.arraycopy(boxes, 4 * size, boxes, 4 * i, 4);
+			entries[size] = null;
+		}
+
+		private void setBox(int i, double[] bounds) {
+			System.arraycopy(bounds, 0, boxes, 4 * i, 4);
+		}
+	}
+
+	private static final int MAX_ENTRIES = 8;
+
+	private static final double TOLERANCE = PrecisionUtils
+			.calculateFraction(-1);
+
+	private static boolean intersects(double[] boxes, int i, double minX,
+			double minY, double maxX, double maxY) {
+		return boxes[4 * i] <= maxX + TOLERANCE
+				&& minX <= boxes[4 * i + 2] + TOLERANCE
+				&& boxes[4 * i + 1] <= maxY + TOLERANCE
+				&& minY <= boxes[4 * i + 3] + TOLERANCE;
+	}
+
+	/**
+	 * Splits the given overflowing {@link Node} in halves along the axis in
+	 * which the centers of its entries are spread the most.
+	 *
+	 * @param node
+	 *            The {@link Node} to split.
+	 * @return A new {@link Node} holding the second half of the entries.
+	 */
+	private static Node split(Node node) {
+		final double[] boxes = node.boxes;
+		double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < node.size; i++) {
+			double cx = boxes[4 * i] + boxes[4 * i + 2];
+			double cy = boxes[4 * i + 1] + boxes[4 * i + 3];
+			minX = Math.min(minX, cx);
+			maxX = Math.max(maxX, cx);
+			minY = Math.min(minY, cy);
+			maxY = Math.max(maxY, cy);
+		}
+		int axis = maxX - minX >= maxY - minY ? 0 : 1;
+
+		// insertion sort of the entries by (twice) their center
+		for (int i = 1; i < node.size; i++) {
+			Object entry = node.entries[i];
+			double[] box = new double[4];
+			System.arraycopy(boxes, 4 * i, box, 0, 4);
+			double c = box[axis] + box[axis + 2];
+			int j = i - 1;
+			while (j >= 0 && boxes[4 * j + axis] + boxes[4 * j + axis + 2] > c) {
+				node.entries[j + 1] = node.entries[j];
+				System.arraycopy(boxes, 4 * j, boxes, 4 * (j + 1), 4);
+				j--;
+			}
+			node.entries[j + 1] = entry;
+			node.setBox(j + 1, box);
+		}
+
+		Node sibling = new Node(node.leaf);
+		int half = node.size / 2;
+		for (int i = half; i < node.size; i++) {
+			sibling.add(node.entries[i], boxes[4 * i], boxes[4 * i + 1],
+					boxes[4 * i + 2], boxes[4 * i + 3]);
+			node.entries[i] = null;
+		}
+		node.size = half;
+		return sibling;
+	}
+
+	private Node root = new Node(true);
+
+	/**
+	 * Adds the given item with the given bounding box to this
+	 * {@link BoundingBoxIndex}.
+	 *
+	 * @param item
+	 *            The item to add.
+	 * @param minX
+	 *            The minimal x coordinate of the item's bounding box.
+	 * @param minY
+	 *            The minimal y coordinate of the item's bounding box.
+	 * @param maxX
+	 *            The maximal x coordinate of the item's bounding box.
+	 * @param maxY
+	 *            The maximal y coordinate of the item's bounding box.
+	 */
+	public void add(T item, double minX, double minY, double maxX,
+			double maxY) {
+		Node sibling = add(root, item, minX, minY, maxX, maxY);
+		if (sibling != null) {
+			// grow the tree by one level
+			Node newRoot = new Node(false);
+			double[] bounds = new double[4];
+			root.getBounds(bounds);
+			newRoot.add(root, bounds[0], bounds[1], bounds[2], bounds[3]);
+			sibling.getBounds(bounds);
+			newRoot.add(sibling, bounds[0], bounds[1], bounds[2], bounds[3]);
+			root = newRoot;
+		}
+	}
+
+	private Node add(Node node, Object item, double minX, double minY,
+			double maxX, double maxY) {
+		if (node.leaf) {
+			node.add(item, minX, minY, maxX, maxY);
+		} else {
+			// choose the child whose bounding box needs the least enlargement
+			int best = 0;
+			double bestEnlargement = Double.POSITIVE_INFINITY;
+			double bestArea = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < node.size; i++) {
+				double[] boxes = node.boxes;
+				double area = (boxes[4 * i + 2] - boxes[4 * i])
+						* (boxes[4 * i + 3] - boxes[4 * i + 1]);
+				double enlarged = (Math.max(maxX, boxes[4 * i + 2])
+						- Math.min(minX, boxes[4 * i]))
+						* (Math.max(maxY, boxes[4 * i + 3])
+								- Math.min(minY, boxes[4 * i + 1]));
+				if (enlarged - area < bestEnlargement
+						|| enlarged - area == bestEnlargement
+								&& area < bestArea) {
+					best = i;
+					bestEnlargement = enlarged - area;
+					bestArea = area;
+				}
+			}
+			Node child = (Node) node.entries[best];
+			Node sibling = add(child, item, minX, minY, maxX, maxY);
+			double[] bounds = new double[4];
+			child.getBounds(bounds);
+			node.setBox(best, bounds);
+			if (sibling != null) {
+				sibling.getBounds(bounds);
+				node.add(sibling, bounds[0], bounds[1], bounds[2], bounds[3]);
+			}
+		}
+		return node.size > MAX_ENTRIES ? split(node) : null;
+	}
+
+	/**
+	 * Collects all items whose bounding boxes intersect the given box in the
+	 * given {@link List}.
+	 *
+	 * @param minX
+	 *            The minimal x coordinate of the box.
+	 * @param minY
+	 *            The minimal y coordinate of the box.
+	 * @param maxX
+	 *            The maximal x coordinate of the box.
+	 * @param maxY
+	 *            The maximal y coordinate of the box.
+	 * @param result
+	 *            The {@link List} to which the items are added.
+	 * @return The given {@link List} for convenience.
+	 */
+	public List<T> query(double minX, double minY, double maxX, double maxY,
+			List<T> result) {
+		query(root, minX, minY, maxX, maxY, result);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void query(Node node, double minX, double minY, double maxX,
+			double maxY, List<T> result) {
+		for (int i = 0; i < node.size; i++) {
+			if (intersects(node.boxes, i, minX, minY, maxX, maxY)) {
+				if (node.leaf) {
+					result.add((T) node.entries[i]);
+				} else {
+					query((Node) node.entries[i], minX, minY, maxX, maxY,
+							result);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the given item, which has to be indexed with the given bounding
+	 * box, from this {@link BoundingBoxIndex}. Items are identified by
+	 * reference.
+	 *
+	 * @param item
+	 *            The item to remove.
+	 * @param minX
+	 *            The minimal x coordinate of the item's bounding box.
+	 * @param minY
+	 *            The minimal y coordinate of the item's bounding box.
+	 * @param maxX
+	 *            The maximal x coordinate of the item's bounding box.
+	 * @param maxY
+	 *            The maximal y coordinate of the item's bounding box.
+	 * @return <code>true</code> if the item was found and removed, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean remove(T item, double minX, double minY, double maxX,
+			double maxY) {
+		if (remove(root, item, minX, minY, maxX, maxY)) {
+			while (!root.leaf && root.size <= 1) {
+				// shrink the tree by one level
+				root = root.size == 0 ? new Node(true)
+						: (Node) root.entries[0];
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private boolean remove(Node node, Object item, double minX, double minY,
+			double maxX, double maxY) {
+		for (int i = 0; i < node.size; i++) {
+			if (node.leaf) {
+				if (node.entries[i] == item) {
+					node.remove(i);
+					return true;
+				}
+			} else if (intersects(node.boxes, i, minX, minY, maxX, maxY)) {
+				Node child = (Node) node.entries[i];
+				if (remove(child, item, minX, minY, maxX, maxY)) {
+					if (child.size == 0) {
+						node.remove(i);
+					} else {
+						double[] bounds = new double[4];
+						child.getBounds(bounds);
+						node.setBox(i, bounds);
+					}
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
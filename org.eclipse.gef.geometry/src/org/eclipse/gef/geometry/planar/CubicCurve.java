@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
 
+import org.eclipse.gef.geometry.internal.utils.BezierUtils;
+
 /**
  * An instance of the {@link CubicCurve} class represents a {@link BezierCurve}
  * of degree 3, having a start and an end {@link Point} and two handle
@@ -294,8 +296,10 @@ public class CubicCurve extends BezierCurve {
 
 	@Override
 	public CubicCurve[] split(double t) {
-		BezierCurve[] split = super.split(t);
-		return new CubicCurve[] { split[0].toCubic(), split[1].toCubic() };
+		double[] left = new double[8];
+		double[] right = new double[8];
+		BezierUtils.split(getCoordinates(), 4, t, left, right);
+		return new CubicCurve[] { new CubicCurve(left), new CubicCurve(right) };
 	}
 
 	@Override
@@ -0,0 +1,989 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.internal.utils.BezierUtils;
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+
+/**
+ * Computes boolean operations (union, intersection, difference, and exclusive
+ * or) on the areas of two {@link Path}s, using the plane sweep algorithm of
+ * Martinez, Rueda, and Feito ("A new algorithm for computing Boolean
+ * operations on polygons", 2009).
+ * <p>
+ * In contrast to the original algorithm, the winding numbers of both operands
+ * (instead of in/out flags) are tracked below each edge, so that both winding
+ * rules, self-intersecting contours, and overlapping edges (of the same or of
+ * different operands) are supported. Curved segments are adaptively flattened
+ * before, so that the sweep only has to deal with straight edges.
+ * <p>
+ * The sweep events (two per edge) are stored in primitive arrays, indexed by
+ * event, where the data of an edge is stored at its left event. The event
+ * queue (a binary heap) and the sweep line status (a sorted array of left
+ * events) are primitive arrays of event indices as well, so that the number
+ * of objects that is created does not depend on the size of the input.
+ * <p>
+ * The resulting {@link Path} consists of closed polygonal contours, which are
+ * oriented so that the area lies to their left (with the y-axis pointing
+ * upwards), so that it is correctly filled using
+ * {@link Path#WIND_NON_ZERO}.
+ *
+ * @author agent
+ *
+ */
+final class PathClipper {
+
+	/**
+	 * The area covered by either operand.
+	 */
+	static final int UNION = 0;
+
+	/**
+	 * The area covered by both operands.
+	 */
+	static final int INTERSECTION = 1;
+
+	/**
+	 * The area covered by the first but not the second operand.
+	 */
+	static final int DIFFERENCE = 2;
+
+	/**
+	 * The area covered by exactly one of the operands.
+	 */
+	static final int EXCLUSIVE_OR = 3;
+
+	/**
+	 * The maximum distance of the control points of a curve part to its base
+	 * line, below which the part is approximated by a straight edge.
+	 */
+	private static final double FLATNESS = PrecisionUtils.calculateFraction(-4);
+
+	/**
+	 * The maximum number of subdivisions when flattening a curve.
+	 */
+	private static final int MAX_FLATTENING_DEPTH = 16;
+
+	/**
+	 * Computes the given boolean operation on the areas of the given
+	 * {@link Path}s.
+	 *
+	 * @param pa
+	 *            The first operand.
+	 * @param pb
+	 *            The second operand.
+	 * @param operation
+	 *            One of {@link #UNION}, {@link #INTERSECTION},
+	 *            {@link #DIFFERENCE}, or {@link #EXCLUSIVE_OR}.
+	 * @return A new {@link Path} representing the resulting area.
+	 */
+	static Path compute(Path pa, Path pb, int operation) {
+		PathClipper clipper = new PathClipper(operation,
+				pa.getWindingRule() == Path.WIND_EVEN_ODD,
+				pb.getWindingRule() == Path.WIND_EVEN_ODD);
+		clipper.addPath(pa, 0);
+		clipper.addPath(pb, 1);
+		clipper.sweep();
+		return clipper.createResult();
+	}
+
+	private static boolean isInside(int winding, boolean evenOdd) {
+		return evenOdd ? (winding & 1) != 0 : winding != 0;
+	}
+
+	private static boolean isLexicographicallyBefore(double x1, double y1,
+			double x2, double y2) {
+		return x1 < x2 || x1 == x2 && y1 < y2;
+	}
+
+	private static double signedArea(double x0, double y0, double x1,
+			double y1, double x2, double y2) {
+		return (x0 - x2) * (y1 - y2) - (x1 - x2) * (y0 - y2);
+	}
+
+	private final int operation;
+	private final boolean evenOddA;
+	private final boolean evenOddB;
+	private final double[] maxX = new double[] { Double.NEGATIVE_INFINITY,
+			Double.NEGATIVE_INFINITY };
+
+	// the events (edge data is stored at the left event)
+	private int eventCount;
+	private double[] x = new double[64];
+	private double[] y = new double[64];
+	private int[] other = new int[64];
+	private boolean[] left = new boolean[64];
+	// whether a left event has been swept (and not merged into another one)
+	private boolean[] processed = new boolean[64];
+	private byte[] operand = new byte[64];
+	// the changes of the winding numbers when crossing the edge upwards
+	private int[] windA = new int[64];
+	private int[] windB = new int[64];
+	// the winding numbers directly below the edge
+	private int[] belowA = new int[64];
+	private int[] belowB = new int[64];
+	// the original edge (before any subdivision) that an event belongs to
+	private int[] line = new int[64];
+
+	// the end point coordinates of the original edges
+	private double[] lines = new double[64];
+	private int lineCount;
+
+	// the event queue (binary heap of events)
+	private int[] queue = new int[64];
+	private int queueSize;
+
+	// the sweep line status (left events of the edges that are currently
+	// intersected by the sweep line, ordered from bottom to top)
+	private int[] status = new int[16];
+	private int statusSize;
+
+	// the vertex coordinates of the contour that is currently flattened
+	private double[] contour = new double[64];
+	private int contourSize;
+
+	// the result of the last call to intersect(int, int)
+	private double ix0, iy0, ix1, iy1;
+
+	private PathClipper(int operation, boolean evenOddA, boolean evenOddB) {
+		this.operation = operation;
+		this.evenOddA = evenOddA;
+		this.evenOddB = evenOddB;
+	}
+
+	/**
+	 * Adds the (closed) current contour as edges of the given operand.
+	 */
+	private void addContour(int op) {
+		int n = contourSize / 2;
+		for (int i = 0; i < n; i++) {
+			int j = (i + 1) % n;
+			addEdge(contour[2 * i], contour[2 * i + 1], contour[2 * j],
+					contour[2 * j + 1], op);
+		}
+		contourSize = 0;
+	}
+
+	private void addEdge(double x1, double y1, double x2, double y2, int op) {
+		if (x1 == x2 && y1 == y2) {
+			return;
+		}
+		boolean forward = x1 < x2 || x1 == x2 && y1 < y2;
+		int l = createEvent(forward ? x1 : x2, forward ? y1 : y2, true, op);
+		int r = createEvent(forward ? x2 : x1, forward ? y2 : y1, false, op);
+		other[l] = r;
+		other[r] = l;
+		if (op == 0) {
+			windA[l] = forward ? 1 : -1;
+		} else {
+			windB[l] = forward ? 1 : -1;
+		}
+		if (4 * lineCount + 4 > lines.length) {
+			lines = Arrays.copyOf(lines, 2 * lines.length);
+		}
+		lines[4 * lineCount] = x[l];
+		lines[4 * lineCount + 1] = y[l];
+		lines[4 * lineCount + 2] = x[r];
+		lines[4 * lineCount + 3] = y[r];
+		line[l] = lineCount;
+		line[r] = lineCount;
+		lineCount++;
+		maxX[op] = Math.max(maxX[op], x[r]);
+		push(l);
+		push(r);
+	}
+
+	/**
+	 * Flattens the segments of the given {@link Path} into closed contours,
+	 * and adds their edges as edges of the given operand.
+	 */
+	private void addPath(Path path, int op) {
+		double startX = 0;
+		double startY = 0;
+		boolean started = false;
+		double[] curve = new double[8];
+		for (Segment s : path.getSegments()) {
+			Point[] points = s.getPoints();
+			if (s.getType() == Segment.MOVE_TO) {
+				addContour(op);
+				startX = points[0].x;
+				startY = points[0].y;
+				started = true;
+				appendVertex(startX, startY);
+				continue;
+			}
+			if (!started) {
+				throw new IllegalStateException(
+						"This Path does not start with a MOVE_TO, therefore, no start position could be determined.");
+			}
+			if (contourSize == 0) {
+				// continue at the start of the previously closed contour
+				appendVertex(startX, startY);
+			}
+			switch (s.getType()) {
+			case Segment.LINE_TO:
+				appendVertex(points[0].x, points[0].y);
+				break;
+			case Segment.QUAD_TO:
+			case Segment.CUBIC_TO:
+				curve[0] = contour[contourSize - 2];
+				curve[1] = contour[contourSize - 1];
+				for (int i = 0; i < points.length; i++) {
+					curve[2 * i + 2] = points[i].x;
+					curve[2 * i + 3] = points[i].y;
+				}
+				flatten(curve, points.length + 1);
+				break;
+			case Segment.CLOSE:
+				addContour(op);
+				break;
+			default:
+				throw new IllegalStateException(
+						"This Path contains an unsupported Segment: <" + s
+								+ ">.");
+			}
+		}
+		addContour(op);
+	}
+
+	private void appendVertex(double vx, double vy) {
+		if (contourSize + 2 > contour.length) {
+			contour = Arrays.copyOf(contour, 2 * contour.length);
+		}
+		contour[contourSize++] = vx;
+		contour[contourSize++] = vy;
+	}
+
+	/**
+	 * Checks the edges at the given and the next position of the sweep line
+	 * status for intersections. If they coincide, the upper edge is merged
+	 * into the lower one and removed from the status, so that the (then
+	 * adjacent) next edge has to be checked as well.
+	 */
+	private void checkNeighbors(int pos) {
+		while (pos >= 0 && pos + 1 < statusSize
+				&& possibleIntersection(status[pos], status[pos + 1]) == 2) {
+			processed[status[pos + 1]] = false;
+			remove(pos + 1);
+		}
+	}
+
+	/**
+	 * Compares two events w.r.t. the order in which they are processed: from
+	 * left to right, then from bottom to top. Right events are processed
+	 * before left events at the same point, and events of edges that are
+	 * below others before these.
+	 */
+	private int compareEvents(int e1, int e2) {
+		if (e1 == e2) {
+			return 0;
+		}
+		if (x[e1] != x[e2]) {
+			return x[e1] < x[e2] ? -1 : 1;
+		}
+		if (y[e1] != y[e2]) {
+			return y[e1] < y[e2] ? -1 : 1;
+		}
+		if (left[e1] != left[e2]) {
+			return left[e1] ? 1 : -1;
+		}
+		int o2 = other[e2];
+		if (!isCollinear(e1, e2) && side(e1, x[o2], y[o2]) != 0) {
+			return isBelow(e1, x[o2], y[o2]) ? -1 : 1;
+		}
+		if (operand[e1] != operand[e2]) {
+			return operand[e1] < operand[e2] ? -1 : 1;
+		}
+		return e1 < e2 ? -1 : 1;
+	}
+
+	/**
+	 * Compares the edges of two left events w.r.t. their order within the
+	 * sweep line status (from bottom to top).
+	 */
+	private int compareSegments(int le1, int le2) {
+		if (le1 == le2) {
+			return 0;
+		}
+		double p1x = x[le1], p1y = y[le1];
+		double q1x = x[other[le1]], q1y = y[other[le1]];
+		double p2x = x[le2], p2y = y[le2];
+		double q2x = x[other[le2]], q2y = y[other[le2]];
+		if (!isCollinear(le1, le2)) {
+			if (p1x == p2x && p1y == p2y) {
+				// same left end point, so use the right end point
+				return isBelow(le1, q2x, q2y) ? -1 : 1;
+			}
+			if (p1x == p2x) {
+				return p1y < p2y ? -1 : 1;
+			}
+			if (compareEvents(le1, le2) > 0) {
+				// le1 was inserted after le2
+				return isBelow(le2, p1x, p1y) ? 1 : -1;
+			}
+			return isBelow(le1, p2x, p2y) ? -1 : 1;
+		}
+		// collinear
+		if (operand[le1] != operand[le2]) {
+			return operand[le1] < operand[le2] ? -1 : 1;
+		}
+		if (p1x == p2x && p1y == p2y) {
+			return le1 < le2 ? -1 : 1;
+		}
+		return compareEvents(le1, le2) > 0 ? 1 : -1;
+	}
+
+	/**
+	 * Computes the crossing point of the edges of the given left events, which
+	 * is stored in (ix0, iy0). It is computed from the original edges (before
+	 * any subdivision) in a canonical order, so that coinciding edges (e.g. of
+	 * both operands) are subdivided at exactly the same points.
+	 */
+	private void computeCrossing(int le1, int le2) {
+		int la = 4 * line[le1];
+		int lb = 4 * line[le2];
+		for (int i = 0; i < 4; i++) {
+			if (lines[la + i] != lines[lb + i]) {
+				if (lines[lb + i] < lines[la + i]) {
+					int l = la;
+					la = lb;
+					lb = l;
+				}
+				break;
+			}
+		}
+		double a1x = lines[la], a1y = lines[la + 1];
+		double vax = lines[la + 2] - a1x, vay = lines[la + 3] - a1y;
+		double vbx = lines[lb + 2] - lines[lb];
+		double vby = lines[lb + 3] - lines[lb + 1];
+		double kross = vax * vby - vay * vbx;
+		if (kross == 0) {
+			// the original edges are parallel, so use the subdivided ones
+			a1x = x[le1];
+			a1y = y[le1];
+			vax = x[other[le1]] - a1x;
+			vay = y[other[le1]] - a1y;
+			vbx = x[other[le2]] - x[le2];
+			vby = y[other[le2]] - y[le2];
+			kross = vax * vby - vay * vbx;
+			lb = -1;
+		}
+		double ex = (lb < 0 ? x[le2] : lines[lb]) - a1x;
+		double ey = (lb < 0 ? y[le2] : lines[lb + 1]) - a1y;
+		double s = (ex * vby - ey * vbx) / kross;
+		ix0 = a1x + s * vax;
+		iy0 = a1y + s * vay;
+	}
+
+	/**
+	 * Computes the winding numbers below the edge of the given left event,
+	 * based on the edge below it in the sweep line status.
+	 */
+	private void computeFields(int le, int prev) {
+		if (prev < 0) {
+			belowA[le] = 0;
+			belowB[le] = 0;
+		} else {
+			belowA[le] = belowA[prev] + windA[prev];
+			belowB[le] = belowB[prev] + windB[prev];
+		}
+	}
+
+	private int createEvent(double ex, double ey, boolean isLeft, int op) {
+		if (eventCount == x.length) {
+			int capacity = 2 * eventCount;
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			other = Arrays.copyOf(other, capacity);
+			left = Arrays.copyOf(left, capacity);
+			processed = Arrays.copyOf(processed, capacity);
+			operand = Arrays.copyOf(operand, capacity);
+			windA = Arrays.copyOf(windA, capacity);
+			windB = Arrays.copyOf(windB, capacity);
+			belowA = Arrays.copyOf(belowA, capacity);
+			belowB = Arrays.copyOf(belowB, capacity);
+			line = Arrays.copyOf(line, capacity);
+		}
+		int e = eventCount++;
+		x[e] = ex;
+		y[e] = ey;
+		left[e] = isLeft;
+		operand[e] = (byte) op;
+		return e;
+	}
+
+	/**
+	 * Selects the edges that separate the resulting area from its
+	 * complement, and connects them into closed contours.
+	 */
+	private Path createResult() {
+		// collect the result edges, oriented so that the area is to their left
+		int[] edges = new int[16];
+		int edgeCount = 0;
+		for (int e = 0; e < eventCount; e++) {
+			if (!left[e] || !processed[e] || windA[e] == 0 && windB[e] == 0) {
+				continue;
+			}
+			boolean below = isInResult(belowA[e], belowB[e]);
+			boolean above = isInResult(belowA[e] + windA[e],
+					belowB[e] + windB[e]);
+			if (below != above) {
+				if (2 * edgeCount + 2 > edges.length) {
+					edges = Arrays.copyOf(edges, 2 * edges.length);
+				}
+				edges[2 * edgeCount] = above ? e : other[e];
+				edges[2 * edgeCount + 1] = above ? other[e] : e;
+				edgeCount++;
+			}
+		}
+
+		// identify the vertices (events at the same point) and link the
+		// edges that start at each vertex
+		VertexMap vertices = new VertexMap(edgeCount);
+		int[] from = new int[edgeCount];
+		int[] to = new int[edgeCount];
+		for (int i = 0; i < edgeCount; i++) {
+			from[i] = vertices.get(x[edges[2 * i]], y[edges[2 * i]]);
+			to[i] = vertices.get(x[edges[2 * i + 1]], y[edges[2 * i + 1]]);
+		}
+		int[] firstOutgoing = new int[vertices.size()];
+		Arrays.fill(firstOutgoing, -1);
+		int[] nextOutgoing = new int[edgeCount];
+		for (int i = edgeCount - 1; i >= 0; i--) {
+			nextOutgoing[i] = firstOutgoing[from[i]];
+			firstOutgoing[from[i]] = i;
+		}
+
+		// walk along unused edges until returning to the start vertex
+		Path path = new Path(Path.WIND_NON_ZERO);
+		boolean[] used = new boolean[edgeCount];
+		contourSize = 0;
+		for (int start = 0; start < edgeCount; start++) {
+			if (used[start]) {
+				continue;
+			}
+			int edge = start;
+			while (edge >= 0) {
+				used[edge] = true;
+				appendVertex(vertices.getX(from[edge]),
+						vertices.getY(from[edge]));
+				int v = to[edge];
+				if (v == from[start]) {
+					break;
+				}
+				// skip used edges
+				while (firstOutgoing[v] >= 0 && used[firstOutgoing[v]]) {
+					firstOutgoing[v] = nextOutgoing[firstOutgoing[v]];
+				}
+				edge = firstOutgoing[v];
+			}
+			emitContour(path);
+		}
+		return path;
+	}
+
+	/**
+	 * Adds the current contour (given by the vertices of a walk along the
+	 * result edges) to the given {@link Path}, omitting vertices between
+	 * collinear edges.
+	 */
+	private void emitContour(Path path) {
+		int n = contourSize / 2;
+		int[] kept = new int[n];
+		int count = 0;
+		for (int i = 0; i < n; i++) {
+			int p = (i + n - 1) % n;
+			int q = (i + 1) % n;
+			double dx1 = contour[2 * i] - contour[2 * p];
+			double dy1 = contour[2 * i + 1] - contour[2 * p + 1];
+			double dx2 = contour[2 * q] - contour[2 * i];
+			double dy2 = contour[2 * q + 1] - contour[2 * i + 1];
+			if (dx1 * dy2 - dy1 * dx2 != 0 || dx1 * dx2 + dy1 * dy2 < 0) {
+				kept[count++] = i;
+			}
+		}
+		if (count >= 3) {
+			path.moveTo(contour[2 * kept[0]], contour[2 * kept[0] + 1]);
+			for (int i = 1; i < count; i++) {
+				path.lineTo(contour[2 * kept[i]], contour[2 * kept[i] + 1]);
+			}
+			path.close();
+		}
+		contourSize = 0;
+	}
+
+	/**
+	 * Checks whether the edge of the given left event ends at the point of the
+	 * given event.
+	 */
+	private boolean endsAt(int le, int e) {
+		return isAt(other[le], x[e], y[e]);
+	}
+
+	/**
+	 * Flattens the given curve by adaptive subdivision, appending the end
+	 * points of the resulting edges to the current contour.
+	 */
+	private void flatten(double[] curve, int count) {
+		double[] part = new double[2 * count];
+		// (a, b) pairs of the parameter intervals that are to be processed
+		double[] intervals = new double[2 * (MAX_FLATTENING_DEPTH + 2)];
+		double minLength = 1d / (1 << MAX_FLATTENING_DEPTH);
+		int size = 0;
+		intervals[size++] = 0;
+		intervals[size++] = 1;
+		while (size > 0) {
+			double b = intervals[--size];
+			double a = intervals[--size];
+			BezierUtils.clip(curve, count, a, b, part);
+			if (b - a <= minLength || BezierUtils.getDistanceToBaseLine(part,
+					count) <= FLATNESS) {
+				if (b == 1) {
+					// use the exact end point
+					appendVertex(curve[2 * count - 2], curve[2 * count - 1]);
+				} else {
+					appendVertex(part[2 * count - 2], part[2 * count - 1]);
+				}
+			} else {
+				double m = (a + b) / 2;
+				intervals[size++] = m;
+				intervals[size++] = b;
+				intervals[size++] = a;
+				intervals[size++] = m;
+			}
+		}
+	}
+
+	private int indexOf(int le) {
+		int lo = 0;
+		int hi = statusSize;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compareSegments(status[mid], le) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		if (lo < statusSize && status[lo] == le) {
+			return lo;
+		}
+		// the order may be inconsistent due to rounding errors
+		for (int i = 0; i < statusSize; i++) {
+			if (status[i] == le) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int insert(int le) {
+		int lo = 0;
+		int hi = statusSize;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compareSegments(status[mid], le) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		if (statusSize == status.length) {
+			status = Arrays.copyOf(status, 2 * statusSize);
+		}
+		System.arraycopy(status, lo, status, lo + 1, statusSize - lo);
+		status[lo] = le;
+		statusSize++;
+		return lo;
+	}
+
+	/**
+	 * Computes the intersection of the edges of the given left events, which
+	 * is stored in (ix0, iy0) (and (ix1, iy1) in case of an overlap). Crossing
+	 * points are clamped to the common bounds of both edges (so that they lie
+	 * exactly on vertical and horizontal edges), and end points are returned
+	 * exactly.
+	 *
+	 * @return the number of intersection points
+	 */
+	private int intersect(int le1, int le2) {
+		int re1 = other[le1];
+		int re2 = other[le2];
+		double a1x = x[le1], a1y = y[le1], a2x = x[re1], a2y = y[re1];
+		double b1x = x[le2], b1y = y[le2], b2x = x[re2], b2y = y[re2];
+		// the common range [lo;hi] of both edges
+		int lo = compareEvents(le1, le2) < 0 ? le2 : le1;
+		int hi = isLexicographicallyBefore(a2x, a2y, b2x, b2y) ? re1 : re2;
+		if (isLexicographicallyBefore(x[hi], y[hi], x[lo], y[lo])) {
+			return 0;
+		}
+		if (!isCollinear(le1, le2)) {
+			double d1 = side(le1, b1x, b1y);
+			double d2 = side(le1, b2x, b2y);
+			if (d1 > 0 && d2 > 0 || d1 < 0 && d2 < 0) {
+				return 0;
+			}
+			double d3 = side(le2, a1x, a1y);
+			double d4 = side(le2, a2x, a2y);
+			if (d3 > 0 && d4 > 0 || d3 < 0 && d4 < 0) {
+				return 0;
+			}
+			if (d1 != 0 || d2 != 0) {
+				if (d1 == 0) {
+					ix0 = b1x;
+					iy0 = b1y;
+				} else if (d2 == 0) {
+					ix0 = b2x;
+					iy0 = b2y;
+				} else if (d3 == 0) {
+					ix0 = a1x;
+					iy0 = a1y;
+				} else if (d4 == 0) {
+					ix0 = a2x;
+					iy0 = a2y;
+				} else {
+					computeCrossing(le1, le2);
+					// clamp to the common bounds of both edges
+					ix0 = Math.max(ix0, Math.max(a1x, b1x));
+					ix0 = Math.min(ix0, Math.min(a2x, b2x));
+					iy0 = Math.max(iy0, Math.max(Math.min(a1y, a2y),
+							Math.min(b1y, b2y)));
+					iy0 = Math.min(iy0, Math.min(Math.max(a1y, a2y),
+							Math.max(b1y, b2y)));
+					// snap to nearby end points, so that crossings of more
+					// than two edges are not split up into several ones
+					snapToEndPoint(le1, lo, hi);
+					snapToEndPoint(re1, lo, hi);
+					snapToEndPoint(le2, lo, hi);
+					snapToEndPoint(re2, lo, hi);
+				}
+				if (isLexicographicallyBefore(ix0, iy0, x[lo], y[lo])) {
+					ix0 = x[lo];
+					iy0 = y[lo];
+				} else if (isLexicographicallyBefore(x[hi], y[hi], ix0, iy0)) {
+					ix0 = x[hi];
+					iy0 = y[hi];
+				}
+				return 1;
+			}
+			// touching (due to rounding), but not overlapping
+			return 0;
+		}
+		// collinear
+		ix0 = x[lo];
+		iy0 = y[lo];
+		if (x[lo] == x[hi] && y[lo] == y[hi]) {
+			return 1;
+		}
+		ix1 = x[hi];
+		iy1 = y[hi];
+		return 2;
+	}
+
+	private boolean isAt(int e, double px, double py) {
+		return x[e] == px && y[e] == py;
+	}
+
+	/**
+	 * Checks whether the edge of the given event lies below the given point.
+	 */
+	private boolean isBelow(int e, double px, double py) {
+		return side(e, px, py) > 0;
+	}
+
+	/**
+	 * Checks whether the edges of the given events are collinear, which is
+	 * decided based on the original edges (before any subdivision), because
+	 * subdivision points do not lie exactly on the original edges.
+	 */
+	private boolean isCollinear(int e1, int e2) {
+		int la = 4 * line[e1];
+		int lb = 4 * line[e2];
+		return la == lb || signedArea(lines[la], lines[la + 1], lines[la + 2],
+				lines[la + 3], lines[lb], lines[lb + 1]) == 0
+				&& signedArea(lines[la], lines[la + 1], lines[la + 2],
+						lines[la + 3], lines[lb + 2], lines[lb + 3]) == 0;
+	}
+
+	private boolean isInResult(int windingA, int windingB) {
+		boolean a = isInside(windingA, evenOddA);
+		boolean b = isInside(windingB, evenOddB);
+		switch (operation) {
+		case UNION:
+			return a || b;
+		case INTERSECTION:
+			return a && b;
+		case DIFFERENCE:
+			return a && !b;
+		default:
+			return a != b;
+		}
+	}
+
+	private int poll() {
+		int result = queue[0];
+		int e = queue[--queueSize];
+		int i = 0;
+		while (2 * i + 1 < queueSize) {
+			int c = 2 * i + 1;
+			if (c + 1 < queueSize
+					&& compareEvents(queue[c + 1], queue[c]) < 0) {
+				c++;
+			}
+			if (compareEvents(queue[c], e) >= 0) {
+				break;
+			}
+			queue[i] = queue[c];
+			i = c;
+		}
+		queue[i] = e;
+		return result;
+	}
+
+	/**
+	 * Checks whether the edges of the given left events intersect, and
+	 * subdivides them at the intersection points, so that they either do not
+	 * intersect, intersect at an end point, or coincide.
+	 *
+	 * @return <code>0</code> if the edges do not intersect, <code>1</code> if
+	 *         they intersect at a single point, <code>2</code> if they
+	 *         coincide (in which case the edge of le2 is merged into the edge
+	 *         of le1, so that it does no longer contribute), or
+	 *         <code>3</code> if they partially overlap.
+	 */
+	private int possibleIntersection(int le1, int le2) {
+		int n = intersect(le1, le2);
+		if (n == 0) {
+			return 0;
+		}
+		int re1 = other[le1];
+		int re2 = other[le2];
+		if (n == 1) {
+			if (isAt(le1, ix0, iy0) && isAt(le2, ix0, iy0)
+					|| isAt(re1, ix0, iy0) && isAt(re2, ix0, iy0)) {
+				// intersection at a common end point
+				return 0;
+			}
+			if (!isAt(le1, ix0, iy0) && !isAt(re1, ix0, iy0)) {
+				subdivide(le1, ix0, iy0);
+			}
+			if (!isAt(le2, ix0, iy0) && !isAt(re2, ix0, iy0)) {
+				subdivide(le2, ix0, iy0);
+			}
+			return 1;
+		}
+
+		// the edges overlap (between (ix0, iy0) and (ix1, iy1))
+		boolean leftCoincide = x[le1] == x[le2] && y[le1] == y[le2];
+		boolean rightCoincide = x[re1] == x[re2] && y[re1] == y[re2];
+		if (leftCoincide) {
+			if (!rightCoincide) {
+				// subdivide the longer edge at the end of the shorter one
+				if (compareEvents(re1, re2) < 0) {
+					subdivide(le2, x[re1], y[re1]);
+				} else {
+					subdivide(le1, x[re2], y[re2]);
+				}
+			}
+			// merge the edges, so that le2 does no longer contribute
+			windA[le1] += windA[le2];
+			windB[le1] += windB[le2];
+			windA[le2] = 0;
+			windB[le2] = 0;
+			return 2;
+		}
+		// subdivide the edge that starts first at the start of the other one,
+		// and the edge that ends last at the end of the other one
+		int first = compareEvents(le1, le2) < 0 ? le1 : le2;
+		int last = compareEvents(re1, re2) < 0 ? le2 : le1;
+		double lastX = x[other[first == le1 ? le2 : le1]];
+		double lastY = y[other[first == le1 ? le2 : le1]];
+		subdivide(first, ix0, iy0);
+		if (!rightCoincide) {
+			if (last == first) {
+				// the first edge contains the other one (and its remainder
+				// has just been created as the last event)
+				subdivide(eventCount - 1, lastX, lastY);
+			} else {
+				subdivide(last, ix1, iy1);
+			}
+		}
+		return 3;
+	}
+
+	private void push(int e) {
+		if (queueSize == queue.length) {
+			queue = Arrays.copyOf(queue, 2 * queueSize);
+		}
+		int i = queueSize++;
+		while (i > 0 && compareEvents(queue[(i - 1) / 2], e) > 0) {
+			queue[i] = queue[(i - 1) / 2];
+			i = (i - 1) / 2;
+		}
+		queue[i] = e;
+	}
+
+	private void remove(int index) {
+		System.arraycopy(status, index + 1, status, index,
+				statusSize - index - 1);
+		statusSize--;
+	}
+
+	/**
+	 * Computes on which side of the (original) edge of the given event the
+	 * given point lies: a positive value if it lies to the left (i.e. above),
+	 * a negative value if it lies to the right (i.e. below), or
+	 * <code>0</code> if it lies on the edge. As the original edges are given
+	 * exactly, the result is exact for the vertices of the input.
+	 */
+	private double side(int e, double px, double py) {
+		int l = 4 * line[e];
+		return signedArea(lines[l], lines[l + 1], lines[l + 2], lines[l + 3],
+				px, py);
+	}
+
+	/**
+	 * Snaps (ix0, iy0) to the point of the given event, if it is
+	 * (approximately) equal and lies within the given (lexicographic) range.
+	 */
+	private void snapToEndPoint(int e, int lo, int hi) {
+		if (PrecisionUtils.equal(ix0, x[e]) && PrecisionUtils.equal(iy0, y[e])
+				&& !isLexicographicallyBefore(x[e], y[e], x[lo], y[lo])
+				&& !isLexicographicallyBefore(x[hi], y[hi], x[e], y[e])) {
+			ix0 = x[e];
+			iy0 = y[e];
+		}
+	}
+
+	/**
+	 * Subdivides the edge of the given left event at the given point, which
+	 * creates a right event for the first part (the edge of the given left
+	 * event), and a left event for the second part (which inherits the
+	 * winding number changes).
+	 */
+	private void subdivide(int le, double px, double py) {
+		int re = other[le];
+		int r = createEvent(px, py, false, operand[le]);
+		int l = createEvent(px, py, true, operand[le]);
+		windA[l] = windA[le];
+		windB[l] = windB[le];
+		line[r] = line[le];
+		line[l] = line[le];
+		other[r] = le;
+		other[l] = re;
+		other[re] = l;
+		other[le] = r;
+		push(r);
+		push(l);
+	}
+
+	/**
+	 * Processes all events from left to right, which subdivides the edges at
+	 * their intersections, and computes the winding numbers below each edge.
+	 */
+	private void sweep() {
+		// no part of the result lies right of this limit
+		double limit = Double.POSITIVE_INFINITY;
+		if (operation == INTERSECTION) {
+			limit = Math.min(maxX[0], maxX[1]);
+		} else if (operation == DIFFERENCE) {
+			limit = maxX[0];
+		}
+		while (queueSize > 0) {
+			int e = poll();
+			if (x[e] > limit) {
+				break;
+			}
+			if (left[e]) {
+				processed[e] = true;
+				int pos = insert(e);
+				computeFields(e, pos > 0 ? status[pos - 1] : -1);
+				checkNeighbors(pos);
+				checkNeighbors(pos - 1);
+				if (processed[e] && (pos > 0 && endsAt(status[pos - 1], e)
+						|| pos + 1 < statusSize && endsAt(status[pos + 1], e))) {
+					// a neighbor has been subdivided at the event point, so
+					// postpone the event until its right event is processed
+					remove(pos);
+					push(e);
+				}
+			} else if (processed[other[e]]) {
+				int pos = indexOf(other[e]);
+				remove(pos);
+				checkNeighbors(pos - 1);
+			}
+		}
+	}
+
+	/**
+	 * Assigns consecutive indices to distinct points, using open addressing.
+	 */
+	private static final class VertexMap {
+		private int[] table;
+		private double[] coordinates;
+		private int size;
+
+		private VertexMap(int expectedSize) {
+			int capacity = 16;
+			while (capacity < 2 * expectedSize) {
+				capacity <<= 1;
+			}
+			table = new int[capacity];
+			Arrays.fill(table, -1);
+			coordinates = new double[2 * Math.max(1, expectedSize)];
+		}
+
+		private int get(double px, double py) {
+			// normalize negative zero
+			px += 0d;
+			py += 0d;
+			long bits = Double.doubleToLongBits(px) * 31
+					+ Double.doubleToLongBits(py);
+			int hash = (int) (bits ^ bits >>> 32);
+			hash ^= hash >>> 16;
+			int mask = table.length - 1;
+			int i = hash & mask;
+			while (table[i] >= 0) {
+				int v = table[i];
+				if (coordinates[2 * v] == px && coordinates[2 * v + 1] == py) {
+					return v;
+				}
+				i = (i + 1) & mask;
+			}
+			if (2 * size + 2 > coordinates.length) {
+				coordinates = Arrays.copyOf(coordinates,
+						2 * coordinates.length);
+			}
+			coordinates[2 * size] = px;
+			coordinates[2 * size + 1] = py;
+			table[i] = size;
+			return size++;
+		}
+
+		private double getX(int v) {
+			return coordinates[2 * v];
+		}
+
+		private double getY(int v) {
+			return coordinates[2 * v + 1];
+		}
+
+		private int size() {
+			return size;
+		}
+	}
+
+}
@@ -227,13 +227,18 @@ public class PolyBezier extends AbstractGeometry
 			return new Rectangle();
 		}
 
-		Rectangle bounds = beziers[0].getBounds();
-
+		double xmin = Double.POSITIVE_INFINITY;
+		double xmax = Double.NEGATIVE_INFINITY;
+		double ymin = Double.POSITIVE_INFINITY;
+		double ymax = Double.NEGATIVE_INFINITY;
 		for (BezierCurve c : beziers) {
-			bounds.union(c.getBounds());
+			xmin = Math.min(xmin, c.getExtreme(0, false));
+			xmax = Math.max(xmax, c.getExtreme(0, true));
+			ymin = Math.min(ymin, c.getExtreme(1, false));
+			ymax = Math.max(ymax, c.getExtreme(1, true));
 		}
 
-		return bounds;
+		return new Rectangle(new Point(xmin, ymin), new Point(xmax, ymax));
 	}
 
 	@Override
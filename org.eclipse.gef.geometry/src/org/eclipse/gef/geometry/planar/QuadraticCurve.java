@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
 
+import org.eclipse.gef.geometry.internal.utils.BezierUtils;
+
 /**
  * Represents the geometric shape of a quadratic Bézier curve.
  *
@@ -224,9 +226,11 @@ public class QuadraticCurve extends BezierCurve {
 	 */
 	@Override
 	public QuadraticCurve[] split(double t) {
-		BezierCurve[] split = super.split(t);
-		return new QuadraticCurve[] { split[0].toQuadratic(),
-				split[1].toQuadratic() };
+		double[] left = new double[6];
+		double[] right = new double[6];
+		BezierUtils.split(getCoordinates(), 3, t, left, right);
+		return new QuadraticCurve[] { new QuadraticCurve(left),
+				new QuadraticCurve(right) };
 	}
 
 	/**
@@ -83,6 +83,9 @@ public class Region extends AbstractMultiShape
 
 	private ArrayList<Rectangle> rects;
 
+	// spatial index over the internal rectangles (lazily created)
+	private transient BoundingBoxIndex<Rectangle> index;
+
 	/**
 	 * Constructs a new {@link Region} not covering any area.
 	 */
@@ -131,7 +134,9 @@ public class Region extends AbstractMultiShape
 	 *
 	 * To assure the required conditions for internal {@link Rectangle}s, the
 	 * given {@link Rectangle} is cut into several sub-{@link Rectangle}s so
-	 * that no internal {@link Rectangle}s share any area.
+	 * that no internal {@link Rectangle}s share any area. Only those internal
+	 * {@link Rectangle}s that touch the given {@link Rectangle} are taken into
+	 * account, which are looked up by means of a spatial index.
 	 *
 	 * @param rectangle
 	 *            the {@link Rectangle} to add to this {@link Region}
@@ -142,7 +147,10 @@ public class Region extends AbstractMultiShape
 
 		toAdd.add(rectangle.getCopy());
 
-		for (Rectangle retain : rects) {
+		List<Rectangle> candidates = getIndex().query(rectangle.x, rectangle.y,
+				rectangle.x + rectangle.width, rectangle.y + rectangle.height,
+				new ArrayList<Rectangle>());
+		for (Rectangle retain : candidates) {
 			for (Rectangle addend : new ArrayList<>(toAdd)) {
 				ArrayList<Rectangle> parts = new ArrayList<>(8);
 				parts.add(addend);
@@ -173,11 +181,25 @@ public class Region extends AbstractMultiShape
 			}
 		}
 
-		rects.addAll(toAdd);
+		for (Rectangle r : toAdd) {
+			rects.add(r);
+			index.add(r, r.x, r.y, r.x + r.width, r.y + r.height);
+		}
 
 		return this;
 	}
 
+	@Override
+	public boolean contains(Point p) {
+		for (Rectangle r : getIndex().query(p.x, p.y, p.x, p.y,
+				new ArrayList<Rectangle>())) {
+			if (r.contains(p)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public boolean contains(IGeometry g) {
 		return ShapeUtils.contains(this, g);
@@ -229,6 +251,16 @@ public class Region extends AbstractMultiShape
 		return new Region(this);
 	}
 
+	private BoundingBoxIndex<Rectangle> getIndex() {
+		if (index == null) {
+			index = new BoundingBoxIndex<>();
+			for (Rectangle r : rects) {
+				index.add(r, r.x, r.y, r.x + r.width, r.y + r.height);
+			}
+		}
+		return index;
+	}
+
 	/**
 	 * Computes the {@link Point}s of intersection of this {@link Region} with
 	 * the given {@link ICurve}.
@@ -320,7 +352,12 @@ public class Region extends AbstractMultiShape
 
 	@Override
 	public Rectangle[] getShapes() {
-		return rects.toArray(new Rectangle[] {});
+		// return copies, as the internal rectangles are keys of the index
+		Rectangle[] shapes = new Rectangle[rects.size()];
+		for (int i = 0; i < shapes.length; i++) {
+			shapes[i] = rects.get(i).getCopy();
+		}
+		return shapes;
 	}
 
 	@Override
@@ -363,6 +400,7 @@ public class Region extends AbstractMultiShape
 		for (Rectangle r : rects) {
 			r.scale(fx, fy, cx, cy);
 		}
+		index = null;
 		return this;
 	}
 
@@ -397,6 +435,7 @@ public class Region extends AbstractMultiShape
 		for (Rectangle r : rects) {
 			r.translate(dx, dy);
 		}
+		index = null;
 		return this;
 	}
 
@@ -223,6 +223,9 @@ public class Ring extends AbstractMultiShape
 
 	private ArrayList<Polygon> triangles;
 
+	// spatial index over the triangles (lazily created)
+	private transient BoundingBoxIndex<Polygon> index;
+
 	/**
 	 * Constructs a new empty {@link Ring}.
 	 */
@@ -260,7 +263,10 @@ public class Ring extends AbstractMultiShape
 	}
 
 	/**
-	 * Adds the given {@link Polygon} to this {@link Ring}.
+	 * Adds the given {@link Polygon} to this {@link Ring}. The
+	 * {@link Polygon} is triangulated and its triangles are cut along the
+	 * edges of those triangles of this {@link Ring} that touch them, which are
+	 * looked up by means of a spatial index.
 	 *
 	 * @param p
 	 *            The {@link Polygon} which is added to this {@link Ring}.
@@ -275,11 +281,12 @@ public class Ring extends AbstractMultiShape
 			}
 		}
 
+		Stack<Polygon> added = new Stack<>();
 		while (!toAdd.empty()) {
 			Polygon triangleToAdd = toAdd.pop();
 			Stack<Polygon> localAddends = new Stack<>();
 			localAddends.push(triangleToAdd);
-			for (Polygon triangleAlreadyThere : triangles) {
+			for (Polygon triangleAlreadyThere : getNeighbors(triangleToAdd)) {
 				for (Line e : triangleAlreadyThere.getOutlineSegments()) {
 					Stack<Polygon> nextAddends = new Stack<>();
 					for (Iterator<Polygon> i = localAddends.iterator(); i
@@ -298,15 +305,34 @@ public class Ring extends AbstractMultiShape
 				}
 			}
 			for (Polygon addend : localAddends) {
-				triangles.add(addend);
+				addTriangle(addend);
+				added.push(addend);
 			}
 		}
 
-		optimizeTriangles();
+		optimizeTriangles(added);
 
 		return this;
 	}
 
+	private void addTriangle(Polygon triangle) {
+		triangles.add(triangle);
+		Rectangle bounds = triangle.getBounds();
+		getIndex().add(triangle, bounds.x, bounds.y,
+				bounds.x + bounds.width, bounds.y + bounds.height);
+	}
+
+	@Override
+	public boolean contains(Point p) {
+		for (Polygon triangle : getIndex().query(p.x, p.y, p.x, p.y,
+				new ArrayList<Polygon>())) {
+			if (triangle.contains(p)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public boolean contains(IGeometry g) {
 		return ShapeUtils.contains(this, g);
@@ -391,6 +417,33 @@ public class Ring extends AbstractMultiShape
 		return new Ring(this);
 	}
 
+	private BoundingBoxIndex<Polygon> getIndex() {
+		if (index == null) {
+			index = new BoundingBoxIndex<>();
+			for (Polygon triangle : triangles) {
+				Rectangle bounds = triangle.getBounds();
+				index.add(triangle, bounds.x, bounds.y,
+						bounds.x + bounds.width, bounds.y + bounds.height);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the triangles of this {@link Ring} whose bounds touch the bounds
+	 * of the given triangle (which includes the given triangle itself, if it
+	 * is part of this {@link Ring}).
+	 *
+	 * @param triangle
+	 *            The triangle for which to look up the neighbors.
+	 * @return The triangles located near the given triangle.
+	 */
+	private List<Polygon> getNeighbors(Polygon triangle) {
+		Rectangle bounds = triangle.getBounds();
+		return getIndex().query(bounds.x, bounds.y, bounds.x + bounds.width,
+				bounds.y + bounds.height, new ArrayList<Polygon>());
+	}
+
 	@Override
 	public Ring getRotatedCCW(Angle angle) {
 		return getCopy().rotateCCW(angle);
@@ -453,7 +506,12 @@ public class Ring extends AbstractMultiShape
 
 	@Override
 	public Polygon[] getShapes() {
-		return triangles.toArray(new Polygon[] {});
+		// return copies, as the internal triangles are keys of the index
+		Polygon[] shapes = new Polygon[triangles.size()];
+		for (int i = 0; i < shapes.length; i++) {
+			shapes[i] = triangles.get(i).getCopy();
+		}
+		return shapes;
 	}
 
 	@Override
@@ -490,22 +548,51 @@ public class Ring extends AbstractMultiShape
 		return null;
 	}
 
-	private void optimizeTriangles() {
-		for (int i = 0; i < triangles.size(); i++) {
-			Polygon t1 = triangles.get(i);
-			for (int j = i + 1; j < triangles.size(); j++) {
-				Polygon t2 = triangles.get(j);
+	/**
+	 * Merges the given (newly added) triangles with adjacent triangles where
+	 * possible. As all other triangles have already been optimized before,
+	 * only the given triangles (and the results of merging them) have to be
+	 * considered.
+	 *
+	 * @param toOptimize
+	 *            The triangles to merge with their neighbors.
+	 */
+	private void optimizeTriangles(Stack<Polygon> toOptimize) {
+		merging: while (!toOptimize.empty()) {
+			Polygon t1 = toOptimize.pop();
+			List<Polygon> neighbors = getNeighbors(t1);
+			// t1 may already have been merged into another triangle
+			if (!neighbors.contains(t1)) {
+				continue;
+			}
+			for (Polygon t2 : neighbors) {
+				if (t2 == t1) {
+					continue;
+				}
 				Polygon merge = mergeTriangles(t1, t2);
 				if (merge != null) {
-					triangles.set(i, merge);
-					t1 = merge;
-					triangles.remove(j);
-					j = i;
+					removeTriangle(t1);
+					removeTriangle(t2);
+					addTriangle(merge);
+					toOptimize.push(merge);
+					continue merging;
 				}
 			}
 		}
 	}
 
+	private void removeTriangle(Polygon triangle) {
+		for (int i = 0; i < triangles.size(); i++) {
+			if (triangles.get(i) == triangle) {
+				triangles.remove(i);
+				break;
+			}
+		}
+		Rectangle bounds = triangle.getBounds();
+		getIndex().remove(triangle, bounds.x, bounds.y,
+				bounds.x + bounds.width, bounds.y + bounds.height);
+	}
+
 	/**
 	 * Directly rotates this {@link Ring} counter-clock-wise around its center
 	 * {@link Point} by the given {@link Angle}. Direct adaptation means, that
@@ -538,6 +625,7 @@ public class Ring extends AbstractMultiShape
 		for (Polygon p : triangles) {
 			p.rotateCCW(angle, cx, cy);
 		}
+		index = null;
 		return this;
 	}
 
@@ -587,6 +675,7 @@ public class Ring extends AbstractMultiShape
 		for (Polygon p : triangles) {
 			p.rotateCW(angle, cx, cy);
 		}
+		index = null;
 		return this;
 	}
 
@@ -626,6 +715,7 @@ public class Ring extends AbstractMultiShape
 		for (Polygon p : triangles) {
 			p.scale(fx, fy, cx, cy);
 		}
+		index = null;
 		return this;
 	}
 
@@ -644,6 +734,7 @@ public class Ring extends AbstractMultiShape
 		for (Polygon p : triangles) {
 			p.translate(dx, dy);
 		}
+		index = null;
 		return this;
 	}
 
@@ -17,6 +17,8 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ GraphBuilderTests.class })
+@SuiteClasses({ GraphAlgorithmsTests.class, GraphBuilderTests.class,
+		GraphCopierTests.class,
+		NodeTests.class })
 public class AllTests {
 }
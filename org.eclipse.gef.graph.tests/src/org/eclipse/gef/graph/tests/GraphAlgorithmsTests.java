@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.algorithms.FeedbackArcSet;
+import org.eclipse.gef.graph.algorithms.IndexedGraph;
+import org.eclipse.gef.graph.algorithms.Layering;
+import org.eclipse.gef.graph.algorithms.ShortestPaths;
+import org.eclipse.gef.graph.algorithms.StronglyConnectedComponents;
+import org.eclipse.gef.graph.algorithms.TopologicalSort;
+import org.junit.Test;
+
+public class GraphAlgorithmsTests {
+
+	/**
+	 * Creates an {@link IndexedGraph} with the given number of nodes, and an
+	 * edge for each pair of the given node indices.
+	 */
+	private static IndexedGraph createGraph(int nodeCount, int... edges) {
+		Graph.Builder gb = new Graph.Builder();
+		for (int i = 0; i < nodeCount; i++) {
+			gb.node(i);
+		}
+		for (int i = 0; i < edges.length; i += 2) {
+			gb.edge(edges[i], edges[i + 1]);
+		}
+		Graph graph = gb.build();
+		return new IndexedGraph(graph);
+	}
+
+	private static IndexedGraph createRandomGraph(int nodeCount,
+			int edgeCount, boolean acyclic, long seed) {
+		Random random = new Random(seed);
+		int[] edges = new int[2 * edgeCount];
+		for (int i = 0; i < edgeCount; i++) {
+			int source = random.nextInt(nodeCount);
+			int target = random.nextInt(nodeCount);
+			if (acyclic && source == target) {
+				target = (target + 1) % nodeCount;
+			}
+			edges[2 * i] = acyclic ? Math.min(source, target) : source;
+			edges[2 * i + 1] = acyclic ? Math.max(source, target) : target;
+		}
+		return createGraph(nodeCount, edges);
+	}
+
+	private static void assertValidLayering(IndexedGraph graph, int[] layers) {
+		for (int e = 0; e < graph.getEdgeCount(); e++) {
+			if (!graph.isSelfLoop(e)) {
+				assertTrue(layers[graph.getTarget(e)] > layers[graph
+						.getSource(e)]);
+			}
+		}
+	}
+
+	private static int getTotalEdgeLength(IndexedGraph graph, int[] layers) {
+		int length = 0;
+		for (int e = 0; e < graph.getEdgeCount(); e++) {
+			length += layers[graph.getTarget(e)] - layers[graph.getSource(e)];
+		}
+		return length;
+	}
+
+	@Test
+	public void feedbackArcSet() {
+		IndexedGraph graph = createGraph(3, 0, 1, 1, 2, 2, 0, 1, 1);
+		BitSet feedbackEdges = FeedbackArcSet.compute(graph);
+		assertEquals(1, feedbackEdges.cardinality());
+		assertFalse(feedbackEdges.get(3));
+		IndexedGraph acyclicGraph = graph.reverse(feedbackEdges);
+		assertTrue(TopologicalSort.isAcyclic(acyclicGraph));
+		int e = feedbackEdges.nextSetBit(0);
+		assertEquals(graph.getSource(e), acyclicGraph.getTarget(e));
+		assertEquals(graph.getEdge(e), acyclicGraph.getEdge(e));
+
+		for (long seed = 0; seed < 5; seed++) {
+			graph = createRandomGraph(200, 600, false, seed);
+			assertFalse(TopologicalSort.isAcyclic(graph));
+			feedbackEdges = FeedbackArcSet.compute(graph);
+			assertTrue(TopologicalSort.isAcyclic(graph.reverse(feedbackEdges)));
+			assertTrue(feedbackEdges.cardinality() < 300);
+		}
+	}
+
+	@Test
+	public void layering() {
+		// the longest path layering places the source 4 on the first layer,
+		// the network simplex layering next to its target 3
+		IndexedGraph graph = createGraph(5, 0, 1, 1, 2, 2, 3, 4, 3);
+		int[] longestPath = Layering.longestPath(graph);
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 0 }, longestPath);
+		int[] networkSimplex = Layering.networkSimplex(graph);
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 2 }, networkSimplex);
+
+		for (long seed = 0; seed < 5; seed++) {
+			graph = createRandomGraph(300, 600, true, seed);
+			longestPath = Layering.longestPath(graph);
+			networkSimplex = Layering.networkSimplex(graph);
+			assertValidLayering(graph, longestPath);
+			assertValidLayering(graph, networkSimplex);
+			assertTrue(getTotalEdgeLength(graph,
+					networkSimplex) <= getTotalEdgeLength(graph, longestPath));
+		}
+
+		try {
+			Layering.longestPath(createGraph(2, 0, 1, 1, 0));
+		} catch (IllegalArgumentException e) {
+			// expected
+			return;
+		}
+		assertTrue("Cyclic graphs may not be layered.", false);
+	}
+
+	@Test
+	public void shortestPaths() {
+		IndexedGraph graph = createGraph(5, 0, 1, 1, 2, 0, 2, 3, 2);
+		int[] predecessors = new int[5];
+		assertArrayEquals(new int[] { 0, 1, 1, -1, -1 },
+				ShortestPaths.breadthFirst(graph, 0, true, predecessors));
+		assertEquals(2, predecessors[2]);
+		assertArrayEquals(new int[] { 0, 1, 1, 2, -1 },
+				ShortestPaths.breadthFirst(graph, 0, false, null));
+
+		double[] weights = new double[] { 1, 1, 5, 0.5 };
+		double[] distances = ShortestPaths.dijkstra(graph, 0, weights, true,
+				predecessors);
+		assertEquals(2, distances[2], 0);
+		assertEquals(1, predecessors[2]);
+		assertEquals(Double.POSITIVE_INFINITY, distances[3], 0);
+		distances = ShortestPaths.dijkstra(graph, 0, weights, false, null);
+		assertEquals(2.5, distances[3], 0);
+	}
+
+	@Test
+	public void stronglyConnectedComponents() {
+		IndexedGraph graph = createGraph(6, 0, 1, 1, 2, 2, 0, 2, 3, 3, 4, 4,
+				3, 5, 5);
+		StronglyConnectedComponents components = new StronglyConnectedComponents(
+				graph);
+		assertEquals(3, components.getComponentCount());
+		assertEquals(components.getComponent(0), components.getComponent(2));
+		assertEquals(components.getComponent(3), components.getComponent(4));
+		assertNotEquals(components.getComponent(2),
+				components.getComponent(3));
+		// edges between components lead to lower component numbers
+		assertTrue(components.getComponent(2) > components.getComponent(3));
+		int[] sizes = components.getComponentSizes();
+		assertEquals(3, sizes[components.getComponent(0)]);
+		assertEquals(1, sizes[components.getComponent(5)]);
+
+		// deep graphs do not overflow the stack
+		int n = 100000;
+		int[] edges = new int[2 * n];
+		for (int i = 0; i < n; i++) {
+			edges[2 * i] = i;
+			edges[2 * i + 1] = (i + 1) % n;
+		}
+		assertEquals(1, new StronglyConnectedComponents(createGraph(n, edges))
+				.getComponentCount());
+	}
+
+	@Test
+	public void topologicalSort() {
+		IndexedGraph graph = createGraph(4, 2, 1, 1, 0, 3, 0, 0, 0);
+		int[] order = TopologicalSort.sort(graph);
+		assertArrayEquals(new int[] { 2, 3, 1, 0 }, order);
+		assertNull(TopologicalSort.sort(createGraph(2, 0, 1, 1, 0)));
+	}
+
+}
@@ -12,22 +12,77 @@
 package org.eclipse.gef.graph.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.gef.graph.BulkGraphBuilder;
+import org.eclipse.gef.graph.BulkGraphBuilder.EdgeRecord;
+import org.eclipse.gef.graph.BulkGraphBuilder.NodeRecord;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Graph.Builder;
 import org.eclipse.gef.graph.Node;
 import org.junit.Test;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 public class GraphBuilderTests {
 
+	private static class TestNodeRecord implements NodeRecord {
+		private final long key;
+		private final Map<String, Object> attributes = new HashMap<>();
+
+		public TestNodeRecord(long key, String label) {
+			this.key = key;
+			attributes.put("label", label);
+		}
+
+		@Override
+		public Map<String, Object> getAttributes() {
+			return attributes;
+		}
+
+		@Override
+		public long getKey() {
+			return key;
+		}
+	}
+
+	private static class TestEdgeRecord implements EdgeRecord {
+		private final long sourceKey;
+		private final long targetKey;
+
+		public TestEdgeRecord(long sourceKey, long targetKey) {
+			this.sourceKey = sourceKey;
+			this.targetKey = targetKey;
+		}
+
+		@Override
+		public Map<String, Object> getAttributes() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public long getSourceKey() {
+			return sourceKey;
+		}
+
+		@Override
+		public long getTargetKey() {
+			return targetKey;
+		}
+	}
+
 	private void addNodeBuilders(Graph.Builder graphBuilder, int count,
 			int startNumber) {
 		for (int i = 0; i < count; i++) {
@@ -171,6 +226,145 @@ public class GraphBuilderTests {
 				.get("label"), "n3");
 	}
 
+	@Test
+	public void buildImmutableGraph() {
+		Builder gb = new Graph.Builder().attr("graph_attr", "graph_attr_value");
+		addNodeBuilders(gb, 3, 1);
+		gb.node("n4").attr("label", "4").attr("optional", null);
+		List<Node> existing = new ArrayList<>();
+		existing.add(new Node.Builder().attr("label", "5").buildNode());
+		gb.nodes(existing);
+		gb.edge("n4", existing.get(0)).attr("label", "4->5");
+		gb.edge("n4", "n4");
+		Graph g = gb.buildImmutable();
+		assertTrue(g.isImmutable());
+		assertFalse(new Graph.Builder().build().isImmutable());
+		assertEquals("graph_attr_value", g.getAttributes().get("graph_attr"));
+
+		// order and attributes are preserved
+		assertEquals(5, g.getNodes().size());
+		for (int i = 0; i < g.getNodes().size(); i++) {
+			assertEquals(new Integer(i + 1).toString(),
+					g.getNodes().get(i).getAttributes().get("label"));
+		}
+		Node n4 = g.getNodes().get(3);
+		Node n5 = g.getNodes().get(4);
+		assertTrue(n4.getAttributes().containsKey("optional"));
+		assertNull(n4.getAttributes().get("optional"));
+		assertFalse(g.getNodes().get(0).getAttributes().containsKey("optional"));
+		assertEquals("4->5", g.getEdges().get(0).getAttributes().get("label"));
+		assertTrue(g.getEdges().get(1).getAttributes().isEmpty());
+
+		// adjacency
+		assertEquals(2, n4.getLocalOutgoingEdges().size());
+		assertEquals(1, n4.getLocalIncomingEdges().size());
+		assertEquals(2, n4.getLocalSuccessorNodes().size());
+		assertTrue(n4.getLocalSuccessorNodes().contains(n5));
+		assertEquals(Collections.singleton(n4), n5.getLocalPredecessorNodes());
+		assertEquals(2, n4.getLocalNeighbors().size());
+		assertTrue(g.getNodes().get(0).getLocalNeighbors().isEmpty());
+
+		// attributes may be changed, the structure may not
+		n5.getAttributes().put("label", "five");
+		assertEquals("five", n5.getAttributes().get("label"));
+		try {
+			g.getNodes().add(new Node());
+			fail("Nodes of an immutable graph may not be changed.");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			g.getEdges().get(0).setTarget(n4);
+			fail("Edges of an immutable graph may not be changed.");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			new Graph.Builder().nodes(n5).buildImmutable();
+			fail("Nodes may only belong to a single immutable graph.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void bulkBuildGraph() {
+		List<NodeRecord> nodeRecords = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			nodeRecords.add(new TestNodeRecord(i * 1000003L, "n" + i));
+		}
+		List<EdgeRecord> edgeRecords = new ArrayList<>();
+		for (int i = 0; i < 99; i++) {
+			edgeRecords.add(new TestEdgeRecord(i * 1000003L, (i + 1) * 1000003L));
+		}
+		BulkGraphBuilder bb = new BulkGraphBuilder(10, 10).attr("graph_attr",
+				"graph_attr_value");
+		bb.nodes(nodeRecords.iterator());
+		bb.edges(edgeRecords.iterator());
+		Node n0 = bb.getNode(0);
+		assertEquals("n0", n0.getAttributes().get("label"));
+		assertNull(bb.getNode(1));
+
+		// elements are added at once
+		Graph g = new Graph();
+		final int[] changes = new int[2];
+		g.getNodes().addListener(new ListChangeListener<Node>() {
+			@Override
+			public void onChanged(Change<? extends Node> c) {
+				changes[0]++;
+			}
+		});
+		g.getEdges().addListener(new ListChangeListener<Edge>() {
+			@Override
+			public void onChanged(Change<? extends Edge> c) {
+				changes[1]++;
+			}
+		});
+		bb.addTo(g);
+		assertEquals(1, changes[0]);
+		assertEquals(1, changes[1]);
+		assertEquals("graph_attr_value", g.getAttributes().get("graph_attr"));
+		assertEquals(100, g.getNodes().size());
+		assertEquals(99, g.getEdges().size());
+		for (int i = 0; i < g.getNodes().size(); i++) {
+			assertEquals("n" + i,
+					g.getNodes().get(i).getAttributes().get("label"));
+		}
+		assertEquals(g, n0.getGraph());
+		assertEquals(1, n0.getLocalOutgoingEdges().size());
+		assertEquals(g.getNodes().get(1),
+				n0.getLocalOutgoingEdges().iterator().next().getTarget());
+		try {
+			bb.build();
+			fail("A bulk builder may only be used once.");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+		// immutable graphs can be built as well
+		bb = new BulkGraphBuilder(100, 99);
+		bb.nodes(nodeRecords.iterator());
+		bb.edges(edgeRecords.iterator());
+		g = bb.buildImmutable();
+		assertTrue(g.isImmutable());
+		assertEquals(1, g.getNodes().get(50).getLocalPredecessorNodes().size());
+
+		// keys are checked
+		bb = new BulkGraphBuilder(100, 99);
+		try {
+			bb.nodes(Collections.nCopies(2, nodeRecords.get(0)).iterator());
+			fail("Node keys have to be unique.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			bb.edges(Collections.singleton(new TestEdgeRecord(0, 1)).iterator());
+			fail("Edges may only refer to known nodes.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
 	@Test
 	public void preserveNodeOrder() {
 		// first nodes, then builders
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.gef.common.attributes.IAttributeCopier;
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.GraphCopier;
+import org.eclipse.gef.graph.Node;
+import org.junit.Test;
+
+public class GraphCopierTests {
+
+	private static class CountingCopier implements IAttributeCopier {
+		private AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void copy(IAttributeStore source, IAttributeStore target) {
+			count.incrementAndGet();
+			IAttributeCopier.SHALLOW_COPY.copy(source, target);
+		}
+	}
+
+	private Graph createGraph(int nodeCount) {
+		Graph.Builder gb = new Graph.Builder();
+		for (int i = 0; i < nodeCount; i++) {
+			gb.node(i).attr("label", "n" + i);
+		}
+		for (int i = 1; i < nodeCount; i++) {
+			gb.edge(i - 1, i).attr("label", "e" + i);
+		}
+		return gb.build();
+	}
+
+	@Test
+	public void copyIncrementally() {
+		Graph input = createGraph(10);
+		Graph nested = createGraph(3);
+		input.getNodes().get(0).setNestedGraph(nested);
+		CountingCopier attributeCopier = new CountingCopier();
+		GraphCopier copier = new GraphCopier(attributeCopier);
+		copier.setIncremental(true);
+		Graph output = copier.copy(input);
+		Graph nestedOutput = output.getNodes().get(0).getNestedGraph();
+		assertEquals("n2", nestedOutput.getNodes().get(2).getAttributes()
+				.get("label"));
+		// graphs, nodes, and edges
+		assertEquals(2 + 13 + 11, attributeCopier.count.get());
+
+		// only changed elements are copied again
+		input.getNodes().get(5).getAttributes().put("label", "changed");
+		nested.getEdges().get(0).getAttributes().remove("label");
+		attributeCopier.count.set(0);
+		assertSame(output, copier.copy(input));
+		assertEquals(2, attributeCopier.count.get());
+		assertEquals("changed",
+				output.getNodes().get(5).getAttributes().get("label"));
+		assertFalse(nestedOutput.getEdges().get(0).getAttributes()
+				.containsKey("label"));
+
+		// changed graphs are copied anew, unchanged nested graphs are reused
+		input.getNodes().add(new Node());
+		attributeCopier.count.set(0);
+		Graph newOutput = copier.copy(input);
+		assertNotSame(output, newOutput);
+		assertEquals(11, newOutput.getNodes().size());
+		assertSame(nestedOutput,
+				newOutput.getNodes().get(0).getNestedGraph());
+		assertEquals(1 + 11 + 9, attributeCopier.count.get());
+
+		// leaving incremental mode creates complete copies
+		copier.setIncremental(false);
+		assertNotSame(newOutput, copier.copy(input));
+		input.getNodes().get(1).getAttributes().put("label", "ignored");
+		assertEquals("changed",
+				newOutput.getNodes().get(5).getAttributes().get("label"));
+	}
+
+	@Test
+	public void copyInParallel() {
+		Graph input = createGraph(5000);
+		Graph nested = createGraph(3);
+		input.getNodes().get(4000).setNestedGraph(nested);
+		CountingCopier attributeCopier = new CountingCopier();
+		GraphCopier copier = new GraphCopier(attributeCopier);
+		copier.setParallel(true);
+		Graph output = copier.copy(input);
+		assertEquals(2 + 5003 + 5001, attributeCopier.count.get());
+		assertEquals(5000, output.getNodes().size());
+		assertEquals(4999, output.getEdges().size());
+		for (int i = 0; i < output.getNodes().size(); i++) {
+			Node node = output.getNodes().get(i);
+			assertSame(output, node.getGraph());
+			assertEquals("n" + i, node.getAttributes().get("label"));
+		}
+		for (int i = 0; i < output.getEdges().size(); i++) {
+			Edge edge = output.getEdges().get(i);
+			assertEquals("e" + (i + 1), edge.getAttributes().get("label"));
+			assertSame(output.getNodes().get(i), edge.getSource());
+			assertSame(output.getNodes().get(i + 1), edge.getTarget());
+		}
+		Graph nestedOutput = output.getNodes().get(4000).getNestedGraph();
+		assertEquals(3, nestedOutput.getNodes().size());
+		assertSame(nestedOutput.getNodes().get(1),
+				nestedOutput.getEdges().get(0).getTarget());
+	}
+
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.graph.AttributesUpdateListener;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.junit.Test;
+
+import javafx.collections.MapChangeListener;
+
+public class NodeTests {
+
+	@Test
+	public void localAdjacency() {
+		Node n1 = new Node.Builder().buildNode();
+		Node n2 = new Node.Builder().buildNode();
+		Node n3 = new Node.Builder().buildNode();
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3).edge(n1, n2)
+				.edge(n1, n3).edge(n2, n3).build();
+
+		assertEquals(0, n1.getLocalIncomingEdges().size());
+		assertEquals(2, n1.getLocalOutgoingEdges().size());
+		assertEquals(2, n3.getLocalIncomingEdges().size());
+		assertTrue(n2.getLocalPredecessorNodes().contains(n1));
+		assertTrue(n2.getLocalSuccessorNodes().contains(n3));
+		assertEquals(2, n2.getLocalNeighbors().size());
+		assertEquals(2, n3.getLocalNeighbors().size());
+
+		// parallel edges do not duplicate neighbors
+		graph.getEdges().add(new Edge(n1, n2));
+		assertEquals(3, n1.getLocalOutgoingEdges().size());
+		assertEquals(2, n1.getLocalSuccessorNodes().size());
+		assertEquals(2, n1.getLocalNeighbors().size());
+
+		// removal of edges is reflected
+		graph.getEdges().clear();
+		assertEquals(0, n1.getLocalOutgoingEdges().size());
+		assertEquals(0, n3.getLocalIncomingEdges().size());
+		assertEquals(0, n2.getLocalNeighbors().size());
+	}
+
+	@Test
+	public void attributesUpdate() {
+		Node n1 = new Node.Builder().attr("a", 1).buildNode();
+		Node n2 = new Node.Builder().buildNode();
+		final Graph graph = new Graph.Builder().nodes(n1, n2).build();
+		final List<String> changes = new ArrayList<>();
+		final List<Boolean> updating = new ArrayList<>();
+		n1.attributesProperty()
+				.addListener(new MapChangeListener<String, Object>() {
+					@Override
+					public void onChanged(
+							MapChangeListener.Change<? extends String, ? extends Object> change) {
+						changes.add(change.getKey() + ":"
+								+ change.getValueRemoved() + "->"
+								+ change.getValueAdded());
+						updating.add(graph.isUpdatingAttributes());
+					}
+				});
+		final List<Map<IAttributeStore, Set<String>>> updates = new ArrayList<>();
+		graph.addAttributesUpdateListener(new AttributesUpdateListener() {
+			@Override
+			public void onUpdated(Graph graph,
+					Map<IAttributeStore, Set<String>> changes) {
+				updates.add(changes);
+			}
+		});
+
+		graph.beginAttributesUpdate();
+		n1.getAttributes().put("a", 2);
+		n1.getAttributes().put("a", 3);
+		n1.getAttributes().put("b", 1);
+		n1.getAttributes().remove("b");
+		graph.beginAttributesUpdate();
+		n2.getAttributes().put("c", 1);
+		graph.endAttributesUpdate();
+		// notifications are deferred until the outermost update ends
+		assertTrue(changes.isEmpty());
+		assertTrue(updates.isEmpty());
+		assertTrue(graph.isUpdatingAttributes());
+		graph.endAttributesUpdate();
+		assertFalse(graph.isUpdatingAttributes());
+
+		// changes are coalesced per attribute, no-op changes are dropped
+		assertEquals(Collections.singletonList("a:1->3"), changes);
+		// deferred changes are fired within the update
+		assertEquals(Collections.singletonList(true), updating);
+		assertEquals(1, updates.size());
+		assertEquals(2, updates.get(0).size());
+		assertEquals(Collections.singleton("a"), updates.get(0).get(n1));
+		assertEquals(Collections.singleton("c"), updates.get(0).get(n2));
+
+		// outside of an update, changes are fired immediately
+		n1.getAttributes().put("a", 4);
+		assertEquals(2, changes.size());
+		assertEquals(1, updates.size());
+		assertEquals(Arrays.asList(true, false), updating);
+	}
+
+	@Test
+	public void attributesUpdateListenerChanges() {
+		final Node n1 = new Node.Builder().attr("a", 1).buildNode();
+		Graph graph = new Graph.Builder().nodes(n1).build();
+		final List<Map<IAttributeStore, Set<String>>> updates = new ArrayList<>();
+		graph.addAttributesUpdateListener(new AttributesUpdateListener() {
+			@Override
+			public void onUpdated(Graph graph,
+					Map<IAttributeStore, Set<String>> changes) {
+				updates.add(changes);
+				if (updates.size() == 1) {
+					n1.getAttributes().put("b", 1);
+				}
+			}
+		});
+
+		graph.beginAttributesUpdate();
+		n1.getAttributes().put("a", 2);
+		graph.endAttributesUpdate();
+
+		// changes of listeners are deferred and notified subsequently
+		assertEquals(2, updates.size());
+		assertEquals(Collections.singleton("a"), updates.get(0).get(n1));
+		assertEquals(Collections.singleton("b"), updates.get(1).get(n1));
+		assertFalse(graph.isUpdatingAttributes());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void attributesUpdateUnbalanced() {
+		new Graph().endAttributesUpdate();
+	}
+
+	@Test
+	public void changeEdgeEndpoints() {
+		Node n1 = new Node.Builder().buildNode();
+		Node n2 = new Node.Builder().buildNode();
+		Node n3 = new Node.Builder().buildNode();
+		Edge e = new Edge(n1, n2);
+		new Graph.Builder().nodes(n1, n2, n3).edges(e).build();
+
+		e.setTarget(n3);
+		assertFalse(n2.getLocalIncomingEdges().contains(e));
+		assertTrue(n3.getLocalIncomingEdges().contains(e));
+		assertTrue(n1.getLocalSuccessorNodes().contains(n3));
+		assertFalse(n1.getLocalSuccessorNodes().contains(n2));
+
+		e.setSource(n2);
+		assertEquals(0, n1.getLocalOutgoingEdges().size());
+		assertTrue(n2.getLocalOutgoingEdges().contains(e));
+		assertTrue(n3.getLocalPredecessorNodes().contains(n2));
+	}
+
+	@Test
+	public void liveViews() {
+		Node n1 = new Node.Builder().buildNode();
+		Node n2 = new Node.Builder().buildNode();
+		Graph graph = new Graph.Builder().nodes(n1, n2).build();
+
+		// views obtained before any edge exists reflect later edges
+		Set<Edge> outgoing = n1.getLocalOutgoingEdges();
+		Set<Node> neighbors = n2.getLocalNeighbors();
+		Edge e = new Edge(n1, n2);
+		graph.getEdges().add(e);
+		assertEquals(Collections.singleton(e), outgoing);
+		assertEquals(Collections.singleton(n1), neighbors);
+
+		// views remain live after all edges have been removed
+		graph.getEdges().clear();
+		assertTrue(outgoing.isEmpty());
+		graph.getEdges().add(e);
+		assertEquals(1, outgoing.size());
+
+		// duplicates within the edges list do not duplicate view elements
+		graph.getEdges().add(e);
+		assertEquals(1, outgoing.size());
+		graph.getEdges().remove(e);
+		assertEquals(Collections.singleton(e), outgoing);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void readOnlyViews() {
+		Node n1 = new Node.Builder().buildNode();
+		Node n2 = new Node.Builder().buildNode();
+		new Graph.Builder().nodes(n1, n2).edge(n1, n2).build();
+		n1.getLocalOutgoingEdges().clear();
+	}
+
+}
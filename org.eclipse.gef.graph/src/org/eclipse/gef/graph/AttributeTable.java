@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar storage for the attributes of the {@link Node}s or {@link Edge}s of
+ * an {@link Graph#isImmutable() immutable} {@link Graph}, or of a {@link Graph}
+ * built by a {@link BulkGraphBuilder}. Each element is represented by a row,
+ * and each distinct attribute key by a column, so that an element without
+ * attributes costs a single slot per column, and each key is stored only once
+ * (keys are interned within the table).
+ *
+ * @author agent
+ *
+ */
+final class AttributeTable {
+
+	/**
+	 * Marks an attribute whose value is <code>null</code>, as
+	 * <code>null</code> marks an absent attribute.
+	 */
+	private static final Object NULL = new Object();
+
+	private final Map<String, Integer> keyIndices = new HashMap<>();
+	private String[] keys = new String[0];
+	private Object[][] columns = new Object[0][];
+	private int rowCount = 0;
+	private int capacity = 16;
+
+	/**
+	 * Appends a row containing the given attributes.
+	 *
+	 * @param attributes
+	 *            The attributes of the row.
+	 * @return The index of the new row.
+	 */
+	int addRow(Map<String, Object> attributes) {
+		if (rowCount == capacity) {
+			capacity *= 2;
+			for (int k = 0; k < columns.length; k++) {
+				columns[k] = Arrays.copyOf(columns[k], capacity);
+			}
+		}
+		int row = rowCount++;
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			Object value = entry.getValue();
+			getColumn(entry.getKey())[row] = value == null ? NULL : value;
+		}
+		return row;
+	}
+
+	private Object[] getColumn(String key) {
+		Integer index = keyIndices.get(key);
+		if (index == null) {
+			index = keys.length;
+			keyIndices.put(key, index);
+			keys = Arrays.copyOf(keys, index + 1);
+			keys[index] = key;
+			columns = Arrays.copyOf(columns, index + 1);
+			columns[index] = new Object[capacity];
+		}
+		return columns[index];
+	}
+
+	/**
+	 * Returns the attributes of the given row as a new {@link Map}, whose
+	 * keys are the interned keys of this table.
+	 *
+	 * @param row
+	 *            The index of the row.
+	 * @return A new {@link Map} containing the attributes of the row.
+	 */
+	Map<String, Object> getRow(int row) {
+		Map<String, Object> attributes = new HashMap<>();
+		for (int k = 0; k < keys.length; k++) {
+			Object value = columns[k][row];
+			if (value != null) {
+				attributes.put(keys[k], value == NULL ? null : value);
+			}
+		}
+		return attributes;
+	}
+
+	/**
+	 * Releases the capacity that is not used by the rows added so far.
+	 */
+	void trim() {
+		if (capacity > rowCount) {
+			capacity = Math.max(rowCount, 1);
+			for (int k = 0; k < columns.length; k++) {
+				columns[k] = Arrays.copyOf(columns[k], capacity);
+			}
+		}
+	}
+
+}
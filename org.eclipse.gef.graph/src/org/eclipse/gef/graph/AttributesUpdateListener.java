@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+
+/**
+ * An {@link AttributesUpdateListener} is notified once when an
+ * {@link Graph#beginAttributesUpdate() attributes update} of a {@link Graph}
+ * is finished, with all attributes that were changed during the update.
+ *
+ * @author agent
+ *
+ */
+public interface AttributesUpdateListener {
+
+	/**
+	 * Called after an attributes update of the given {@link Graph} has been
+	 * finished and the individual (coalesced) attribute changes have been
+	 * fired.
+	 *
+	 * @param graph
+	 *            The {@link Graph} on which the update was performed.
+	 * @param changes
+	 *            The keys of the changed attributes, mapped to the
+	 *            {@link Node}s, {@link Edge}s, and {@link Graph}s whose
+	 *            attributes were changed, in the order of their first change.
+	 */
+	public void onUpdated(Graph graph,
+			Map<IAttributeStore, Set<String>> changes);
+
+}
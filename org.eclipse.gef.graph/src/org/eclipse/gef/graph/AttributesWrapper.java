@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.common.beans.property.ReadOnlyMapWrapperEx;
+import org.eclipse.gef.common.collections.MapListenerHelperEx;
+
+import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
+
+/**
+ * The attributes property of a {@link Node}, {@link Edge}, or {@link Graph},
+ * which defers its change notifications while an
+ * {@link Graph#beginAttributesUpdate() attributes update} is performed on the
+ * {@link Graph} it belongs to (or on one of its ancestors). When the update
+ * ends, a single change is fired for each attribute whose value differs from
+ * the value it had before the update.
+ *
+ * @author agent
+ *
+ */
+class AttributesWrapper extends ReadOnlyMapWrapperEx<String, Object> {
+
+	/**
+	 * The values the changed attributes had before the first deferred change,
+	 * mapped to their keys, or <code>null</code> if no change is deferred.
+	 */
+	private Map<String, Object> deferred;
+
+	/**
+	 * Creates a new {@link AttributesWrapper} for the given
+	 * {@link IAttributeStore}.
+	 *
+	 * @param store
+	 *            The {@link Node}, {@link Edge}, or {@link Graph} whose
+	 *            attributes are wrapped.
+	 */
+	AttributesWrapper(IAttributeStore store) {
+		super(store, IAttributeStore.ATTRIBUTES_PROPERTY,
+				FXCollections.<String, Object> observableHashMap());
+	}
+
+	/**
+	 * Creates a new {@link AttributesWrapper} for the given
+	 * {@link IAttributeStore}, which initially contains the given attributes
+	 * (without firing any changes).
+	 *
+	 * @param store
+	 *            The {@link Node}, {@link Edge}, or {@link Graph} whose
+	 *            attributes are wrapped.
+	 * @param attributes
+	 *            The (modifiable) {@link Map} of initial attributes, which is
+	 *            wrapped (rather than copied).
+	 */
+	AttributesWrapper(IAttributeStore store, Map<String, Object> attributes) {
+		super(store, IAttributeStore.ATTRIBUTES_PROPERTY,
+				FXCollections.observableMap(attributes));
+	}
+
+	@Override
+	protected void fireValueChangedEvent(
+			MapChangeListener.Change<? extends String, ? extends Object> change) {
+		Graph updating = Graph.getUpdatingGraph(getGraph());
+		if (updating == null) {
+			super.fireValueChangedEvent(change);
+			return;
+		}
+		if (deferred == null) {
+			deferred = new LinkedHashMap<>();
+			updating.deferAttributes(this);
+		}
+		if (!deferred.containsKey(change.getKey())) {
+			deferred.put(change.getKey(), change.getValueRemoved());
+		}
+	}
+
+	/**
+	 * Fires the deferred changes, coalescing all changes of the same
+	 * attribute.
+	 *
+	 * @return The keys of the attributes that were changed.
+	 */
+	Set<String> fireDeferred() {
+		Map<String, Object> originalValues = deferred;
+		deferred = null;
+		if (originalValues == null) {
+			return Collections.emptySet();
+		}
+		Set<String> changed = new LinkedHashSet<>();
+		for (Map.Entry<String, Object> entry : originalValues.entrySet()) {
+			Object value = get().get(entry.getKey());
+			if (!Objects.equals(entry.getValue(), value)) {
+				changed.add(entry.getKey());
+				super.fireValueChangedEvent(
+						new MapListenerHelperEx.AtomicChange<>(this,
+								entry.getKey(), entry.getValue(), value));
+			}
+		}
+		return changed;
+	}
+
+	private Graph getGraph() {
+		Object bean = getBean();
+		if (bean instanceof Graph) {
+			return (Graph) bean;
+		} else if (bean instanceof Node) {
+			return ((Node) bean).getGraph();
+		} else if (bean instanceof Edge) {
+			return ((Edge) bean).getGraph();
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link BulkGraphBuilder} can be used to construct large {@link Graph}s
+ * from streamed node and edge records, e.g. when loading a model from a file
+ * or database. In contrast to the {@link Graph.Builder}, which keeps a
+ * {@link Node.Builder} and an {@link Edge.Builder} per element until the
+ * graph is built, the {@link Node}s and {@link Edge}s are created as soon as
+ * their records are consumed:
+ * <ul>
+ * <li>Nodes are identified by <code>long</code> keys, which are resolved
+ * through a primitive hash index (rather than a {@link HashMap} of boxed
+ * keys).</li>
+ * <li>The attributes of the elements are stored in columns (as for
+ * {@link Graph#isImmutable() immutable} graphs), and are only materialized
+ * when they are accessed.</li>
+ * <li>The node and edge lists are sized up front according to the expected
+ * number of elements, and are added to the {@link Graph} at once, so that a
+ * single list change is fired for each of them.</li>
+ * </ul>
+ * Records are copied when they are consumed, so a single (mutable) record
+ * instance may be used for all elements. Records may also be supplied from a
+ * {@link java.util.stream.Stream}, via its <code>iterator()</code>.
+ *
+ * @author agent
+ *
+ */
+public class BulkGraphBuilder {
+
+	/**
+	 * A record describing a {@link Node} that is to be created.
+	 */
+	public interface NodeRecord {
+
+		/**
+		 * Returns the attributes of the {@link Node}.
+		 *
+		 * @return The attributes of the {@link Node}.
+		 */
+		public Map<String, Object> getAttributes();
+
+		/**
+		 * Returns the key that identifies the {@link Node}, i.e. that is used
+		 * to refer to it from {@link EdgeRecord}s.
+		 *
+		 * @return The key of the {@link Node}.
+		 */
+		public long getKey();
+	}
+
+	/**
+	 * A record describing an {@link Edge} that is to be created.
+	 */
+	public interface EdgeRecord {
+
+		/**
+		 * Returns the attributes of the {@link Edge}.
+		 *
+		 * @return The attributes of the {@link Edge}.
+		 */
+		public Map<String, Object> getAttributes();
+
+		/**
+		 * Returns the key of the source {@link Node} of the {@link Edge}.
+		 *
+		 * @return The key of the source {@link Node}.
+		 */
+		public long getSourceKey();
+
+		/**
+		 * Returns the key of the target {@link Node} of the {@link Edge}.
+		 *
+		 * @return The key of the target {@link Node}.
+		 */
+		public long getTargetKey();
+	}
+
+	private final Map<String, Object> attrs = new HashMap<>();
+	private final List<Node> nodes;
+	private final List<Edge> edges;
+	private final LongIndex nodeIndex;
+	private final AttributeTable nodeAttributes = new AttributeTable();
+	private final AttributeTable edgeAttributes = new AttributeTable();
+	private boolean built = false;
+
+	/**
+	 * Constructs a new {@link BulkGraphBuilder} that is sized for the given
+	 * number of nodes and edges. Exceeding these numbers is possible, but
+	 * requires the internal data structures to be resized.
+	 *
+	 * @param expectedNodeCount
+	 *            The expected number of {@link Node}s.
+	 * @param expectedEdgeCount
+	 *            The expected number of {@link Edge}s.
+	 */
+	public BulkGraphBuilder(int expectedNodeCount, int expectedEdgeCount) {
+		nodes = new ArrayList<>(expectedNodeCount);
+		edges = new ArrayList<>(expectedEdgeCount);
+		nodeIndex = new LongIndex(expectedNodeCount);
+	}
+
+	/**
+	 * Adds the {@link Node}s and {@link Edge}s created by this builder to the
+	 * given {@link Graph}, firing a single change for its nodes and a single
+	 * change for its edges.
+	 *
+	 * @param graph
+	 *            The (mutable) {@link Graph} to which the {@link Node}s and
+	 *            {@link Edge}s are added.
+	 * @throws IllegalStateException
+	 *             If the elements were already built.
+	 */
+	public void addTo(Graph graph) {
+		finish();
+		graph.getAttributes().putAll(attrs);
+		// set graph first, so that listeners can access it
+		for (Node node : nodes) {
+			node.setGraph(graph);
+		}
+		for (Edge edge : edges) {
+			edge.setGraph(graph);
+		}
+		graph.getNodes().addAll(nodes);
+		graph.getEdges().addAll(edges);
+	}
+
+	/**
+	 * Puts the given <i>key</i>-<i>value</i>-pair into the
+	 * {@link Graph#attributesProperty() attributes map} of the {@link Graph}
+	 * which is constructed by this {@link BulkGraphBuilder}.
+	 *
+	 * @param key
+	 *            The attribute name which is inserted.
+	 * @param value
+	 *            The attribute value which is inserted.
+	 * @return <code>this</code> for convenience.
+	 */
+	public BulkGraphBuilder attr(String key, Object value) {
+		attrs.put(key, value);
+		return this;
+	}
+
+	/**
+	 * Constructs a new {@link Graph} containing the {@link Node}s and
+	 * {@link Edge}s that were created by this builder.
+	 *
+	 * @return A new {@link Graph}.
+	 * @throws IllegalStateException
+	 *             If the elements were already built.
+	 */
+	public Graph build() {
+		finish();
+		return new Graph(attrs, nodes, edges);
+	}
+
+	/**
+	 * Constructs a new {@link Graph#isImmutable() immutable} {@link Graph}
+	 * containing the {@link Node}s and {@link Edge}s that were created by this
+	 * builder.
+	 *
+	 * @return A new immutable {@link Graph}.
+	 * @throws IllegalStateException
+	 *             If the elements were already built.
+	 */
+	public Graph buildImmutable() {
+		finish();
+		return new Graph(attrs, nodes, edges, true);
+	}
+
+	/**
+	 * Creates an {@link Edge} for each of the given records. The source and
+	 * target {@link Node}s have to be created before.
+	 *
+	 * @param records
+	 *            An {@link Iterator} over the {@link EdgeRecord}s to consume.
+	 * @return <code>this</code> for convenience.
+	 * @throws IllegalArgumentException
+	 *             If a record refers to an unknown node key.
+	 */
+	public BulkGraphBuilder edges(Iterator<? extends EdgeRecord> records) {
+		checkNotBuilt();
+		while (records.hasNext()) {
+			EdgeRecord record = records.next();
+			Node source = getNode(record.getSourceKey());
+			Node target = getNode(record.getTargetKey());
+			if (source == null || target == null) {
+				throw new IllegalArgumentException("The edge from " + record.getSourceKey() + " to "
+						+ record.getTargetKey() + " refers to an unknown node.");
+			}
+			edges.add(new Edge(edgeAttributes, edgeAttributes.addRow(record.getAttributes()), source, target));
+		}
+		return this;
+	}
+
+	/**
+	 * Returns the {@link Node} that was created for the given key.
+	 *
+	 * @param key
+	 *            The key of the {@link Node}.
+	 * @return The {@link Node} with the given key, or <code>null</code> if no
+	 *         such {@link Node} was created.
+	 */
+	public Node getNode(long key) {
+		int index = nodeIndex.get(key);
+		return index < 0 ? null : nodes.get(index);
+	}
+
+	/**
+	 * Creates a {@link Node} for each of the given records.
+	 *
+	 * @param records
+	 *            An {@link Iterator} over the {@link NodeRecord}s to consume.
+	 * @return <code>this</code> for convenience.
+	 * @throws IllegalArgumentException
+	 *             If a record uses a key that is already used by another
+	 *             node.
+	 */
+	public BulkGraphBuilder nodes(Iterator<? extends NodeRecord> records) {
+		checkNotBuilt();
+		while (records.hasNext()) {
+			NodeRecord record = records.next();
+			if (!nodeIndex.put(record.getKey(), nodes.size())) {
+				throw new IllegalArgumentException("The node key " + record.getKey() + " is used more than once.");
+			}
+			nodes.add(new Node(nodeAttributes, nodeAttributes.addRow(record.getAttributes())));
+		}
+		return this;
+	}
+
+	private void checkNotBuilt() {
+		if (built) {
+			throw new IllegalStateException("The graph was already built.");
+		}
+	}
+
+	private void finish() {
+		checkNotBuilt();
+		built = true;
+		nodeAttributes.trim();
+		edgeAttributes.trim();
+	}
+
+}
@@ -18,12 +18,9 @@ import java.util.Map;
 import java.util.TreeMap;
 
 import org.eclipse.gef.common.attributes.IAttributeStore;
-import org.eclipse.gef.common.beans.property.ReadOnlyMapWrapperEx;
 import org.eclipse.gef.graph.Graph.Builder.Context;
 
 import javafx.beans.property.ReadOnlyMapProperty;
-import javafx.beans.property.ReadOnlyMapWrapper;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
 
 /**
@@ -134,6 +131,22 @@ public class Edge implements IAttributeStore {
 			return new Edge(attrs, sourceNode, targetNode);
 		}
 
+		/**
+		 * Creates a new {@link Edge}, whose attributes are stored in the
+		 * given {@link AttributeTable}.
+		 *
+		 * @param attributeTable
+		 *            The {@link AttributeTable} to store the attributes in.
+		 * @return A newly created {@link Edge}.
+		 */
+		Edge buildEdge(AttributeTable attributeTable) {
+			Node sourceNode = sourceNodeOrKey instanceof Node ? (Node) sourceNodeOrKey
+					: context.builder.findOrCreateNode(sourceNodeOrKey);
+			Node targetNode = targetNodeOrKey instanceof Node ? (Node) targetNodeOrKey
+					: context.builder.findOrCreateNode(targetNodeOrKey);
+			return new Edge(attributeTable, attributeTable.addRow(attrs), sourceNode, targetNode);
+		}
+
 		/**
 		 * Constructs a new {@link Edge.Builder}.
 		 *
@@ -179,8 +192,18 @@ public class Edge implements IAttributeStore {
 		}
 	}
 
-	private final ReadOnlyMapWrapper<String, Object> attributesProperty = new ReadOnlyMapWrapperEx<>(this,
-			ATTRIBUTES_PROPERTY, FXCollections.<String, Object>observableHashMap());
+	/**
+	 * The attributes of this {@link Edge}, which are created lazily in case
+	 * they are stored in an {@link #attributeTable}.
+	 */
+	private AttributesWrapper attributesProperty;
+
+	/**
+	 * The {@link AttributeTable} that stores the attributes of this
+	 * {@link Edge} until they are accessed, or <code>null</code>.
+	 */
+	private AttributeTable attributeTable;
+	private int attributeRow;
 	private Node source;
 	private Node target;
 	private Graph graph; // associated graph
@@ -202,11 +225,35 @@ public class Edge implements IAttributeStore {
 	 *            The target {@link Node} for this {@link Edge}.
 	 */
 	public Edge(Map<String, Object> attributes, Node source, Node target) {
+		this.attributesProperty = new AttributesWrapper(this);
 		this.attributesProperty.putAll(attributes);
 		this.source = source;
 		this.target = target;
 	}
 
+	/**
+	 * Constructs a new {@link Edge} which connects the given <i>source</i>
+	 * {@link Node} with the given <i>target</i> {@link Node}, and whose
+	 * attributes are stored in the given row of the given
+	 * {@link AttributeTable}, until they are accessed.
+	 *
+	 * @param attributeTable
+	 *            The {@link AttributeTable} that stores the attributes.
+	 * @param attributeRow
+	 *            The row of the attributes within the table.
+	 * @param source
+	 *            The source {@link Node} for this {@link Edge}.
+	 * @param target
+	 *            The target {@link Node} for this {@link Edge}.
+	 */
+	Edge(AttributeTable attributeTable, int attributeRow, Node source,
+			Node target) {
+		this.attributeTable = attributeTable;
+		this.attributeRow = attributeRow;
+		this.source = source;
+		this.target = target;
+	}
+
 	/**
 	 * Constructs a new {@link Edge} which connects the given <i>source</i>
 	 * {@link Node} with the given <i>target</i> {@link Node}.
@@ -222,12 +269,21 @@ public class Edge implements IAttributeStore {
 
 	@Override
 	public ReadOnlyMapProperty<String, Object> attributesProperty() {
-		return attributesProperty.getReadOnlyProperty();
+		return getAttributesWrapper().getReadOnlyProperty();
+	}
+
+	private AttributesWrapper getAttributesWrapper() {
+		if (attributesProperty == null) {
+			attributesProperty = new AttributesWrapper(this,
+					attributeTable.getRow(attributeRow));
+			attributeTable = null;
+		}
+		return attributesProperty;
 	}
 
 	@Override
 	public ObservableMap<String, Object> getAttributes() {
-		return attributesProperty.get();
+		return getAttributesWrapper().get();
 	}
 
 	/**
@@ -273,9 +329,20 @@ public class Edge implements IAttributeStore {
 	 *
 	 * @param source
 	 *            The new source {@link Node} for this {@link Edge}.
+	 * @throws UnsupportedOperationException
+	 *             If this {@link Edge} belongs to an
+	 *             {@link Graph#isImmutable() immutable} {@link Graph}.
 	 */
 	public void setSource(Node source) {
+		if (graph != null && graph.isImmutable()) {
+			throw new UnsupportedOperationException(
+					"The edges of an immutable graph cannot be changed.");
+		}
+		Node oldSource = this.source;
 		this.source = source;
+		if (graph != null && oldSource != source) {
+			graph.edgeEndpointsChanged(this, oldSource, target);
+		}
 	}
 
 	/**
@@ -283,9 +350,20 @@ public class Edge implements IAttributeStore {
 	 *
 	 * @param target
 	 *            The new target {@link Node} for this {@link Edge}.
+	 * @throws UnsupportedOperationException
+	 *             If this {@link Edge} belongs to an
+	 *             {@link Graph#isImmutable() immutable} {@link Graph}.
 	 */
 	public void setTarget(Node target) {
+		if (graph != null && graph.isImmutable()) {
+			throw new UnsupportedOperationException(
+					"The edges of an immutable graph cannot be changed.");
+		}
+		Node oldTarget = this.target;
 		this.target = target;
+		if (graph != null && oldTarget != target) {
+			graph.edgeEndpointsChanged(this, source, oldTarget);
+		}
 	}
 
 	@Override
@@ -294,14 +372,14 @@ public class Edge implements IAttributeStore {
 		sb.append("Edge {");
 		boolean separator = false;
 		TreeMap<String, Object> sortedAttrs = new TreeMap<>();
-		sortedAttrs.putAll(attributesProperty);
+		sortedAttrs.putAll(getAttributes());
 		for (Object attrKey : sortedAttrs.keySet()) {
 			if (separator) {
 				sb.append(", ");
 			} else {
 				separator = true;
 			}
-			sb.append(attrKey.toString() + " : " + attributesProperty.get(attrKey));
+			sb.append(attrKey.toString() + " : " + sortedAttrs.get(attrKey));
 		}
 		sb.append("} from " + getSource() + " to " + getTarget());
 		return sb.toString();
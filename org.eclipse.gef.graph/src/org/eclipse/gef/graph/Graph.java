@@ -13,31 +13,45 @@
  *******************************************************************************/
 package org.eclipse.gef.graph;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 
 import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.common.beans.property.ReadOnlyListWrapperEx;
-import org.eclipse.gef.common.beans.property.ReadOnlyMapWrapperEx;
 import org.eclipse.gef.common.collections.CollectionUtils;
 
 import javafx.beans.property.ReadOnlyListProperty;
 import javafx.beans.property.ReadOnlyListWrapper;
 import javafx.beans.property.ReadOnlyMapProperty;
-import javafx.beans.property.ReadOnlyMapWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 
 /**
  * A {@link Graph} is a container for {@link Node}s and {@link Edge}s between
  * those {@link Node}s.
+ * <p>
+ * A {@link Graph} that is constructed via {@link Builder#buildImmutable()} is
+ * {@link #isImmutable() immutable}, i.e. its nodes and edges (and the end
+ * points of the latter) cannot be changed. In exchange, it is considerably
+ * more compact: the adjacency of its nodes is stored in arrays, and the
+ * attributes of its nodes and edges are stored in columns (per attribute key)
+ * and only materialized into (observable) attribute maps when they are first
+ * accessed.
  *
  * @author Fabian Steeg
  * @author anyssen
@@ -45,6 +59,178 @@ import javafx.collections.ObservableMap;
  */
 public final class Graph implements IAttributeStore {
 
+	/**
+	 * Incoming and outgoing {@link Edge}s of a single {@link Node}, together
+	 * with the (counted) predecessor and successor {@link Node}s reachable via
+	 * those edges. Edges, neighbors, and the occurrences of the {@link Node}
+	 * within the nodes list are counted, so that an {@link Adjacency} remains
+	 * consistent while the nodes or edges list is (temporarily) containing
+	 * duplicates, e.g. during a sort.
+	 * <p>
+	 * An {@link Adjacency} is retained as long as its {@link Node} is
+	 * contained in the {@link Graph} (or any {@link Edge} refers to it), so
+	 * that the views handed out for it remain live.
+	 */
+	private static final class Adjacency {
+
+		private final Map<Edge, int[]> incoming = new LinkedHashMap<>(2);
+		private final Map<Edge, int[]> outgoing = new LinkedHashMap<>(2);
+		private final Map<Node, int[]> predecessors = new IdentityHashMap<>(2);
+		private final Map<Node, int[]> successors = new IdentityHashMap<>(2);
+		private int occurrences;
+
+		private final Set<Edge> incomingView = Collections
+				.unmodifiableSet(incoming.keySet());
+		private final Set<Edge> outgoingView = Collections
+				.unmodifiableSet(outgoing.keySet());
+		private final Set<Node> predecessorsView = Collections
+				.unmodifiableSet(predecessors.keySet());
+		private final Set<Node> successorsView = Collections
+				.unmodifiableSet(successors.keySet());
+		private final Set<Node> neighborsView = new NeighborSetView(
+				predecessors, successors);
+
+		private static <T> boolean decrement(Map<T, int[]> counts, T key) {
+			int[] count = counts.get(key);
+			if (count == null) {
+				return false;
+			}
+			if (--count[0] == 0) {
+				counts.remove(key);
+			}
+			return true;
+		}
+
+		private static <T> void increment(Map<T, int[]> counts, T key) {
+			int[] count = counts.get(key);
+			if (count == null) {
+				counts.put(key, new int[] { 1 });
+			} else {
+				count[0]++;
+			}
+		}
+
+		private boolean isUnused() {
+			return occurrences == 0 && incoming.isEmpty() && outgoing.isEmpty();
+		}
+	}
+
+	/**
+	 * A read-only {@link Set} view on a range of an array of {@link Edge}s
+	 * that does not contain duplicates.
+	 */
+	private static final class EdgeArraySetView extends AbstractSet<Edge> {
+
+		private final Edge[] edges;
+		private final int from;
+		private final int to;
+
+		private EdgeArraySetView(Edge[] edges, int from, int to) {
+			this.edges = edges;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			for (int i = from; i < to; i++) {
+				if (edges[i] == o) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<Edge> iterator() {
+			return Collections.unmodifiableList(Arrays.asList(edges).subList(from, to)).iterator();
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+
+	/**
+	 * A read-only {@link Set} view on the union of the predecessor and
+	 * successor {@link Node}s of an {@link Adjacency}.
+	 */
+	private static final class NeighborSetView extends AbstractSet<Node> {
+
+		private final Map<Node, int[]> predecessors;
+		private final Map<Node, int[]> successors;
+
+		private NeighborSetView(Map<Node, int[]> predecessors,
+				Map<Node, int[]> successors) {
+			this.predecessors = predecessors;
+			this.successors = successors;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return predecessors.containsKey(o) || successors.containsKey(o);
+		}
+
+		@Override
+		public Iterator<Node> iterator() {
+			final Iterator<Node> predecessorsIterator = predecessors.keySet()
+					.iterator();
+			final Iterator<Node> successorsIterator = successors.keySet()
+					.iterator();
+			return new Iterator<Node>() {
+
+				private Node next = advance();
+
+				private Node advance() {
+					if (predecessorsIterator.hasNext()) {
+						return predecessorsIterator.next();
+					}
+					while (successorsIterator.hasNext()) {
+						Node candidate = successorsIterator.next();
+						// skip successors that were already returned as
+						// predecessors
+						if (!predecessors.containsKey(candidate)) {
+							return candidate;
+						}
+					}
+					return null;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return next != null;
+				}
+
+				@Override
+				public Node next() {
+					if (next == null) {
+						throw new NoSuchElementException();
+					}
+					Node current = next;
+					next = advance();
+					return current;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			int size = predecessors.size();
+			for (Node n : successors.keySet()) {
+				if (!predecessors.containsKey(n)) {
+					size++;
+				}
+			}
+			return size;
+		}
+	}
+
 	/**
 	 * The {@link Builder} can be used to construct a new {@link Graph} little
 	 * by little.
@@ -121,11 +307,43 @@ public final class Graph implements IAttributeStore {
 			for (Edge.Builder eb : context.edgeBuilders) {
 				edges.add(eb.buildEdge());
 			}
-			List<Node> nodeList = new ArrayList<>();
+			return new Graph(attrs, getNodeList(), edges);
+		}
+
+		/**
+		 * Constructs a new {@link Graph#isImmutable() immutable} {@link Graph}
+		 * from the values which have been supplied to this {@link Builder}.
+		 * The attributes of the {@link Node}s and {@link Edge}s that are
+		 * created by the builder chain are stored in columns, and are only
+		 * materialized when they are accessed.
+		 *
+		 * @return A new immutable {@link Graph} from the values which have
+		 *         been supplied to this {@link Builder}.
+		 * @throws IllegalArgumentException
+		 *             If a {@link Node} that was supplied via
+		 *             {@link #nodes(Node...)} already belongs to another
+		 *             immutable {@link Graph}.
+		 */
+		public Graph buildImmutable() {
+			AttributeTable nodeAttributes = new AttributeTable();
+			for (Node.Builder nb : context.nodeBuilders.values()) {
+				nodes.put(nb.getKey(), nb.buildNode(nodeAttributes));
+			}
+			nodeAttributes.trim();
+			AttributeTable edgeAttributes = new AttributeTable();
+			for (Edge.Builder eb : context.edgeBuilders) {
+				edges.add(eb.buildEdge(edgeAttributes));
+			}
+			edgeAttributes.trim();
+			return new Graph(attrs, getNodeList(), edges, true);
+		}
+
+		private List<Node> getNodeList() {
+			List<Node> nodeList = new ArrayList<>(context.nodeKeys.size());
 			for (Object key : context.nodeKeys) {
 				nodeList.add(nodes.get(key));
 			}
-			return new Graph(attrs, nodeList, edges);
+			return nodeList;
 		}
 
 		/**
@@ -273,21 +491,18 @@ public final class Graph implements IAttributeStore {
 	/**
 	 * {@link Node}s directly contained by this {@link Graph}.
 	 */
-	private final ReadOnlyListWrapper<Node> nodesProperty = new ReadOnlyListWrapperEx<>(this, NODES_PROPERTY,
-			CollectionUtils.<Node>observableArrayList());
+	private final ReadOnlyListWrapper<Node> nodesProperty;
 
 	/**
 	 * {@link Edge}s for which this {@link Graph} is a common ancestor for
 	 * {@link Edge#getSource() source} and {@link Edge#getTarget() target}.
 	 */
-	private final ReadOnlyListWrapper<Edge> edgesProperty = new ReadOnlyListWrapperEx<>(this, EDGES_PROPERTY,
-			CollectionUtils.<Edge>observableArrayList());
+	private final ReadOnlyListWrapper<Edge> edgesProperty;
 
 	/**
 	 * Attributes of this {@link Graph}.
 	 */
-	private final ReadOnlyMapWrapper<String, Object> attributesProperty = new ReadOnlyMapWrapperEx<>(this,
-			ATTRIBUTES_PROPERTY, FXCollections.<String, Object>observableHashMap());
+	private final AttributesWrapper attributesProperty = new AttributesWrapper(this);
 
 	/**
 	 * {@link Node} which contains this {@link Graph}. May be <code>null</code>
@@ -295,6 +510,40 @@ public final class Graph implements IAttributeStore {
 	 */
 	private Node nestingNode; // when contained as a nested graph within a node
 
+	/**
+	 * Per-{@link Node} index of incoming and outgoing {@link Edge}s, which is
+	 * kept in sync with the {@link #edgesProperty() edges}, so that neighbor
+	 * and edge queries can be answered without scanning all edges.
+	 */
+	private final Map<Node, Adjacency> adjacencies = new IdentityHashMap<>();
+
+	/**
+	 * Whether the nodes and edges of this {@link Graph} may not be changed.
+	 */
+	private final boolean immutable;
+
+	/**
+	 * The adjacency of the nodes of an immutable {@link Graph} in compressed
+	 * sparse row format, indexed by {@link Node#immutableIndex}.
+	 */
+	private int[] incomingOffsets;
+	private Edge[] incomingEdges;
+	private int[] outgoingOffsets;
+	private Edge[] outgoingEdges;
+
+	/**
+	 * The nesting depth of {@link #beginAttributesUpdate()} calls.
+	 */
+	private int attributesUpdateDepth = 0;
+
+	/**
+	 * The attributes of the {@link Node}s, {@link Edge}s, and {@link Graph}s
+	 * that have deferred changes during the current attributes update.
+	 */
+	private List<AttributesWrapper> deferredAttributes = new ArrayList<>();
+
+	private final List<AttributesUpdateListener> attributesUpdateListeners = new ArrayList<>();
+
 	/**
 	 * Default constructor, using empty collections for attributes, nodes, and
 	 * edgesProperty.
@@ -316,6 +565,71 @@ public final class Graph implements IAttributeStore {
 	 *            List of {@link Edge}s.
 	 */
 	public Graph(Map<String, Object> attributes, Collection<? extends Node> nodes, Collection<? extends Edge> edges) {
+		this(attributes, nodes, edges, false);
+	}
+
+	Graph(Map<String, Object> attributes, Collection<? extends Node> nodes, Collection<? extends Edge> edges,
+			boolean immutable) {
+		this.immutable = immutable;
+		if (immutable) {
+			nodesProperty = new ReadOnlyListWrapperEx<>(this, NODES_PROPERTY,
+					FXCollections.unmodifiableObservableList(CollectionUtils.<Node>observableArrayList(nodes)));
+			edgesProperty = new ReadOnlyListWrapperEx<>(this, EDGES_PROPERTY,
+					FXCollections.unmodifiableObservableList(CollectionUtils.<Edge>observableArrayList(edges)));
+			this.attributesProperty.putAll(attributes);
+			int index = 0;
+			for (Node n : nodes) {
+				Graph previous = n.getGraph();
+				if (previous != null && previous != this && previous.isImmutable()) {
+					throw new IllegalArgumentException("The node " + n + " already belongs to an immutable graph.");
+				}
+				n.immutableIndex = index++;
+				n.setGraph(this);
+			}
+			for (Edge e : edges) {
+				e.setGraph(this);
+			}
+			indexImmutable();
+			return;
+		}
+		nodesProperty = new ReadOnlyListWrapperEx<>(this, NODES_PROPERTY, CollectionUtils.<Node>observableArrayList());
+		edgesProperty = new ReadOnlyListWrapperEx<>(this, EDGES_PROPERTY, CollectionUtils.<Edge>observableArrayList());
+		// keep adjacency index in sync with nodes and edges
+		this.nodesProperty.get().addListener(new ListChangeListener<Node>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends Node> change) {
+				while (change.next()) {
+					if (change.wasPermutated()) {
+						continue;
+					}
+					for (Node n : change.getRemoved()) {
+						Adjacency adjacency = adjacencies.get(n);
+						if (adjacency != null && --adjacency.occurrences == 0 && adjacency.isUnused()) {
+							adjacencies.remove(n);
+						}
+					}
+					for (Node n : change.getAddedSubList()) {
+						getAdjacency(n).occurrences++;
+					}
+				}
+			}
+		});
+		this.edgesProperty.get().addListener(new ListChangeListener<Edge>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+				while (change.next()) {
+					if (change.wasPermutated()) {
+						continue;
+					}
+					for (Edge e : change.getRemoved()) {
+						unindex(e, e.getSource(), e.getTarget());
+					}
+					for (Edge e : change.getAddedSubList()) {
+						index(e);
+					}
+				}
+			}
+		});
 		this.attributesProperty.putAll(attributes);
 		this.nodesProperty.addAll(nodes);
 		this.edgesProperty.addAll(edges);
@@ -328,11 +642,357 @@ public final class Graph implements IAttributeStore {
 		}
 	}
 
+	/**
+	 * Adds the given {@link AttributesUpdateListener}, which is notified
+	 * whenever an {@link #beginAttributesUpdate() attributes update} of this
+	 * {@link Graph} is finished.
+	 *
+	 * @param listener
+	 *            The {@link AttributesUpdateListener} to add.
+	 */
+	public void addAttributesUpdateListener(AttributesUpdateListener listener) {
+		attributesUpdateListeners.add(listener);
+	}
+
 	@Override
 	public ReadOnlyMapProperty<String, Object> attributesProperty() {
 		return attributesProperty.getReadOnlyProperty();
 	}
 
+	/**
+	 * Starts an attributes update, during which the change notifications of
+	 * the {@link #attributesProperty() attributes properties} of this
+	 * {@link Graph}, its {@link Node}s and {@link Edge}s (as well as those of
+	 * nested {@link Graph}s) are deferred. When the (outermost) update is
+	 * finished via {@link #endAttributesUpdate()}, a single change is fired
+	 * per changed attribute, followed by a single notification of the
+	 * {@link AttributesUpdateListener}s. Attribute updates may be nested.
+	 * <p>
+	 * The update is regarded to be in progress until all listeners have been
+	 * notified (see {@link #isUpdatingAttributes()}), so that attribute
+	 * changes performed by listeners are deferred as well, and are fired
+	 * (followed by another notification of the
+	 * {@link AttributesUpdateListener}s) afterwards.
+	 * <p>
+	 * Note that listeners registered directly on the (wrapped)
+	 * {@link #getAttributes() attributes maps} are still notified
+	 * immediately.
+	 */
+	public void beginAttributesUpdate() {
+		attributesUpdateDepth++;
+	}
+
+	/**
+	 * Registers the given {@link AttributesWrapper} as having deferred
+	 * changes during the current attributes update.
+	 *
+	 * @param attributes
+	 *            The {@link AttributesWrapper} with deferred changes.
+	 */
+	void deferAttributes(AttributesWrapper attributes) {
+		deferredAttributes.add(attributes);
+	}
+
+	/**
+	 * Updates the adjacency index after source and/or target of the given
+	 * {@link Edge} have been changed.
+	 *
+	 * @param edge
+	 *            The {@link Edge} whose source or target was changed.
+	 * @param oldSource
+	 *            The source {@link Node} of the {@link Edge} before the
+	 *            change.
+	 * @param oldTarget
+	 *            The target {@link Node} of the {@link Edge} before the
+	 *            change.
+	 */
+	void edgeEndpointsChanged(Edge edge, Node oldSource, Node oldTarget) {
+		// only re-index edges that are actually contained in the index
+		boolean indexed = false;
+		if (oldSource != null) {
+			Adjacency adjacency = adjacencies.get(oldSource);
+			indexed = adjacency != null && adjacency.outgoing.containsKey(edge);
+		} else if (oldTarget != null) {
+			Adjacency adjacency = adjacencies.get(oldTarget);
+			indexed = adjacency != null && adjacency.incoming.containsKey(edge);
+		}
+		if (indexed) {
+			unindex(edge, oldSource, oldTarget);
+			index(edge);
+		}
+	}
+
+	/**
+	 * Finishes an attributes update that was started via
+	 * {@link #beginAttributesUpdate()}. If this finishes the outermost update,
+	 * the deferred attribute changes are fired and the
+	 * {@link AttributesUpdateListener}s are notified.
+	 *
+	 * @throws IllegalStateException
+	 *             If no attributes update was started.
+	 */
+	public void endAttributesUpdate() {
+		if (attributesUpdateDepth == 0) {
+			throw new IllegalStateException("No attributes update was started.");
+		}
+		if (attributesUpdateDepth > 1) {
+			attributesUpdateDepth--;
+			return;
+		}
+		// notify listeners while the update is still in progress, so that
+		// changes performed by them are deferred (and fired subsequently)
+		try {
+			while (!deferredAttributes.isEmpty()) {
+				List<AttributesWrapper> deferred = deferredAttributes;
+				deferredAttributes = new ArrayList<>();
+				Map<IAttributeStore, Set<String>> changes = new LinkedHashMap<>();
+				for (AttributesWrapper attributes : deferred) {
+					Set<String> changedKeys = attributes.fireDeferred();
+					if (!changedKeys.isEmpty()) {
+						changes.put((IAttributeStore) attributes.getBean(), changedKeys);
+					}
+				}
+				if (!changes.isEmpty()) {
+					changes = Collections.unmodifiableMap(changes);
+					for (AttributesUpdateListener listener : new ArrayList<>(attributesUpdateListeners)) {
+						listener.onUpdated(this, changes);
+					}
+				}
+			}
+		} finally {
+			attributesUpdateDepth--;
+		}
+	}
+
+	/**
+	 * Returns the index of the given {@link Node} within this immutable
+	 * {@link Graph}, or <code>-1</code> if it is not contained.
+	 */
+	private int getImmutableIndex(Node node) {
+		int index = node.immutableIndex;
+		List<Node> nodes = getNodes();
+		return index >= 0 && index < nodes.size() && nodes.get(index) == node ? index : -1;
+	}
+
+	private Adjacency getAdjacency(Node node) {
+		Adjacency adjacency = adjacencies.get(node);
+		if (adjacency == null) {
+			adjacency = new Adjacency();
+			adjacencies.put(node, adjacency);
+		}
+		return adjacency;
+	}
+
+	/**
+	 * Returns a read-only view on the {@link Edge}s of this {@link Graph} that
+	 * target the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} whose incoming {@link Edge}s to return.
+	 * @return A read-only {@link Set} view on the incoming {@link Edge}s.
+	 */
+	Set<Edge> getIncomingEdges(Node node) {
+		if (immutable) {
+			int index = getImmutableIndex(node);
+			return index < 0 ? Collections.<Edge> emptySet()
+					: new EdgeArraySetView(incomingEdges, incomingOffsets[index], incomingOffsets[index + 1]);
+		}
+		Adjacency adjacency = adjacencies.get(node);
+		return adjacency == null ? Collections.<Edge> emptySet() : adjacency.incomingView;
+	}
+
+	/**
+	 * Returns a read-only view on the predecessors and successors of the given
+	 * {@link Node} within this {@link Graph}.
+	 *
+	 * @param node
+	 *            The {@link Node} whose neighbors to return.
+	 * @return A read-only {@link Set} view on the neighbors.
+	 */
+	Set<Node> getNeighbors(Node node) {
+		if (immutable) {
+			Set<Node> neighbors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+			neighbors.addAll(getPredecessorNodes(node));
+			neighbors.addAll(getSuccessorNodes(node));
+			return Collections.unmodifiableSet(neighbors);
+		}
+		Adjacency adjacency = adjacencies.get(node);
+		return adjacency == null ? Collections.<Node> emptySet() : adjacency.neighborsView;
+	}
+
+	/**
+	 * Returns a read-only view on the {@link Edge}s of this {@link Graph} that
+	 * originate from the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} whose outgoing {@link Edge}s to return.
+	 * @return A read-only {@link Set} view on the outgoing {@link Edge}s.
+	 */
+	Set<Edge> getOutgoingEdges(Node node) {
+		if (immutable) {
+			int index = getImmutableIndex(node);
+			return index < 0 ? Collections.<Edge> emptySet()
+					: new EdgeArraySetView(outgoingEdges, outgoingOffsets[index], outgoingOffsets[index + 1]);
+		}
+		Adjacency adjacency = adjacencies.get(node);
+		return adjacency == null ? Collections.<Edge> emptySet() : adjacency.outgoingView;
+	}
+
+	/**
+	 * Returns a read-only view on the sources of all {@link Edge}s of this
+	 * {@link Graph} that target the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} whose predecessors to return.
+	 * @return A read-only {@link Set} view on the predecessors.
+	 */
+	Set<Node> getPredecessorNodes(Node node) {
+		if (immutable) {
+			int index = getImmutableIndex(node);
+			return index < 0 ? Collections.<Node> emptySet()
+					: getEndPoints(incomingEdges, incomingOffsets[index], incomingOffsets[index + 1], true);
+		}
+		Adjacency adjacency = adjacencies.get(node);
+		return adjacency == null ? Collections.<Node> emptySet() : adjacency.predecessorsView;
+	}
+
+	/**
+	 * Returns a read-only view on the targets of all {@link Edge}s of this
+	 * {@link Graph} that originate from the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} whose successors to return.
+	 * @return A read-only {@link Set} view on the successors.
+	 */
+	Set<Node> getSuccessorNodes(Node node) {
+		if (immutable) {
+			int index = getImmutableIndex(node);
+			return index < 0 ? Collections.<Node> emptySet()
+					: getEndPoints(outgoingEdges, outgoingOffsets[index], outgoingOffsets[index + 1], false);
+		}
+		Adjacency adjacency = adjacencies.get(node);
+		return adjacency == null ? Collections.<Node> emptySet() : adjacency.successorsView;
+	}
+
+	/**
+	 * Returns the {@link Graph} that performs an attributes update affecting
+	 * the given {@link Graph}, i.e. the given {@link Graph} itself or one of
+	 * its (nesting) ancestors.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to start the search from, may be
+	 *            <code>null</code>.
+	 * @return The {@link Graph} that performs an attributes update, or
+	 *         <code>null</code> if no attributes update is performed.
+	 */
+	static Graph getUpdatingGraph(Graph graph) {
+		while (graph != null) {
+			if (graph.attributesUpdateDepth > 0) {
+				return graph;
+			}
+			Node nestingNode = graph.getNestingNode();
+			graph = nestingNode == null ? null : nestingNode.getGraph();
+		}
+		return null;
+	}
+
+	private static Set<Node> getEndPoints(Edge[] edges, int from, int to, boolean sources) {
+		Set<Node> endPoints = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		for (int i = from; i < to; i++) {
+			Node endPoint = sources ? edges[i].getSource() : edges[i].getTarget();
+			if (endPoint != null) {
+				endPoints.add(endPoint);
+			}
+		}
+		return Collections.unmodifiableSet(endPoints);
+	}
+
+	/**
+	 * Builds the adjacency of this immutable {@link Graph}, which only
+	 * comprises the {@link Edge}s whose end points are contained.
+	 */
+	private void indexImmutable() {
+		List<Node> nodes = getNodes();
+		List<Edge> edges = getEdges();
+		int n = nodes.size();
+		incomingOffsets = new int[n + 1];
+		outgoingOffsets = new int[n + 1];
+		for (Edge e : edges) {
+			int source = e.getSource() == null ? -1 : getImmutableIndex(e.getSource());
+			int target = e.getTarget() == null ? -1 : getImmutableIndex(e.getTarget());
+			if (source >= 0) {
+				outgoingOffsets[source + 1]++;
+			}
+			if (target >= 0) {
+				incomingOffsets[target + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			incomingOffsets[i + 1] += incomingOffsets[i];
+			outgoingOffsets[i + 1] += outgoingOffsets[i];
+		}
+		incomingEdges = new Edge[incomingOffsets[n]];
+		outgoingEdges = new Edge[outgoingOffsets[n]];
+		int[] incomingFill = Arrays.copyOf(incomingOffsets, n);
+		int[] outgoingFill = Arrays.copyOf(outgoingOffsets, n);
+		for (Edge e : edges) {
+			int source = e.getSource() == null ? -1 : getImmutableIndex(e.getSource());
+			int target = e.getTarget() == null ? -1 : getImmutableIndex(e.getTarget());
+			if (source >= 0) {
+				outgoingEdges[outgoingFill[source]++] = e;
+			}
+			if (target >= 0) {
+				incomingEdges[incomingFill[target]++] = e;
+			}
+		}
+	}
+
+	private void index(Edge edge) {
+		Node source = edge.getSource();
+		Node target = edge.getTarget();
+		if (source != null) {
+			Adjacency sourceAdjacency = getAdjacency(source);
+			Adjacency.increment(sourceAdjacency.outgoing, edge);
+			if (target != null) {
+				Adjacency.increment(sourceAdjacency.successors, target);
+			}
+		}
+		if (target != null) {
+			Adjacency targetAdjacency = getAdjacency(target);
+			Adjacency.increment(targetAdjacency.incoming, edge);
+			if (source != null) {
+				Adjacency.increment(targetAdjacency.predecessors, source);
+			}
+		}
+	}
+
+	private void unindex(Edge edge, Node source, Node target) {
+		if (source != null) {
+			Adjacency sourceAdjacency = adjacencies.get(source);
+			if (sourceAdjacency != null
+					&& Adjacency.decrement(sourceAdjacency.outgoing, edge)) {
+				if (target != null) {
+					Adjacency.decrement(sourceAdjacency.successors, target);
+				}
+				if (sourceAdjacency.isUnused()) {
+					adjacencies.remove(source);
+				}
+			}
+		}
+		if (target != null) {
+			Adjacency targetAdjacency = adjacencies.get(target);
+			if (targetAdjacency != null
+					&& Adjacency.decrement(targetAdjacency.incoming, edge)) {
+				if (source != null) {
+					Adjacency.decrement(targetAdjacency.predecessors, source);
+				}
+				if (targetAdjacency.isUnused()) {
+					adjacencies.remove(target);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns a read-only list property containing the {@link Edge}s of this
 	 * {@link Graph}.
@@ -368,6 +1028,38 @@ public final class Graph implements IAttributeStore {
 		return nestingNode;
 	}
 
+	/**
+	 * Returns whether this {@link Graph} is immutable, i.e. whether it was
+	 * constructed via {@link Builder#buildImmutable()}. The {@link #getNodes()
+	 * nodes} and {@link #getEdges() edges} of an immutable {@link Graph}
+	 * cannot be modified, and neither can the end points of its edges (an
+	 * {@link UnsupportedOperationException} is thrown in these cases). The
+	 * attributes of the graph, its nodes, and its edges may still be changed.
+	 *
+	 * @return <code>true</code> if this {@link Graph} is immutable, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isImmutable() {
+		return immutable;
+	}
+
+	/**
+	 * Returns whether an {@link #beginAttributesUpdate() attributes update} is
+	 * in progress for this {@link Graph}, i.e. whether an update was started
+	 * on this {@link Graph} or on one of its (nesting) ancestors, and the
+	 * deferred changes have not yet been fired completely. Listeners of the
+	 * {@link #attributesProperty() attributes properties} may use this to
+	 * skip their reactions to the individual changes of an update, if they
+	 * are notified about the update as a whole by an
+	 * {@link AttributesUpdateListener}.
+	 *
+	 * @return <code>true</code> if an attributes update is in progress,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isUpdatingAttributes() {
+		return getUpdatingGraph(this) != null;
+	}
+
 	/**
 	 * Returns the nodes of this Graph.
 	 *
@@ -387,6 +1079,16 @@ public final class Graph implements IAttributeStore {
 		return nodesProperty.getReadOnlyProperty();
 	}
 
+	/**
+	 * Removes the given {@link AttributesUpdateListener}.
+	 *
+	 * @param listener
+	 *            The {@link AttributesUpdateListener} to remove.
+	 */
+	public void removeAttributesUpdateListener(AttributesUpdateListener listener) {
+		attributesUpdateListeners.remove(listener);
+	}
+
 	/**
 	 * Sets the nesting {@link Node} of this {@link Graph}.
 	 *
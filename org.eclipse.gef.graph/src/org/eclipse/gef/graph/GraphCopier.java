@@ -10,22 +10,72 @@
  *******************************************************************************/
 package org.eclipse.gef.graph;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.gef.common.attributes.IAttributeCopier;
 import org.eclipse.gef.common.attributes.IAttributeStore;
 
+import javafx.collections.MapChangeListener;
+
 /**
  * A copier for {@link Graph}s.
+ * <p>
+ * By default, each call to {@link #copy(Graph)} creates a complete copy of the
+ * given {@link Graph}, transferring the attributes of the {@link Graph} and of
+ * all its {@link Node}s and {@link Edge}s serially. In addition, the following
+ * modes are supported:
+ * <ul>
+ * <li>In {@link #setParallel(boolean) parallel} mode, the {@link Node}s and
+ * {@link Edge}s of large {@link Graph}s are copied in chunks, which are
+ * processed concurrently by the common {@link ForkJoinPool}.</li>
+ * <li>In {@link #setIncremental(boolean) incremental} mode, the copier
+ * retains the copy of the {@link Graph} and keeps track of attribute changes
+ * within the input {@link Graph}. When the same {@link Graph} is copied again,
+ * only the attributes of the elements that changed since the last copy are
+ * transferred again, and the previous copy is returned. Only those (nested)
+ * {@link Graph}s whose nodes or edges changed are copied anew, while the
+ * copies of unchanged nested {@link Graph}s are reused.</li>
+ * </ul>
  *
  * @author anyssen
  *
  */
 public class GraphCopier {
 
+	/**
+	 * Copies a range of elements, i.e. a chunk, of a {@link Graph}.
+	 */
+	private interface IChunkCopier {
+		public void copy(int from, int to);
+	}
+
+	/**
+	 * The minimum number of elements that are copied within a single chunk
+	 * (in parallel mode).
+	 */
+	private static final int CHUNK_SIZE = 256;
+
 	private Map<Node, Node> inputToOutputNodes = new IdentityHashMap<>();
 	private IAttributeCopier attributeCopier;
+	private boolean parallel = false;
+	private boolean incremental = false;
+	private int depth = 0;
+
+	// state that is retained in incremental mode
+	private Graph inputGraph;
+	private Map<Graph, Graph> inputToOutputGraphs = new IdentityHashMap<>();
+	private Map<Edge, Edge> inputToOutputEdges = new IdentityHashMap<>();
+	private Map<IAttributeStore, MapChangeListener<String, Object>> attributesListeners = new IdentityHashMap<>();
+	private Set<IAttributeStore> changedStores = Collections
+			.newSetFromMap(new IdentityHashMap<IAttributeStore, Boolean>());
 
 	/**
 	 * Creates a new {@link GraphCopier} instance with the given
@@ -40,35 +90,35 @@ public class GraphCopier {
 	}
 
 	/**
-	 * Creates a copy of the given {@link Graph}.
+	 * Creates a copy of the given {@link Graph}. In
+	 * {@link #isIncremental() incremental} mode, the copy of the last call is
+	 * updated and returned, if the given {@link Graph} was copied before and
+	 * its nodes and edges did not change since then.
 	 *
 	 * @param graph
 	 *            The Graph to copy.
 	 * @return A new graph that is the result of the copy operation.
 	 */
 	public Graph copy(Graph graph) {
-		Graph outputGraph = new Graph();
-		copyAttributes(graph, outputGraph);
-		// copy nodes, keeping track of copied nodes (so we can relocate them to
-		// link edges)
-		for (Node inputNode : graph.getNodes()) {
-			Node outputNode = copyNode(inputNode);
-			if (outputNode != null) {
-				inputToOutputNodes.put(inputNode, outputNode);
-				outputNode.setGraph(outputGraph);
-				outputGraph.getNodes().add(outputNode);
-			}
+		if (depth == 0 && incremental && graph != inputGraph) {
+			reset();
+			inputGraph = graph;
 		}
-		// convert edges
-		for (Edge inputEdge : graph.getEdges()) {
-			Edge outputEdge = copyEdge(inputEdge);
-			if (outputEdge != null) {
-				outputEdge.setGraph(outputGraph);
-				outputGraph.getEdges().add(outputEdge);
+		depth++;
+		try {
+			Graph outputGraph = incremental ? inputToOutputGraphs.get(graph)
+					: null;
+			if (outputGraph != null && isStructureRetained(graph, outputGraph)) {
+				updateAttributes(graph, outputGraph);
+			} else {
+				outputGraph = copyStructure(graph);
+			}
+			return outputGraph;
+		} finally {
+			if (--depth == 0 && !incremental) {
+				inputToOutputNodes.clear();
 			}
 		}
-		inputToOutputNodes.clear();
-		return outputGraph;
 	}
 
 	/**
@@ -91,6 +141,58 @@ public class GraphCopier {
 		attributeCopier.copy(inputStore, outputStore);
 	}
 
+	/**
+	 * Copies the given elements, using the common {@link ForkJoinPool} in
+	 * parallel mode if there is more than a single chunk.
+	 */
+	private void copyChunked(int count, final IChunkCopier chunkCopier) {
+		if (!parallel || count <= CHUNK_SIZE) {
+			chunkCopier.copy(0, count);
+			return;
+		}
+		int chunkSize = Math.max(CHUNK_SIZE,
+				count / (4 * ForkJoinPool.getCommonPoolParallelism()));
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int from = 0; from < count; from += chunkSize) {
+			final int chunkFrom = from;
+			final int chunkTo = Math.min(count, from + chunkSize);
+			tasks.add(ForkJoinPool.commonPool().submit(new Runnable() {
+				@Override
+				public void run() {
+					chunkCopier.copy(chunkFrom, chunkTo);
+				}
+			}));
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+	}
+
+	/**
+	 * Creates a new {@link Graph}, {@link Node}, or {@link Edge} that is not
+	 * contained in the output graph, and copies the attributes of the given
+	 * input element into it.
+	 */
+	private IAttributeStore createDetachedCopy(IAttributeStore inputStore,
+			IAttributeStore outputStore) {
+		IAttributeStore copy;
+		if (outputStore instanceof Node) {
+			Node node = new Node();
+			node.setGraph(((Node) outputStore).getGraph());
+			copy = node;
+		} else if (outputStore instanceof Edge) {
+			Edge outputEdge = (Edge) outputStore;
+			Edge edge = new Edge(outputEdge.getSource(),
+					outputEdge.getTarget());
+			edge.setGraph(outputEdge.getGraph());
+			copy = edge;
+		} else {
+			copy = new Graph();
+		}
+		copyAttributes(inputStore, copy);
+		return copy;
+	}
+
 	/**
 	 * Creates a copy of the given edge.
 	 *
@@ -127,4 +229,284 @@ public class GraphCopier {
 		return outputNode;
 	}
 
-}
\ No newline at end of file
+	private Graph copyStructure(Graph graph) {
+		final List<Node> inputNodes = graph.getNodes();
+		final List<Edge> inputEdges = graph.getEdges();
+		if (incremental) {
+			observeAttributes(graph);
+			for (Node inputNode : inputNodes) {
+				observeAttributes(inputNode);
+			}
+			for (Edge inputEdge : inputEdges) {
+				observeAttributes(inputEdge);
+			}
+		}
+
+		Graph outputGraph = new Graph();
+		copyAttributes(graph, outputGraph);
+		// copy nodes, keeping track of copied nodes (so we can relocate them to
+		// link edges); nodes with nested graphs are copied serially, as the
+		// copy of the nested graph uses the shared state of this copier
+		final Node[] outputNodes = new Node[inputNodes.size()];
+		if (parallel) {
+			copyChunked(outputNodes.length, new IChunkCopier() {
+				@Override
+				public void copy(int from, int to) {
+					for (int i = from; i < to; i++) {
+						Node inputNode = inputNodes.get(i);
+						if (inputNode.getNestedGraph() == null) {
+							outputNodes[i] = copyNode(inputNode);
+						}
+					}
+				}
+			});
+		}
+		for (int i = 0; i < outputNodes.length; i++) {
+			Node inputNode = inputNodes.get(i);
+			if (!parallel || inputNode.getNestedGraph() != null) {
+				outputNodes[i] = copyNode(inputNode);
+			}
+			if (outputNodes[i] != null) {
+				inputToOutputNodes.put(inputNode, outputNodes[i]);
+				outputNodes[i].setGraph(outputGraph);
+			}
+		}
+		// convert edges
+		final Edge[] outputEdges = new Edge[inputEdges.size()];
+		copyChunked(outputEdges.length, new IChunkCopier() {
+			@Override
+			public void copy(int from, int to) {
+				for (int i = from; i < to; i++) {
+					outputEdges[i] = copyEdge(inputEdges.get(i));
+				}
+			}
+		});
+		for (int i = 0; i < outputEdges.length; i++) {
+			if (outputEdges[i] != null) {
+				if (incremental) {
+					inputToOutputEdges.put(inputEdges.get(i), outputEdges[i]);
+				}
+				outputEdges[i].setGraph(outputGraph);
+			}
+		}
+		outputGraph.getNodes().addAll(nonNull(outputNodes));
+		outputGraph.getEdges().addAll(nonNull(outputEdges));
+
+		if (incremental) {
+			inputToOutputGraphs.put(graph, outputGraph);
+			changedStores.remove(graph);
+			changedStores.removeAll(inputNodes);
+			changedStores.removeAll(inputEdges);
+		}
+		return outputGraph;
+	}
+
+	/**
+	 * Returns whether this {@link GraphCopier} is in incremental mode.
+	 *
+	 * @return <code>true</code> if this {@link GraphCopier} is in incremental
+	 *         mode, otherwise <code>false</code>.
+	 * @see #setIncremental(boolean)
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * Returns whether this {@link GraphCopier} is in parallel mode.
+	 *
+	 * @return <code>true</code> if this {@link GraphCopier} is in parallel
+	 *         mode, otherwise <code>false</code>.
+	 * @see #setParallel(boolean)
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Determines whether the copy of the given input {@link Graph} can be
+	 * updated, i.e. whether the nodes and edges of the input {@link Graph}
+	 * still correspond to those of the output {@link Graph}.
+	 */
+	private boolean isStructureRetained(Graph input, Graph output) {
+		List<Node> inputNodes = input.getNodes();
+		List<Node> outputNodes = output.getNodes();
+		if (inputNodes.size() != outputNodes.size()) {
+			return false;
+		}
+		for (int i = 0; i < inputNodes.size(); i++) {
+			Node inputNode = inputNodes.get(i);
+			Node outputNode = outputNodes.get(i);
+			if (inputToOutputNodes.get(inputNode) != outputNode
+					|| (inputNode.getNestedGraph() == null) != (outputNode
+							.getNestedGraph() == null)) {
+				return false;
+			}
+		}
+		List<Edge> inputEdges = input.getEdges();
+		List<Edge> outputEdges = output.getEdges();
+		if (inputEdges.size() != outputEdges.size()) {
+			return false;
+		}
+		for (int i = 0; i < inputEdges.size(); i++) {
+			Edge inputEdge = inputEdges.get(i);
+			Edge outputEdge = outputEdges.get(i);
+			if (inputToOutputEdges.get(inputEdge) != outputEdge
+					|| inputToOutputNodes.get(inputEdge.getSource()) != outputEdge
+							.getSource()
+					|| inputToOutputNodes.get(inputEdge.getTarget()) != outputEdge
+							.getTarget()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static <T> List<T> nonNull(T[] elements) {
+		List<T> list = new ArrayList<>(elements.length);
+		for (T element : elements) {
+			if (element != null) {
+				list.add(element);
+			}
+		}
+		return list;
+	}
+
+	private void observeAttributes(final IAttributeStore inputStore) {
+		if (!attributesListeners.containsKey(inputStore)) {
+			MapChangeListener<String, Object> listener = new MapChangeListener<String, Object>() {
+				@Override
+				public void onChanged(
+						MapChangeListener.Change<? extends String, ? extends Object> change) {
+					changedStores.add(inputStore);
+				}
+			};
+			inputStore.attributesProperty().addListener(listener);
+			attributesListeners.put(inputStore, listener);
+		}
+	}
+
+	/**
+	 * Discards the state that is retained in {@link #isIncremental()
+	 * incremental} mode, so that the next call to {@link #copy(Graph)} will
+	 * create a complete copy.
+	 */
+	public void reset() {
+		for (Map.Entry<IAttributeStore, MapChangeListener<String, Object>> entry : attributesListeners
+				.entrySet()) {
+			entry.getKey().attributesProperty().removeListener(entry.getValue());
+		}
+		attributesListeners.clear();
+		changedStores.clear();
+		inputToOutputGraphs.clear();
+		inputToOutputNodes.clear();
+		inputToOutputEdges.clear();
+		inputGraph = null;
+	}
+
+	/**
+	 * Specifies whether this {@link GraphCopier} copies {@link Graph}s
+	 * incrementally. In incremental mode, the {@link GraphCopier} observes the
+	 * attributes of the copied {@link Graph}, and the attributes of its
+	 * {@link Node}s and {@link Edge}s, until it is {@link #reset()} or a
+	 * different {@link Graph} is copied. Leaving incremental mode resets the
+	 * {@link GraphCopier}.
+	 * <p>
+	 * When the attributes of an element are copied again, the attributes of
+	 * its copy are replaced, so that the copy reflects the input element as if
+	 * it had been copied anew. Only those attributes whose values actually
+	 * changed are put into (or removed from) the copy.
+	 *
+	 * @param incremental
+	 *            <code>true</code> to copy {@link Graph}s incrementally,
+	 *            <code>false</code> to create a complete copy on each call to
+	 *            {@link #copy(Graph)}.
+	 */
+	public void setIncremental(boolean incremental) {
+		if (this.incremental && !incremental) {
+			reset();
+		}
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Specifies whether this {@link GraphCopier} copies the {@link Node}s and
+	 * {@link Edge}s of large {@link Graph}s in parallel. In parallel mode,
+	 * {@link #copyNode(Node)}, {@link #copyEdge(Edge)}, and
+	 * {@link #copyAttributes(IAttributeStore, IAttributeStore)} (and thereby
+	 * the {@link IAttributeCopier}) are called concurrently for different
+	 * elements, so they have to be thread-safe. Nodes with a nested
+	 * {@link Graph} are always copied serially.
+	 *
+	 * @param parallel
+	 *            <code>true</code> to copy elements in parallel, otherwise
+	 *            <code>false</code>.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Transfers the attributes of the changed elements of the given input
+	 * {@link Graph} to their copies, and updates the nested graphs.
+	 */
+	private void updateAttributes(Graph input, Graph output) {
+		final List<IAttributeStore> changedInputs = new ArrayList<>();
+		final List<IAttributeStore> changedOutputs = new ArrayList<>();
+		if (changedStores.remove(input)) {
+			changedInputs.add(input);
+			changedOutputs.add(output);
+		}
+		List<Node> outputNodes = output.getNodes();
+		for (int i = 0; i < outputNodes.size(); i++) {
+			Node inputNode = input.getNodes().get(i);
+			Node outputNode = outputNodes.get(i);
+			if (changedStores.remove(inputNode)) {
+				changedInputs.add(inputNode);
+				changedOutputs.add(outputNode);
+			}
+			if (inputNode.getNestedGraph() != null) {
+				Graph nested = copy(inputNode.getNestedGraph());
+				if (outputNode.getNestedGraph() != nested) {
+					outputNode.setNestedGraph(nested);
+				}
+			}
+		}
+		List<Edge> outputEdges = output.getEdges();
+		for (int i = 0; i < outputEdges.size(); i++) {
+			Edge inputEdge = input.getEdges().get(i);
+			if (changedStores.remove(inputEdge)) {
+				changedInputs.add(inputEdge);
+				changedOutputs.add(outputEdges.get(i));
+			}
+		}
+		// copy into detached stores, so that listeners of the output graph are
+		// only notified (on the calling thread) about actual changes
+		final IAttributeStore[] copies = new IAttributeStore[changedInputs
+				.size()];
+		copyChunked(copies.length, new IChunkCopier() {
+			@Override
+			public void copy(int from, int to) {
+				for (int i = from; i < to; i++) {
+					copies[i] = createDetachedCopy(changedInputs.get(i),
+							changedOutputs.get(i));
+				}
+			}
+		});
+		for (int i = 0; i < copies.length; i++) {
+			Map<String, Object> attributes = changedOutputs.get(i)
+					.getAttributes();
+			Map<String, Object> copiedAttributes = copies[i].getAttributes();
+			attributes.keySet().retainAll(copiedAttributes.keySet());
+			for (Map.Entry<String, Object> entry : copiedAttributes
+					.entrySet()) {
+				String key = entry.getKey();
+				if (!attributes.containsKey(key)
+						|| !Objects.equals(attributes.get(key), entry.getValue())) {
+					attributes.put(key, entry.getValue());
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.Arrays;
+
+/**
+ * A hash index from <code>long</code> keys to non-negative <code>int</code>
+ * values, using open addressing (with linear probing) over primitive arrays,
+ * so that no objects are allocated per entry.
+ *
+ * @author agent
+ *
+ */
+final class LongIndex {
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private int mask;
+
+	/**
+	 * Creates a new {@link LongIndex} that can hold the given number of
+	 * entries without being resized.
+	 *
+	 * @param expectedSize
+	 *            The expected number of entries.
+	 */
+	LongIndex(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(2 * expectedSize, 16) - 1) << 1;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(values, -1);
+		mask = capacity - 1;
+	}
+
+	private int slot(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		int slot = (int) (hash ^ (hash >>> 32)) & mask;
+		while (values[slot] >= 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Returns the value for the given key.
+	 *
+	 * @param key
+	 *            The key to look up.
+	 * @return The value for the given key, or <code>-1</code> if the key is
+	 *         not contained.
+	 */
+	int get(long key) {
+		return values[slot(key)];
+	}
+
+	/**
+	 * Associates the given key with the given value, unless the key is
+	 * already contained.
+	 *
+	 * @param key
+	 *            The key to insert.
+	 * @param value
+	 *            The (non-negative) value to associate with the key.
+	 * @return <code>true</code> if the key was inserted, <code>false</code>
+	 *         if it was already contained.
+	 */
+	boolean put(long key, int value) {
+		int slot = slot(key);
+		if (values[slot] >= 0) {
+			return false;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size > keys.length / 2) {
+			long[] oldKeys = keys;
+			int[] oldValues = values;
+			allocate(keys.length * 2);
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldValues[i] >= 0) {
+					int newSlot = slot(oldKeys[i]);
+					keys[newSlot] = oldKeys[i];
+					values[newSlot] = oldValues[i];
+				}
+			}
+		}
+		return true;
+	}
+
+}
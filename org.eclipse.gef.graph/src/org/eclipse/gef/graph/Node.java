@@ -22,12 +22,9 @@ import java.util.TreeMap;
 import java.util.UUID;
 
 import org.eclipse.gef.common.attributes.IAttributeStore;
-import org.eclipse.gef.common.beans.property.ReadOnlyMapWrapperEx;
 import org.eclipse.gef.graph.Graph.Builder.Context;
 
 import javafx.beans.property.ReadOnlyMapProperty;
-import javafx.beans.property.ReadOnlyMapWrapper;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
 
 /**
@@ -122,6 +119,18 @@ public class Node implements IAttributeStore {
 			return new Node(attrs);
 		}
 
+		/**
+		 * Creates a new {@link Node}, whose attributes are stored in the
+		 * given {@link AttributeTable}.
+		 *
+		 * @param attributeTable
+		 *            The {@link AttributeTable} to store the attributes in.
+		 * @return A newly created {@link Node}.
+		 */
+		Node buildNode(AttributeTable attributeTable) {
+			return new Node(attributeTable, attributeTable.addRow(attrs));
+		}
+
 		/**
 		 * Constructs a new {@link Edge.Builder}.
 		 *
@@ -178,8 +187,24 @@ public class Node implements IAttributeStore {
 
 	}
 
-	private final ReadOnlyMapWrapper<String, Object> attributesProperty = new ReadOnlyMapWrapperEx<>(this,
-			ATTRIBUTES_PROPERTY, FXCollections.<String, Object>observableHashMap());
+	/**
+	 * The attributes of this {@link Node}, which are created lazily in case
+	 * they are stored in an {@link #attributeTable}.
+	 */
+	private AttributesWrapper attributesProperty;
+
+	/**
+	 * The {@link AttributeTable} that stores the attributes of this
+	 * {@link Node} until they are accessed, or <code>null</code>.
+	 */
+	private AttributeTable attributeTable;
+	private int attributeRow;
+
+	/**
+	 * The index of this {@link Node} within its {@link Graph#isImmutable()
+	 * immutable} {@link Graph}, or <code>-1</code>.
+	 */
+	int immutableIndex = -1;
 
 	/**
 	 * The {@link Graph} which this {@link Node} belongs to.
@@ -208,12 +233,36 @@ public class Node implements IAttributeStore {
 	 *            attributesProperty map} of this {@link Node}.
 	 */
 	public Node(Map<String, Object> attributes) {
+		this.attributesProperty = new AttributesWrapper(this);
 		this.attributesProperty.putAll(attributes);
 	}
 
+	/**
+	 * Constructs a new {@link Node}, whose attributes are stored in the given
+	 * row of the given {@link AttributeTable}, until they are accessed.
+	 *
+	 * @param attributeTable
+	 *            The {@link AttributeTable} that stores the attributes.
+	 * @param attributeRow
+	 *            The row of the attributes within the table.
+	 */
+	Node(AttributeTable attributeTable, int attributeRow) {
+		this.attributeTable = attributeTable;
+		this.attributeRow = attributeRow;
+	}
+
 	@Override
 	public ReadOnlyMapProperty<String, Object> attributesProperty() {
-		return attributesProperty.getReadOnlyProperty();
+		return getAttributesWrapper().getReadOnlyProperty();
+	}
+
+	private AttributesWrapper getAttributesWrapper() {
+		if (attributesProperty == null) {
+			attributesProperty = new AttributesWrapper(this,
+					attributeTable.getRow(attributeRow));
+			attributeTable = null;
+		}
+		return attributesProperty;
 	}
 
 	/**
@@ -227,12 +276,13 @@ public class Node implements IAttributeStore {
 		if (graph == null) {
 			return Collections.emptySet();
 		}
+		if (graph.getNestingNode() == null) {
+			return getLocalIncomingEdges();
+		}
 		Set<Edge> incoming = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
 		incoming.addAll(getLocalIncomingEdges());
-		if (graph.getNestingNode() != null) {
-			incoming.addAll(graph.getNestingNode().getAllIncomingEdges());
-		}
-		return incoming;
+		incoming.addAll(graph.getNestingNode().getAllIncomingEdges());
+		return Collections.unmodifiableSet(incoming);
 	}
 
 	/**
@@ -243,10 +293,16 @@ public class Node implements IAttributeStore {
 	 * @return All neighbors.
 	 */
 	public Set<Node> getAllNeighbors() {
+		if (graph == null) {
+			return Collections.emptySet();
+		}
+		if (graph.getNestingNode() == null) {
+			return getLocalNeighbors();
+		}
 		Set<Node> neighbors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
 		neighbors.addAll(getAllPredecessorNodes());
 		neighbors.addAll(getAllSuccessorNodes());
-		return neighbors;
+		return Collections.unmodifiableSet(neighbors);
 	}
 
 	/**
@@ -260,12 +316,13 @@ public class Node implements IAttributeStore {
 		if (graph == null) {
 			return Collections.emptySet();
 		}
+		if (graph.getNestingNode() == null) {
+			return getLocalOutgoingEdges();
+		}
 		Set<Edge> outgoing = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
 		outgoing.addAll(getLocalOutgoingEdges());
-		if (graph.getNestingNode() != null) {
-			outgoing.addAll(graph.getNestingNode().getAllOutgoingEdges());
-		}
-		return outgoing;
+		outgoing.addAll(graph.getNestingNode().getAllOutgoingEdges());
+		return Collections.unmodifiableSet(outgoing);
 	}
 
 	/**
@@ -279,12 +336,13 @@ public class Node implements IAttributeStore {
 		if (graph == null) {
 			return Collections.emptySet();
 		}
+		if (graph.getNestingNode() == null) {
+			return getLocalPredecessorNodes();
+		}
 		Set<Node> predecessors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
 		predecessors.addAll(getLocalPredecessorNodes());
-		if (graph.getNestingNode() != null) {
-			predecessors.addAll(graph.getNestingNode().getAllPredecessorNodes());
-		}
-		return predecessors;
+		predecessors.addAll(graph.getNestingNode().getAllPredecessorNodes());
+		return Collections.unmodifiableSet(predecessors);
 	}
 
 	/**
@@ -298,17 +356,18 @@ public class Node implements IAttributeStore {
 		if (graph == null) {
 			return Collections.emptySet();
 		}
+		if (graph.getNestingNode() == null) {
+			return getLocalSuccessorNodes();
+		}
 		Set<Node> successors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
 		successors.addAll(getLocalSuccessorNodes());
-		if (graph.getNestingNode() != null) {
-			successors.addAll(graph.getNestingNode().getAllSuccessorNodes());
-		}
-		return successors;
+		successors.addAll(graph.getNestingNode().getAllSuccessorNodes());
+		return Collections.unmodifiableSet(successors);
 	}
 
 	@Override
 	public ObservableMap<String, Object> getAttributes() {
-		return attributesProperty.get();
+		return getAttributesWrapper().get();
 	}
 
 	/**
@@ -322,8 +381,9 @@ public class Node implements IAttributeStore {
 
 	/**
 	 * Returns the local incoming {@link Edge}s of this {@link Node}. Only the
-	 * {@link #getGraph() associated graph} is scanned for incoming edges, and
-	 * not the whole graph hierarchy.
+	 * {@link #getGraph() associated graph} is considered for incoming edges,
+	 * and not the whole graph hierarchy. The returned set is a read-only view
+	 * on the adjacency index maintained by the associated graph.
 	 *
 	 * @return The local incoming {@link Edge}s.
 	 */
@@ -331,33 +391,29 @@ public class Node implements IAttributeStore {
 		if (graph == null) {
 			return Collections.emptySet();
 		}
-		Set<Edge> incoming = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
-		for (Edge e : graph.getEdges()) {
-			if (e.getTarget() == this) {
-				incoming.add(e);
-			}
-		}
-		return incoming;
+		return graph.getIncomingEdges(this);
 	}
 
 	/**
 	 * Returns all (local) neighbors of this {@link Node}, i.e. the union of the
 	 * {@link #getLocalPredecessorNodes()} and {@link #getLocalSuccessorNodes()}
-	 * .
+	 * . The returned set is a read-only view on the adjacency index maintained
+	 * by the associated graph.
 	 *
 	 * @return All (local) neighbors of this {@link Node}.
 	 */
 	public Set<Node> getLocalNeighbors() {
-		Set<Node> neighbors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
-		neighbors.addAll(getLocalPredecessorNodes());
-		neighbors.addAll(getLocalSuccessorNodes());
-		return neighbors;
+		if (graph == null) {
+			return Collections.emptySet();
+		}
+		return graph.getNeighbors(this);
 	}
 
 	/**
 	 * Returns the local outgoing {@link Edge}s of this {@link Node}. Only the
-	 * {@link #getGraph() associated graph} is scanned for outgoing edges, and
-	 * not the whole graph hierarchy.
+	 * {@link #getGraph() associated graph} is considered for outgoing edges,
+	 * and not the whole graph hierarchy. The returned set is a read-only view
+	 * on the adjacency index maintained by the associated graph.
 	 *
 	 * @return The local outgoing {@link Edge}s.
 	 */
@@ -365,43 +421,38 @@ public class Node implements IAttributeStore {
 		if (graph == null) {
 			return Collections.emptySet();
 		}
-		Set<Edge> outgoing = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
-		for (Edge e : graph.getEdges()) {
-			if (e.getSource() == this) {
-				outgoing.add(e);
-			}
-		}
-		return outgoing;
+		return graph.getOutgoingEdges(this);
 	}
 
 	/**
 	 * Returns the local predecessor {@link Node}s of this {@link Node}. Only
-	 * the {@link #getGraph() associated graph} is scanned for predecessor
-	 * nodes, and not the whole graph hierarchy.
+	 * the {@link #getGraph() associated graph} is considered for predecessor
+	 * nodes, and not the whole graph hierarchy. The returned set is a
+	 * read-only view on the adjacency index maintained by the associated
+	 * graph.
 	 *
 	 * @return The local predecessor {@link Node}s.
 	 */
 	public Set<Node> getLocalPredecessorNodes() {
-		Set<Node> predecessors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
-		for (Edge incoming : getLocalIncomingEdges()) {
-			predecessors.add(incoming.getSource());
+		if (graph == null) {
+			return Collections.emptySet();
 		}
-		return predecessors;
+		return graph.getPredecessorNodes(this);
 	}
 
 	/**
 	 * Returns the local successor {@link Node}s of this {@link Node}. Only the
-	 * {@link #getGraph() associated graph} is scanned for successor nodes, and
-	 * not the whole graph hierarchy.
+	 * {@link #getGraph() associated graph} is considered for successor nodes,
+	 * and not the whole graph hierarchy. The returned set is a read-only view
+	 * on the adjacency index maintained by the associated graph.
 	 *
 	 * @return The local successor {@link Node}s.
 	 */
 	public Set<Node> getLocalSuccessorNodes() {
-		Set<Node> successors = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
-		for (Edge outgoing : getLocalOutgoingEdges()) {
-			successors.add(outgoing.getTarget());
+		if (graph == null) {
+			return Collections.emptySet();
 		}
-		return successors;
+		return graph.getSuccessorNodes(this);
 	}
 
 	/**
@@ -446,14 +497,14 @@ public class Node implements IAttributeStore {
 		sb.append("Node {");
 		boolean separator = false;
 		TreeMap<String, Object> sortedAttrs = new TreeMap<>();
-		sortedAttrs.putAll(attributesProperty);
+		sortedAttrs.putAll(getAttributes());
 		for (Object attrKey : sortedAttrs.keySet()) {
 			if (separator) {
 				sb.append(", ");
 			} else {
 				separator = true;
 			}
-			sb.append(attrKey.toString() + " : " + attributesProperty.get(attrKey));
+			sb.append(attrKey.toString() + " : " + sortedAttrs.get(attrKey));
 		}
 		sb.append("}");
 		return sb.toString();
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.algorithms;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Computes a feedback arc set of an {@link IndexedGraph}, i.e. a set of edges
+ * whose reversal makes the graph acyclic (self-loops are ignored, as they
+ * cannot be broken by reversal). The greedy heuristic of Eades, Lin, and
+ * Smyth ("A fast and effective heuristic for the feedback arc set problem",
+ * 1993) is used, which runs in linear time by keeping the nodes in buckets
+ * according to the difference of their out- and in-degrees.
+ *
+ * @author agent
+ *
+ */
+public final class FeedbackArcSet {
+
+	/**
+	 * Buckets of nodes, implemented as doubly linked lists over arrays, which
+	 * support constant time insertion and removal, and amortized constant
+	 * time removal of a node from the highest non-empty bucket.
+	 */
+	private static final class Buckets {
+		private final int[] heads;
+		private final int[] next;
+		private final int[] previous;
+		private final int[] bucketOf;
+		private int max = -1;
+
+		private Buckets(int nodeCount, int bucketCount) {
+			heads = new int[bucketCount];
+			Arrays.fill(heads, -1);
+			next = new int[nodeCount];
+			previous = new int[nodeCount];
+			bucketOf = new int[nodeCount];
+			Arrays.fill(bucketOf, -1);
+		}
+
+		private void add(int node, int bucket) {
+			bucketOf[node] = bucket;
+			previous[node] = -1;
+			next[node] = heads[bucket];
+			if (heads[bucket] >= 0) {
+				previous[heads[bucket]] = node;
+			}
+			heads[bucket] = node;
+			max = Math.max(max, bucket);
+		}
+
+		private boolean contains(int node) {
+			return bucketOf[node] >= 0;
+		}
+
+		private void remove(int node) {
+			if (previous[node] >= 0) {
+				next[previous[node]] = next[node];
+			} else {
+				heads[bucketOf[node]] = next[node];
+			}
+			if (next[node] >= 0) {
+				previous[next[node]] = previous[node];
+			}
+			bucketOf[node] = -1;
+		}
+
+		private int removeMax() {
+			while (heads[max] < 0) {
+				max--;
+			}
+			int node = heads[max];
+			remove(node);
+			return node;
+		}
+	}
+
+	private FeedbackArcSet() {
+		// this class should not be instantiated by clients
+	}
+
+	/**
+	 * Computes a feedback arc set of the given {@link IndexedGraph}. The
+	 * result may be passed to {@link IndexedGraph#reverse(BitSet)} to obtain
+	 * an acyclic graph.
+	 *
+	 * @param graph
+	 *            The {@link IndexedGraph} for which to compute a feedback arc
+	 *            set.
+	 * @return The indices of the edges that form the feedback arc set.
+	 */
+	public static BitSet compute(IndexedGraph graph) {
+		int[] positions = computeOrder(graph);
+		BitSet feedbackEdges = new BitSet(graph.getEdgeCount());
+		for (int e = 0; e < graph.getEdgeCount(); e++) {
+			if (!graph.isSelfLoop(e) && positions[graph
+					.getSource(e)] > positions[graph.getTarget(e)]) {
+				feedbackEdges.set(e);
+			}
+		}
+		return feedbackEdges;
+	}
+
+	/**
+	 * Computes the position of each node within the (linear) order that is
+	 * constructed by the heuristic. Sinks are appended to the end, sources to
+	 * the start, and otherwise the node with the maximum out-degree minus
+	 * in-degree is appended to the start.
+	 */
+	private static int[] computeOrder(IndexedGraph graph) {
+		int n = graph.getNodeCount();
+		int[] inDegrees = new int[n];
+		int[] outDegrees = new int[n];
+		for (int e = 0; e < graph.getEdgeCount(); e++) {
+			if (!graph.isSelfLoop(e)) {
+				outDegrees[graph.getSource(e)]++;
+				inDegrees[graph.getTarget(e)]++;
+			}
+		}
+		int maxInDegree = 0;
+		int maxOutDegree = 0;
+		for (int v = 0; v < n; v++) {
+			maxInDegree = Math.max(maxInDegree, inDegrees[v]);
+			maxOutDegree = Math.max(maxOutDegree, outDegrees[v]);
+		}
+
+		// doubly linked bucket lists, indexed by out-degree minus in-degree
+		// (offset by the maximum in-degree)
+		Buckets buckets = new Buckets(n, maxInDegree + maxOutDegree + 1);
+		int[] sinks = new int[n];
+		int sinkCount = 0;
+		int[] sources = new int[n];
+		int sourceCount = 0;
+		for (int v = 0; v < n; v++) {
+			if (outDegrees[v] == 0) {
+				sinks[sinkCount++] = v;
+			} else if (inDegrees[v] == 0) {
+				sources[sourceCount++] = v;
+			} else {
+				buckets.add(v, outDegrees[v] - inDegrees[v] + maxInDegree);
+			}
+		}
+
+		boolean[] removed = new boolean[n];
+		int[] positions = new int[n];
+		int first = 0;
+		int last = n - 1;
+		for (int remaining = n; remaining > 0; remaining--) {
+			int v;
+			if (sinkCount > 0) {
+				v = sinks[--sinkCount];
+				positions[v] = last--;
+			} else if (sourceCount > 0) {
+				v = sources[--sourceCount];
+				positions[v] = first++;
+			} else {
+				v = buckets.removeMax();
+				positions[v] = first++;
+			}
+			removed[v] = true;
+			// update the degrees of the remaining neighbors
+			for (int i = 0; i < graph.getOutgoingEdgeCount(v); i++) {
+				int w = graph.getTarget(graph.getOutgoingEdge(v, i));
+				if (!removed[w]) {
+					inDegrees[w]--;
+					if (buckets.contains(w)) {
+						buckets.remove(w);
+						if (inDegrees[w] == 0) {
+							sources[sourceCount++] = w;
+						} else {
+							buckets.add(w, outDegrees[w] - inDegrees[w]
+									+ maxInDegree);
+						}
+					}
+				}
+			}
+			for (int i = 0; i < graph.getIncomingEdgeCount(v); i++) {
+				int w = graph.getSource(graph.getIncomingEdge(v, i));
+				if (!removed[w]) {
+					outDegrees[w]--;
+					if (buckets.contains(w)) {
+						buckets.remove(w);
+						if (outDegrees[w] == 0) {
+							sinks[sinkCount++] = w;
+						} else {
+							buckets.add(w, outDegrees[w] - inDegrees[w]
+									+ maxInDegree);
+						}
+					}
+				}
+			}
+		}
+		return positions;
+	}
+
+}
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.algorithms;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * An {@link IndexedGraph} is an immutable, index-based snapshot of the
+ * adjacency of a set of {@link Node}s, on which the algorithms of this package
+ * operate. Nodes and edges are identified by their index (in the order in
+ * which they were passed in), and the incoming and outgoing edges of each node
+ * are stored in compressed sparse row format, so that they can be enumerated
+ * in constant time per edge and without allocating any objects.
+ *
+ * @author agent
+ *
+ */
+public final class IndexedGraph {
+
+	private final Node[] nodes;
+	private final Edge[] edges;
+	private final Map<Node, Integer> nodeIndices;
+	private final int[] sources;
+	private final int[] targets;
+	private final int[] outgoingOffsets;
+	private final int[] outgoingEdges;
+	private final int[] incomingOffsets;
+	private final int[] incomingEdges;
+
+	/**
+	 * Creates a new {@link IndexedGraph} for the given nodes and edges. Edges
+	 * whose source or target is not contained in the given nodes are ignored.
+	 *
+	 * @param nodes
+	 *            The {@link Node}s to index.
+	 * @param edges
+	 *            The {@link Edge}s to index.
+	 */
+	public IndexedGraph(Collection<? extends Node> nodes,
+			Collection<? extends Edge> edges) {
+		this.nodes = nodes.toArray(new Node[nodes.size()]);
+		nodeIndices = new IdentityHashMap<>(this.nodes.length);
+		for (int i = 0; i < this.nodes.length; i++) {
+			nodeIndices.put(this.nodes[i], i);
+		}
+		List<Edge> indexedEdges = new ArrayList<>(edges.size());
+		for (Edge edge : edges) {
+			if (nodeIndices.containsKey(edge.getSource())
+					&& nodeIndices.containsKey(edge.getTarget())) {
+				indexedEdges.add(edge);
+			}
+		}
+		this.edges = indexedEdges.toArray(new Edge[indexedEdges.size()]);
+		sources = new int[this.edges.length];
+		targets = new int[this.edges.length];
+		for (int e = 0; e < this.edges.length; e++) {
+			sources[e] = nodeIndices.get(this.edges[e].getSource());
+			targets[e] = nodeIndices.get(this.edges[e].getTarget());
+		}
+		outgoingOffsets = new int[this.nodes.length + 1];
+		outgoingEdges = new int[this.edges.length];
+		incomingOffsets = new int[this.nodes.length + 1];
+		incomingEdges = new int[this.edges.length];
+		index();
+	}
+
+	/**
+	 * Creates a new {@link IndexedGraph} for the {@link Node}s and
+	 * {@link Edge}s of the given {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to index.
+	 */
+	public IndexedGraph(Graph graph) {
+		this(graph.getNodes(), graph.getEdges());
+	}
+
+	private IndexedGraph(IndexedGraph graph, BitSet reversedEdges) {
+		nodes = graph.nodes;
+		edges = graph.edges;
+		nodeIndices = graph.nodeIndices;
+		sources = graph.sources.clone();
+		targets = graph.targets.clone();
+		for (int e = reversedEdges.nextSetBit(0); e >= 0
+				&& e < edges.length; e = reversedEdges.nextSetBit(e + 1)) {
+			sources[e] = graph.targets[e];
+			targets[e] = graph.sources[e];
+		}
+		outgoingOffsets = new int[nodes.length + 1];
+		outgoingEdges = new int[edges.length];
+		incomingOffsets = new int[nodes.length + 1];
+		incomingEdges = new int[edges.length];
+		index();
+	}
+
+	/**
+	 * Creates a new {@link IndexedGraph} for the given {@link Node}s and the
+	 * {@link Edge}s between them, which are retrieved from the {@link Graph}s
+	 * that contain the given {@link Node}s.
+	 *
+	 * @param nodes
+	 *            The {@link Node}s to index.
+	 * @return A new {@link IndexedGraph} for the given {@link Node}s.
+	 */
+	public static IndexedGraph of(List<? extends Node> nodes) {
+		Map<Graph, Boolean> graphs = new IdentityHashMap<>();
+		List<Edge> edges = new ArrayList<>();
+		for (Node node : nodes) {
+			Graph graph = node.getGraph();
+			if (graph != null && graphs.put(graph, Boolean.TRUE) == null) {
+				edges.addAll(graph.getEdges());
+			}
+		}
+		return new IndexedGraph(nodes, edges);
+	}
+
+	/**
+	 * Returns the {@link Edge} with the given index.
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return The {@link Edge} with the given index.
+	 */
+	public Edge getEdge(int edge) {
+		return edges[edge];
+	}
+
+	/**
+	 * Returns the number of edges.
+	 *
+	 * @return The number of edges.
+	 */
+	public int getEdgeCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Returns the index of the <i>i</i>-th incoming edge of the given node.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @param i
+	 *            The position of the edge among the incoming edges of the
+	 *            node.
+	 * @return The index of the edge.
+	 */
+	public int getIncomingEdge(int node, int i) {
+		return incomingEdges[incomingOffsets[node] + i];
+	}
+
+	/**
+	 * Returns the number of incoming edges of the given node (including
+	 * self-loops).
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The number of incoming edges of the node.
+	 */
+	public int getIncomingEdgeCount(int node) {
+		return incomingOffsets[node + 1] - incomingOffsets[node];
+	}
+
+	/**
+	 * Returns the {@link Node} with the given index.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The {@link Node} with the given index.
+	 */
+	public Node getNode(int node) {
+		return nodes[node];
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	/**
+	 * Returns the index of the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} whose index is returned.
+	 * @return The index of the given {@link Node}, or <code>-1</code> if it is
+	 *         not contained.
+	 */
+	public int getNodeIndex(Node node) {
+		Integer index = nodeIndices.get(node);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Returns the node at the other end of the given edge.
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @param node
+	 *            The index of one of the end points of the edge.
+	 * @return The index of the other end point of the edge.
+	 */
+	public int getOpposite(int edge, int node) {
+		return sources[edge] == node ? targets[edge] : sources[edge];
+	}
+
+	/**
+	 * Returns the index of the <i>i</i>-th outgoing edge of the given node.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @param i
+	 *            The position of the edge among the outgoing edges of the
+	 *            node.
+	 * @return The index of the edge.
+	 */
+	public int getOutgoingEdge(int node, int i) {
+		return outgoingEdges[outgoingOffsets[node] + i];
+	}
+
+	/**
+	 * Returns the number of outgoing edges of the given node (including
+	 * self-loops).
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The number of outgoing edges of the node.
+	 */
+	public int getOutgoingEdgeCount(int node) {
+		return outgoingOffsets[node + 1] - outgoingOffsets[node];
+	}
+
+	/**
+	 * Returns the index of the source node of the given edge (which is the
+	 * target of the {@link Edge} in case the edge is reversed).
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return The index of the source node.
+	 */
+	public int getSource(int edge) {
+		return sources[edge];
+	}
+
+	/**
+	 * Returns the index of the target node of the given edge (which is the
+	 * source of the {@link Edge} in case the edge is reversed).
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return The index of the target node.
+	 */
+	public int getTarget(int edge) {
+		return targets[edge];
+	}
+
+	private void index() {
+		for (int e = 0; e < edges.length; e++) {
+			outgoingOffsets[sources[e] + 1]++;
+			incomingOffsets[targets[e] + 1]++;
+		}
+		for (int v = 0; v < nodes.length; v++) {
+			outgoingOffsets[v + 1] += outgoingOffsets[v];
+			incomingOffsets[v + 1] += incomingOffsets[v];
+		}
+		int[] outgoingFill = new int[nodes.length];
+		int[] incomingFill = new int[nodes.length];
+		for (int e = 0; e < edges.length; e++) {
+			outgoingEdges[outgoingOffsets[sources[e]]
+					+ outgoingFill[sources[e]]++] = e;
+			incomingEdges[incomingOffsets[targets[e]]
+					+ incomingFill[targets[e]]++] = e;
+		}
+	}
+
+	/**
+	 * Returns whether the given edge is a self-loop, i.e. whether its source
+	 * and target are the same node.
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return <code>true</code> if the edge is a self-loop, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isSelfLoop(int edge) {
+		return sources[edge] == targets[edge];
+	}
+
+	/**
+	 * Returns a new {@link IndexedGraph} with the same nodes and edges, in
+	 * which the given edges are reversed (e.g. to break cycles, see
+	 * {@link FeedbackArcSet}).
+	 *
+	 * @param edges
+	 *            The indices of the edges to reverse.
+	 * @return A new {@link IndexedGraph} in which the given edges are
+	 *         reversed.
+	 */
+	public IndexedGraph reverse(BitSet edges) {
+		return new IndexedGraph(this, edges);
+	}
+
+}
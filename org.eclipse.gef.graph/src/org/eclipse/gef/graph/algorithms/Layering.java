@@ -0,0 +1,560 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Assigns the nodes of an acyclic {@link IndexedGraph} to layers, so that the
+ * target of each edge is placed on a higher layer than its source. Self-loops
+ * are ignored. Cyclic graphs have to be made acyclic before, e.g. by reversing
+ * a {@link FeedbackArcSet}.
+ *
+ * @author agent
+ *
+ */
+public final class Layering {
+
+	/**
+	 * A binary min-heap of edges with integer keys.
+	 */
+	private static final class EdgeHeap {
+		private int[] keys = new int[16];
+		private int[] edges = new int[16];
+		private int size;
+
+		private int pop() {
+			int edge = edges[0];
+			size--;
+			int key = keys[size];
+			int e = edges[size];
+			int i = 0;
+			while (2 * i + 1 < size) {
+				int c = 2 * i + 1;
+				if (c + 1 < size && keys[c + 1] < keys[c]) {
+					c++;
+				}
+				if (keys[c] >= key) {
+					break;
+				}
+				keys[i] = keys[c];
+				edges[i] = edges[c];
+				i = c;
+			}
+			keys[i] = key;
+			edges[i] = e;
+			return edge;
+		}
+
+		private void push(int key, int edge) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, 2 * size);
+				edges = Arrays.copyOf(edges, 2 * size);
+			}
+			int i = size++;
+			while (i > 0 && keys[(i - 1) / 2] > key) {
+				keys[i] = keys[(i - 1) / 2];
+				edges[i] = edges[(i - 1) / 2];
+				i = (i - 1) / 2;
+			}
+			keys[i] = key;
+			edges[i] = edge;
+		}
+	}
+
+	/**
+	 * The network simplex method of Gansner et al. ("A Technique for Drawing
+	 * Directed Graphs", 1993), operating on a spanning forest with one tight
+	 * tree per weakly connected component. In each iteration, the tree edge
+	 * with the most negative cut value is replaced. The cut values are derived
+	 * from the balances (out- minus in-degrees) of the subtrees, so that only
+	 * the tree path that is closed by the entering edge has to be updated.
+	 */
+	private static final class NetworkSimplex {
+
+		private final IndexedGraph graph;
+		private final int[] ranks;
+		private final boolean[] treeEdges;
+		private final int[] cutValues;
+		private final int[] balances;
+		private final int[] parentEdges;
+		private final int[] low;
+		private final int[] lim;
+		private final int[] nodesByLim;
+		private final int[] previousNodesByLim;
+		private final boolean[] changed;
+		private final int[] components;
+		private final int[] subtreeBalances;
+		private final int[] stack;
+		private final int[] positions;
+		private int[] roots;
+		private int rootCount;
+
+		private NetworkSimplex(IndexedGraph graph) {
+			this.graph = graph;
+			int n = graph.getNodeCount();
+			int[] order = TopologicalSort.sort(graph);
+			checkAcyclic(order);
+			ranks = longestPath(graph, order);
+			treeEdges = new boolean[graph.getEdgeCount()];
+			cutValues = new int[graph.getEdgeCount()];
+			balances = new int[n];
+			for (int e = 0; e < graph.getEdgeCount(); e++) {
+				if (!graph.isSelfLoop(e)) {
+					balances[graph.getSource(e)]++;
+					balances[graph.getTarget(e)]--;
+				}
+			}
+			parentEdges = new int[n];
+			low = new int[n];
+			lim = new int[n];
+			nodesByLim = new int[n];
+			previousNodesByLim = new int[n];
+			changed = new boolean[n];
+			components = new int[n];
+			subtreeBalances = new int[n];
+			stack = new int[n];
+			positions = new int[n];
+			roots = new int[n];
+			// move nodes with more outgoing than incoming edges towards their
+			// successors, which shortens the initial layering (and saves
+			// simplex iterations)
+			for (int i = n - 1; i >= 0; i--) {
+				int v = order[i];
+				if (balances[v] > 0) {
+					int rank = Integer.MAX_VALUE;
+					for (int j = 0; j < graph.getOutgoingEdgeCount(v); j++) {
+						int e = graph.getOutgoingEdge(v, j);
+						if (!graph.isSelfLoop(e)) {
+							rank = Math.min(rank, ranks[graph.getTarget(e)] - 1);
+						}
+					}
+					ranks[v] = rank;
+				}
+			}
+		}
+
+		/**
+		 * Replaces the given leaving tree edge by the given entering edge. The
+		 * smaller one of both components is shifted, so that the entering edge
+		 * becomes tight. Afterwards, only the nodes on the tree path between
+		 * the end points of the entering edge (which includes the leaving
+		 * edge) have to be traversed to update the spanning tree, because the
+		 * subtrees of all other nodes are not changed.
+		 */
+		private void exchange(int leaving, int entering, int child) {
+			int delta = getSlack(entering);
+			if (delta > 0) {
+				// the subtree of the child is either the tail component of the
+				// leaving edge, which is moved to lower ranks, or its head
+				// component, which is moved to higher ranks
+				if (graph.getSource(leaving) == child) {
+					delta = -delta;
+				}
+				int root = roots[components[child]];
+				if (2 * (lim[child] - low[child]) <= lim[root] - low[root]) {
+					shiftRanks(low[child], lim[child] + 1, delta);
+				} else {
+					shiftRanks(low[root], low[child], -delta);
+					shiftRanks(lim[child] + 1, lim[root] + 1, -delta);
+				}
+			}
+
+			// mark the nodes on the path between the end points of the
+			// entering edge, up to (but excluding) their lowest common ancestor
+			int ancestor = graph.getSource(entering);
+			while (!isInSubtree(graph.getTarget(entering), ancestor)) {
+				changed[ancestor] = true;
+				ancestor = graph.getOpposite(parentEdges[ancestor], ancestor);
+			}
+			for (int v = graph.getTarget(entering); v != ancestor; v = graph
+					.getOpposite(parentEdges[v], v)) {
+				changed[v] = true;
+			}
+			System.arraycopy(nodesByLim, low[ancestor], previousNodesByLim,
+					low[ancestor], lim[ancestor] - low[ancestor] + 1);
+			treeEdges[leaving] = false;
+			treeEdges[entering] = true;
+			updateSubtree(ancestor, low[ancestor]);
+		}
+
+		/**
+		 * Returns the non-tree edge with minimum slack that connects the nodes
+		 * with the given postorder numbers (which lie either inside or outside
+		 * the subtree of the given child) to the other component of the given
+		 * leaving edge, and leads from its head to its tail component.
+		 */
+		private int findEnteringEdge(int leaving, int child, int fromLim,
+				int toLim, boolean insideSubtree) {
+			// the scanned nodes belong to the tail component if they lie
+			// inside the subtree and the child is the tail, or vice versa
+			boolean scanningTail = insideSubtree == (graph
+					.getSource(leaving) == child);
+			int entering = -1;
+			int minSlack = Integer.MAX_VALUE;
+			// stop as soon as a tight edge is found
+			for (int l = fromLim; l < toLim && minSlack > 0; l++) {
+				int v = nodesByLim[l];
+				for (int i = 0; i < getIncidentEdgeCount(v)
+						&& minSlack > 0; i++) {
+					int e = getIncidentEdge(v, i);
+					if (e == leaving || isInSubtree(graph.getOpposite(e, v),
+							child) == insideSubtree) {
+						continue;
+					}
+					boolean outgoing = graph.getSource(e) == v;
+					if (outgoing != scanningTail && getSlack(e) < minSlack) {
+						entering = e;
+						minSlack = getSlack(e);
+					}
+				}
+			}
+			return entering;
+		}
+
+		private int getIncidentEdge(int node, int i) {
+			int outgoing = graph.getOutgoingEdgeCount(node);
+			return i < outgoing ? graph.getOutgoingEdge(node, i)
+					: graph.getIncomingEdge(node, i - outgoing);
+		}
+
+		private int getIncidentEdgeCount(int node) {
+			return graph.getOutgoingEdgeCount(node)
+					+ graph.getIncomingEdgeCount(node);
+		}
+
+		/**
+		 * Computes an initial spanning forest of tight edges. Each tree is
+		 * grown by repeatedly adding the incident edge with minimum slack,
+		 * after shifting the ranks of the (partial) tree so that this edge
+		 * becomes tight. The shift is applied lazily, by keeping the ranks of
+		 * the tree nodes relative to an offset until the tree is complete.
+		 */
+		private void computeFeasibleTree() {
+			int n = graph.getNodeCount();
+			boolean[] inTree = new boolean[n];
+			int[] treeNodes = new int[n];
+			// edges from tree nodes to other nodes are keyed by their slack
+			// plus the offset, edges from other nodes to tree nodes by their
+			// slack minus the offset
+			EdgeHeap outgoingEdges = new EdgeHeap();
+			EdgeHeap incomingEdges = new EdgeHeap();
+			for (int root = 0; root < n; root++) {
+				if (inTree[root]) {
+					continue;
+				}
+				int treeSize = 0;
+				int offset = 0;
+				components[root] = rootCount;
+				roots[rootCount++] = root;
+				int w = root;
+				while (w >= 0) {
+					// add the node to the tree, relative to the offset
+					inTree[w] = true;
+					treeNodes[treeSize++] = w;
+					ranks[w] -= offset;
+					for (int i = 0; i < getIncidentEdgeCount(w); i++) {
+						int e = getIncidentEdge(w, i);
+						int v = graph.getOpposite(e, w);
+						if (!inTree[v]) {
+							if (graph.getSource(e) == w) {
+								outgoingEdges.push(ranks[v] - ranks[w] - 1, e);
+							} else {
+								incomingEdges.push(ranks[w] - ranks[v] - 1, e);
+							}
+						}
+					}
+					// discard edges that are no longer incident to the tree
+					while (outgoingEdges.size > 0 && inTree[graph
+							.getTarget(outgoingEdges.edges[0])]) {
+						outgoingEdges.pop();
+					}
+					while (incomingEdges.size > 0 && inTree[graph
+							.getSource(incomingEdges.edges[0])]) {
+						incomingEdges.pop();
+					}
+					// shift the tree so that the edge with minimum slack
+					// becomes tight, and add it
+					int e;
+					if (outgoingEdges.size > 0 && (incomingEdges.size == 0
+							|| outgoingEdges.keys[0]
+									- offset <= incomingEdges.keys[0] + offset)) {
+						offset = outgoingEdges.keys[0];
+						e = outgoingEdges.pop();
+						w = graph.getTarget(e);
+					} else if (incomingEdges.size > 0) {
+						offset = -incomingEdges.keys[0];
+						e = incomingEdges.pop();
+						w = graph.getSource(e);
+					} else {
+						break;
+					}
+					treeEdges[e] = true;
+					components[w] = components[root];
+				}
+				for (int t = 0; t < treeSize; t++) {
+					ranks[treeNodes[t]] += offset;
+				}
+			}
+		}
+
+		/**
+		 * Shifts the ranks of the nodes with the given postorder numbers.
+		 */
+		private void shiftRanks(int fromLim, int toLim, int delta) {
+			for (int l = fromLim; l < toLim; l++) {
+				ranks[nodesByLim[l]] += delta;
+			}
+		}
+
+		private int getSlack(int edge) {
+			return ranks[graph.getTarget(edge)] - ranks[graph.getSource(edge)]
+					- 1;
+		}
+
+		/**
+		 * Returns whether the given node is contained in the subtree rooted
+		 * at the given subtree root.
+		 */
+		private boolean isInSubtree(int node, int subtreeRoot) {
+			return low[subtreeRoot] <= lim[node]
+					&& lim[node] <= lim[subtreeRoot];
+		}
+
+		private void normalize() {
+			int[] minRanks = new int[rootCount];
+			for (int r = 0; r < rootCount; r++) {
+				minRanks[r] = Integer.MAX_VALUE;
+			}
+			for (int v = 0; v < ranks.length; v++) {
+				minRanks[components[v]] = Math.min(minRanks[components[v]],
+						ranks[v]);
+			}
+			for (int v = 0; v < ranks.length; v++) {
+				ranks[v] -= minRanks[components[v]];
+			}
+		}
+
+		private int[] solve(int maxIterations) {
+			computeFeasibleTree();
+			updateTree();
+			int n = graph.getNodeCount();
+			for (int iteration = 0; iteration < maxIterations; iteration++) {
+				// find the tree edge with the most negative cut value
+				int leaving = -1;
+				int child = -1;
+				for (int v = 0; v < n; v++) {
+					int e = parentEdges[v];
+					if (e >= 0 && cutValues[e] < 0 && (leaving < 0
+							|| cutValues[e] < cutValues[leaving])) {
+						leaving = e;
+						child = v;
+					}
+				}
+				if (leaving < 0) {
+					break;
+				}
+				// find the non-tree edge with minimum slack that leads from the
+				// head component to the tail component of the leaving edge,
+				// scanning the smaller one of both components
+				int root = roots[components[child]];
+				int entering;
+				if (2 * (lim[child] - low[child]) <= lim[root] - low[root]) {
+					entering = findEnteringEdge(leaving, child, low[child],
+							lim[child] + 1, true);
+				} else {
+					entering = findEnteringEdge(leaving, child, low[root],
+							low[child], false);
+					if (entering < 0 || getSlack(entering) > 0) {
+						int e = findEnteringEdge(leaving, child, lim[child] + 1,
+								lim[root] + 1, false);
+						if (entering < 0 || e >= 0
+								&& getSlack(e) < getSlack(entering)) {
+							entering = e;
+						}
+					}
+				}
+				if (entering < 0) {
+					break;
+				}
+				exchange(leaving, entering, child);
+			}
+			normalize();
+			return ranks;
+		}
+
+		/**
+		 * Traverses the spanning forest to (re-)compute the parent edges, the
+		 * postorder numbers, and the cut values of all tree edges.
+		 */
+		private void updateTree() {
+			Arrays.fill(changed, true);
+			int counter = 0;
+			for (int r = 0; r < rootCount; r++) {
+				parentEdges[roots[r]] = -1;
+				counter = updateSubtree(roots[r], counter);
+			}
+		}
+
+		/**
+		 * Traverses the subtree rooted at the given node (whose parent edge is
+		 * left unchanged) to (re-)compute the parent edges, the postorder
+		 * numbers (starting at the given counter), and the cut values within
+		 * it. The subtrees of nodes that are not marked as changed are only
+		 * renumbered. Returns the next postorder number.
+		 */
+		private int updateSubtree(int subtreeRoot, int counter) {
+			int depth = 0;
+			stack[0] = subtreeRoot;
+			positions[0] = 0;
+			low[subtreeRoot] = counter;
+			subtreeBalances[subtreeRoot] = balances[subtreeRoot];
+			while (depth >= 0) {
+				int v = stack[depth];
+				if (positions[depth] < getIncidentEdgeCount(v)) {
+					int e = getIncidentEdge(v, positions[depth]++);
+					if (treeEdges[e] && e != parentEdges[v]) {
+						int w = graph.getOpposite(e, v);
+						if (!changed[w]) {
+							counter = renumberSubtree(w, counter);
+							subtreeBalances[v] += subtreeBalances[w];
+							continue;
+						}
+						parentEdges[w] = e;
+						low[w] = counter;
+						subtreeBalances[w] = balances[w];
+						depth++;
+						stack[depth] = w;
+						positions[depth] = 0;
+					}
+				} else {
+					lim[v] = counter;
+					nodesByLim[counter++] = v;
+					changed[v] = false;
+					if (depth > 0) {
+						// the cut value is the weight of the edges from the tail
+						// to the head component minus the weight of the edges
+						// in the opposite direction
+						int e = parentEdges[v];
+						cutValues[e] = graph.getSource(e) == v
+								? subtreeBalances[v] : -subtreeBalances[v];
+						subtreeBalances[stack[depth - 1]] += subtreeBalances[v];
+					}
+					depth--;
+				}
+			}
+			return counter;
+		}
+
+		/**
+		 * Shifts the postorder numbers of the (unchanged) subtree rooted at
+		 * the given node, so that they start at the given counter, based on
+		 * the previous numbering. Returns the next postorder number.
+		 */
+		private int renumberSubtree(int subtreeRoot, int counter) {
+			int from = low[subtreeRoot];
+			int to = lim[subtreeRoot];
+			int offset = counter - from;
+			if (offset != 0) {
+				for (int l = from; l <= to; l++) {
+					int v = previousNodesByLim[l];
+					low[v] += offset;
+					lim[v] += offset;
+					nodesByLim[l + offset] = v;
+				}
+			}
+			return counter + to - from + 1;
+		}
+	}
+
+	private Layering() {
+		// this class should not be instantiated by clients
+	}
+
+	private static void checkAcyclic(int[] order) {
+		if (order == null) {
+			throw new IllegalArgumentException(
+					"The graph has to be acyclic (except for self-loops).");
+		}
+	}
+
+	/**
+	 * Assigns each node to the layer that corresponds to the length of the
+	 * longest path from a source of the graph to it. This results in a
+	 * layering of minimal height, in which all sources are placed on layer
+	 * <code>0</code>.
+	 *
+	 * @param graph
+	 *            The acyclic {@link IndexedGraph} to layer.
+	 * @return The layer of each node.
+	 * @throws IllegalArgumentException
+	 *             If the graph contains a cycle.
+	 */
+	public static int[] longestPath(IndexedGraph graph) {
+		int[] order = TopologicalSort.sort(graph);
+		checkAcyclic(order);
+		return longestPath(graph, order);
+	}
+
+	private static int[] longestPath(IndexedGraph graph, int[] order) {
+		int[] layers = new int[graph.getNodeCount()];
+		for (int v : order) {
+			for (int i = 0; i < graph.getIncomingEdgeCount(v); i++) {
+				int e = graph.getIncomingEdge(v, i);
+				if (!graph.isSelfLoop(e)) {
+					layers[v] = Math.max(layers[v],
+							layers[graph.getSource(e)] + 1);
+				}
+			}
+		}
+		return layers;
+	}
+
+	/**
+	 * Assigns the nodes to layers so that the total length of all edges (i.e.
+	 * the sum of the layer differences between the targets and sources of all
+	 * edges) is minimal, using the network simplex method. This reduces the
+	 * number of dummy nodes that are needed to route long edges in a layered
+	 * drawing. The layers of each weakly connected component start at
+	 * <code>0</code>.
+	 *
+	 * @param graph
+	 *            The acyclic {@link IndexedGraph} to layer.
+	 * @return The layer of each node.
+	 * @throws IllegalArgumentException
+	 *             If the graph contains a cycle.
+	 */
+	public static int[] networkSimplex(IndexedGraph graph) {
+		return networkSimplex(graph, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Assigns the nodes to layers so that the total length of all edges is
+	 * minimal, using the network simplex method, but stops after the given
+	 * number of iterations (in which case the layering is valid, but not
+	 * necessarily optimal).
+	 *
+	 * @param graph
+	 *            The acyclic {@link IndexedGraph} to layer.
+	 * @param maxIterations
+	 *            The maximum number of simplex iterations.
+	 * @return The layer of each node.
+	 * @throws IllegalArgumentException
+	 *             If the graph contains a cycle.
+	 * @see #networkSimplex(IndexedGraph)
+	 */
+	public static int[] networkSimplex(IndexedGraph graph, int maxIterations) {
+		return new NetworkSimplex(graph).solve(maxIterations);
+	}
+
+}
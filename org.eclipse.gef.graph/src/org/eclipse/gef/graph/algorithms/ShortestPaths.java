@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Computes single-source shortest paths within an {@link IndexedGraph}, either
+ * by counting edges (breadth-first search), or by summing up non-negative edge
+ * weights (Dijkstra's algorithm). Edges may either be followed in their
+ * direction only, or in both directions.
+ * <p>
+ * If an array of predecessor edges is passed in, it is filled with the edge
+ * over which each node is reached on a shortest path (or <code>-1</code> for
+ * the source and unreachable nodes), so that the paths can be reconstructed.
+ *
+ * @author agent
+ *
+ */
+public final class ShortestPaths {
+
+	private ShortestPaths() {
+		// this class should not be instantiated by clients
+	}
+
+	/**
+	 * Computes the number of edges on a shortest path from the given source
+	 * node to each node.
+	 *
+	 * @param graph
+	 *            The {@link IndexedGraph} to search.
+	 * @param source
+	 *            The index of the source node.
+	 * @param directed
+	 *            <code>true</code> to follow edges in their direction only,
+	 *            <code>false</code> to follow them in both directions.
+	 * @param predecessorEdges
+	 *            An array (of length {@link IndexedGraph#getNodeCount()}) to
+	 *            store the predecessor edge of each node in, or
+	 *            <code>null</code>.
+	 * @return The distance of each node from the source node, or
+	 *         <code>-1</code> for unreachable nodes.
+	 */
+	public static int[] breadthFirst(IndexedGraph graph, int source,
+			boolean directed, int[] predecessorEdges) {
+		int n = graph.getNodeCount();
+		int[] distances = new int[n];
+		Arrays.fill(distances, -1);
+		if (predecessorEdges != null) {
+			Arrays.fill(predecessorEdges, -1);
+		}
+		int[] queue = new int[n];
+		int tail = 0;
+		distances[source] = 0;
+		queue[tail++] = source;
+		for (int head = 0; head < tail; head++) {
+			int v = queue[head];
+			int outgoing = graph.getOutgoingEdgeCount(v);
+			int degree = directed ? outgoing
+					: outgoing + graph.getIncomingEdgeCount(v);
+			for (int i = 0; i < degree; i++) {
+				int e = i < outgoing ? graph.getOutgoingEdge(v, i)
+						: graph.getIncomingEdge(v, i - outgoing);
+				int w = graph.getOpposite(e, v);
+				if (distances[w] < 0) {
+					distances[w] = distances[v] + 1;
+					if (predecessorEdges != null) {
+						predecessorEdges[w] = e;
+					}
+					queue[tail++] = w;
+				}
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Computes the length of a shortest path from the given source node to
+	 * each node, where the length of a path is the sum of the weights of its
+	 * edges.
+	 *
+	 * @param graph
+	 *            The {@link IndexedGraph} to search.
+	 * @param source
+	 *            The index of the source node.
+	 * @param edgeWeights
+	 *            The (non-negative) weight of each edge, indexed by edge.
+	 * @param directed
+	 *            <code>true</code> to follow edges in their direction only,
+	 *            <code>false</code> to follow them in both directions.
+	 * @param predecessorEdges
+	 *            An array (of length {@link IndexedGraph#getNodeCount()}) to
+	 *            store the predecessor edge of each node in, or
+	 *            <code>null</code>.
+	 * @return The distance of each node from the source node, or
+	 *         {@link Double#POSITIVE_INFINITY} for unreachable nodes.
+	 * @throws IllegalArgumentException
+	 *             If a negative edge weight is encountered.
+	 */
+	public static double[] dijkstra(IndexedGraph graph, int source,
+			double[] edgeWeights, boolean directed, int[] predecessorEdges) {
+		int n = graph.getNodeCount();
+		double[] distances = new double[n];
+		Arrays.fill(distances, Double.POSITIVE_INFINITY);
+		if (predecessorEdges != null) {
+			Arrays.fill(predecessorEdges, -1);
+		}
+		boolean[] settled = new boolean[n];
+		// binary min-heap with lazy deletion of outdated entries
+		double[] heapKeys = new double[Math.max(16, n)];
+		int[] heapNodes = new int[heapKeys.length];
+		distances[source] = 0;
+		heapKeys[0] = 0;
+		heapNodes[0] = source;
+		int heapSize = 1;
+		while (heapSize > 0) {
+			int v = heapNodes[0];
+			double d = heapKeys[0];
+			// pop
+			heapSize--;
+			double key = heapKeys[heapSize];
+			int node = heapNodes[heapSize];
+			int i = 0;
+			while (2 * i + 1 < heapSize) {
+				int c = 2 * i + 1;
+				if (c + 1 < heapSize && heapKeys[c + 1] < heapKeys[c]) {
+					c++;
+				}
+				if (heapKeys[c] >= key) {
+					break;
+				}
+				heapKeys[i] = heapKeys[c];
+				heapNodes[i] = heapNodes[c];
+				i = c;
+			}
+			heapKeys[i] = key;
+			heapNodes[i] = node;
+
+			if (settled[v] || d > distances[v]) {
+				continue;
+			}
+			settled[v] = true;
+			int outgoing = graph.getOutgoingEdgeCount(v);
+			int degree = directed ? outgoing
+					: outgoing + graph.getIncomingEdgeCount(v);
+			for (int k = 0; k < degree; k++) {
+				int e = k < outgoing ? graph.getOutgoingEdge(v, k)
+						: graph.getIncomingEdge(v, k - outgoing);
+				if (edgeWeights[e] < 0) {
+					throw new IllegalArgumentException("The weight of edge " + e
+							+ " is negative: " + edgeWeights[e]);
+				}
+				int w = graph.getOpposite(e, v);
+				double distance = d + edgeWeights[e];
+				if (!settled[w] && distance < distances[w]) {
+					distances[w] = distance;
+					if (predecessorEdges != null) {
+						predecessorEdges[w] = e;
+					}
+					// push
+					if (heapSize == heapKeys.length) {
+						heapKeys = Arrays.copyOf(heapKeys, 2 * heapSize);
+						heapNodes = Arrays.copyOf(heapNodes, 2 * heapSize);
+					}
+					int j = heapSize++;
+					while (j > 0 && heapKeys[(j - 1) / 2] > distance) {
+						heapKeys[j] = heapKeys[(j - 1) / 2];
+						heapNodes[j] = heapNodes[(j - 1) / 2];
+						j = (j - 1) / 2;
+					}
+					heapKeys[j] = distance;
+					heapNodes[j] = w;
+				}
+			}
+		}
+		return distances;
+	}
+
+}
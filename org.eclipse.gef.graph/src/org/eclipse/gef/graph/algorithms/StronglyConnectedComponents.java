@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Computes the strongly connected components of an {@link IndexedGraph},
+ * using Tarjan's algorithm. The depth-first search is performed iteratively
+ * (with an explicit stack), so that it does not overflow the call stack for
+ * deep graphs.
+ * <p>
+ * Components are numbered in the order in which they are completed, which is
+ * a reverse topological order of the condensation of the graph, i.e. all
+ * edges between different components lead from a higher to a lower
+ * component number.
+ *
+ * @author agent
+ *
+ */
+public final class StronglyConnectedComponents {
+
+	private final int[] components;
+	private final int componentCount;
+
+	/**
+	 * Computes the strongly connected components of the given
+	 * {@link IndexedGraph}.
+	 *
+	 * @param graph
+	 *            The {@link IndexedGraph} to analyze.
+	 */
+	public StronglyConnectedComponents(IndexedGraph graph) {
+		int n = graph.getNodeCount();
+		components = new int[n];
+		int[] index = new int[n];
+		int[] lowLink = new int[n];
+		Arrays.fill(index, -1);
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n];
+		int stackSize = 0;
+		// the call stack of the depth-first search, i.e. the visited node and
+		// the position of the next outgoing edge to follow
+		int[] callNodes = new int[n];
+		int[] callPositions = new int[n];
+		int nextIndex = 0;
+		int count = 0;
+		for (int s = 0; s < n; s++) {
+			if (index[s] >= 0) {
+				continue;
+			}
+			int depth = 0;
+			callNodes[0] = s;
+			callPositions[0] = 0;
+			index[s] = lowLink[s] = nextIndex++;
+			stack[stackSize++] = s;
+			onStack[s] = true;
+			while (depth >= 0) {
+				int v = callNodes[depth];
+				if (callPositions[depth] < graph.getOutgoingEdgeCount(v)) {
+					int w = graph.getTarget(
+							graph.getOutgoingEdge(v, callPositions[depth]++));
+					if (index[w] < 0) {
+						depth++;
+						callNodes[depth] = w;
+						callPositions[depth] = 0;
+						index[w] = lowLink[w] = nextIndex++;
+						stack[stackSize++] = w;
+						onStack[w] = true;
+					} else if (onStack[w]) {
+						lowLink[v] = Math.min(lowLink[v], index[w]);
+					}
+				} else {
+					if (lowLink[v] == index[v]) {
+						int w;
+						do {
+							w = stack[--stackSize];
+							onStack[w] = false;
+							components[w] = count;
+						} while (w != v);
+						count++;
+					}
+					depth--;
+					if (depth >= 0) {
+						int parent = callNodes[depth];
+						lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+					}
+				}
+			}
+		}
+		componentCount = count;
+	}
+
+	/**
+	 * Returns the component of the given node.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The number of the component that contains the node.
+	 */
+	public int getComponent(int node) {
+		return components[node];
+	}
+
+	/**
+	 * Returns the number of strongly connected components.
+	 *
+	 * @return The number of components.
+	 */
+	public int getComponentCount() {
+		return componentCount;
+	}
+
+	/**
+	 * Returns the number of nodes within each component.
+	 *
+	 * @return An array containing the size of each component, indexed by the
+	 *         component number.
+	 */
+	public int[] getComponentSizes() {
+		int[] sizes = new int[componentCount];
+		for (int component : components) {
+			sizes[component]++;
+		}
+		return sizes;
+	}
+
+}
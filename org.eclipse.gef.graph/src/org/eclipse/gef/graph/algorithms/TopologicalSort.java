@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.algorithms;
+
+/**
+ * Computes a topological order of the nodes of an {@link IndexedGraph}, using
+ * Kahn's algorithm. Self-loops are ignored. The result is deterministic: nodes
+ * are emitted in breadth-first manner, starting with the sources in index
+ * order.
+ *
+ * @author agent
+ *
+ */
+public final class TopologicalSort {
+
+	private TopologicalSort() {
+		// this class should not be instantiated by clients
+	}
+
+	/**
+	 * Returns whether the given {@link IndexedGraph} is acyclic (ignoring
+	 * self-loops).
+	 *
+	 * @param graph
+	 *            The {@link IndexedGraph} to test.
+	 * @return <code>true</code> if the graph does not contain a cycle,
+	 *         otherwise <code>false</code>.
+	 */
+	public static boolean isAcyclic(IndexedGraph graph) {
+		return sort(graph) != null;
+	}
+
+	/**
+	 * Computes a topological order of the nodes of the given
+	 * {@link IndexedGraph}, i.e. an order in which the source of each edge
+	 * precedes its target.
+	 *
+	 * @param graph
+	 *            The {@link IndexedGraph} to sort.
+	 * @return The indices of the nodes in topological order, or
+	 *         <code>null</code> if the graph contains a cycle.
+	 */
+	public static int[] sort(IndexedGraph graph) {
+		int n = graph.getNodeCount();
+		int[] inDegrees = new int[n];
+		for (int e = 0; e < graph.getEdgeCount(); e++) {
+			if (!graph.isSelfLoop(e)) {
+				inDegrees[graph.getTarget(e)]++;
+			}
+		}
+		// the order doubles as the queue of nodes without pending predecessors
+		int[] order = new int[n];
+		int tail = 0;
+		for (int v = 0; v < n; v++) {
+			if (inDegrees[v] == 0) {
+				order[tail++] = v;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int v = order[head];
+			for (int i = 0; i < graph.getOutgoingEdgeCount(v); i++) {
+				int e = graph.getOutgoingEdge(v, i);
+				int w = graph.getTarget(e);
+				if (w != v && --inDegrees[w] == 0) {
+					order[tail++] = w;
+				}
+			}
+		}
+		return tail == n ? order : null;
+	}
+
+}
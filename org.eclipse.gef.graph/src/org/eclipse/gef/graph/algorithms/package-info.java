@@ -0,0 +1,19 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+/**
+ * This package provides graph algorithms (strongly connected components,
+ * topological sorting, layering, shortest paths, and cycle breaking), which
+ * operate on an index-based snapshot of the adjacency of a graph (
+ * {@link org.eclipse.gef.graph.algorithms.IndexedGraph}).
+ */
+package org.eclipse.gef.graph.algorithms;
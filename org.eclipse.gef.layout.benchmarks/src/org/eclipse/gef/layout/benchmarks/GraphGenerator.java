@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link GraphGenerator} creates synthetic {@link Graph}s of a given
+ * {@link GraphType} and size, which are used as input for the layout
+ * benchmarks. All generated graphs are deterministic for a given seed, and all
+ * nodes are provided with a size and an initial location, while the graph is
+ * provided with layout bounds that grow with the number of nodes.
+ *
+ * @author agent
+ *
+ */
+public final class GraphGenerator {
+
+	/**
+	 * The kinds of {@link Graph}s that can be generated.
+	 */
+	public enum GraphType {
+		/**
+		 * A random (Erdős–Rényi) graph with an average degree of 4.
+		 */
+		RANDOM,
+		/**
+		 * A scale-free (Barabási–Albert) graph, where each node is attached
+		 * to 2 existing nodes with a probability proportional to their
+		 * degree.
+		 */
+		SCALE_FREE,
+		/**
+		 * A random recursive tree, where each node is attached to a uniformly
+		 * chosen predecessor.
+		 */
+		TREE,
+		/**
+		 * A directed acyclic graph with an average out-degree of 2, whose
+		 * edges connect nodes that are close to each other in a topological
+		 * order, so that layered layouts do not degenerate to a few very long
+		 * edges.
+		 */
+		DAG,
+		/**
+		 * A (nearly) square grid, where each node is connected to its right
+		 * and lower neighbor.
+		 */
+		GRID
+	}
+
+	/**
+	 * The maximum topological distance between source and target of an edge
+	 * within a {@link GraphType#DAG}.
+	 */
+	private static final int DAG_WINDOW = 32;
+
+	private static final Dimension NODE_SIZE = new Dimension(40, 20);
+
+	private GraphGenerator() {
+		// not intended to be instantiated
+	}
+
+	/**
+	 * Creates a new {@link Graph} of the given {@link GraphType} with the
+	 * given number of nodes.
+	 *
+	 * @param type
+	 *            The {@link GraphType} of the {@link Graph} to create.
+	 * @param nodeCount
+	 *            The number of nodes of the {@link Graph} to create.
+	 * @param seed
+	 *            The seed for the random number generator.
+	 * @return A new {@link Graph}.
+	 */
+	public static Graph generate(GraphType type, int nodeCount, long seed) {
+		if (nodeCount < 0) {
+			throw new IllegalArgumentException(
+					"nodeCount may not be negative: " + nodeCount);
+		}
+		Random random = new Random(seed);
+		Node[] nodes = createNodes(nodeCount);
+		List<Edge> edges;
+		switch (type) {
+		case RANDOM:
+			edges = randomEdges(nodes, random);
+			break;
+		case SCALE_FREE:
+			edges = scaleFreeEdges(nodes, random);
+			break;
+		case TREE:
+			edges = treeEdges(nodes, random);
+			break;
+		case DAG:
+			edges = dagEdges(nodes, random);
+			break;
+		case GRID:
+			edges = gridEdges(nodes);
+			break;
+		default:
+			throw new IllegalArgumentException("Unsupported type " + type);
+		}
+		Graph graph = new Graph(new HashMap<String, Object>(),
+				Arrays.asList(nodes), edges);
+		// provide enough space so that nodes do not need to overlap
+		double side = Math.max(500, Math.ceil(Math.sqrt(nodeCount))
+				* (NODE_SIZE.width + NODE_SIZE.height));
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, side, side));
+		return graph;
+	}
+
+	/**
+	 * Resets the locations of all nodes of the given {@link Graph} to the
+	 * origin, i.e. to the state in which they were generated.
+	 *
+	 * @param graph
+	 *            The {@link Graph} whose node locations to reset.
+	 */
+	public static void resetLocations(Graph graph) {
+		for (Node node : graph.getNodes()) {
+			LayoutProperties.setLocation(node, new Point());
+		}
+	}
+
+	private static Node[] createNodes(int nodeCount) {
+		Node[] nodes = new Node[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = new Node();
+			LayoutProperties.setLocation(node, new Point());
+			LayoutProperties.setSize(node, NODE_SIZE.getCopy());
+			nodes[i] = node;
+		}
+		return nodes;
+	}
+
+	private static List<Edge> dagEdges(Node[] nodes, Random random) {
+		int n = nodes.length;
+		List<Edge> edges = new ArrayList<>(2 * n);
+		for (int i = 0; i < n - 1; i++) {
+			int window = Math.min(DAG_WINDOW, n - 1 - i);
+			int outDegree = Math.min(window, random.nextInt(3) + 1);
+			Set<Integer> targets = new HashSet<>();
+			while (targets.size() < outDegree) {
+				targets.add(i + 1 + random.nextInt(window));
+			}
+			for (int j : targets) {
+				edges.add(new Edge(nodes[i], nodes[j]));
+			}
+		}
+		return edges;
+	}
+
+	private static List<Edge> gridEdges(Node[] nodes) {
+		int n = nodes.length;
+		int columns = (int) Math.ceil(Math.sqrt(n));
+		List<Edge> edges = new ArrayList<>(2 * n);
+		for (int i = 0; i < n; i++) {
+			if ((i + 1) % columns != 0 && i + 1 < n) {
+				edges.add(new Edge(nodes[i], nodes[i + 1]));
+			}
+			if (i + columns < n) {
+				edges.add(new Edge(nodes[i], nodes[i + columns]));
+			}
+		}
+		return edges;
+	}
+
+	private static List<Edge> randomEdges(Node[] nodes, Random random) {
+		int n = nodes.length;
+		if (n < 2) {
+			return new ArrayList<>();
+		}
+		// average degree 4, i.e. 2 edges per node
+		long edgeCount = Math.min(2L * n, (long) n * (n - 1) / 2);
+		List<Edge> edges = new ArrayList<>((int) edgeCount);
+		Set<Long> pairs = new HashSet<>();
+		while (edges.size() < edgeCount) {
+			int s = random.nextInt(n);
+			int t = random.nextInt(n);
+			if (s == t) {
+				continue;
+			}
+			long pair = (long) Math.min(s, t) * n + Math.max(s, t);
+			if (pairs.add(pair)) {
+				edges.add(new Edge(nodes[s], nodes[t]));
+			}
+		}
+		return edges;
+	}
+
+	private static List<Edge> scaleFreeEdges(Node[] nodes, Random random) {
+		int n = nodes.length;
+		List<Edge> edges = new ArrayList<>(2 * n);
+		// each edge contributes both of its end points, so that choosing a
+		// uniform entry selects a node proportional to its degree
+		int[] endPoints = new int[4 * n];
+		int endPointCount = 0;
+		for (int i = 1; i < n; i++) {
+			int attachments = Math.min(2, i);
+			int[] targets = new int[attachments];
+			for (int a = 0; a < attachments; a++) {
+				int target;
+				do {
+					target = endPointCount == 0 ? 0
+							: endPoints[random.nextInt(endPointCount)];
+				} while (a > 0 && target == targets[0]);
+				targets[a] = target;
+				edges.add(new Edge(nodes[i], nodes[target]));
+			}
+			// only register the new end points afterwards, so that no
+			// self-loops are created
+			for (int target : targets) {
+				endPoints[endPointCount++] = i;
+				endPoints[endPointCount++] = target;
+			}
+		}
+		return edges;
+	}
+
+	private static List<Edge> treeEdges(Node[] nodes, Random random) {
+		int n = nodes.length;
+		List<Edge> edges = new ArrayList<>(n);
+		for (int i = 1; i < n; i++) {
+			edges.add(new Edge(nodes[random.nextInt(i)], nodes[i]));
+		}
+		return edges;
+	}
+
+}
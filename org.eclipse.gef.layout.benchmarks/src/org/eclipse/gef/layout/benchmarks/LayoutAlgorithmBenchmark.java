@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.algorithms.BoxLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelSpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.StressMajorizationLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
+import org.eclipse.gef.layout.benchmarks.GraphGenerator.GraphType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a (clean) layout pass of the (non-layered)
+ * {@link ILayoutAlgorithm}s on the synthetic graphs created by the
+ * {@link GraphGenerator}. The {@link SugiyamaLayoutBenchmark} covers the
+ * layered layout with its different strategies.
+ * <p>
+ * By default, only graph sizes for which all benchmarked configurations
+ * complete a layout pass within a few seconds are used. Larger graphs may be
+ * selected via <code>-p nodeCount=10000,100000</code>, which is infeasible
+ * for {@link Algorithm#SPRING} (as it computes the repulsion between all pairs
+ * of nodes) though. The {@link Algorithm#SPACE_TREE} layout expects a tree as
+ * input and is infeasible for larger graphs of the other {@link GraphType}s,
+ * so that it is not benchmarked by default but has to be selected explicitly,
+ * e.g. via <code>-p algorithm=SPACE_TREE -p graphType=TREE</code>.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class LayoutAlgorithmBenchmark {
+
+	/**
+	 * The benchmarked {@link ILayoutAlgorithm} configurations.
+	 */
+	public enum Algorithm {
+		/**
+		 * {@link SpringLayoutAlgorithm} with exact (all-pairs) repulsion.
+		 */
+		SPRING {
+			@Override
+			ILayoutAlgorithm create() {
+				return createSpring(false, false);
+			}
+		},
+		/**
+		 * {@link SpringLayoutAlgorithm} with Barnes-Hut approximated
+		 * repulsion.
+		 */
+		SPRING_BARNES_HUT {
+			@Override
+			ILayoutAlgorithm create() {
+				return createSpring(true, false);
+			}
+		},
+		/**
+		 * {@link SpringLayoutAlgorithm} with Barnes-Hut approximated
+		 * repulsion, computing forces in parallel.
+		 */
+		SPRING_PARALLEL {
+			@Override
+			ILayoutAlgorithm create() {
+				return createSpring(true, true);
+			}
+		},
+		/**
+		 * {@link MultilevelSpringLayoutAlgorithm}.
+		 */
+		MULTILEVEL_SPRING {
+			@Override
+			ILayoutAlgorithm create() {
+				MultilevelSpringLayoutAlgorithm multilevel = new MultilevelSpringLayoutAlgorithm();
+				multilevel.setRandomSeed(SEED);
+				// use a fixed amount of work, independent of the machine speed
+				multilevel.getSpringLayoutAlgorithm()
+						.setSpringTimeout(Long.MAX_VALUE);
+				return multilevel;
+			}
+		},
+		/**
+		 * {@link StressMajorizationLayoutAlgorithm}.
+		 */
+		STRESS {
+			@Override
+			ILayoutAlgorithm create() {
+				StressMajorizationLayoutAlgorithm stress = new StressMajorizationLayoutAlgorithm();
+				stress.setRandomSeed(SEED);
+				return stress;
+			}
+		},
+		/**
+		 * {@link TreeLayoutAlgorithm}.
+		 */
+		TREE {
+			@Override
+			ILayoutAlgorithm create() {
+				return new TreeLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link TreeLayoutAlgorithm} with
+		 * {@link TreeLayoutAlgorithm.Placement#TIDY tidy} placement.
+		 */
+		TREE_TIDY {
+			@Override
+			ILayoutAlgorithm create() {
+				TreeLayoutAlgorithm tree = new TreeLayoutAlgorithm();
+				tree.setPlacement(TreeLayoutAlgorithm.Placement.TIDY);
+				return tree;
+			}
+		},
+		/**
+		 * {@link SpaceTreeLayoutAlgorithm}.
+		 */
+		SPACE_TREE {
+			@Override
+			ILayoutAlgorithm create() {
+				return new SpaceTreeLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link RadialLayoutAlgorithm}.
+		 */
+		RADIAL {
+			@Override
+			ILayoutAlgorithm create() {
+				return new RadialLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link GridLayoutAlgorithm}.
+		 */
+		GRID {
+			@Override
+			ILayoutAlgorithm create() {
+				return new GridLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link BoxLayoutAlgorithm}.
+		 */
+		BOX {
+			@Override
+			ILayoutAlgorithm create() {
+				return new BoxLayoutAlgorithm();
+			}
+		};
+
+		/**
+		 * Creates a new instance of the {@link ILayoutAlgorithm} that is
+		 * represented by this configuration.
+		 *
+		 * @return A new {@link ILayoutAlgorithm}.
+		 */
+		abstract ILayoutAlgorithm create();
+
+		private static SpringLayoutAlgorithm createSpring(boolean approximate,
+				boolean parallel) {
+			SpringLayoutAlgorithm spring = new SpringLayoutAlgorithm();
+			// use a fixed amount of work, independent of the machine speed
+			spring.setIterations(SPRING_ITERATIONS);
+			spring.setSpringTimeout(Long.MAX_VALUE);
+			spring.setRandomSeed(SEED);
+			spring.setApproximateRepulsion(approximate);
+			spring.setParallel(parallel);
+			return spring;
+		}
+	}
+
+	/**
+	 * The seed used for graph generation and random initial placement.
+	 */
+	static final long SEED = 42;
+
+	/**
+	 * The number of iterations performed by the spring layout.
+	 */
+	static final int SPRING_ITERATIONS = 100;
+
+	/**
+	 * The benchmarked {@link Algorithm}.
+	 */
+	@Param({ "SPRING", "SPRING_BARNES_HUT", "SPRING_PARALLEL",
+			"MULTILEVEL_SPRING", "STRESS", "TREE", "TREE_TIDY", "RADIAL", "GRID",
+			"BOX" })
+	public Algorithm algorithm;
+
+	/**
+	 * The {@link GraphType} of the input graph.
+	 */
+	@Param
+	public GraphType graphType;
+
+	/**
+	 * The number of nodes of the input graph.
+	 */
+	@Param({ "100", "1000" })
+	public int nodeCount;
+
+	private Graph graph;
+	private LayoutContext context;
+
+	/**
+	 * Generates the input graph and sets up the {@link LayoutContext}.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		graph = GraphGenerator.generate(graphType, nodeCount, SEED);
+		context = new LayoutContext();
+		context.setGraph(graph);
+	}
+
+	/**
+	 * Resets the node locations and provides a new layout algorithm instance,
+	 * so that each layout pass starts from the same state and does not depend
+	 * on state that is retained by an algorithm between subsequent passes.
+	 */
+	@Setup(Level.Invocation)
+	public void reset() {
+		GraphGenerator.resetLocations(graph);
+		context.setLayoutAlgorithm(algorithm.create());
+	}
+
+	/**
+	 * Performs a clean layout pass.
+	 *
+	 * @return The laid out {@link Graph}, so that the layout pass cannot be
+	 *         eliminated.
+	 */
+	@Benchmark
+	public Graph layout() {
+		context.applyLayout(true);
+		return graph;
+	}
+
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.BarycentricCrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.CoordinateAssignment;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.CrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.DFSLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.Direction;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.GreedyCrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.LayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.LayerSweepCrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NetworkSimplexLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.SimpleLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.SplitCrossingReducer;
+import org.eclipse.gef.layout.benchmarks.GraphGenerator.GraphType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a (clean) layout pass of the {@link SugiyamaLayoutAlgorithm} for
+ * all combinations of {@link LayerProvider}, {@link CrossingReducer}, and
+ * {@link CoordinateAssignment}. By default, only directed acyclic graphs and
+ * trees are used as input, as these are the primary use case of a layered
+ * layout; other {@link GraphType}s may be selected via <code>-p</code>.
+ * <p>
+ * The {@link SimpleLayerProvider} supports at most 10 layers and thus fails
+ * for all but the smallest trees, so that it is not benchmarked by default but
+ * has to be selected explicitly (e.g. via
+ * <code>-p layering=SIMPLE -p graphType=TREE -p nodeCount=100</code>).
+ * Likewise, only graph sizes for which all default combinations complete a
+ * layout pass within a few seconds are used by default. Larger graphs may be
+ * selected via <code>-p nodeCount=10000,100000</code>, which is infeasible for
+ * the {@link GreedyCrossingReducer} and the
+ * {@link BarycentricCrossingReducer} on directed acyclic graphs though.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class SugiyamaLayoutBenchmark {
+
+	/**
+	 * The benchmarked {@link LayerProvider}s.
+	 */
+	public enum Layering {
+		/**
+		 * {@link SimpleLayerProvider}.
+		 */
+		SIMPLE {
+			@Override
+			LayerProvider create() {
+				return new SimpleLayerProvider();
+			}
+		},
+		/**
+		 * {@link DFSLayerProvider}.
+		 */
+		DFS {
+			@Override
+			LayerProvider create() {
+				return new DFSLayerProvider();
+			}
+		},
+		/**
+		 * {@link NetworkSimplexLayerProvider}.
+		 */
+		NETWORK_SIMPLEX {
+			@Override
+			LayerProvider create() {
+				return new NetworkSimplexLayerProvider();
+			}
+		};
+
+		abstract LayerProvider create();
+	}
+
+	/**
+	 * The benchmarked {@link CrossingReducer}s.
+	 */
+	public enum CrossingReduction {
+		/**
+		 * {@link BarycentricCrossingReducer}.
+		 */
+		BARYCENTRIC {
+			@Override
+			CrossingReducer create() {
+				return new BarycentricCrossingReducer();
+			}
+		},
+		/**
+		 * {@link SplitCrossingReducer}.
+		 */
+		SPLIT {
+			@Override
+			CrossingReducer create() {
+				return new SplitCrossingReducer();
+			}
+		},
+		/**
+		 * {@link GreedyCrossingReducer}.
+		 */
+		GREEDY {
+			@Override
+			CrossingReducer create() {
+				return new GreedyCrossingReducer();
+			}
+		},
+		/**
+		 * {@link LayerSweepCrossingReducer}.
+		 */
+		LAYER_SWEEP {
+			@Override
+			CrossingReducer create() {
+				return new LayerSweepCrossingReducer();
+			}
+		};
+
+		abstract CrossingReducer create();
+	}
+
+	/**
+	 * The {@link LayerProvider} to use.
+	 */
+	@Param({ "DFS", "NETWORK_SIMPLEX" })
+	public Layering layering;
+
+	/**
+	 * The {@link CrossingReducer} to use.
+	 */
+	@Param
+	public CrossingReduction crossingReduction;
+
+	/**
+	 * The {@link CoordinateAssignment} to use.
+	 */
+	@Param
+	public CoordinateAssignment coordinateAssignment;
+
+	/**
+	 * The {@link GraphType} of the input graph.
+	 */
+	@Param({ "DAG", "TREE" })
+	public GraphType graphType;
+
+	/**
+	 * The number of nodes of the input graph.
+	 */
+	@Param({ "100", "1000" })
+	public int nodeCount;
+
+	private Graph graph;
+	private LayoutContext context;
+
+	/**
+	 * Generates the input graph and sets up the {@link LayoutContext}.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		graph = GraphGenerator.generate(graphType, nodeCount,
+				LayoutAlgorithmBenchmark.SEED);
+		context = new LayoutContext();
+		context.setGraph(graph);
+	}
+
+	private SugiyamaLayoutAlgorithm createAlgorithm() {
+		SugiyamaLayoutAlgorithm algorithm = new SugiyamaLayoutAlgorithm(
+				Direction.VERTICAL, layering.create(),
+				crossingReduction.create());
+		algorithm.setCoordinateAssignment(coordinateAssignment);
+		return algorithm;
+	}
+
+	/**
+	 * Resets the node locations and provides a fresh
+	 * {@link SugiyamaLayoutAlgorithm} before each layout pass.
+	 */
+	@Setup(Level.Invocation)
+	public void reset() {
+		GraphGenerator.resetLocations(graph);
+		context.setLayoutAlgorithm(createAlgorithm());
+	}
+
+	/**
+	 * Performs a clean layout pass.
+	 *
+	 * @return The laid out {@link Graph}, so that the layout pass cannot be
+	 *         eliminated.
+	 */
+	@Benchmark
+	public Graph layout() {
+		context.applyLayout(true);
+		return graph;
+	}
+
+}
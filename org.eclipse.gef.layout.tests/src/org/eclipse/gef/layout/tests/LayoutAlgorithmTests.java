@@ -10,11 +10,48 @@
  *******************************************************************************/
 package org.eclipse.gef.layout.tests;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.AttributesUpdateListener;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutFilter;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelSpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.StressMajorizationLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.LayerSweepCrossingReducer;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NetworkSimplexLayerProvider;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.TreeLayoutObserver;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeListener;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
 /**
  * Tests involving the {@link ILayoutAlgorithm} interface.
  *
@@ -40,6 +77,878 @@ public class LayoutAlgorithmTests {
 		}
 	}
 
+	/**
+	 * Creates a {@link Graph} with the given number of nodes, connecting each
+	 * node to its successor (modulo the number of nodes) and providing layout
+	 * bounds, locations, and sizes.
+	 */
+	private static Graph createRing(int size) {
+		return createRings(size);
+	}
+
+	/**
+	 * Creates a {@link Graph} consisting of (unconnected) rings of the given
+	 * sizes, where a ring of size 1 is an isolated node, and provides layout
+	 * bounds, locations, and sizes.
+	 */
+	private static Graph createRings(int... sizes) {
+		Graph.Builder builder = new Graph.Builder();
+		int offset = 0;
+		for (int size : sizes) {
+			for (int i = 0; i < size; i++) {
+				builder.node(offset + i);
+			}
+			for (int i = 0; size > 1 && i < size; i++) {
+				builder.edge(offset + i, offset + (i + 1) % size);
+			}
+			offset += size;
+		}
+		Graph graph = builder.build();
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 500));
+		for (Node node : graph.getNodes()) {
+			LayoutProperties.setLocation(node, new Point());
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+		}
+		return graph;
+	}
+
+	/**
+	 * Asserts that the given ring (see {@link #createRing(int)}) is unfolded,
+	 * i.e. that neighbors are placed much closer to each other than opposite
+	 * nodes.
+	 */
+	private static void assertRingUnfolded(Graph graph) {
+		List<Node> nodes = graph.getNodes();
+		int size = nodes.size();
+		double neighborDistance = 0;
+		double oppositeDistance = 0;
+		for (int i = 0; i < size; i++) {
+			Point location = LayoutProperties.getLocation(nodes.get(i));
+			neighborDistance += location.getDistance(LayoutProperties
+					.getLocation(nodes.get((i + 1) % size)));
+			oppositeDistance += location.getDistance(LayoutProperties
+					.getLocation(nodes.get((i + size / 2) % size)));
+		}
+		Assert.assertTrue(neighborDistance * 10 < oppositeDistance);
+	}
+
+	private static void assertWithinBounds(Graph graph) {
+		Rectangle bounds = LayoutProperties.getBounds(graph);
+		for (Node node : graph.getNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertFalse(Double.isNaN(location.x));
+			Assert.assertFalse(Double.isNaN(location.y));
+			Assert.assertTrue(bounds.contains(location));
+		}
+	}
+
+	@Test
+	public void testSugiyamaLayerSweepCrossingReducer() {
+		Graph graph = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 100, 100))
+				.node("a").node("b").node("c").node("d").edge("a", "d")
+				.edge("b", "c").build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		LayerSweepCrossingReducer crossingReducer = new LayerSweepCrossingReducer();
+		context.setLayoutAlgorithm(new SugiyamaLayoutAlgorithm(
+				SugiyamaLayoutAlgorithm.Direction.VERTICAL, crossingReducer));
+		context.applyLayout(true);
+		Assert.assertEquals(0, crossingReducer.getNumberOfCrossings());
+		Node[] nodes = graph.getNodes().toArray(new Node[] {});
+		Assert.assertTrue(LayoutProperties.getLocation(nodes[0]).x < LayoutProperties
+				.getLocation(nodes[1]).x);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes[3]).x < LayoutProperties
+				.getLocation(nodes[2]).x);
+	}
+
+	@Test
+	public void testSugiyamaNetworkSimplexLayerProvider() {
+		// e is placed on the layer above d (rather than on the first layer)
+		Graph graph = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 100, 100))
+				.node("a").node("b").node("c").node("d").node("e")
+				.edge("a", "b").edge("b", "c").edge("c", "d").edge("e", "d")
+				.build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(new SugiyamaLayoutAlgorithm(
+				SugiyamaLayoutAlgorithm.Direction.VERTICAL,
+				new NetworkSimplexLayerProvider()));
+		context.applyLayout(true);
+		List<Node> nodes = graph.getNodes();
+		double[] y = new double[nodes.size()];
+		for (int i = 0; i < y.length; i++) {
+			y[i] = LayoutProperties.getLocation(nodes.get(i)).y;
+		}
+		Assert.assertTrue(y[0] < y[1]);
+		Assert.assertTrue(y[1] < y[2]);
+		Assert.assertTrue(y[2] < y[3]);
+		Assert.assertEquals(y[2], y[4], 0);
+	}
+
+	@Test
+	public void testSugiyamaBrandesKoepfCoordinateAssignment() {
+		Graph.Builder builder = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 100, 100));
+		String[] keys = { "a", "b", "c", "d", "e" };
+		for (int i = 0; i < keys.length; i++) {
+			builder.node(keys[i]).attr(LayoutProperties.SIZE_PROPERTY,
+					new Dimension(20 + 10 * i, 10));
+		}
+		Graph graph = builder.edge("a", "b").edge("a", "c").edge("a", "d")
+				.edge("b", "e").edge("c", "e").edge("a", "e").build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		SugiyamaLayoutAlgorithm algorithm = new SugiyamaLayoutAlgorithm(
+				SugiyamaLayoutAlgorithm.Direction.VERTICAL,
+				new LayerSweepCrossingReducer());
+		algorithm.setCoordinateAssignment(
+				SugiyamaLayoutAlgorithm.CoordinateAssignment.BRANDES_KOEPF);
+		algorithm.setNodeSpacing(5);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+
+		// nodes of the same layer do not overlap
+		List<Node> nodes = graph.getNodes();
+		for (Node n1 : nodes) {
+			for (Node n2 : nodes) {
+				Point p1 = LayoutProperties.getLocation(n1);
+				Point p2 = LayoutProperties.getLocation(n2);
+				if (n1 != n2 && p1.y == p2.y) {
+					double gap = Math.abs(p1.x - p2.x)
+							- (LayoutProperties.getSize(n1).width
+									+ LayoutProperties.getSize(n2).width) / 2;
+					Assert.assertTrue(gap >= 5 - 1e-9);
+				}
+			}
+		}
+		// layers are ordered and the layout starts at the bounds' origin
+		Assert.assertTrue(LayoutProperties.getLocation(nodes.get(0))
+				.y < LayoutProperties.getLocation(nodes.get(1)).y);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes.get(1))
+				.y < LayoutProperties.getLocation(nodes.get(4)).y);
+		double minX = Double.POSITIVE_INFINITY;
+		for (Node node : nodes) {
+			minX = Math.min(minX, LayoutProperties.getLocation(node).x
+					- LayoutProperties.getSize(node).width / 2);
+		}
+		Assert.assertEquals(0, minX, 1e-9);
+	}
+
+	@Test
+	public void testTreeLayoutTidyPlacement() {
+		Graph.Builder builder = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 100, 100));
+		String[] keys = { "a", "b", "c", "d", "e", "f", "g" };
+		for (int i = 0; i < keys.length; i++) {
+			builder.node(keys[i]).attr(LayoutProperties.SIZE_PROPERTY,
+					new Dimension(10 + 5 * i, 10 + i));
+		}
+		Graph graph = builder.edge("a", "b").edge("a", "c").edge("a", "d")
+				.edge("b", "e").edge("b", "f").edge("d", "g").build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm();
+		algorithm.setPlacement(TreeLayoutAlgorithm.Placement.TIDY);
+		algorithm.setNodeSpacing(5);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+
+		// nodes of the same layer do not overlap
+		List<Node> nodes = graph.getNodes();
+		for (Node n1 : nodes) {
+			for (Node n2 : nodes) {
+				Point p1 = LayoutProperties.getLocation(n1);
+				Point p2 = LayoutProperties.getLocation(n2);
+				if (n1 != n2 && p1.y == p2.y) {
+					double gap = Math.abs(p1.x - p2.x)
+							- (LayoutProperties.getSize(n1).width
+									+ LayoutProperties.getSize(n2).width) / 2;
+					Assert.assertTrue(gap >= 5 - 1e-9);
+				}
+			}
+		}
+		// parents are centered above their (outermost) children, whose order
+		// is not determined
+		double minX = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		for (int i = 1; i <= 3; i++) {
+			minX = Math.min(minX, LayoutProperties.getLocation(nodes.get(i)).x);
+			maxX = Math.max(maxX, LayoutProperties.getLocation(nodes.get(i)).x);
+		}
+		Assert.assertEquals((minX + maxX) / 2,
+				LayoutProperties.getLocation(nodes.get(0)).x, 1e-9);
+		Assert.assertEquals(LayoutProperties.getLocation(nodes.get(3)).x,
+				LayoutProperties.getLocation(nodes.get(6)).x, 1e-9);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes.get(0))
+				.y < LayoutProperties.getLocation(nodes.get(1)).y);
+
+		// the other directions mirror or transpose the layout
+		algorithm.setDirection(TreeLayoutAlgorithm.BOTTOM_UP);
+		context.applyLayout(true);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes.get(0))
+				.y > LayoutProperties.getLocation(nodes.get(1)).y);
+		algorithm.setDirection(TreeLayoutAlgorithm.RIGHT_LEFT);
+		context.applyLayout(true);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes.get(0))
+				.x > LayoutProperties.getLocation(nodes.get(1)).x);
+		Assert.assertNotEquals(LayoutProperties.getLocation(nodes.get(1)).y,
+				LayoutProperties.getLocation(nodes.get(3)).y, 1e-9);
+	}
+
+	@Test
+	public void testTreeLayoutDeepTree() {
+		// deep trees must not exhaust the stack
+		int depth = 20000;
+		Graph.Builder builder = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 100, 100));
+		for (int i = 0; i < depth; i++) {
+			builder.node(i).attr(LayoutProperties.SIZE_PROPERTY,
+					new Dimension(10, 10));
+		}
+		for (int i = 1; i < depth; i++) {
+			builder.edge(i - 1, i);
+		}
+		Graph graph = builder.build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		algorithm.setPlacement(TreeLayoutAlgorithm.Placement.TIDY);
+		context.applyLayout(true);
+		Node last = graph.getNodes().get(depth - 1);
+		Assert.assertEquals(5, LayoutProperties.getLocation(last).x, 1e-9);
+		Assert.assertEquals(depth * 50 - 45,
+				LayoutProperties.getLocation(last).y, 1e-9);
+	}
+
+	@Test
+	public void testTreeLayoutObserverIncremental() {
+		Graph graph = new Graph.Builder().node("a").node("b").node("c")
+				.edge("a", "b").edge("a", "c").build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		TreeLayoutObserver observer = new TreeLayoutObserver(context, null);
+		final List<TreeNode> changed = new ArrayList<>();
+		observer.addTreeListener(new TreeListener() {
+			@Override
+			protected void defaultHandle(TreeNode changedNode) {
+				changed.add(changedNode);
+			}
+		});
+		TreeNode superRoot = observer.getSuperRoot();
+		TreeNode a = observer.getTreeNode(graph.getNodes().get(0));
+		TreeNode c = observer.getTreeNode(graph.getNodes().get(2));
+		Assert.assertEquals(1, superRoot.getChildren().size());
+		Assert.assertEquals(1, a.getHeight());
+		Assert.assertEquals(2, a.getNumOfLeaves());
+
+		// a new node becomes a root, until it is connected
+		Node d = new Node();
+		graph.getNodes().add(d);
+		TreeNode dNode = observer.getTreeNode(d);
+		Assert.assertSame(superRoot, dNode.getParent());
+		Assert.assertEquals(0, dNode.getDepth());
+		Assert.assertEquals(3, superRoot.getNumOfLeaves());
+		Edge cd = new Edge(graph.getNodes().get(2), d);
+		graph.getEdges().add(cd);
+		Assert.assertSame(c, dNode.getParent());
+		Assert.assertEquals(2, dNode.getDepth());
+		Assert.assertEquals(2, a.getHeight());
+		Assert.assertEquals(3, a.getNumOfDescendants());
+		Assert.assertEquals(2, a.getNumOfLeaves());
+		Assert.assertEquals(1, superRoot.getChildren().size());
+		Assert.assertEquals(2, changed.size());
+
+		// removing the edge and the root splits the tree
+		graph.getEdges().remove(cd);
+		Assert.assertSame(superRoot, dNode.getParent());
+		Assert.assertEquals(1, a.getHeight());
+		graph.getNodes().remove(0);
+		Assert.assertEquals(3, superRoot.getChildren().size());
+		Assert.assertEquals(0, c.getDepth());
+		List<TreeNode> roots = superRoot.getChildren();
+		for (int i = 0; i < roots.size(); i++) {
+			Assert.assertEquals(i == 0, roots.get(i).isFirstChild());
+			Assert.assertEquals(i == roots.size() - 1,
+					roots.get(i).isLastChild());
+		}
+		Assert.assertEquals(3, superRoot.getNumOfLeaves());
+
+		// a stopped observer is no longer updated
+		observer.stop();
+		graph.getNodes().add(new Node());
+		Assert.assertEquals(3, superRoot.getChildren().size());
+	}
+
+	@Test
+	public void testSpaceTreeLayoutIncremental() {
+		Graph graph = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 400, 400))
+				.node("a").attr(LayoutProperties.SIZE_PROPERTY,
+						new Dimension(10, 10))
+				.node("b").attr(LayoutProperties.SIZE_PROPERTY,
+						new Dimension(10, 10))
+				.edge("a", "b").build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(new SpaceTreeLayoutAlgorithm());
+		context.applyLayout(true);
+		Node a = graph.getNodes().get(0);
+		Node b = graph.getNodes().get(1);
+		Point aLocation = LayoutProperties.getLocation(a);
+
+		// add a second child to the (expanded) root
+		Node c = new Node();
+		LayoutProperties.setSize(c, new Dimension(10, 10));
+		graph.getNodes().add(c);
+		graph.getEdges().add(new Edge(a, c));
+		context.applyLayout(false);
+		Assert.assertEquals(LayoutProperties.getLocation(b).y,
+				LayoutProperties.getLocation(c).y, 1e-9);
+		Assert.assertTrue(LayoutProperties.getLocation(c).y > aLocation.y);
+		Assert.assertNotEquals(LayoutProperties.getLocation(b).x,
+				LayoutProperties.getLocation(c).x, 1e-9);
+	}
+
+	@Test(timeout = 10000)
+	public void testSpaceTreeLayoutGrid() {
+		// the nodes of a layer of the spanning tree of a grid cannot be fit
+		// within the bounds, which must not result in an endless loop
+		int side = 7;
+		Graph.Builder builder = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 500, 500));
+		for (int i = 0; i < side * side; i++) {
+			builder.node(i)
+					.attr(LayoutProperties.LOCATION_PROPERTY, new Point())
+					.attr(LayoutProperties.SIZE_PROPERTY,
+							new Dimension(40, 20));
+		}
+		for (int i = 0; i < side * side; i++) {
+			if (i % side < side - 1) {
+				builder.edge(i, i + 1);
+			}
+			if (i + side < side * side) {
+				builder.edge(i, i + side);
+			}
+		}
+		Graph graph = builder.build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(new SpaceTreeLayoutAlgorithm());
+		for (int i = 0; i < 3; i++) {
+			context.applyLayout(true);
+		}
+		for (Node node : graph.getNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertFalse(Double.isNaN(location.x));
+			Assert.assertFalse(Double.isNaN(location.y));
+		}
+	}
+
+	@Test
+	public void testSpringLayoutApproximateRepulsion() {
+		Graph graph = createRing(200);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setApproximateRepulsion(true);
+		algorithm.setIterations(50);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		assertWithinBounds(graph);
+	}
+
+	@Test
+	public void testComponentPacking() {
+		// three rings and two isolated nodes
+		int[] sizes = new int[] { 30, 20, 10, 1, 1 };
+		Graph graph = createRings(sizes);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setComponentPacking(true);
+		context.setComponentLayoutAlgorithmSupplier(
+				new Supplier<ILayoutAlgorithm>() {
+					@Override
+					public ILayoutAlgorithm get() {
+						SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+						algorithm.setRandomSeed(42L);
+						algorithm.setSpringTimeout(0);
+						return algorithm;
+					}
+				});
+		context.setLayoutAlgorithm(new SpringLayoutAlgorithm());
+		context.applyLayout(true);
+		assertWithinBounds(graph);
+
+		// the bounding boxes of the components do not overlap
+		List<Node> nodes = graph.getNodes();
+		List<Rectangle> boxes = new ArrayList<>();
+		int offset = 0;
+		for (int size : sizes) {
+			Rectangle box = null;
+			for (int i = offset; i < offset + size; i++) {
+				Point location = LayoutProperties.getLocation(nodes.get(i));
+				Rectangle nodeBox = new Rectangle(location.x - 5,
+						location.y - 5, 10, 10);
+				box = box == null ? nodeBox : box.union(nodeBox);
+			}
+			for (Rectangle other : boxes) {
+				Assert.assertFalse(box.getShrinked(1, 1)
+						.touches(other.getShrinked(1, 1)));
+			}
+			boxes.add(box);
+			offset += size;
+		}
+
+		// a pass without changes does not move anything
+		Point location = LayoutProperties.getLocation(nodes.get(0)).getCopy();
+		context.applyLayout(false);
+		Assert.assertEquals(location, LayoutProperties.getLocation(nodes.get(0)));
+	}
+
+	@Test
+	public void testMultilevelSpringLayout() {
+		Graph graph = createRing(400);
+		MultilevelSpringLayoutAlgorithm algorithm = new MultilevelSpringLayoutAlgorithm();
+		algorithm.setRandomSeed(42L);
+		algorithm.getSpringLayoutAlgorithm().setSpringTimeout(0);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		assertWithinBounds(graph);
+		assertRingUnfolded(graph);
+	}
+
+	@Test
+	public void testStressMajorizationLayout() {
+		Graph graph = createRing(400);
+		StressMajorizationLayoutAlgorithm algorithm = new StressMajorizationLayoutAlgorithm();
+		algorithm.setRandomSeed(42L);
+		algorithm.setPivotCount(20);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		assertWithinBounds(graph);
+		assertRingUnfolded(graph);
+	}
+
+	@Test
+	public void testStressMajorizationLayoutEdgeWeights() {
+		// a path a-b-c
+		Graph graph = createRing(3);
+		graph.getEdges().remove(2);
+		Node a = graph.getNodes().get(0);
+		Node b = graph.getNodes().get(1);
+		Node c = graph.getNodes().get(2);
+		for (Edge edge : graph.getEdges()) {
+			LayoutProperties.setWeight(edge,
+					edge.getSource() == a || edge.getTarget() == a ? 1 : 3);
+		}
+		StressMajorizationLayoutAlgorithm algorithm = new StressMajorizationLayoutAlgorithm();
+		algorithm.setRandomSeed(42L);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		assertWithinBounds(graph);
+
+		// the edge weights are used as edge lengths
+		Point pa = LayoutProperties.getLocation(a);
+		Point pb = LayoutProperties.getLocation(b);
+		Point pc = LayoutProperties.getLocation(c);
+		Assert.assertEquals(3, pb.getDistance(pc) / pa.getDistance(pb), 0.1);
+	}
+
+	@Test
+	public void testSpringLayoutParallelIsDeterministic() {
+		Graph first = createRing(300);
+		Graph second = createRing(300);
+		for (Graph graph : new Graph[] { first, second }) {
+			SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+			algorithm.setParallel(true);
+			algorithm.setRandomSeed(42L);
+			algorithm.setSpringTimeout(0);
+			algorithm.setIterations(20);
+			LayoutContext context = new LayoutContext();
+			context.setGraph(graph);
+			context.setLayoutAlgorithm(algorithm);
+			context.applyLayout(true);
+			assertWithinBounds(graph);
+		}
+		for (int i = 0; i < first.getNodes().size(); i++) {
+			Assert.assertEquals(
+					LayoutProperties.getLocation(first.getNodes().get(i)),
+					LayoutProperties.getLocation(second.getNodes().get(i)));
+		}
+	}
+
+	@Test
+	public void testLayoutView() {
+		Graph graph = createRing(3);
+		final LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		final Node first = graph.getNodes().get(0);
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm() {
+			@Override
+			public void applyLayout(boolean clean) {
+				LayoutView view = context.getLayoutView();
+				Assert.assertSame(view, context.getLayoutView());
+				Assert.assertEquals(3, view.getNodeCount());
+				Assert.assertEquals(3, view.getEdgeCount());
+				for (int i = 0; i < 3; i++) {
+					Assert.assertEquals(1, view.getOutgoingOffsets()[i + 1]
+							- view.getOutgoingOffsets()[i]);
+					int edge = view.getOutgoingEdges()[view
+							.getOutgoingOffsets()[i]];
+					Assert.assertEquals(i, view.getSource(edge));
+					Assert.assertEquals((i + 1) % 3, view.getTarget(edge));
+					int incoming = view.getIncomingEdges()[view
+							.getIncomingOffsets()[i]];
+					Assert.assertEquals(i, view.getTarget(incoming));
+				}
+				// locations are only written back at the end of the pass
+				view.setLocation(view.indexOf(first), 42, 17);
+				Assert.assertEquals(new Point(),
+						LayoutProperties.getLocation(first));
+			}
+		});
+		context.applyLayout(true);
+		Assert.assertEquals(new Point(42, 17),
+				LayoutProperties.getLocation(first));
+	}
+
+	@Test
+	public void testChangeTracking() {
+		Graph graph = createRing(5);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm());
+		Assert.assertEquals(5, context.getChangedNodes().size());
+		Assert.assertEquals(5, context.getChangedEdges().size());
+		context.applyLayout(true);
+		Assert.assertTrue(context.getChangedNodes().isEmpty());
+		Assert.assertTrue(context.getChangedEdges().isEmpty());
+		Assert.assertFalse(context.hasChanges());
+
+		// changing the bounds (a pass that is not clean has to lay out the
+		// graph again)
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 250, 250));
+		Assert.assertTrue(context.isBoundsChanged());
+		context.applyLayout(false);
+		Assert.assertFalse(context.hasChanges());
+		assertWithinBounds(graph);
+
+		// resizing
+		Node node = graph.getNodes().get(0);
+		LayoutProperties.setSize(node, new Dimension(10, 10));
+		Assert.assertTrue(context.getChangedNodes().isEmpty());
+		LayoutProperties.setSize(node, new Dimension(20, 10));
+		Assert.assertEquals(Collections.singleton(node),
+				context.getChangedNodes());
+		context.applyLayout(true);
+
+		// removing an edge
+		Edge edge = graph.getEdges().get(0);
+		graph.getEdges().remove(edge);
+		Assert.assertEquals(2, context.getChangedNodes().size());
+		Assert.assertTrue(context.getChangedNodes().contains(edge.getSource()));
+		Assert.assertTrue(context.getChangedNodes().contains(edge.getTarget()));
+		context.applyLayout(true);
+
+		// hiding
+		final Node hidden = graph.getNodes().get(1);
+		context.addLayoutFilter(new ILayoutFilter() {
+			@Override
+			public boolean isLayoutIrrelevant(Edge edge) {
+				return false;
+			}
+
+			@Override
+			public boolean isLayoutIrrelevant(Node node) {
+				return node == hidden;
+			}
+		});
+		final List<Set<Node>> changedDuringLayout = new ArrayList<>();
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm() {
+			@Override
+			public void applyLayout(boolean clean) {
+				changedDuringLayout.add(new HashSet<>(
+						getLayoutContext().getChangedNodes()));
+			}
+		});
+		context.applyLayout(false);
+		Assert.assertEquals(Collections.singleton(hidden),
+				changedDuringLayout.get(0));
+	}
+
+	@Test
+	public void testLayoutFilterCaching() {
+		Graph graph = createRing(5);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm());
+		final Node filtered = graph.getNodes().get(0);
+		final BooleanProperty hidden = new SimpleBooleanProperty(false);
+		final int[] evaluations = new int[1];
+		context.addLayoutFilter(new ILayoutFilter() {
+			@Override
+			public boolean isLayoutIrrelevant(Edge edge) {
+				evaluations[0]++;
+				return false;
+			}
+
+			@Override
+			public boolean isLayoutIrrelevant(Node node) {
+				evaluations[0]++;
+				return hidden.get() && node == filtered;
+			}
+		}, hidden);
+		context.applyLayout(true);
+		// each node and edge is evaluated once
+		Assert.assertEquals(10, evaluations[0]);
+		Assert.assertFalse(context.isLayoutIrrelevant(filtered));
+		Assert.assertEquals(10, evaluations[0]);
+
+		// the cached results are reused by subsequent passes
+		context.applyLayout(false);
+		Assert.assertEquals(10, evaluations[0]);
+
+		// until an input of the filter changes
+		hidden.set(true);
+		context.applyLayout(false);
+		Assert.assertEquals(20, evaluations[0]);
+		Assert.assertTrue(context.isLayoutIrrelevant(filtered));
+		Assert.assertTrue(context.getLayoutView()
+				.isNodeLayoutIrrelevant(context.getLayoutView().indexOf(filtered)));
+
+		// or an attribute of an element
+		graph.getEdges().get(0).getAttributes().put("hidden", true);
+		context.applyLayout(false);
+		Assert.assertEquals(30, evaluations[0]);
+
+		// filters without declared inputs are evaluated on every query,
+		// without evaluating the cached filters again
+		final Node other = graph.getNodes().get(1);
+		final boolean[] otherHidden = new boolean[1];
+		context.addLayoutFilter(new ILayoutFilter() {
+			@Override
+			public boolean isLayoutIrrelevant(Edge edge) {
+				return false;
+			}
+
+			@Override
+			public boolean isLayoutIrrelevant(Node node) {
+				return otherHidden[0] && node == other;
+			}
+		});
+		context.applyLayout(false);
+		Assert.assertFalse(context.isLayoutIrrelevant(other));
+		otherHidden[0] = true;
+		Assert.assertTrue(context.isLayoutIrrelevant(other));
+		context.applyLayout(false);
+		Assert.assertTrue(context.getLayoutView()
+				.isNodeLayoutIrrelevant(context.getLayoutView().indexOf(other)));
+		Assert.assertTrue(context.isLayoutIrrelevant(filtered));
+		Assert.assertEquals(30, evaluations[0]);
+	}
+
+	@Test
+	public void testSpringLayoutIncremental() {
+		Graph graph = createRing(50);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setRandomSeed(42L);
+		algorithm.setIterations(200);
+		algorithm.setSpringTimeout(0);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+
+		// nothing changed
+		Map<Node, Point> locations = new HashMap<>();
+		for (Node node : graph.getNodes()) {
+			locations.put(node, LayoutProperties.getLocation(node));
+		}
+		context.applyLayout(false);
+		for (Node node : graph.getNodes()) {
+			Assert.assertEquals(locations.get(node),
+					LayoutProperties.getLocation(node));
+		}
+
+		// add a node that is connected to the first one, and another one
+		// that is only connected to the added one
+		Node first = graph.getNodes().get(0);
+		Node added = new Node();
+		LayoutProperties.setLocation(added, new Point());
+		LayoutProperties.setSize(added, new Dimension(10, 10));
+		Node chained = new Node();
+		LayoutProperties.setLocation(chained, new Point());
+		LayoutProperties.setSize(chained, new Dimension(10, 10));
+		graph.getNodes().addAll(added, chained);
+		graph.getEdges().addAll(new Edge(first, added),
+				new Edge(added, chained));
+		context.applyLayout(false);
+
+		// only the changed nodes and their neighbors are moved
+		for (Node node : locations.keySet()) {
+			if (node != first && !first.getLocalNeighbors().contains(node)) {
+				Assert.assertEquals(locations.get(node),
+						LayoutProperties.getLocation(node));
+			}
+		}
+		Assert.assertTrue(LayoutProperties.getLocation(added)
+				.getDistance(LayoutProperties.getLocation(first)) < 250);
+		Assert.assertTrue(LayoutProperties.getLocation(chained)
+				.getDistance(LayoutProperties.getLocation(added)) < 250);
+	}
+
+	@Test
+	public void testApplyLayoutAsync() {
+		Graph graph = createRing(10);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		GridLayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		final int[] updates = new int[1];
+		graph.addAttributesUpdateListener(new AttributesUpdateListener() {
+			@Override
+			public void onUpdated(Graph graph,
+					Map<IAttributeStore, Set<String>> changes) {
+				updates[0]++;
+			}
+		});
+
+		// queue runnables, so we can control when they are executed
+		final List<Runnable> queue = new ArrayList<>();
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				queue.add(command);
+			}
+		};
+
+		Future<Void> first = context.applyLayoutAsync(true, executor, executor);
+		Future<Void> second = context.applyLayoutAsync(true, executor,
+				executor);
+		Assert.assertTrue(first.isCancelled());
+		// locations are not changed before the results are committed
+		for (Node node : graph.getNodes()) {
+			Assert.assertEquals(new Point(), LayoutProperties.getLocation(node));
+		}
+		while (!queue.isEmpty()) {
+			queue.remove(0).run();
+		}
+		Assert.assertTrue(second.isDone());
+		Assert.assertFalse(second.isCancelled());
+		assertWithinBounds(graph);
+		Assert.assertNotEquals(
+				LayoutProperties.getLocation(graph.getNodes().get(0)),
+				LayoutProperties.getLocation(graph.getNodes().get(1)));
+		// the results are committed in one batch and the algorithm is no
+		// longer bound to the snapshot
+		Assert.assertEquals(1, updates[0]);
+		Assert.assertNull(algorithm.getLayoutContext());
+	}
+
+	@Test
+	public void testApplyLayoutAsyncCancellation() {
+		LayoutContext context = new LayoutContext();
+		context.setGraph(createRing(10));
+		final List<Future<Void>> passes = new ArrayList<>();
+		final List<Boolean> cancelled = new ArrayList<>();
+		context.setLayoutAlgorithm(new GridLayoutAlgorithm() {
+			@Override
+			public void applyLayout(boolean clean) {
+				// the pass is superseded while the algorithm is running
+				passes.get(0).cancel(false);
+				cancelled.add(getLayoutContext().isLayoutCancelled());
+			}
+		});
+		final List<Runnable> queue = new ArrayList<>();
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				queue.add(command);
+			}
+		};
+		passes.add(context.applyLayoutAsync(true, executor, executor));
+		while (!queue.isEmpty()) {
+			queue.remove(0).run();
+		}
+		Assert.assertEquals(Collections.singletonList(true), cancelled);
+		Assert.assertFalse(context.isLayoutCancelled());
+		Assert.assertNull(context.getLayoutAlgorithm().getLayoutContext());
+	}
+
+	@Test(timeout = 10000)
+	public void testApplyLayoutAsyncIncremental() {
+		Graph graph = new Graph.Builder()
+				.attr(LayoutProperties.BOUNDS_PROPERTY,
+						new Rectangle(0, 0, 400, 400))
+				.node("a").attr(LayoutProperties.SIZE_PROPERTY,
+						new Dimension(10, 10))
+				.node("b").attr(LayoutProperties.SIZE_PROPERTY,
+						new Dimension(10, 10))
+				.node("c").attr(LayoutProperties.SIZE_PROPERTY,
+						new Dimension(10, 10))
+				.edge("a", "b").edge("a", "c").build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		SpaceTreeLayoutAlgorithm algorithm = new SpaceTreeLayoutAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+		context.applyLayoutAsync(true, executor, executor);
+		Assert.assertSame(context, algorithm.getLayoutContext());
+		List<Point> locations = new ArrayList<>();
+		for (Node node : graph.getNodes()) {
+			locations.add(LayoutProperties.getLocation(node));
+		}
+
+		// the tree state of the snapshot is not reused for the original
+		// context, which must neither move the nodes arbitrarily, nor hang
+		// when the graph is changed afterwards
+		context.applyLayout(false);
+		for (int i = 0; i < locations.size(); i++) {
+			Assert.assertEquals(locations.get(i),
+					LayoutProperties.getLocation(graph.getNodes().get(i)));
+		}
+		Node a = graph.getNodes().get(0);
+		Node d = new Node();
+		LayoutProperties.setSize(d, new Dimension(10, 10));
+		d.setGraph(graph);
+		graph.getNodes().add(d);
+		graph.getEdges().add(new Edge(a, d));
+		context.applyLayout(false);
+		assertWithinBounds(graph);
+		Set<Double> xs = new HashSet<>();
+		for (Node child : graph.getNodes().subList(1, 4)) {
+			Point location = LayoutProperties.getLocation(child);
+			Assert.assertEquals(LayoutProperties.getLocation(d).y, location.y,
+					1e-9);
+			Assert.assertTrue(location.y > LayoutProperties.getLocation(a).y);
+			xs.add(location.x);
+		}
+		Assert.assertEquals(3, xs.size());
+	}
+
 	/**
 	 * Test issues with TreeLayoutObserver.TreeNode#isAncestorOf for tree nodes
 	 * that are their own descendants, using the protected addChild() method
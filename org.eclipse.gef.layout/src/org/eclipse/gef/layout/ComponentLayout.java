@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * Lays out the connected components of the {@link Graph} of a
+ * {@link LayoutContext} independently of each other and packs the resulting
+ * layouts into the layout bounds (see
+ * {@link LayoutContext#setComponentPacking(boolean)}).
+ * <p>
+ * The components are determined by union-find over the layout relevant nodes
+ * and edges. Each component is copied into a separate {@link Graph}, whose
+ * bounds are proportional to the number of nodes of the component, and laid
+ * out there. The bounding boxes of the component layouts are then packed
+ * into rows (ordered by decreasing height), and the packing is centered
+ * within the layout bounds (scaling down the distances if it does not fit).
+ * Components that contain a node that may not be moved keep their place.
+ *
+ * @author agent
+ *
+ */
+final class ComponentLayout {
+
+	/**
+	 * The gap between packed components.
+	 */
+	private static final double COMPONENT_SPACING = 10;
+
+	private final LayoutContext context;
+	private final LayoutView view;
+
+	// the nodes of the components in compressed sparse row format
+	private int componentCount;
+	private int[] components;
+	private int[] memberOffsets;
+	private int[] members;
+
+	ComponentLayout(LayoutContext context) {
+		this.context = context;
+		this.view = context.getLayoutView();
+	}
+
+	/**
+	 * Lays out the components of the graph, unless it consists of less than
+	 * two components, in which case nothing is done.
+	 *
+	 * @param algorithm
+	 *            The {@link ILayoutAlgorithm} to use if no supplier is given.
+	 * @param supplier
+	 *            The supplier for the {@link ILayoutAlgorithm}s that lay out
+	 *            the components in parallel, or <code>null</code> to lay out
+	 *            the components one after the other using the given algorithm.
+	 * @param clean
+	 *            <code>true</code> to lay out all components, otherwise only
+	 *            those containing changes are laid out.
+	 * @return <code>true</code> if the components were laid out, otherwise
+	 *         <code>false</code>.
+	 */
+	boolean apply(final ILayoutAlgorithm algorithm,
+			Supplier<? extends ILayoutAlgorithm> supplier, boolean clean) {
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		if (bounds == null) {
+			return false;
+		}
+		computeComponents();
+		if (componentCount < 2) {
+			return false;
+		}
+
+		boolean[] changed = findChangedComponents(clean);
+		int relevantCount = memberOffsets[componentCount];
+		double aspectRatio = bounds.getHeight() > 0
+				? bounds.getWidth() / bounds.getHeight() : 1;
+		double area = bounds.getWidth() * bounds.getHeight();
+		List<Graph> graphs = new ArrayList<>();
+		List<Integer> laidOut = new ArrayList<>();
+		for (int c = 0; c < componentCount; c++) {
+			if (changed[c]) {
+				int size = memberOffsets[c + 1] - memberOffsets[c];
+				double share = area * size / relevantCount;
+				graphs.add(createGraph(c, new Rectangle(0, 0,
+						Math.sqrt(share * aspectRatio),
+						Math.sqrt(share / aspectRatio))));
+				laidOut.add(c);
+			}
+		}
+		if (graphs.isEmpty() && !context.isBoundsChanged()) {
+			return true;
+		}
+
+		if (supplier == null) {
+			for (Graph graph : graphs) {
+				layout(graph, algorithm, context);
+			}
+		} else {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>();
+			for (final Graph graph : graphs) {
+				final ILayoutAlgorithm componentAlgorithm = supplier.get();
+				tasks.add(ForkJoinPool.commonPool().submit(new Runnable() {
+					@Override
+					public void run() {
+						layout(graph, componentAlgorithm, context);
+					}
+				}));
+			}
+			for (ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		}
+		for (int g = 0; g < graphs.size(); g++) {
+			transferResults(laidOut.get(g), graphs.get(g));
+		}
+
+		pack(bounds, aspectRatio);
+		return true;
+	}
+
+	private void computeComponents() {
+		int n = view.getNodeCount();
+		int[] parents = new int[n];
+		int[] sizes = new int[n];
+		for (int i = 0; i < n; i++) {
+			parents[i] = i;
+			sizes[i] = 1;
+		}
+		for (int e = 0; e < view.getEdgeCount(); e++) {
+			int source = view.getSource(e);
+			int target = view.getTarget(e);
+			if (source < 0 || target < 0 || view.isEdgeLayoutIrrelevant(e)
+					|| view.isNodeLayoutIrrelevant(source)
+					|| view.isNodeLayoutIrrelevant(target)) {
+				continue;
+			}
+			int sourceRoot = find(parents, source);
+			int targetRoot = find(parents, target);
+			if (sourceRoot != targetRoot) {
+				// union by size
+				if (sizes[sourceRoot] < sizes[targetRoot]) {
+					int swap = sourceRoot;
+					sourceRoot = targetRoot;
+					targetRoot = swap;
+				}
+				parents[targetRoot] = sourceRoot;
+				sizes[sourceRoot] += sizes[targetRoot];
+			}
+		}
+
+		// number the components (in the order of their first nodes)
+		components = new int[n];
+		Arrays.fill(components, -1);
+		int[] rootComponents = new int[n];
+		Arrays.fill(rootComponents, -1);
+		componentCount = 0;
+		int[] counts = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			if (view.isNodeLayoutIrrelevant(i)) {
+				continue;
+			}
+			int root = find(parents, i);
+			if (rootComponents[root] < 0) {
+				rootComponents[root] = componentCount++;
+			}
+			components[i] = rootComponents[root];
+			counts[components[i] + 1]++;
+		}
+		memberOffsets = Arrays.copyOf(counts, componentCount + 1);
+		for (int c = 0; c < componentCount; c++) {
+			memberOffsets[c + 1] += memberOffsets[c];
+		}
+		members = new int[memberOffsets[componentCount]];
+		int[] fill = Arrays.copyOf(memberOffsets, componentCount);
+		for (int i = 0; i < n; i++) {
+			if (components[i] >= 0) {
+				members[fill[components[i]]++] = i;
+			}
+		}
+	}
+
+	private static int find(int[] parents, int i) {
+		while (parents[i] != i) {
+			// path halving
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+	private boolean[] findChangedComponents(boolean clean) {
+		boolean[] changed = new boolean[componentCount];
+		if (clean) {
+			Arrays.fill(changed, true);
+			return changed;
+		}
+		Set<Node> changedNodes = context.getChangedNodes();
+		for (int i = 0; i < view.getNodeCount(); i++) {
+			if (components[i] >= 0
+					&& changedNodes.contains(view.getNode(i))) {
+				changed[components[i]] = true;
+			}
+		}
+		Set<Edge> changedEdges = context.getChangedEdges();
+		for (int e = 0; e < view.getEdgeCount(); e++) {
+			int source = view.getSource(e);
+			if (source >= 0 && components[source] >= 0
+					&& changedEdges.contains(view.getEdge(e))) {
+				changed[components[source]] = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Creates a detached copy of the given component, whose nodes are in the
+	 * same order as the members of the component.
+	 */
+	private Graph createGraph(int component, Rectangle bounds) {
+		List<Node> nodes = new ArrayList<>();
+		Node[] copies = new Node[view.getNodeCount()];
+		for (int m = memberOffsets[component]; m < memberOffsets[component
+				+ 1]; m++) {
+			Node copy = new Node(LayoutContext.copyLayoutAttributes(
+					view.getNode(members[m]).getAttributes()));
+			copies[members[m]] = copy;
+			nodes.add(copy);
+		}
+		List<Edge> edges = new ArrayList<>();
+		for (int e = 0; e < view.getEdgeCount(); e++) {
+			int source = view.getSource(e);
+			int target = view.getTarget(e);
+			if (source >= 0 && target >= 0 && copies[source] != null
+					&& copies[target] != null
+					&& !view.isEdgeLayoutIrrelevant(e)) {
+				edges.add(new Edge(
+						LayoutContext.copyLayoutAttributes(
+								view.getEdge(e).getAttributes()),
+						copies[source], copies[target]));
+			}
+		}
+		Graph graph = new Graph(LayoutContext.copyLayoutAttributes(
+				context.getGraph().getAttributes()), nodes, edges);
+		LayoutProperties.setBounds(graph, bounds);
+		return graph;
+	}
+
+	private static void layout(Graph graph, ILayoutAlgorithm algorithm,
+			LayoutContext parentContext) {
+		LayoutContext componentContext = new LayoutContext();
+		componentContext.parentContext = parentContext;
+		componentContext.setGraph(graph);
+		componentContext.setLayoutAlgorithm(algorithm);
+		componentContext.applyLayout(true);
+	}
+
+	private void transferResults(int component, Graph graph) {
+		List<Node> nodes = graph.getNodes();
+		for (int m = memberOffsets[component]; m < memberOffsets[component
+				+ 1]; m++) {
+			Node copy = nodes.get(m - memberOffsets[component]);
+			Point location = LayoutProperties.getLocation(copy);
+			if (location != null) {
+				view.setLocation(members[m], location.x, location.y);
+			}
+			Dimension size = LayoutProperties.getSize(copy);
+			if (size != null) {
+				view.setSize(members[m], size.width, size.height);
+			}
+		}
+	}
+
+	/**
+	 * Packs the bounding boxes of the (movable) components into rows of a
+	 * width that approximates the given aspect ratio, and centers the packing
+	 * within the given bounds.
+	 */
+	private void pack(Rectangle bounds, double aspectRatio) {
+		double[] x = view.getX();
+		double[] y = view.getY();
+		double[] width = view.getWidth();
+		double[] height = view.getHeight();
+		final double[] minX = new double[componentCount];
+		final double[] minY = new double[componentCount];
+		final double[] widths = new double[componentCount];
+		final double[] heights = new double[componentCount];
+		boolean[] fixed = new boolean[componentCount];
+		List<Integer> packed = new ArrayList<>();
+		double totalArea = 0;
+		double maxWidth = 0;
+		for (int c = 0; c < componentCount; c++) {
+			double left = Double.POSITIVE_INFINITY;
+			double top = Double.POSITIVE_INFINITY;
+			double right = Double.NEGATIVE_INFINITY;
+			double bottom = Double.NEGATIVE_INFINITY;
+			for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+				int i = members[m];
+				left = Math.min(left, x[i] - width[i] / 2);
+				top = Math.min(top, y[i] - height[i] / 2);
+				right = Math.max(right, x[i] + width[i] / 2);
+				bottom = Math.max(bottom, y[i] + height[i] / 2);
+				fixed[c] |= !view.isMovable(i);
+			}
+			if (fixed[c]) {
+				continue;
+			}
+			minX[c] = left;
+			minY[c] = top;
+			widths[c] = right - left + COMPONENT_SPACING;
+			heights[c] = bottom - top + COMPONENT_SPACING;
+			totalArea += widths[c] * heights[c];
+			maxWidth = Math.max(maxWidth, widths[c]);
+			packed.add(c);
+		}
+		if (packed.isEmpty()) {
+			return;
+		}
+
+		// shelf packing of the components ordered by decreasing height
+		Collections.sort(packed, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer c1, Integer c2) {
+				return Double.compare(heights[c2], heights[c1]);
+			}
+		});
+		double rowWidth = Math.max(maxWidth,
+				Math.sqrt(totalArea * aspectRatio));
+		double[] packedX = new double[componentCount];
+		double[] packedY = new double[componentCount];
+		double cursorX = 0;
+		double cursorY = 0;
+		double currentRowHeight = 0;
+		double packedWidth = 0;
+		for (int c : packed) {
+			if (cursorX > 0 && cursorX + widths[c] > rowWidth) {
+				cursorX = 0;
+				cursorY += currentRowHeight;
+				currentRowHeight = 0;
+			}
+			packedX[c] = cursorX;
+			packedY[c] = cursorY;
+			cursorX += widths[c];
+			currentRowHeight = Math.max(currentRowHeight, heights[c]);
+			packedWidth = Math.max(packedWidth, cursorX);
+		}
+		double packedHeight = cursorY + currentRowHeight;
+
+		// the trailing spacing is not needed
+		packedWidth -= COMPONENT_SPACING;
+		packedHeight -= COMPONENT_SPACING;
+		double scale = 1;
+		if (packedWidth > bounds.getWidth() && packedWidth > 0) {
+			scale = bounds.getWidth() / packedWidth;
+		}
+		if (packedHeight * scale > bounds.getHeight() && packedHeight > 0) {
+			scale = bounds.getHeight() / packedHeight;
+		}
+		double offsetX = bounds.getX()
+				+ (bounds.getWidth() - packedWidth * scale) / 2;
+		double offsetY = bounds.getY()
+				+ (bounds.getHeight() - packedHeight * scale) / 2;
+		for (int c : packed) {
+			for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+				int i = members[m];
+				view.setLocation(i,
+						offsetX + (packedX[c] + x[i] - minX[c]) * scale,
+						offsetY + (packedY[c] + y[i] - minY[c]) * scale);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link IIncrementalLayoutAlgorithm} is an {@link ILayoutAlgorithm} that
+ * supports non-clean layout passes, i.e. which re-arranges (the affected
+ * parts of) the layout when {@link #applyLayout(boolean)} is called with
+ * <code>clean</code> set to <code>false</code> and
+ * {@link LayoutContext#hasChanges()} indicates that something changed since
+ * the last layout pass.
+ * <p>
+ * Clients that trigger layout passes in reaction to changes of the graph or
+ * the layout bounds (e.g. Zest) only request non-clean passes from algorithms
+ * that implement this interface. All other algorithms are regarded to be
+ * static, i.e. to ignore non-clean passes, and are thus requested to perform
+ * clean passes instead.
+ *
+ * @author agent
+ *
+ */
+public interface IIncrementalLayoutAlgorithm extends ILayoutAlgorithm {
+
+}
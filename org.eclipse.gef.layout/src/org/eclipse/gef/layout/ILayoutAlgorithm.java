@@ -50,8 +50,15 @@ public interface ILayoutAlgorithm {
 	 *            it keeps track of changes with listeners. False can be used
 	 *            after dynamic layout in a context is turned back on so that
 	 *            layout algorithm working in background can apply accumulated
-	 *            changes. Static layout algorithm can ignore this call entirely
-	 *            if clean is false.
+	 *            changes. Static layout algorithm can ignore this call if
+	 *            clean is false and {@link LayoutContext#hasChanges()}
+	 *            indicates that nothing changed. Algorithms that support
+	 *            incremental layout may use
+	 *            {@link LayoutContext#getChangedNodes()} and
+	 *            {@link LayoutContext#getChangedEdges()} to only re-arrange
+	 *            the affected parts of an existing layout, and should
+	 *            indicate this by implementing
+	 *            {@link IIncrementalLayoutAlgorithm}.
 	 */
 	public void applyLayout(boolean clean);
 
@@ -13,20 +13,57 @@
 package org.eclipse.gef.layout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 
 /**
  * The {@link LayoutContext} provides the context in which to layout a
  * {@link Graph}. It maintains an {@link ILayoutAlgorithm} that can be applied,
  * supports the handling and execution of pre and post {@link Runnable}s, and
  * filtering of layout objects using {@link ILayoutFilter}.
+ * <p>
+ * The {@link LayoutContext} keeps track of the nodes and edges that changed
+ * since the last layout pass (see {@link #getChangedNodes()} and
+ * {@link #getChangedEdges()}), as well as of changes to the layout bounds
+ * (see {@link #isBoundsChanged()}), so that layout algorithms can update an
+ * existing layout incrementally when {@link #applyLayout(boolean) applying}
+ * a layout that is not <i>clean</i>.
+ * <p>
+ * When {@link #setComponentPacking(boolean) component packing} is enabled,
+ * the connected components of the graph are laid out independently of each
+ * other and are then packed into the layout bounds.
+ * <p>
+ * The results of the {@link ILayoutFilter}s that declare their inputs are
+ * cached, so that each such filter is evaluated at most once per element and
+ * layout pass (see {@link #addLayoutFilter(ILayoutFilter, Observable...)}).
+ * Filters that do not declare their inputs are evaluated whenever the layout
+ * relevance of an element is queried (see
+ * {@link #addLayoutFilter(ILayoutFilter)}).
  * 
  * @author mwienand
  *
@@ -47,15 +84,193 @@ public class LayoutContext {
 	private final List<Runnable> postLayoutPass = new ArrayList<>();
 	private final List<Runnable> preLayoutPass = new ArrayList<>();
 	private final List<ILayoutFilter> layoutFilters = new ArrayList<>();
+	private final Map<ILayoutFilter, Observable[]> layoutFilterInputs = new IdentityHashMap<>();
+	private final List<ILayoutFilter> uncachedLayoutFilters = new ArrayList<>();
+
+	private boolean componentPacking = false;
+	private Supplier<? extends ILayoutAlgorithm> componentLayoutAlgorithmSupplier;
+
+	/**
+	 * The most recent asynchronous layout pass, which is cancelled when it is
+	 * superseded by another layout pass.
+	 */
+	private CompletableFuture<Void> pendingLayout;
+
+	/**
+	 * The asynchronous layout pass that is performed on this (snapshot)
+	 * context, or <code>null</code> if this is not a snapshot context.
+	 */
+	private Future<Void> layoutPass;
+
+	/**
+	 * The context on whose behalf this context lays out (a part of) the graph,
+	 * i.e. the context of which this context is a snapshot, or
+	 * <code>null</code> if this context is not a snapshot context.
+	 */
+	private LayoutContext originalContext;
+
+	/**
+	 * The context on whose behalf this context lays out a connected component,
+	 * whose cancellation is propagated to this context, or <code>null</code>.
+	 */
+	LayoutContext parentContext;
+
+	private final Set<Node> changedNodes = Collections
+			.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+	private final Set<Edge> changedEdges = Collections
+			.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+
+	/**
+	 * The layout bounds of the graph during the last layout pass, used to
+	 * detect bounds changes in between passes.
+	 */
+	private Rectangle layoutBounds;
+
+	/**
+	 * The elements that were layout irrelevant during the last layout pass,
+	 * used to detect elements that are shown or hidden in between passes.
+	 */
+	private final Set<Object> irrelevantElements = Collections
+			.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+	/**
+	 * The elements that are layout irrelevant according to the (cached)
+	 * {@link #layoutFilters}, which are valid as long as
+	 * {@link #layoutRelevanceValid} (or {@link #nodeRelevanceValid} for the
+	 * nodes) is set. They are invalidated by changes to the structure of the
+	 * graph, to the (non layout) attributes of its elements, to the layout
+	 * filters, or to their inputs.
+	 */
+	private final Set<Object> cachedIrrelevantElements = Collections
+			.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+	/**
+	 * The layout irrelevant nodes and edges (indexed by their position within
+	 * the graph) according to all layout filters, which are computed by
+	 * {@link #validateLayoutRelevance()} before each layout pass.
+	 */
+	private final BitSet irrelevantNodes = new BitSet();
+	private final BitSet irrelevantEdges = new BitSet();
+	private boolean layoutRelevanceValid = false;
+	private boolean nodeRelevanceValid = false;
+
+	private final InvalidationListener layoutFilterInputListener = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			invalidateLayoutRelevance();
+			// validate lazily computed values, so that subsequent changes are
+			// reported as well
+			if (observable instanceof ObservableValue) {
+				((ObservableValue<?>) observable).getValue();
+			}
+		}
+	};
+
+	/**
+	 * Whether changes to the graph are currently tracked, i.e. not caused by
+	 * transferring the results of a layout pass.
+	 */
+	private boolean trackChanges = true;
+
+	private final Map<Node, MapChangeListener<String, Object>> nodeAttributesListeners = new IdentityHashMap<>();
+	private final Map<Edge, MapChangeListener<String, Object>> edgeAttributesListeners = new IdentityHashMap<>();
 
 	/**
-	 * Adds the given ILayoutFilter to this {@link LayoutContext}.
+	 * The {@link LayoutView} of the current layout pass, or <code>null</code>
+	 * if it was not yet requested.
+	 */
+	private LayoutView layoutView;
+
+	private ListChangeListener<Node> nodesChangeListener = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> change) {
+			// the structure of the view is no longer valid
+			flushLayoutView();
+			invalidateLayoutRelevance();
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					continue;
+				}
+				for (Node node : change.getRemoved()) {
+					unregisterNode(node);
+					changedNodes.remove(node);
+					irrelevantElements.remove(node);
+				}
+				for (Node node : change.getAddedSubList()) {
+					registerNode(node);
+					changedNodes.add(node);
+				}
+			}
+		}
+	};
+
+	private ListChangeListener<Edge> edgesChangeListener = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			flushLayoutView();
+			invalidateLayoutRelevance();
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					continue;
+				}
+				for (Edge edge : change.getRemoved()) {
+					unregisterEdge(edge);
+					changedEdges.remove(edge);
+					irrelevantElements.remove(edge);
+					// the former end points need to be re-arranged
+					markEndPointsChanged(edge);
+				}
+				for (Edge edge : change.getAddedSubList()) {
+					registerEdge(edge);
+					changedEdges.add(edge);
+				}
+			}
+		}
+	};
+
+	/**
+	 * Adds the given ILayoutFilter to this {@link LayoutContext}. As the inputs
+	 * of the filter are not known, its results are not cached but the filter
+	 * is evaluated whenever the layout relevance of a node or edge is
+	 * queried. Use {@link #addLayoutFilter(ILayoutFilter, Observable...)} to
+	 * add a filter whose results are cached.
 	 * 
 	 * @param layoutFilter
 	 *            The ILayoutFilter to add to this context.
 	 */
 	public void addLayoutFilter(ILayoutFilter layoutFilter) {
+		uncachedLayoutFilters.add(layoutFilter);
+	}
+
+	/**
+	 * Adds the given ILayoutFilter to this {@link LayoutContext}, whose
+	 * results depend on the given {@link Observable}s (in addition to the
+	 * attributes of the evaluated nodes and edges).
+	 * <p>
+	 * The results of the filters are evaluated once and are cached until
+	 * either the structure of the graph, an attribute of a node or edge (other
+	 * than the {@link LayoutProperties#LOCATION_PROPERTY location} and
+	 * {@link LayoutProperties#SIZE_PROPERTY size}), or one of the given inputs
+	 * changes, or until the cache is explicitly
+	 * {@link #invalidateLayoutRelevance() invalidated}. The nodes are
+	 * evaluated before the edges, so that a filter may cheaply query the
+	 * {@link #isLayoutIrrelevant(Node) relevance} of the end points of an
+	 * edge from this context.
+	 * 
+	 * @param layoutFilter
+	 *            The ILayoutFilter to add to this context.
+	 * @param inputs
+	 *            The {@link Observable}s on which the results of the filter
+	 *            depend.
+	 */
+	public void addLayoutFilter(ILayoutFilter layoutFilter,
+			Observable... inputs) {
 		layoutFilters.add(layoutFilter);
+		layoutFilterInputs.put(layoutFilter, inputs);
+		for (Observable input : inputs) {
+			input.addListener(layoutFilterInputListener);
+		}
+		invalidateLayoutRelevance();
 	}
 
 	/**
@@ -68,17 +283,318 @@ public class LayoutContext {
 	 *            re-compute the layout, otherwise <code>false</code>.
 	 */
 	public void applyLayout(boolean clear) {
-		// we should schedule
+		// a synchronous pass supersedes any pending asynchronous one
+		cancelPendingLayout();
 
 		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
 		if (layoutAlgorithm != null) {
 			preLayout();
-			layoutAlgorithm.setLayoutContext(this);
-			layoutAlgorithm.applyLayout(clear);
+			validateLayoutRelevance();
+			Rectangle bounds = getLayoutBoundsCopy();
+			// a view that was created outside of a layout pass may be stale
+			layoutView = null;
+			// changes performed by the algorithm itself are not tracked
+			trackChanges = false;
+			try {
+				// waits for a cancelled asynchronous pass to return (see
+				// isLayoutCancelled())
+				synchronized (layoutAlgorithm) {
+					applyLayoutAlgorithm(layoutAlgorithm, clear);
+				}
+				flushLayoutView();
+			} finally {
+				layoutView = null;
+				trackChanges = true;
+			}
 			postLayout();
+			changedNodes.clear();
+			changedEdges.clear();
+			layoutBounds = bounds;
 		}
 	}
 
+	/**
+	 * Applies the layout algorithm of this {@link LayoutContext}
+	 * asynchronously. Has to be called from the thread that owns the
+	 * {@link Graph} (e.g. the JavaFX application thread), which is also the
+	 * thread on which the pre layout {@link Runnable}s are executed.
+	 * <p>
+	 * The layout relevant data of the graph (locations, sizes, and bounds, as
+	 * well as the evaluation of the {@link ILayoutFilter}s) is captured in a
+	 * {@link LayoutView}, from which a detached snapshot is created, on which
+	 * the layout algorithm is executed using the given <i>layoutExecutor</i>.
+	 * The computed locations and sizes are then transferred back to the graph
+	 * in one batch (i.e. within a single {@link Graph#beginAttributesUpdate()
+	 * attributes update}) using the given <i>commitExecutor</i>, which should
+	 * execute on the thread owning the graph, after which the post layout
+	 * {@link Runnable}s are executed. The layout algorithm is bound to the
+	 * snapshot only for the duration of the pass; its previous
+	 * {@link ILayoutAlgorithm#getLayoutContext() layout context} is restored
+	 * using the <i>commitExecutor</i> as well.
+	 * <p>
+	 * Incremental layout algorithms only keep their internal state (e.g. the
+	 * tree structure that is maintained by the
+	 * {@link org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm})
+	 * for the context they are bound to. As the snapshot is a new context for
+	 * each pass, this state is re-created for the snapshot, and again for the
+	 * restored context, so that a non-clean pass which follows an asynchronous
+	 * pass may need to lay out the graph from scratch.
+	 * <p>
+	 * Any layout pass that is still pending when another layout pass is
+	 * requested (synchronously or asynchronously) is cancelled, i.e. its
+	 * results are not transferred to the graph. Passes that use the same
+	 * {@link ILayoutAlgorithm} instance are executed one after the other, so
+	 * that a superseding pass has to wait until the algorithm returns from
+	 * the cancelled one. Algorithms should therefore regularly check
+	 * {@link #isLayoutCancelled()} and return early.
+	 *
+	 * @param clean
+	 *            <code>true</code> to indicate that the algorithm has to fully
+	 *            re-compute the layout, otherwise <code>false</code>.
+	 * @param layoutExecutor
+	 *            The {@link Executor} used to execute the layout algorithm.
+	 * @param commitExecutor
+	 *            The {@link Executor} used to transfer the results to the
+	 *            graph, e.g. one that delegates to
+	 *            <code>Platform.runLater()</code>.
+	 * @return A {@link Future} that is completed when the results have been
+	 *         transferred, and which may be used to cancel the layout pass.
+	 */
+	public Future<Void> applyLayoutAsync(final boolean clean,
+			Executor layoutExecutor, final Executor commitExecutor) {
+		cancelPendingLayout();
+
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+		final ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
+		if (layoutAlgorithm == null) {
+			future.complete(null);
+			return future;
+		}
+		pendingLayout = future;
+
+		// capture layout relevant data on the calling thread
+		preLayout();
+		final LayoutView snapshot = new LayoutView(this);
+		final LayoutContext snapshotContext = createSnapshot(snapshot);
+		snapshotContext.layoutPass = future;
+		// changes are consumed when the results are committed, so that they
+		// are retained in case this pass is cancelled
+		final List<Node> consumedNodes = new ArrayList<>(changedNodes);
+		final List<Edge> consumedEdges = new ArrayList<>(changedEdges);
+		final Rectangle consumedBounds = getLayoutBoundsCopy();
+
+		layoutExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				if (future.isDone()) {
+					return;
+				}
+				LayoutContext previousContext;
+				Throwable failure = null;
+				synchronized (layoutAlgorithm) {
+					if (future.isDone()) {
+						return;
+					}
+					previousContext = layoutAlgorithm.getLayoutContext();
+					if (previousContext != null
+							&& previousContext.originalContext != null) {
+						// bound to the snapshot of a pass that is not yet
+						// committed, which restores the original context
+						previousContext = previousContext.originalContext;
+					}
+					try {
+						snapshotContext.applyLayoutAlgorithm(layoutAlgorithm,
+								clean);
+						snapshotContext.flushLayoutView();
+					} catch (Throwable t) {
+						failure = t;
+					}
+				}
+				final LayoutContext restoredContext = previousContext;
+				final Throwable error = failure;
+				commitExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						synchronized (layoutAlgorithm) {
+							// the algorithm may have been re-bound by another
+							// layout pass in the meantime
+							if (layoutAlgorithm
+									.getLayoutContext() == snapshotContext) {
+								layoutAlgorithm
+										.setLayoutContext(restoredContext);
+							}
+						}
+						if (pendingLayout == future) {
+							pendingLayout = null;
+						}
+						if (error != null) {
+							future.completeExceptionally(error);
+							return;
+						}
+						if (future.isDone()) {
+							return;
+						}
+						trackChanges = false;
+						try {
+							commitSnapshot(snapshot, snapshotContext);
+						} finally {
+							trackChanges = true;
+						}
+						changedNodes.removeAll(consumedNodes);
+						changedEdges.removeAll(consumedEdges);
+						layoutBounds = consumedBounds;
+						postLayout();
+						future.complete(null);
+					}
+				});
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Applies the given {@link ILayoutAlgorithm} to this context, or to the
+	 * connected components of its graph if component packing is enabled.
+	 */
+	private void applyLayoutAlgorithm(ILayoutAlgorithm layoutAlgorithm,
+			boolean clean) {
+		if (componentPacking && new ComponentLayout(this).apply(
+				layoutAlgorithm, componentLayoutAlgorithmSupplier, clean)) {
+			return;
+		}
+		layoutAlgorithm.setLayoutContext(this);
+		layoutAlgorithm.applyLayout(clean);
+	}
+
+	private void cancelPendingLayout() {
+		if (pendingLayout != null) {
+			pendingLayout.cancel(false);
+			pendingLayout = null;
+		}
+	}
+
+	/**
+	 * Transfers the locations and sizes computed for the nodes of the given
+	 * snapshot context to the given {@link LayoutView}, from which the
+	 * snapshot was created, and flushes the view, so that the changed values
+	 * are transferred to the original nodes within a single attributes
+	 * update.
+	 */
+	private void commitSnapshot(LayoutView snapshot,
+			LayoutContext snapshotContext) {
+		List<Node> nodes = snapshotContext.getGraph().getNodes();
+		for (int i = 0; i < nodes.size(); i++) {
+			Point location = LayoutProperties.getLocation(nodes.get(i));
+			if (location != null) {
+				snapshot.setLocation(i, location.x, location.y);
+			}
+			Dimension size = LayoutProperties.getSize(nodes.get(i));
+			if (size != null) {
+				snapshot.setSize(i, size.width, size.height);
+			}
+		}
+		snapshot.flush(graph);
+	}
+
+	/**
+	 * Creates a {@link LayoutContext} for a detached copy of the {@link Graph}
+	 * of this {@link LayoutContext}, whose nodes and edges are created from
+	 * the given {@link LayoutView} (in the same order), so that the context
+	 * can be laid out independently. The {@link ILayoutFilter}s are not
+	 * evaluated again, but the results captured by the view are provided by
+	 * the snapshot context.
+	 */
+	private LayoutContext createSnapshot(LayoutView view) {
+		final Set<Object> irrelevant = Collections
+				.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		Node[] copies = new Node[view.getNodeCount()];
+		for (int i = 0; i < copies.length; i++) {
+			copies[i] = new Node(
+					copyLayoutAttributes(view.getNode(i).getAttributes()));
+			if (view.isNodeLayoutIrrelevant(i)) {
+				irrelevant.add(copies[i]);
+			}
+		}
+		List<Edge> edges = new ArrayList<>();
+		Map<Edge, Edge> originalToSnapshotEdges = new IdentityHashMap<>();
+		for (int e = 0; e < view.getEdgeCount(); e++) {
+			int source = view.getSource(e);
+			int target = view.getTarget(e);
+			if (source < 0 || target < 0) {
+				// inter-graph edges are not laid out
+				continue;
+			}
+			Edge copy = new Edge(
+					copyLayoutAttributes(view.getEdge(e).getAttributes()),
+					copies[source], copies[target]);
+			edges.add(copy);
+			originalToSnapshotEdges.put(view.getEdge(e), copy);
+			if (view.isEdgeLayoutIrrelevant(e)) {
+				irrelevant.add(copy);
+			}
+		}
+		LayoutContext snapshotContext = new LayoutContext();
+		snapshotContext.originalContext = this;
+		snapshotContext.setGraph(
+				new Graph(copyLayoutAttributes(graph.getAttributes()),
+						Arrays.asList(copies), edges));
+		// transfer the changes, so that the snapshot can be laid out
+		// incrementally
+		snapshotContext.changedNodes.clear();
+		for (Node changed : changedNodes) {
+			int index = view.indexOf(changed);
+			if (index >= 0) {
+				snapshotContext.changedNodes.add(copies[index]);
+			}
+		}
+		snapshotContext.changedEdges.clear();
+		for (Edge changed : changedEdges) {
+			Edge copy = originalToSnapshotEdges.get(changed);
+			if (copy != null) {
+				snapshotContext.changedEdges.add(copy);
+			}
+		}
+		snapshotContext.layoutBounds = layoutBounds;
+		snapshotContext.trackChanges = false;
+		snapshotContext.componentPacking = componentPacking;
+		snapshotContext.componentLayoutAlgorithmSupplier = componentLayoutAlgorithmSupplier;
+		if (!irrelevant.isEmpty()) {
+			// the captured results do not change, so that they may be cached
+			snapshotContext.addLayoutFilter(new ILayoutFilter() {
+				@Override
+				public boolean isLayoutIrrelevant(Edge edge) {
+					return irrelevant.contains(edge);
+				}
+
+				@Override
+				public boolean isLayoutIrrelevant(Node node) {
+					return irrelevant.contains(node);
+				}
+			}, new Observable[0]);
+		}
+		return snapshotContext;
+	}
+
+	/**
+	 * Copies the given attributes, creating copies of mutable geometric
+	 * values (as these may be changed in place by layout algorithms).
+	 */
+	static Map<String, Object> copyLayoutAttributes(
+			Map<String, Object> attributes) {
+		Map<String, Object> copy = new HashMap<>(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof Point) {
+				entry.setValue(((Point) value).getCopy());
+			} else if (value instanceof Dimension) {
+				entry.setValue(((Dimension) value).getCopy());
+			} else if (value instanceof Rectangle) {
+				entry.setValue(((Rectangle) value).getCopy());
+			}
+		}
+		return copy;
+	}
+
 	/**
 	 * Initiated by the context or by an {@link ILayoutAlgorithm} to perform
 	 * steps that are scheduled to be run after the layout pass. Should not be
@@ -101,6 +617,83 @@ public class LayoutContext {
 		}
 	}
 
+	/**
+	 * Returns the {@link Edge}s that changed since the last layout pass, i.e.
+	 * that were added or whose layout relevance (according to the
+	 * {@link ILayoutFilter}s) changed. The returned set is read-only and is
+	 * cleared after each layout pass.
+	 * 
+	 * @return The {@link Edge}s that changed since the last layout pass.
+	 */
+	public Set<Edge> getChangedEdges() {
+		return Collections.unmodifiableSet(changedEdges);
+	}
+
+	/**
+	 * Returns the {@link Node}s that changed since the last layout pass, i.e.
+	 * that were added, whose size changed, whose layout relevance (according
+	 * to the {@link ILayoutFilter}s) changed, or which were connected to a
+	 * removed {@link Edge}. All nodes are considered to be changed after a
+	 * {@link #setGraph(Graph) graph} was set. The returned set is read-only
+	 * and is cleared after each layout pass.
+	 * 
+	 * @return The {@link Node}s that changed since the last layout pass.
+	 */
+	public Set<Node> getChangedNodes() {
+		return Collections.unmodifiableSet(changedNodes);
+	}
+
+	/**
+	 * Returns whether anything changed since the last layout pass, i.e. if
+	 * there are {@link #getChangedNodes() changed nodes},
+	 * {@link #getChangedEdges() changed edges}, or if the
+	 * {@link #isBoundsChanged() bounds changed}. Layout algorithms that cannot
+	 * update a layout incrementally may use this to decide whether a layout
+	 * pass that is not <i>clean</i> has to re-compute the layout.
+	 * 
+	 * @return <code>true</code> if anything changed since the last layout
+	 *         pass, otherwise <code>false</code>.
+	 */
+	public boolean hasChanges() {
+		return !changedNodes.isEmpty() || !changedEdges.isEmpty()
+				|| isBoundsChanged();
+	}
+
+	/**
+	 * Returns whether the {@link LayoutProperties#BOUNDS_PROPERTY bounds} of
+	 * the graph changed since the last layout pass. The bounds are considered
+	 * to be changed after a {@link #setGraph(Graph) graph} was set.
+	 * 
+	 * @return <code>true</code> if the bounds changed since the last layout
+	 *         pass, otherwise <code>false</code>.
+	 */
+	public boolean isBoundsChanged() {
+		Rectangle bounds = LayoutProperties.getBounds(graph);
+		return bounds == null ? layoutBounds != null
+				: !bounds.equals(layoutBounds);
+	}
+
+	/**
+	 * Returns whether the current layout pass was cancelled, i.e. superseded
+	 * by another layout pass, so that its results are discarded (see
+	 * {@link #applyLayoutAsync(boolean, Executor, Executor)}). Long-running
+	 * layout algorithms should regularly check this and return early, as a
+	 * superseding pass that uses the same {@link ILayoutAlgorithm} has to wait
+	 * for the cancelled pass to return.
+	 *
+	 * @return <code>true</code> if the current layout pass was cancelled,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isLayoutCancelled() {
+		return layoutPass != null && layoutPass.isCancelled()
+				|| parentContext != null && parentContext.isLayoutCancelled();
+	}
+
+	private Rectangle getLayoutBoundsCopy() {
+		Rectangle bounds = LayoutProperties.getBounds(graph);
+		return bounds == null ? null : bounds.getCopy();
+	}
+
 	/**
 	 * Returns the graph that is to be layouted.
 	 * 
@@ -122,12 +715,238 @@ public class LayoutContext {
 		if (graph == null) {
 			graph = new Graph();
 		}
+		if (this.graph != null) {
+			this.graph.getNodes().removeListener(nodesChangeListener);
+			this.graph.getEdges().removeListener(edgesChangeListener);
+			for (Node node : new ArrayList<>(nodeAttributesListeners.keySet())) {
+				unregisterNode(node);
+			}
+			for (Edge edge : new ArrayList<>(edgeAttributesListeners.keySet())) {
+				unregisterEdge(edge);
+			}
+		}
 		this.graph = graph;
+		layoutView = null;
+		layoutBounds = null;
+		changedNodes.clear();
+		changedEdges.clear();
+		irrelevantElements.clear();
+		cachedIrrelevantElements.clear();
+		invalidateLayoutRelevance();
+		for (Node node : graph.getNodes()) {
+			registerNode(node);
+			changedNodes.add(node);
+		}
+		for (Edge edge : graph.getEdges()) {
+			registerEdge(edge);
+			changedEdges.add(edge);
+		}
+		graph.getNodes().addListener(nodesChangeListener);
+		graph.getEdges().addListener(edgesChangeListener);
+	}
+
+	private void markEndPointsChanged(Edge edge) {
+		// only consider nodes that are (still) contained in the graph
+		if (nodeAttributesListeners.containsKey(edge.getSource())) {
+			changedNodes.add(edge.getSource());
+		}
+		if (nodeAttributesListeners.containsKey(edge.getTarget())) {
+			changedNodes.add(edge.getTarget());
+		}
+	}
+
+	private void registerNode(final Node node) {
+		if (nodeAttributesListeners.containsKey(node)) {
+			return;
+		}
+		MapChangeListener<String, Object> listener = new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(
+					MapChangeListener.Change<? extends String, ? extends Object> change) {
+				if (!trackChanges) {
+					return;
+				}
+				if (LayoutProperties.SIZE_PROPERTY.equals(change.getKey())) {
+					Object oldSize = change.getValueRemoved();
+					Object newSize = change.getValueAdded();
+					if (oldSize == null ? newSize != null
+							: !oldSize.equals(newSize)) {
+						changedNodes.add(node);
+					}
+				} else if (!LayoutProperties.LOCATION_PROPERTY
+						.equals(change.getKey())) {
+					// may be an input of a layout filter
+					invalidateLayoutRelevance();
+				}
+			}
+		};
+		nodeAttributesListeners.put(node, listener);
+		node.getAttributes().addListener(listener);
+	}
+
+	private void registerEdge(Edge edge) {
+		if (edgeAttributesListeners.containsKey(edge)) {
+			return;
+		}
+		MapChangeListener<String, Object> listener = new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(
+					MapChangeListener.Change<? extends String, ? extends Object> change) {
+				if (trackChanges) {
+					// may be an input of a layout filter
+					invalidateLayoutRelevance();
+				}
+			}
+		};
+		edgeAttributesListeners.put(edge, listener);
+		edge.getAttributes().addListener(listener);
+	}
+
+	private void unregisterEdge(Edge edge) {
+		MapChangeListener<String, Object> listener = edgeAttributesListeners
+				.remove(edge);
+		if (listener != null) {
+			edge.getAttributes().removeListener(listener);
+		}
+	}
+
+	private void unregisterNode(Node node) {
+		MapChangeListener<String, Object> listener = nodeAttributesListeners
+				.remove(node);
+		if (listener != null) {
+			node.getAttributes().removeListener(listener);
+		}
+	}
+
+	/**
+	 * Evaluates the {@link ILayoutFilter}s (the cached ones only unless their
+	 * cached results are still valid) and marks all elements whose layout
+	 * relevance changed since the last evaluation as changed. Edges whose
+	 * relevance changed also mark their end points as changed.
+	 */
+	void validateLayoutRelevance() {
+		if (layoutRelevanceValid && uncachedLayoutFilters.isEmpty()) {
+			return;
+		}
+		boolean cacheValid = layoutRelevanceValid;
+		if (!cacheValid) {
+			cachedIrrelevantElements.clear();
+		}
+		irrelevantNodes.clear();
+		irrelevantEdges.clear();
+		List<Node> nodes = graph.getNodes();
+		for (int i = 0; i < nodes.size(); i++) {
+			Node node = nodes.get(i);
+			if (!cacheValid && evaluateLayoutFilters(layoutFilters, node)) {
+				cachedIrrelevantElements.add(node);
+			}
+			boolean irrelevant = cachedIrrelevantElements.contains(node)
+					|| evaluateLayoutFilters(uncachedLayoutFilters, node);
+			irrelevantNodes.set(i, irrelevant);
+			if (irrelevant != irrelevantElements.contains(node)) {
+				changedNodes.add(node);
+				if (irrelevant) {
+					irrelevantElements.add(node);
+				} else {
+					irrelevantElements.remove(node);
+				}
+			}
+		}
+		// filters may query the (cached) relevance of the end points
+		nodeRelevanceValid = true;
+		List<Edge> edges = graph.getEdges();
+		for (int e = 0; e < edges.size(); e++) {
+			Edge edge = edges.get(e);
+			if (!cacheValid && evaluateLayoutFilters(layoutFilters, edge)) {
+				cachedIrrelevantElements.add(edge);
+			}
+			boolean irrelevant = cachedIrrelevantElements.contains(edge)
+					|| evaluateLayoutFilters(uncachedLayoutFilters, edge);
+			irrelevantEdges.set(e, irrelevant);
+			if (irrelevant != irrelevantElements.contains(edge)) {
+				changedEdges.add(edge);
+				markEndPointsChanged(edge);
+				if (irrelevant) {
+					irrelevantElements.add(edge);
+				} else {
+					irrelevantElements.remove(edge);
+				}
+			}
+		}
+		layoutRelevanceValid = true;
+	}
+
+	/**
+	 * Returns whether the node at the given position within the graph is
+	 * layout irrelevant, according to the cached results of the filters.
+	 * {@link #validateLayoutRelevance()} has to be called before.
+	 */
+	boolean isNodeLayoutIrrelevant(int index) {
+		return irrelevantNodes.get(index);
+	}
+
+	/**
+	 * Returns whether the edge at the given position within the graph is
+	 * layout irrelevant, according to the cached results of the filters.
+	 * {@link #validateLayoutRelevance()} has to be called before.
+	 */
+	boolean isEdgeLayoutIrrelevant(int index) {
+		return irrelevantEdges.get(index);
+	}
+
+	/**
+	 * Discards the cached results of the {@link ILayoutFilter}s, so that they
+	 * are evaluated again before the next layout pass. Has to be called when
+	 * an input of a filter changed that was not passed in to
+	 * {@link #addLayoutFilter(ILayoutFilter, Observable...)}.
+	 */
+	public void invalidateLayoutRelevance() {
+		layoutRelevanceValid = false;
+		nodeRelevanceValid = false;
+	}
+
+	/**
+	 * Transfers the locations and sizes that were changed within the
+	 * {@link #getLayoutView() layout view} to the {@link LayoutProperties} of
+	 * the respective nodes (within a single
+	 * {@link Graph#beginAttributesUpdate() attributes update}), and discards
+	 * the view, so that a subsequent call to {@link #getLayoutView()} creates
+	 * a new one. This is done automatically at
+	 * the end of each layout pass, and only needs to be called explicitly when
+	 * a layout algorithm hands over to code that accesses the
+	 * {@link LayoutProperties} directly (or when it updates the graph outside
+	 * of a layout pass).
+	 */
+	public void flushLayoutView() {
+		if (layoutView != null) {
+			LayoutView view = layoutView;
+			layoutView = null;
+			view.flush(graph);
+		}
+	}
+
+	/**
+	 * Returns the {@link LayoutView} of the current layout pass, creating it
+	 * if it was not yet requested within this pass. The view provides
+	 * array-based access to the nodes and edges of the graph, as well as to
+	 * their locations and sizes; changes to the latter are transferred to the
+	 * {@link LayoutProperties} when the layout pass is completed (see
+	 * {@link #flushLayoutView()}).
+	 * 
+	 * @return The {@link LayoutView} of the current layout pass.
+	 */
+	public LayoutView getLayoutView() {
+		if (layoutView == null) {
+			layoutView = new LayoutView(this);
+		}
+		return layoutView;
 	}
 
 	/**
 	 * Returns all the nodes that should be laid out. Replacing elements in the
-	 * returned array does not affect this context.
+	 * returned array does not affect this context. As a new array is created
+	 * on each call, layout algorithms should prefer the
+	 * {@link #getLayoutView()}.
 	 * 
 	 * @return array of nodes to lay out
 	 */
@@ -139,6 +958,8 @@ public class LayoutContext {
 	/**
 	 * Returns all the connections between nodes that should be laid out.
 	 * Replacing elements in the returned array does not affect this context.
+	 * As a new array is created on each call, layout algorithms should prefer
+	 * the {@link #getLayoutView()}.
 	 * 
 	 * @return array of connections between nodes
 	 */
@@ -157,6 +978,76 @@ public class LayoutContext {
 		return layoutAlgorithmProperty.get();
 	}
 
+	/**
+	 * Returns whether the connected components of the graph are laid out
+	 * independently of each other.
+	 * 
+	 * @return <code>true</code> if component packing is enabled, otherwise
+	 *         <code>false</code>.
+	 * @see #setComponentPacking(boolean)
+	 */
+	public boolean isComponentPacking() {
+		return componentPacking;
+	}
+
+	/**
+	 * Specifies whether the connected components of the graph (with respect
+	 * to the layout relevant nodes and edges) are laid out independently of
+	 * each other. If enabled, each component is copied into a separate
+	 * {@link Graph}, whose bounds are proportional to its number of nodes,
+	 * and laid out there. The resulting layouts are then packed into rows
+	 * within the layout bounds. This is considerably faster for graphs that
+	 * consist of many components, as the layout algorithms do not have to
+	 * arrange unrelated nodes relative to each other.
+	 * <p>
+	 * Layout passes that are not <i>clean</i> only lay out the components
+	 * that contain changed nodes or edges (and skip packing if there are no
+	 * such components). Components containing a node that may not be moved
+	 * are laid out but keep their place. A graph that consists of a single
+	 * component is laid out as usual.
+	 * 
+	 * @param componentPacking
+	 *            <code>true</code> to lay out the components independently,
+	 *            otherwise <code>false</code> (default is <code>false</code>
+	 *            ).
+	 * @see #setComponentLayoutAlgorithmSupplier(Supplier)
+	 */
+	public void setComponentPacking(boolean componentPacking) {
+		this.componentPacking = componentPacking;
+	}
+
+	/**
+	 * Returns the supplier for the {@link ILayoutAlgorithm}s that lay out the
+	 * connected components in parallel.
+	 * 
+	 * @return The supplier, or <code>null</code> if none is set.
+	 * @see #setComponentLayoutAlgorithmSupplier(Supplier)
+	 */
+	public Supplier<? extends ILayoutAlgorithm> getComponentLayoutAlgorithmSupplier() {
+		return componentLayoutAlgorithmSupplier;
+	}
+
+	/**
+	 * Sets the supplier for the {@link ILayoutAlgorithm}s that are used to lay
+	 * out the connected components when {@link #setComponentPacking(boolean)
+	 * component packing} is enabled. As an algorithm instance cannot lay out
+	 * several graphs at the same time, the supplier has to return a new
+	 * instance (configured like the {@link #getLayoutAlgorithm() layout
+	 * algorithm}) on each call. The components are then laid out in parallel
+	 * using the common {@link java.util.concurrent.ForkJoinPool}. If no
+	 * supplier is set, the components are laid out one after the other using
+	 * the layout algorithm of this context.
+	 * 
+	 * @param supplier
+	 *            The supplier for the component layout algorithms, or
+	 *            <code>null</code> (default) to lay out the components
+	 *            sequentially.
+	 */
+	public void setComponentLayoutAlgorithmSupplier(
+			Supplier<? extends ILayoutAlgorithm> supplier) {
+		componentLayoutAlgorithmSupplier = supplier;
+	}
+
 	/**
 	 * Returns <code>true</code> when the given {@link Edge} is not relevant for
 	 * layout according to the configured {@link ILayoutFilter layout filters}.
@@ -169,7 +1060,17 @@ public class LayoutContext {
 	 *         <code>false</code>.
 	 */
 	public boolean isLayoutIrrelevant(Edge edge) {
-		for (ILayoutFilter filter : layoutFilters) {
+		if (layoutRelevanceValid && edgeAttributesListeners.containsKey(edge)) {
+			return cachedIrrelevantElements.contains(edge)
+					|| evaluateLayoutFilters(uncachedLayoutFilters, edge);
+		}
+		return evaluateLayoutFilters(layoutFilters, edge)
+				|| evaluateLayoutFilters(uncachedLayoutFilters, edge);
+	}
+
+	private boolean evaluateLayoutFilters(List<ILayoutFilter> filters,
+			Edge edge) {
+		for (ILayoutFilter filter : filters) {
 			if (filter.isLayoutIrrelevant(edge)) {
 				return true;
 			}
@@ -189,8 +1090,19 @@ public class LayoutContext {
 	 *         <code>false</code>.
 	 */
 	public boolean isLayoutIrrelevant(Node nodeLayout) {
-		for (ILayoutFilter filter : layoutFilters) {
-			if (filter.isLayoutIrrelevant(nodeLayout)) {
+		if (nodeRelevanceValid
+				&& nodeAttributesListeners.containsKey(nodeLayout)) {
+			return cachedIrrelevantElements.contains(nodeLayout)
+					|| evaluateLayoutFilters(uncachedLayoutFilters, nodeLayout);
+		}
+		return evaluateLayoutFilters(layoutFilters, nodeLayout)
+				|| evaluateLayoutFilters(uncachedLayoutFilters, nodeLayout);
+	}
+
+	private boolean evaluateLayoutFilters(List<ILayoutFilter> filters,
+			Node node) {
+		for (ILayoutFilter filter : filters) {
+			if (filter.isLayoutIrrelevant(node)) {
 				return true;
 			}
 		}
@@ -217,7 +1129,16 @@ public class LayoutContext {
 	 *            The ILayoutFilter to remove to this context.
 	 */
 	public void removeLayoutFilter(ILayoutFilter layoutFilter) {
-		layoutFilters.remove(layoutFilter);
+		if (!uncachedLayoutFilters.remove(layoutFilter)) {
+			layoutFilters.remove(layoutFilter);
+			Observable[] inputs = layoutFilterInputs.remove(layoutFilter);
+			if (inputs != null) {
+				for (Observable input : inputs) {
+					input.removeListener(layoutFilterInputListener);
+				}
+			}
+		}
+		invalidateLayoutRelevance();
 	}
 
 	/**
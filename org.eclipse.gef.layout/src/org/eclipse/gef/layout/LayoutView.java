@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * A {@link LayoutView} is a compact, array-backed view of the {@link Graph} of
+ * a {@link LayoutContext}, which is created once per layout pass (see
+ * {@link LayoutContext#getLayoutView()}). Nodes and edges are identified by
+ * their (<code>int</code>) index within the graph's node and edge lists, the
+ * adjacency is provided in compressed sparse row (CSR) format, and the
+ * locations and sizes of the nodes are held in primitive arrays, which layout
+ * algorithms may read and write directly. Only when the layout pass is
+ * completed, locations and sizes that were changed are transferred back to the
+ * {@link LayoutProperties} of the nodes, so that no {@link Point}s or
+ * {@link Dimension}s are allocated and no attribute change notifications are
+ * fired while the layout is computed.
+ * <p>
+ * Locations denote the centers of the nodes. Nodes that do not provide a
+ * location or a size are reported to be located at the origin or to have a
+ * zero size, respectively.
+ *
+ * @author agent
+ *
+ */
+public class LayoutView {
+
+	private final Node[] nodes;
+	private final Map<Node, Integer> nodeIndices;
+	private final Edge[] edges;
+	private final int[] sources;
+	private final int[] targets;
+
+	// adjacency in compressed sparse row format
+	private final int[] outgoingOffsets;
+	private final int[] outgoingEdges;
+	private final int[] incomingOffsets;
+	private final int[] incomingEdges;
+
+	private final double[] x;
+	private final double[] y;
+	private final double[] width;
+	private final double[] height;
+
+	// values at creation (or last flush), to detect changes
+	private final double[] initialX;
+	private final double[] initialY;
+	private final double[] initialWidth;
+	private final double[] initialHeight;
+
+	private final boolean[] movable;
+	private final boolean[] resizable;
+	private final boolean[] irrelevantNodes;
+	private final boolean[] irrelevantEdges;
+
+	/**
+	 * Creates a new {@link LayoutView} for the current state of the
+	 * {@link Graph} of the given {@link LayoutContext}.
+	 *
+	 * @param context
+	 *            The {@link LayoutContext} for which to create the view.
+	 */
+	LayoutView(LayoutContext context) {
+		context.validateLayoutRelevance();
+		Graph graph = context.getGraph();
+		List<Node> nodeList = graph.getNodes();
+		List<Edge> edgeList = graph.getEdges();
+		int n = nodeList.size();
+		int m = edgeList.size();
+
+		nodes = nodeList.toArray(new Node[n]);
+		nodeIndices = new IdentityHashMap<>(n);
+		x = new double[n];
+		y = new double[n];
+		width = new double[n];
+		height = new double[n];
+		movable = new boolean[n];
+		resizable = new boolean[n];
+		irrelevantNodes = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			Node node = nodes[i];
+			nodeIndices.put(node, i);
+			Point location = LayoutProperties.getLocation(node);
+			if (location != null) {
+				x[i] = location.x;
+				y[i] = location.y;
+			}
+			Dimension size = LayoutProperties.getSize(node);
+			if (size != null) {
+				width[i] = size.width;
+				height[i] = size.height;
+			}
+			movable[i] = LayoutProperties.isMovable(node);
+			resizable[i] = LayoutProperties.isResizable(node);
+			irrelevantNodes[i] = context.isNodeLayoutIrrelevant(i);
+		}
+		initialX = x.clone();
+		initialY = y.clone();
+		initialWidth = width.clone();
+		initialHeight = height.clone();
+
+		edges = edgeList.toArray(new Edge[m]);
+		sources = new int[m];
+		targets = new int[m];
+		irrelevantEdges = new boolean[m];
+		outgoingOffsets = new int[n + 1];
+		incomingOffsets = new int[n + 1];
+		for (int e = 0; e < m; e++) {
+			sources[e] = indexOf(edges[e].getSource());
+			targets[e] = indexOf(edges[e].getTarget());
+			irrelevantEdges[e] = context.isEdgeLayoutIrrelevant(e);
+			if (sources[e] >= 0 && targets[e] >= 0) {
+				outgoingOffsets[sources[e] + 1]++;
+				incomingOffsets[targets[e] + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			outgoingOffsets[i + 1] += outgoingOffsets[i];
+			incomingOffsets[i + 1] += incomingOffsets[i];
+		}
+		outgoingEdges = new int[outgoingOffsets[n]];
+		incomingEdges = new int[incomingOffsets[n]];
+		int[] outgoingFill = new int[n];
+		int[] incomingFill = new int[n];
+		for (int e = 0; e < m; e++) {
+			int s = sources[e];
+			int t = targets[e];
+			if (s >= 0 && t >= 0) {
+				outgoingEdges[outgoingOffsets[s] + outgoingFill[s]++] = e;
+				incomingEdges[incomingOffsets[t] + incomingFill[t]++] = e;
+			}
+		}
+	}
+
+	/**
+	 * Transfers the locations and sizes that were changed since this view was
+	 * created (or last flushed) to the {@link LayoutProperties} of the
+	 * respective nodes. The changes are performed within a single
+	 * {@link Graph#beginAttributesUpdate() attributes update} of the given
+	 * {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} whose nodes are flushed.
+	 */
+	void flush(Graph graph) {
+		graph.beginAttributesUpdate();
+		try {
+			flushNodes();
+		} finally {
+			graph.endAttributesUpdate();
+		}
+	}
+
+	private void flushNodes() {
+		for (int i = 0; i < nodes.length; i++) {
+			if (x[i] != initialX[i] || y[i] != initialY[i]) {
+				LayoutProperties.setLocation(nodes[i], new Point(x[i], y[i]));
+				initialX[i] = x[i];
+				initialY[i] = y[i];
+			}
+			if (width[i] != initialWidth[i]
+					|| height[i] != initialHeight[i]) {
+				LayoutProperties.setSize(nodes[i],
+						new Dimension(width[i], height[i]));
+				initialWidth[i] = width[i];
+				initialHeight[i] = height[i];
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Edge} with the given index.
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return The {@link Edge} with the given index.
+	 */
+	public Edge getEdge(int edge) {
+		return edges[edge];
+	}
+
+	/**
+	 * Returns the number of edges.
+	 *
+	 * @return The number of edges.
+	 */
+	public int getEdgeCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Returns the heights of the nodes, indexed by node. The returned array is
+	 * backing this view, i.e. changes are written back at the end of the
+	 * layout pass.
+	 *
+	 * @return The heights of the nodes.
+	 */
+	public double[] getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the indices of the incoming edges of all nodes, where those of
+	 * node <i>i</i> are stored at the positions
+	 * <code>getIncomingOffsets()[i]</code> (inclusive) to
+	 * <code>getIncomingOffsets()[i + 1]</code> (exclusive). The returned array
+	 * may not be modified.
+	 *
+	 * @return The indices of the incoming edges of all nodes.
+	 */
+	public int[] getIncomingEdges() {
+		return incomingEdges;
+	}
+
+	/**
+	 * Returns the offsets of the incoming edges of each node within
+	 * {@link #getIncomingEdges()}. The returned array has a length of
+	 * <code>{@link #getNodeCount()} + 1</code> and may not be modified.
+	 *
+	 * @return The offsets of the incoming edges of each node.
+	 */
+	public int[] getIncomingOffsets() {
+		return incomingOffsets;
+	}
+
+	/**
+	 * Returns the {@link Node} with the given index.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The {@link Node} with the given index.
+	 */
+	public Node getNode(int node) {
+		return nodes[node];
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	/**
+	 * Returns the indices of the outgoing edges of all nodes, where those of
+	 * node <i>i</i> are stored at the positions
+	 * <code>getOutgoingOffsets()[i]</code> (inclusive) to
+	 * <code>getOutgoingOffsets()[i + 1]</code> (exclusive). The returned array
+	 * may not be modified.
+	 *
+	 * @return The indices of the outgoing edges of all nodes.
+	 */
+	public int[] getOutgoingEdges() {
+		return outgoingEdges;
+	}
+
+	/**
+	 * Returns the offsets of the outgoing edges of each node within
+	 * {@link #getOutgoingEdges()}. The returned array has a length of
+	 * <code>{@link #getNodeCount()} + 1</code> and may not be modified.
+	 *
+	 * @return The offsets of the outgoing edges of each node.
+	 */
+	public int[] getOutgoingOffsets() {
+		return outgoingOffsets;
+	}
+
+	/**
+	 * Returns the index of the source node of the given edge, or
+	 * <code>-1</code> if the source is not contained in the graph (i.e. the
+	 * edge is an inter-graph edge).
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return The index of the source node.
+	 */
+	public int getSource(int edge) {
+		return sources[edge];
+	}
+
+	/**
+	 * Returns the index of the target node of the given edge, or
+	 * <code>-1</code> if the target is not contained in the graph (i.e. the
+	 * edge is an inter-graph edge).
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return The index of the target node.
+	 */
+	public int getTarget(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * Returns the widths of the nodes, indexed by node. The returned array is
+	 * backing this view, i.e. changes are written back at the end of the
+	 * layout pass.
+	 *
+	 * @return The widths of the nodes.
+	 */
+	public double[] getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the horizontal center coordinates of the nodes, indexed by node.
+	 * The returned array is backing this view, i.e. changes are written back at
+	 * the end of the layout pass.
+	 *
+	 * @return The horizontal center coordinates of the nodes.
+	 */
+	public double[] getX() {
+		return x;
+	}
+
+	/**
+	 * Returns the vertical center coordinates of the nodes, indexed by node.
+	 * The returned array is backing this view, i.e. changes are written back at
+	 * the end of the layout pass.
+	 *
+	 * @return The vertical center coordinates of the nodes.
+	 */
+	public double[] getY() {
+		return y;
+	}
+
+	/**
+	 * Returns the index of the given {@link Node} within this view.
+	 *
+	 * @param node
+	 *            The {@link Node} whose index to determine.
+	 * @return The index of the given {@link Node}, or <code>-1</code> if it is
+	 *         not contained.
+	 */
+	public int indexOf(Node node) {
+		Integer index = nodeIndices.get(node);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Returns whether the edge with the given index is irrelevant for the
+	 * layout, as determined by the {@link ILayoutFilter}s of the
+	 * {@link LayoutContext} when this view was created.
+	 *
+	 * @param edge
+	 *            The index of the edge.
+	 * @return <code>true</code> if the edge is irrelevant for the layout,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isEdgeLayoutIrrelevant(int edge) {
+		return irrelevantEdges[edge];
+	}
+
+	/**
+	 * Returns whether the node with the given index may be moved.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The value of the {@link LayoutProperties#MOVABLE_PROPERTY} of
+	 *         the node.
+	 */
+	public boolean isMovable(int node) {
+		return movable[node];
+	}
+
+	/**
+	 * Returns whether the node with the given index is irrelevant for the
+	 * layout, as determined by the {@link ILayoutFilter}s of the
+	 * {@link LayoutContext} when this view was created.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return <code>true</code> if the node is irrelevant for the layout,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isNodeLayoutIrrelevant(int node) {
+		return irrelevantNodes[node];
+	}
+
+	/**
+	 * Returns whether the node with the given index may be resized.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @return The value of the {@link LayoutProperties#RESIZABLE_PROPERTY} of
+	 *         the node.
+	 */
+	public boolean isResizable(int node) {
+		return resizable[node];
+	}
+
+	/**
+	 * Sets the location (center) of the node with the given index.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @param x
+	 *            The new horizontal center coordinate.
+	 * @param y
+	 *            The new vertical center coordinate.
+	 */
+	public void setLocation(int node, double x, double y) {
+		this.x[node] = x;
+		this.y[node] = y;
+	}
+
+	/**
+	 * Sets the size of the node with the given index.
+	 *
+	 * @param node
+	 *            The index of the node.
+	 * @param width
+	 *            The new width.
+	 * @param height
+	 *            The new height.
+	 */
+	public void setSize(int node, double width, double height) {
+		this.width[node] = width;
+		this.height[node] = height;
+	}
+
+}
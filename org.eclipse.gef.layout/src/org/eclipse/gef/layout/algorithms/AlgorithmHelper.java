@@ -13,10 +13,9 @@
 package org.eclipse.gef.layout.algorithms;
 
 import org.eclipse.gef.geometry.planar.Dimension;
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
-import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
 
 /**
  * The {@link AlgorithmHelper} class contains utility methods for the laying out
@@ -41,77 +40,77 @@ class AlgorithmHelper {
 	private static double PADDING_PERCENT = 0.8;
 
 	/**
-	 * Fits given entities within given bounds, preserving their relative
-	 * locations. If an entity is resizable and the <i>resize</i> flag is set to
-	 * <code>true</code>, then the entity will be scaled according to the bounds
-	 * change, i.e. <code>scale_factor = dst_bounds / start_bounds</code>.
+	 * Fits the nodes of the given {@link LayoutView} within given bounds,
+	 * preserving their relative locations. If a node is resizable and the
+	 * <i>resize</i> flag is set to <code>true</code>, then the node will be
+	 * scaled according to the bounds change, i.e.
+	 * <code>scale_factor = dst_bounds / start_bounds</code>.
 	 * 
-	 * @param entities
-	 *            The {@link Node}s to fit.
+	 * @param view
+	 *            The {@link LayoutView} whose nodes to fit.
 	 * @param destinationBounds
 	 *            The {@link Rectangle} representing the layout bounds.
 	 * @param resize
 	 *            <code>true</code> to indicate that the entities can be
 	 *            resized, otherwise <code>false</code>.
 	 */
-	public static void fitWithinBounds(Node[] entities,
+	public static void fitWithinBounds(LayoutView view,
 			Rectangle destinationBounds, boolean resize) {
-		if (entities.length == 1) {
-			fitSingleEntity(entities[0], destinationBounds, resize);
+		if (view.getNodeCount() == 1) {
+			fitSingleEntity(view, 0, destinationBounds, resize);
 			return;
 		}
-		Rectangle startingBounds = getLayoutBounds(entities, false);
+		double[] x = view.getX();
+		double[] y = view.getY();
+		double[] width = view.getWidth();
+		double[] height = view.getHeight();
+		Rectangle startingBounds = getLayoutBounds(view, false);
 		double sizeScale = Math.min(
 				destinationBounds.getWidth() / startingBounds.getWidth(),
 				destinationBounds.getHeight() / startingBounds.getHeight());
-		for (int i = 0; i < entities.length; i++) {
-			Node entity = entities[i];
-			Dimension size = LayoutProperties.getSize(entity);
-			if (LayoutProperties.isMovable(entity)) {
-				Point location = LayoutProperties.getLocation(entity);
+		for (int i = 0; i < view.getNodeCount(); i++) {
+			boolean scale = resize && view.isResizable(i);
+			if (view.isMovable(i)) {
 				double percentX = startingBounds.getWidth() == 0 ? 0
-						: (location.x - startingBounds.getX())
+						: (x[i] - startingBounds.getX())
 								/ (startingBounds.getWidth());
 				double percentY = startingBounds.getHeight() == 0 ? 0
-						: (location.y - startingBounds.getY())
+						: (y[i] - startingBounds.getY())
 								/ (startingBounds.getHeight());
-				if (resize && LayoutProperties.isResizable(entity)) {
-					size.width *= sizeScale;
-					size.height *= sizeScale;
-					LayoutProperties.setSize(entity, new Dimension(size));
+				if (scale) {
+					width[i] *= sizeScale;
+					height[i] *= sizeScale;
 				}
-				location.x = destinationBounds.getX() + size.width / 2
-						+ percentX
-								* (destinationBounds.getWidth() - size.width);
-				location.y = destinationBounds.getY() + size.height / 2
-						+ percentY
-								* (destinationBounds.getHeight() - size.height);
-			} else if (resize && LayoutProperties.isResizable(entity)) {
-				LayoutProperties.setSize(entity, size.getScaled(sizeScale));
+				x[i] = destinationBounds.getX() + width[i] / 2
+						+ percentX * (destinationBounds.getWidth() - width[i]);
+				y[i] = destinationBounds.getY() + height[i] / 2 + percentY
+						* (destinationBounds.getHeight() - height[i]);
+			} else if (scale) {
+				width[i] *= sizeScale;
+				height[i] *= sizeScale;
 			}
 		}
 	}
 
-	private static void fitSingleEntity(Node entity,
+	private static void fitSingleEntity(LayoutView view, int i,
 			Rectangle destinationBounds, boolean resize) {
-		if (LayoutProperties.isMovable(entity)) {
-			LayoutProperties.setLocation(entity,
-					new Point(
-							destinationBounds.getX()
-									+ destinationBounds.getWidth() / 2,
-							destinationBounds.getY()
-									+ destinationBounds.getHeight() / 2));
+		if (view.isMovable(i)) {
+			view.setLocation(i,
+					destinationBounds.getX() + destinationBounds.getWidth() / 2,
+					destinationBounds.getY()
+							+ destinationBounds.getHeight() / 2);
 		}
-		if (resize && LayoutProperties.isResizable(entity)) {
+		if (resize && view.isResizable(i)) {
 			double width = destinationBounds.getWidth();
 			double height = destinationBounds.getHeight();
 			double preferredAspectRatio = LayoutProperties
-					.getPreferredAspectRatio(entity);
+					.getPreferredAspectRatio(view.getNode(i));
 			if (preferredAspectRatio > 0) {
-				LayoutProperties.setSize(entity,
-						fixAspectRatio(width, height, preferredAspectRatio));
+				Dimension size = fixAspectRatio(width, height,
+						preferredAspectRatio);
+				view.setSize(i, size.width, size.height);
 			} else {
-				LayoutProperties.setSize(entity, new Dimension(width, height));
+				view.setSize(i, width, height);
 			}
 		}
 	}
@@ -121,27 +120,26 @@ class AlgorithmHelper {
 	 * each other, with additional empty space of 20% of node's width (or
 	 * height, if bigger). It does nothing if there's less than two nodes.
 	 * 
-	 * @param entities
-	 *            The {@link Node}s of which the sizes are maximized.
+	 * @param view
+	 *            The {@link LayoutView} whose nodes' sizes are maximized.
 	 */
-	public static void maximizeSizes(Node[] entities) {
-		if (entities.length > 1) {
-			Dimension minDistance = getMinimumDistance(entities);
+	public static void maximizeSizes(LayoutView view) {
+		if (view.getNodeCount() > 1) {
+			Dimension minDistance = getMinimumDistance(view);
 			double nodeSize = Math.max(minDistance.width, minDistance.height)
 					* PADDING_PERCENT;
 			double width = nodeSize;
 			double height = nodeSize;
-			for (int i = 0; i < entities.length; i++) {
-				Node entity = entities[i];
-				if (LayoutProperties.isResizable(entity)) {
+			for (int i = 0; i < view.getNodeCount(); i++) {
+				if (view.isResizable(i)) {
 					double preferredRatio = LayoutProperties
-							.getPreferredAspectRatio(entity);
+							.getPreferredAspectRatio(view.getNode(i));
 					if (preferredRatio > 0) {
-						LayoutProperties.setSize(entity,
-								fixAspectRatio(width, height, preferredRatio));
+						Dimension size = fixAspectRatio(width, height,
+								preferredRatio);
+						view.setSize(i, size.width, size.height);
 					} else {
-						LayoutProperties.setSize(entity,
-								new Dimension(width, height));
+						view.setSize(i, width, height);
 					}
 				}
 			}
@@ -175,34 +173,36 @@ class AlgorithmHelper {
 	 * size of the nodes or not. If the size is not included, the bounds will
 	 * only be guaranteed to include the center of each node.
 	 * 
-	 * @param entities
-	 *            The {@link Node}s for which the layout bounds are computed.
+	 * @param view
+	 *            The {@link LayoutView} for whose nodes the layout bounds are
+	 *            computed.
 	 * @param includeNodeSize
 	 *            <code>true</code> to indicate that the entities' sizes should
 	 *            be taken into consideration, otherwise <code>false</code>.
-	 * @return A {@link Rectangle} representing the layout bounds of the given
-	 *         {@link Node}s.
+	 * @return A {@link Rectangle} representing the layout bounds of the nodes
+	 *         of the given {@link LayoutView}.
 	 */
-	public static Rectangle getLayoutBounds(Node[] entities,
+	public static Rectangle getLayoutBounds(LayoutView view,
 			boolean includeNodeSize) {
+		double[] x = view.getX();
+		double[] y = view.getY();
+		double[] width = view.getWidth();
+		double[] height = view.getHeight();
 		double rightSide = Double.NEGATIVE_INFINITY;
 		double bottomSide = Double.NEGATIVE_INFINITY;
 		double leftSide = Double.POSITIVE_INFINITY;
 		double topSide = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < entities.length; i++) {
-			Node entity = entities[i];
-			Point location = LayoutProperties.getLocation(entity);
-			Dimension size = LayoutProperties.getSize(entity);
+		for (int i = 0; i < view.getNodeCount(); i++) {
 			if (includeNodeSize) {
-				leftSide = Math.min(location.x - size.width / 2, leftSide);
-				topSide = Math.min(location.y - size.height / 2, topSide);
-				rightSide = Math.max(location.x + size.width / 2, rightSide);
-				bottomSide = Math.max(location.y + size.height / 2, bottomSide);
+				leftSide = Math.min(x[i] - width[i] / 2, leftSide);
+				topSide = Math.min(y[i] - height[i] / 2, topSide);
+				rightSide = Math.max(x[i] + width[i] / 2, rightSide);
+				bottomSide = Math.max(y[i] + height[i] / 2, bottomSide);
 			} else {
-				leftSide = Math.min(location.x, leftSide);
-				topSide = Math.min(location.y, topSide);
-				rightSide = Math.max(location.x, rightSide);
-				bottomSide = Math.max(location.y, bottomSide);
+				leftSide = Math.min(x[i], leftSide);
+				topSide = Math.min(y[i], topSide);
+				rightSide = Math.max(x[i], rightSide);
+				bottomSide = Math.max(y[i], bottomSide);
 			}
 		}
 		return new Rectangle(leftSide, topSide, rightSide - leftSide,
@@ -231,23 +231,25 @@ class AlgorithmHelper {
 	 *         |_______|
 	 * </pre>
 	 * 
-	 * @param entities
-	 *            The {@link Node}s for which the minimum distance is computed.
+	 * @param view
+	 *            The {@link LayoutView} for whose nodes the minimum distance is
+	 *            computed.
 	 * @return A {@link Dimension} representing the minimum distance (in x- and
 	 *         y-direction).
 	 */
-	public static Dimension getMinimumDistance(Node[] entities) {
+	public static Dimension getMinimumDistance(LayoutView view) {
+		double[] x = view.getX();
+		double[] y = view.getY();
+		int n = view.getNodeCount();
 		Dimension horAndVertdistance = new Dimension(Double.MAX_VALUE,
 				Double.MAX_VALUE);
 		double minDistance = Double.MAX_VALUE;
 
 		// TODO: Very Slow!
-		for (int i = 0; i < entities.length; i++) {
-			Point location1 = LayoutProperties.getLocation(entities[i]);
-			for (int j = i + 1; j < entities.length; j++) {
-				Point location2 = LayoutProperties.getLocation(entities[j]);
-				double distanceX = location1.x - location2.x;
-				double distanceY = location1.y - location2.y;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double distanceX = x[i] - x[j];
+				double distanceY = y[i] - y[j];
 				double distance = distanceX * distanceX + distanceY * distanceY;
 
 				if (distance < minDistance) {
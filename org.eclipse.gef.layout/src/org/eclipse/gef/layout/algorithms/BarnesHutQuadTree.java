@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * The {@link BarnesHutQuadTree} is an array-backed quadtree over a set of
+ * (unit mass) bodies, which is used to approximate the sum of pairwise
+ * inverse-square repulsion forces in O(n log n) using the Barnes-Hut scheme.
+ * All data is kept in primitive arrays that are reused between subsequent
+ * {@link #build(double[], double[], int) builds}, so that rebuilding the tree
+ * in each iteration of a force-directed layout does not produce garbage.
+ *
+ * @author agent
+ *
+ */
+class BarnesHutQuadTree {
+
+	/**
+	 * Maximum subdivision depth. Bodies that cannot be separated within this
+	 * depth (i.e. (nearly) coincident bodies) share a leaf cell.
+	 */
+	private static final int MAX_DEPTH = 48;
+
+	private static final int EMPTY = -1;
+	private static final int INTERNAL = -2;
+
+	// per cell data
+	private int[] children = new int[0]; // index of first child
+	private int[] body = new int[0]; // body index, EMPTY, or INTERNAL
+	private double[] mass = new double[0];
+	private double[] sumX = new double[0];
+	private double[] sumY = new double[0];
+	private double[] cellX = new double[0];
+	private double[] cellY = new double[0];
+	private double[] cellSize = new double[0];
+	private int cellCount;
+
+	private double[] x;
+	private double[] y;
+
+	/**
+	 * Accumulates the approximated repulsion force that is exerted on the body
+	 * with the given index by all other bodies into the given force arrays.
+	 * The force between two bodies in distance <i>d</i> is
+	 * <code>gravitation / max(minDistance<sup>2</sup>, d<sup>2</sup>)</code>,
+	 * directed from the other body towards the given one.
+	 *
+	 * @param i
+	 *            The index of the body for which to compute the force.
+	 * @param theta
+	 *            The Barnes-Hut opening criterion. A cell is approximated by
+	 *            its center of mass if <code>size / distance &lt; theta</code>.
+	 * @param gravitation
+	 *            The gravitation constant.
+	 * @param minDistance
+	 *            The minimum distance considered between bodies.
+	 * @param forcesX
+	 *            The array to which the horizontal force component is added.
+	 * @param forcesY
+	 *            The array to which the vertical force component is added.
+	 * @param stack
+	 *            A traversal stack, as created by {@link #newStack()}. Using a
+	 *            separate stack per thread allows concurrent queries.
+	 */
+	public void accumulateRepulsion(int i, double theta, double gravitation,
+			double minDistance, double[] forcesX, double[] forcesY,
+			int[] stack) {
+		if (cellCount == 0) {
+			return;
+		}
+		double xi = x[i];
+		double yi = y[i];
+		double thetaSq = theta * theta;
+		double minDistanceSq = minDistance * minDistance;
+		double fx = 0;
+		double fy = 0;
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int c = stack[--top];
+			double m = mass[c];
+			if (m == 0) {
+				continue;
+			}
+			double cx, cy;
+			if (body[c] != INTERNAL) {
+				cx = sumX[c];
+				cy = sumY[c];
+				if (body[c] == i) {
+					// exclude the body itself from its leaf
+					if (m == 1) {
+						continue;
+					}
+					cx -= xi;
+					cy -= yi;
+					m -= 1;
+				}
+				cx /= m;
+				cy /= m;
+			} else {
+				cx = sumX[c] / m;
+				cy = sumY[c] / m;
+				double dx = xi - cx;
+				double dy = yi - cy;
+				double size = cellSize[c];
+				if (size * size >= thetaSq * (dx * dx + dy * dy)) {
+					// too close, open the cell
+					int first = children[c];
+					for (int q = 0; q < 4; q++) {
+						stack[top++] = first + q;
+					}
+					continue;
+				}
+			}
+			double dx = xi - cx;
+			double dy = yi - cy;
+			double distanceSq = Math.max(minDistanceSq, dx * dx + dy * dy);
+			double distance = Math.sqrt(distanceSq);
+			double f = gravitation * m / distanceSq;
+			fx += f * dx / distance;
+			fy += f * dy / distance;
+		}
+		forcesX[i] += fx;
+		forcesY[i] += fy;
+	}
+
+	/**
+	 * Creates a new stack that can be used to traverse a
+	 * {@link BarnesHutQuadTree}.
+	 *
+	 * @return A new traversal stack.
+	 */
+	public static int[] newStack() {
+		return new int[4 * MAX_DEPTH + 4];
+	}
+
+	/**
+	 * (Re-)builds this {@link BarnesHutQuadTree} for the first <i>n</i> bodies
+	 * located at the given coordinates. The coordinate arrays are referenced
+	 * (not copied) until the next build.
+	 *
+	 * @param x
+	 *            The x-coordinates of the bodies.
+	 * @param y
+	 *            The y-coordinates of the bodies.
+	 * @param n
+	 *            The number of bodies.
+	 */
+	public void build(double[] x, double[] y, int n) {
+		this.x = x;
+		this.y = y;
+		cellCount = 0;
+		if (n == 0) {
+			return;
+		}
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		double size = Math.max(maxX - minX, maxY - minY);
+		if (size <= 0 || Double.isNaN(size) || Double.isInfinite(size)) {
+			size = 1;
+		}
+		ensureCapacity(4 * n + 1);
+		newCell(minX, minY, size);
+		for (int i = 0; i < n; i++) {
+			if (!Double.isNaN(x[i]) && !Double.isNaN(y[i])) {
+				insert(i);
+			}
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (body.length >= capacity) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, body.length * 2);
+		children = Arrays.copyOf(children, newCapacity);
+		body = Arrays.copyOf(body, newCapacity);
+		mass = Arrays.copyOf(mass, newCapacity);
+		sumX = Arrays.copyOf(sumX, newCapacity);
+		sumY = Arrays.copyOf(sumY, newCapacity);
+		cellX = Arrays.copyOf(cellX, newCapacity);
+		cellY = Arrays.copyOf(cellY, newCapacity);
+		cellSize = Arrays.copyOf(cellSize, newCapacity);
+	}
+
+	private void insert(int i) {
+		double xi = x[i];
+		double yi = y[i];
+		int c = 0;
+		int depth = 0;
+		while (true) {
+			mass[c] += 1;
+			sumX[c] += xi;
+			sumY[c] += yi;
+			if (body[c] == EMPTY) {
+				body[c] = i;
+				return;
+			}
+			if (body[c] != INTERNAL) {
+				if (depth >= MAX_DEPTH) {
+					// coincident bodies share this leaf
+					return;
+				}
+				// split leaf and push down the (single) body it contains
+				int other = body[c];
+				subdivide(c);
+				int q = children[c] + quadrant(c, x[other], y[other]);
+				body[q] = other;
+				mass[q] = 1;
+				sumX[q] = x[other];
+				sumY[q] = y[other];
+			}
+			c = children[c] + quadrant(c, xi, yi);
+			depth++;
+		}
+	}
+
+	private int newCell(double cx, double cy, double size) {
+		if (cellCount == body.length) {
+			ensureCapacity(cellCount + 1);
+		}
+		int c = cellCount++;
+		body[c] = EMPTY;
+		mass[c] = 0;
+		sumX[c] = 0;
+		sumY[c] = 0;
+		cellX[c] = cx;
+		cellY[c] = cy;
+		cellSize[c] = size;
+		return c;
+	}
+
+	private int quadrant(int c, double px, double py) {
+		double half = cellSize[c] / 2;
+		int q = 0;
+		if (px >= cellX[c] + half) {
+			q |= 1;
+		}
+		if (py >= cellY[c] + half) {
+			q |= 2;
+		}
+		return q;
+	}
+
+	private void subdivide(int c) {
+		double half = cellSize[c] / 2;
+		double cx = cellX[c];
+		double cy = cellY[c];
+		// children are allocated consecutively, so only the first index needs
+		// to be stored
+		int first = newCell(cx, cy, half);
+		newCell(cx + half, cy, half);
+		newCell(cx, cy + half, half);
+		newCell(cx + half, cy + half, half);
+		children[c] = first;
+		body[c] = INTERNAL;
+	}
+
+}
@@ -0,0 +1,436 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NodeWrapper;
+
+/**
+ * The {@link BrandesKoepfPlacement} assigns coordinates to the nodes of a
+ * layered graph within their layers, following Brandes, Köpf: "Fast and
+ * Simple Horizontal Coordinate Assignment"
+ * (http://dx.doi.org/10.1007/3-540-45848-4_3). Four candidate placements are
+ * computed by aligning each node with a median neighbor in the preceding
+ * layer (for each combination of downward/upward and leftward/rightward
+ * alignment), compacting the resulting blocks as far as the node sizes
+ * permit, and are then balanced by taking the average median coordinate of
+ * each node. Long edges that are represented by dummy nodes are kept
+ * straight where possible. The running time is linear in the number of nodes
+ * and edges (apart from sorting the neighbors of each node).
+ *
+ * @author agent
+ *
+ */
+class BrandesKoepfPlacement {
+
+	// per node data (nodes are numbered layer by layer)
+	private int[][] layers;
+	private int[] pos;
+	private boolean[] dummy;
+	private double[] breadth;
+	private double spacing;
+
+	// edges between adjacent layers, and per node the incident edges towards
+	// the previous (upper) and next (lower) layer in compressed sparse row
+	// format, sorted by the position of the other end point
+	private int[] edgeUpper, edgeLower;
+	private int[] upperOffsets, upperEdges;
+	private int[] lowerOffsets, lowerEdges;
+	private boolean[] conflicted;
+
+	/**
+	 * Computes the coordinates of the given layered nodes within their
+	 * layers.
+	 *
+	 * @param nodeLayers
+	 *            The layers, each containing its nodes in order.
+	 * @param breadths
+	 *            The extent of each node along its layer, indexed by layer and
+	 *            position within the layer.
+	 * @param spacing
+	 *            The minimum gap between adjacent nodes of a layer.
+	 * @return The center coordinate of each node, indexed by layer and
+	 *         position within the layer. The smallest left border of all
+	 *         nodes is <code>0</code>.
+	 */
+	double[][] computeCoordinates(List<List<NodeWrapper>> nodeLayers,
+			double[][] breadths, double spacing) {
+		this.spacing = spacing;
+		NodeWrapper[] wrappers = index(nodeLayers, breadths);
+		int n = wrappers.length;
+		buildEdges(wrappers);
+		markTypeOneConflicts();
+
+		// compute the four candidate placements
+		double[][] candidates = new double[4][];
+		double[] minima = new double[4];
+		double[] maxima = new double[4];
+		int smallest = 0;
+		for (int c = 0; c < 4; c++) {
+			boolean upward = c >= 2;
+			boolean rightward = (c & 1) == 1;
+			candidates[c] = place(upward, rightward);
+			minima[c] = Double.POSITIVE_INFINITY;
+			maxima[c] = Double.NEGATIVE_INFINITY;
+			for (int v = 0; v < n; v++) {
+				minima[c] = Math.min(minima[c],
+						candidates[c][v] - breadth[v] / 2);
+				maxima[c] = Math.max(maxima[c],
+						candidates[c][v] + breadth[v] / 2);
+			}
+			if (maxima[c] - minima[c] < maxima[smallest] - minima[smallest]) {
+				smallest = c;
+			}
+		}
+
+		// align the candidates to the one with the smallest width, and
+		// balance them
+		for (int c = 0; c < 4; c++) {
+			boolean rightward = (c & 1) == 1;
+			double shift = rightward ? maxima[smallest] - maxima[c]
+					: minima[smallest] - minima[c];
+			for (int v = 0; v < n; v++) {
+				candidates[c][v] += shift;
+			}
+		}
+		double[] x = new double[n];
+		double[] values = new double[4];
+		double min = Double.POSITIVE_INFINITY;
+		for (int v = 0; v < n; v++) {
+			for (int c = 0; c < 4; c++) {
+				values[c] = candidates[c][v];
+			}
+			Arrays.sort(values);
+			x[v] = (values[1] + values[2]) / 2;
+			min = Math.min(min, x[v] - breadth[v] / 2);
+		}
+
+		double[][] coordinates = new double[layers.length][];
+		for (int l = 0; l < layers.length; l++) {
+			coordinates[l] = new double[layers[l].length];
+			for (int i = 0; i < layers[l].length; i++) {
+				coordinates[l][i] = x[layers[l][i]] - min;
+			}
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Numbers the given nodes layer by layer and initializes the per node
+	 * data.
+	 */
+	private NodeWrapper[] index(List<List<NodeWrapper>> nodeLayers,
+			double[][] breadths) {
+		int n = 0;
+		for (List<NodeWrapper> layer : nodeLayers) {
+			n += layer.size();
+		}
+		NodeWrapper[] wrappers = new NodeWrapper[n];
+		layers = new int[nodeLayers.size()][];
+		pos = new int[n];
+		dummy = new boolean[n];
+		breadth = new double[n];
+		int v = 0;
+		for (int l = 0; l < nodeLayers.size(); l++) {
+			List<NodeWrapper> layer = nodeLayers.get(l);
+			layers[l] = new int[layer.size()];
+			for (int i = 0; i < layer.size(); i++) {
+				wrappers[v] = layer.get(i);
+				layers[l][i] = v;
+				pos[v] = i;
+				dummy[v] = layer.get(i).isDummy();
+				breadth[v] = breadths[l][i];
+				v++;
+			}
+		}
+		return wrappers;
+	}
+
+	/**
+	 * Collects the edges between adjacent layers. If the nodes are linked via
+	 * their successors (i.e. the hierarchy is proper), these links are used,
+	 * otherwise the edges of the graph.
+	 */
+	private void buildEdges(NodeWrapper[] wrappers) {
+		int n = wrappers.length;
+		int[] layerOf = new int[n];
+		for (int l = 0; l < layers.length; l++) {
+			for (int v : layers[l]) {
+				layerOf[v] = l;
+			}
+		}
+		Map<NodeWrapper, Integer> ids = new IdentityHashMap<>();
+		Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+		boolean linked = false;
+		for (int v = 0; v < n; v++) {
+			ids.put(wrappers[v], v);
+			if (wrappers[v].node != null) {
+				nodeIds.put(wrappers[v].node, v);
+			}
+			linked |= !wrappers[v].succ.isEmpty();
+		}
+
+		int[] upper = new int[16];
+		int[] lower = new int[16];
+		int count = 0;
+		for (int v = 0; v < n; v++) {
+			if (linked) {
+				for (NodeWrapper succ : wrappers[v].succ) {
+					Integer w = ids.get(succ);
+					if (w != null && layerOf[w] == layerOf[v] + 1) {
+						if (count == upper.length) {
+							upper = Arrays.copyOf(upper, 2 * count);
+							lower = Arrays.copyOf(lower, 2 * count);
+						}
+						upper[count] = v;
+						lower[count++] = w;
+					}
+				}
+			} else if (wrappers[v].node != null) {
+				for (Edge edge : wrappers[v].node.getLocalOutgoingEdges()) {
+					Integer w = nodeIds.get(edge.getTarget());
+					if (w == null || Math.abs(layerOf[w] - layerOf[v]) != 1) {
+						continue;
+					}
+					if (count == upper.length) {
+						upper = Arrays.copyOf(upper, 2 * count);
+						lower = Arrays.copyOf(lower, 2 * count);
+					}
+					upper[count] = layerOf[w] > layerOf[v] ? v : w;
+					lower[count++] = layerOf[w] > layerOf[v] ? w : v;
+				}
+			}
+		}
+		edgeUpper = Arrays.copyOf(upper, count);
+		edgeLower = Arrays.copyOf(lower, count);
+		conflicted = new boolean[count];
+
+		// bucket the edges by their end points; as the edges are then
+		// inserted in the order of the position of their other end point,
+		// the rows are sorted
+		upperOffsets = new int[n + 1];
+		lowerOffsets = new int[n + 1];
+		for (int e = 0; e < count; e++) {
+			upperOffsets[edgeLower[e] + 1]++;
+			lowerOffsets[edgeUpper[e] + 1]++;
+		}
+		for (int v = 0; v < n; v++) {
+			upperOffsets[v + 1] += upperOffsets[v];
+			lowerOffsets[v + 1] += lowerOffsets[v];
+		}
+		int[] byUpper = sortEdges(edgeUpper, n);
+		int[] byLower = sortEdges(edgeLower, n);
+		upperEdges = new int[count];
+		lowerEdges = new int[count];
+		int[] upperFill = Arrays.copyOf(upperOffsets, n);
+		int[] lowerFill = Arrays.copyOf(lowerOffsets, n);
+		for (int e : byUpper) {
+			upperEdges[upperFill[edgeLower[e]]++] = e;
+		}
+		for (int e : byLower) {
+			lowerEdges[lowerFill[edgeUpper[e]]++] = e;
+		}
+	}
+
+	/**
+	 * Sorts the edges by the position of the given end points (counting
+	 * sort, as positions are bounded by the number of nodes).
+	 */
+	private int[] sortEdges(int[] endPoints, int n) {
+		int[] offsets = new int[n + 1];
+		for (int v : endPoints) {
+			offsets[pos[v] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] sorted = new int[endPoints.length];
+		for (int e = 0; e < endPoints.length; e++) {
+			sorted[offsets[pos[endPoints[e]]]++] = e;
+		}
+		return sorted;
+	}
+
+	/**
+	 * Marks the edges that cross an inner segment (i.e. an edge between two
+	 * dummy nodes), so that these are not used for alignment, which keeps
+	 * long edges straight.
+	 */
+	private void markTypeOneConflicts() {
+		for (int l = 0; l < layers.length - 1; l++) {
+			int[] next = layers[l + 1];
+			int k0 = 0;
+			int start = 0;
+			for (int l1 = 0; l1 < next.length; l1++) {
+				int innerUpper = getInnerSegmentUpperEnd(next[l1]);
+				if (l1 == next.length - 1 || innerUpper >= 0) {
+					int k1 = innerUpper >= 0 ? pos[innerUpper]
+							: layers[l].length - 1;
+					for (; start <= l1; start++) {
+						int w = next[start];
+						for (int k = upperOffsets[w]; k < upperOffsets[w
+								+ 1]; k++) {
+							int e = upperEdges[k];
+							int p = pos[edgeUpper[e]];
+							if (p < k0 || p > k1) {
+								conflicted[e] = true;
+							}
+						}
+					}
+					k0 = k1;
+				}
+			}
+		}
+	}
+
+	private int getInnerSegmentUpperEnd(int v) {
+		if (dummy[v]) {
+			for (int k = upperOffsets[v]; k < upperOffsets[v + 1]; k++) {
+				int u = edgeUpper[upperEdges[k]];
+				if (dummy[u]) {
+					return u;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Computes one candidate placement, aligning nodes with their upper
+	 * (downward) or lower (upward) median neighbors, preferring the left or
+	 * right one.
+	 */
+	private double[] place(boolean upward, boolean rightward) {
+		int n = pos.length;
+		int[] root = new int[n];
+		int[] align = new int[n];
+		for (int v = 0; v < n; v++) {
+			root[v] = v;
+			align[v] = v;
+		}
+
+		// vertical alignment
+		int[] offsets = upward ? lowerOffsets : upperOffsets;
+		int[] edges = upward ? lowerEdges : upperEdges;
+		int[] other = upward ? edgeLower : edgeUpper;
+		for (int s = 1; s < layers.length; s++) {
+			int[] layer = layers[upward ? layers.length - 1 - s : s];
+			int r = Integer.MIN_VALUE;
+			for (int i = 0; i < layer.length; i++) {
+				int v = layer[rightward ? layer.length - 1 - i : i];
+				int d = offsets[v + 1] - offsets[v];
+				if (d == 0) {
+					continue;
+				}
+				for (int m = (d - 1) / 2; m <= d / 2; m++) {
+					if (align[v] != v) {
+						break;
+					}
+					int e = edges[rightward ? offsets[v + 1] - 1 - m
+							: offsets[v] + m];
+					int u = other[e];
+					int p = runPosition(u, rightward);
+					if (!conflicted[e] && r < p) {
+						align[u] = v;
+						root[v] = root[u];
+						align[v] = root[v];
+						r = p;
+					}
+				}
+			}
+		}
+
+		// horizontal compaction of the blocks, using a longest path
+		// layering of the constraint graph between blocks
+		int[] constraintSources = new int[n];
+		int[] constraintTargets = new int[n];
+		double[] constraintWeights = new double[n];
+		int count = 0;
+		for (int[] layer : layers) {
+			for (int i = 1; i < layer.length; i++) {
+				int w = layer[rightward ? layer.length - i : i - 1];
+				int v = layer[rightward ? layer.length - 1 - i : i];
+				constraintSources[count] = root[w];
+				constraintTargets[count] = root[v];
+				constraintWeights[count++] = (breadth[w] + breadth[v]) / 2
+						+ spacing;
+			}
+		}
+		int[] outOffsets = new int[n + 1];
+		int[] inDegrees = new int[n];
+		for (int c = 0; c < count; c++) {
+			outOffsets[constraintSources[c] + 1]++;
+			inDegrees[constraintTargets[c]]++;
+		}
+		for (int v = 0; v < n; v++) {
+			outOffsets[v + 1] += outOffsets[v];
+		}
+		int[] outConstraints = new int[count];
+		int[] fill = Arrays.copyOf(outOffsets, n);
+		for (int c = 0; c < count; c++) {
+			outConstraints[fill[constraintSources[c]]++] = c;
+		}
+
+		// assign smallest coordinates in topological order
+		double[] xs = new double[n];
+		int[] topologicalOrder = new int[n];
+		int head = 0;
+		int tail = 0;
+		for (int v = 0; v < n; v++) {
+			if (root[v] == v && inDegrees[v] == 0) {
+				topologicalOrder[tail++] = v;
+			}
+		}
+		while (head < tail) {
+			int b = topologicalOrder[head++];
+			for (int k = outOffsets[b]; k < outOffsets[b + 1]; k++) {
+				int c = outConstraints[k];
+				int t = constraintTargets[c];
+				xs[t] = Math.max(xs[t], xs[b] + constraintWeights[c]);
+				if (--inDegrees[t] == 0) {
+					topologicalOrder[tail++] = t;
+				}
+			}
+		}
+		// move blocks towards their successors, to close remaining gaps
+		for (int k = tail - 1; k >= 0; k--) {
+			int b = topologicalOrder[k];
+			double limit = Double.POSITIVE_INFINITY;
+			for (int j = outOffsets[b]; j < outOffsets[b + 1]; j++) {
+				int c = outConstraints[j];
+				limit = Math.min(limit,
+						xs[constraintTargets[c]] - constraintWeights[c]);
+			}
+			if (limit != Double.POSITIVE_INFINITY) {
+				xs[b] = Math.max(xs[b], limit);
+			}
+		}
+
+		double[] x = new double[n];
+		for (int v = 0; v < n; v++) {
+			x[v] = rightward ? -xs[root[v]] : xs[root[v]];
+		}
+		return x;
+	}
+
+	private int runPosition(int v, boolean rightward) {
+		return rightward ? -pos[v] : pos[v];
+	}
+
+}
@@ -44,6 +44,9 @@ public class CompositeLayoutAlgorithm implements ILayoutAlgorithm {
 	public void applyLayout(boolean clean) {
 		for (int i = 0; i < algorithms.length; i++) {
 			algorithms[i].applyLayout(clean);
+			// the subsequent algorithm may access the layout properties
+			// directly
+			context.flushLayoutView();
 		}
 	}
 
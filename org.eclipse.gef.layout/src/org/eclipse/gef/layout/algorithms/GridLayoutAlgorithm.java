@@ -12,13 +12,11 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
-import org.eclipse.gef.geometry.planar.Dimension;
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
-import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
 
 /**
  * The {@link GridLayoutAlgorithm} lays out nodes in a grid.
@@ -29,7 +27,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class GridLayoutAlgorithm implements ILayoutAlgorithm {
+public class GridLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	private static final double PADDING_PERCENTAGE = 0.95;
 	private static final int MIN_ENTITY_SIZE = 5;
@@ -95,29 +93,29 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void applyLayout(boolean clean) {
-		if (!clean)
+		if (!clean && !context.hasChanges())
 			return;
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
 		calculateGrid(bounds);
 
+		LayoutView view = context.getLayoutView();
+		double[] width = view.getWidth();
+		double[] height = view.getHeight();
 		int index = 0;
 		for (int i = 0; i < rows; i++) {
 			for (int j = 0; j < cols; j++) {
 				if ((i * cols + j) < numChildren) {
-					Node node = context.getNodes()[index++];
-					if (resize && LayoutProperties.isResizable(node))
-						LayoutProperties.setSize(node,
-								new Dimension(Math.max(childrenWidth,
-										MIN_ENTITY_SIZE),
-								Math.max(childrenHeight, MIN_ENTITY_SIZE)));
-					Dimension size = LayoutProperties.getSize(node);
+					int node = index++;
+					if (resize && view.isResizable(node))
+						view.setSize(node,
+								Math.max(childrenWidth, MIN_ENTITY_SIZE),
+								Math.max(childrenHeight, MIN_ENTITY_SIZE));
 					double xmove = bounds.getX() + j * colWidth + offsetX
-							+ size.width / 2;
+							+ width[node] / 2;
 					double ymove = bounds.getY() + i * rowHeight + offsetY
-							+ size.height / 2;
-					if (LayoutProperties.isMovable(node))
-						LayoutProperties.setLocation(node,
-								new Point(xmove, ymove));
+							+ height[node] / 2;
+					if (view.isMovable(node))
+						view.setLocation(node, xmove, ymove);
 				}
 			}
 		}
@@ -134,7 +132,7 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 	// {@link #rows}, {@link #cols}, {@link #colWidth}, {@link #rowHeight},
 	// {@link #offsetX}, {@link #offsetY}
 	protected void calculateGrid(Rectangle bounds) {
-		numChildren = context.getNodes().length;
+		numChildren = context.getLayoutView().getNodeCount();
 		int[] result = calculateNumberOfRowsAndCols(numChildren, bounds.getX(),
 				bounds.getY(), bounds.getWidth(), bounds.getHeight());
 		cols = result[0];
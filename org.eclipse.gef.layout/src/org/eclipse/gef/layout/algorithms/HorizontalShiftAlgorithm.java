@@ -22,7 +22,7 @@ import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -33,7 +33,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class HorizontalShiftAlgorithm implements ILayoutAlgorithm {
+public class HorizontalShiftAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	private static final double DELTA = 10;
 
@@ -42,7 +42,7 @@ public class HorizontalShiftAlgorithm implements ILayoutAlgorithm {
 	private LayoutContext context;
 
 	public void applyLayout(boolean clean) {
-		if (!clean)
+		if (!clean && !context.hasChanges())
 			return;
 		ArrayList<List<Node>> rowsList = new ArrayList<>();
 		Node[] entities = context.getNodes();
@@ -0,0 +1,532 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
+
+/**
+ * The {@link MultilevelSpringLayoutAlgorithm} is a force-directed layout
+ * algorithm for large graphs, which lays out a hierarchy of successively
+ * coarser graphs, following the multilevel scheme of Walshaw: "A Multilevel
+ * Algorithm for Force-Directed Graph Drawing"
+ * (http://dx.doi.org/10.1007/3-540-44541-2_17).
+ * <p>
+ * The graph is coarsened by collapsing the nodes of a (heavy edge) maximal
+ * matching, while unmatched nodes are collapsed with the heaviest matched
+ * neighbor, until at most {@link #setCoarsestSize(int) a few} nodes remain or
+ * the graph cannot be reduced any further. The coarsest graph is laid out
+ * from a random start, and the layout of each coarse graph is interpolated to
+ * the next finer graph (placing the collapsed nodes close to the node they
+ * were collapsed into) and refined with a few iterations. All levels are laid
+ * out by the {@link #getSpringLayoutAlgorithm() spring layout algorithm},
+ * which approximates the repulsion forces on large levels. As the global
+ * structure is already determined by the coarse levels, the refinement
+ * converges much faster than a spring layout that starts from a random
+ * placement of all nodes.
+ *
+ * @author agent
+ *
+ */
+public class MultilevelSpringLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
+
+	/**
+	 * The number of nodes above which the repulsion forces are approximated.
+	 */
+	private static final int APPROXIMATION_THRESHOLD = 500;
+
+	/**
+	 * A level stops the coarsening if it does not have fewer nodes than this
+	 * ratio of the nodes of the next finer level.
+	 */
+	private static final double MIN_REDUCTION = 0.8;
+
+	/**
+	 * The adjacency of one level of the hierarchy, together with the mapping
+	 * of its nodes to the next coarser level.
+	 */
+	private static class Level {
+		private int size;
+		// symmetric adjacency in compressed sparse row format, parallel
+		// connections combined
+		private int[] offsets;
+		private int[] targets;
+		private double[] weights;
+		// number of original nodes represented by each node
+		private double[] masses;
+		private double[] widths;
+		private double[] heights;
+		// node of the next coarser level each node is collapsed into
+		private int[] coarse;
+	}
+
+	private LayoutContext context;
+
+	private final SpringLayoutAlgorithm springLayoutAlgorithm = new SpringLayoutAlgorithm();
+
+	private int coarsestSize = 50;
+
+	private int iterations = 300;
+
+	private int refinementIterations = 30;
+
+	private Long randomSeed;
+
+	/**
+	 * Returns the {@link SpringLayoutAlgorithm} that is used to lay out the
+	 * individual levels. It may be used to configure the spring forces, the
+	 * approximation of the repulsion forces, and the time limit. The
+	 * iterations, the random placement, and whether repulsion forces are
+	 * approximated are adjusted to the respective level.
+	 *
+	 * @return The {@link SpringLayoutAlgorithm} that lays out the levels.
+	 */
+	public SpringLayoutAlgorithm getSpringLayoutAlgorithm() {
+		return springLayoutAlgorithm;
+	}
+
+	/**
+	 * Returns the number of nodes up to which a graph is not coarsened any
+	 * further.
+	 *
+	 * @return The maximum number of nodes of the coarsest level.
+	 */
+	public int getCoarsestSize() {
+		return coarsestSize;
+	}
+
+	/**
+	 * Sets the number of nodes up to which a graph is not coarsened any
+	 * further.
+	 *
+	 * @param coarsestSize
+	 *            The maximum number of nodes of the coarsest level (default
+	 *            is <code>50</code>).
+	 */
+	public void setCoarsestSize(int coarsestSize) {
+		if (coarsestSize < 2) {
+			throw new IllegalArgumentException(
+					"The coarsest size has to be at least 2, but was "
+							+ coarsestSize + ".");
+		}
+		this.coarsestSize = coarsestSize;
+	}
+
+	/**
+	 * Returns the number of iterations that are used to lay out the coarsest
+	 * level.
+	 *
+	 * @return The number of iterations for the coarsest level.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Sets the number of iterations that are used to lay out the coarsest
+	 * level.
+	 *
+	 * @param iterations
+	 *            The number of iterations for the coarsest level (default is
+	 *            <code>300</code>).
+	 */
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Returns the number of iterations that are used to refine the
+	 * interpolated layout of each finer level.
+	 *
+	 * @return The number of iterations for each refined level.
+	 */
+	public int getRefinementIterations() {
+		return refinementIterations;
+	}
+
+	/**
+	 * Sets the number of iterations that are used to refine the interpolated
+	 * layout of each finer level.
+	 *
+	 * @param refinementIterations
+	 *            The number of iterations for each refined level (default is
+	 *            <code>30</code>).
+	 */
+	public void setRefinementIterations(int refinementIterations) {
+		this.refinementIterations = refinementIterations;
+	}
+
+	/**
+	 * Returns the seed that is used for the matchings, the interpolation and
+	 * the random placement of the coarsest level.
+	 *
+	 * @return The random seed, or <code>null</code> if no seed is used.
+	 */
+	public Long getRandomSeed() {
+		return randomSeed;
+	}
+
+	/**
+	 * Sets the seed that is used for the matchings, the interpolation and the
+	 * random placement of the coarsest level, so that subsequent layout passes
+	 * on the same graph produce the same layout.
+	 *
+	 * @param seed
+	 *            The random seed, or <code>null</code> (default) to use a
+	 *            different seed for each layout pass.
+	 */
+	public void setRandomSeed(Long seed) {
+		randomSeed = seed;
+	}
+
+	public void setLayoutContext(LayoutContext context) {
+		this.context = context;
+	}
+
+	public LayoutContext getLayoutContext() {
+		return context;
+	}
+
+	public void applyLayout(boolean clean) {
+		if (!clean && springLayoutAlgorithm.getLayoutContext() == context) {
+			// refine the current layout incrementally; if the last full pass
+			// was performed for another context (e.g. the snapshot of an
+			// asynchronous pass), the levels are re-computed instead
+			springLayoutAlgorithm.applyLayout(false);
+			return;
+		}
+
+		LayoutView view = context.getLayoutView();
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		Random random = randomSeed == null ? new Random()
+				: new Random(randomSeed);
+		springLayoutAlgorithm.setRandomSeed(randomSeed);
+
+		// coarsen
+		List<Level> levels = new ArrayList<>();
+		Level level = createFinestLevel(view);
+		levels.add(level);
+		while (level.size > coarsestSize) {
+			Level coarser = coarsen(level, random);
+			if (coarser.size > MIN_REDUCTION * level.size) {
+				level.coarse = null;
+				break;
+			}
+			levels.add(coarser);
+			level = coarser;
+		}
+
+		// lay out the coarsest level and refine the finer ones
+		double[] x = null;
+		double[] y = null;
+		for (int l = levels.size() - 1; l >= 0; l--) {
+			if (context.isLayoutCancelled()) {
+				return;
+			}
+			level = levels.get(l);
+			boolean coarsest = l == levels.size() - 1;
+			if (!coarsest) {
+				double[][] interpolated = interpolate(levels.get(l + 1), x, y,
+						level, bounds, random);
+				x = interpolated[0];
+				y = interpolated[1];
+			}
+			springLayoutAlgorithm.setRandom(coarsest);
+			springLayoutAlgorithm
+					.setIterations(coarsest ? iterations : refinementIterations);
+			springLayoutAlgorithm.setApproximateRepulsion(
+					level.size > APPROXIMATION_THRESHOLD);
+			if (l > 0) {
+				LayoutView levelView = layOutCoarseLevel(level, x, y, bounds);
+				x = levelView.getX();
+				y = levelView.getY();
+			} else {
+				if (!coarsest) {
+					for (int i = 0; i < level.size; i++) {
+						if (view.isMovable(i)) {
+							view.setLocation(i, x[i], y[i]);
+						}
+					}
+				}
+				springLayoutAlgorithm.setLayoutContext(context);
+				springLayoutAlgorithm.applyLayout(true);
+			}
+		}
+		// subsequent incremental passes warm-start from this layout
+		springLayoutAlgorithm.setRandom(false);
+		springLayoutAlgorithm.setIterations(refinementIterations);
+	}
+
+	/**
+	 * Lays out the given (coarse) level, starting at the given locations,
+	 * within a separate {@link LayoutContext}.
+	 *
+	 * @return The {@link LayoutView} holding the computed locations.
+	 */
+	private LayoutView layOutCoarseLevel(Level level, double[] x, double[] y,
+			Rectangle bounds) {
+		Node[] nodes = new Node[level.size];
+		for (int i = 0; i < level.size; i++) {
+			nodes[i] = new Node();
+			LayoutProperties.setSize(nodes[i],
+					new Dimension(level.widths[i], level.heights[i]));
+			if (x != null) {
+				LayoutProperties.setLocation(nodes[i], new Point(x[i], y[i]));
+			}
+		}
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < level.size; i++) {
+			for (int k = level.offsets[i]; k < level.offsets[i + 1]; k++) {
+				int j = level.targets[k];
+				if (j > i) {
+					Edge edge = new Edge(nodes[i], nodes[j]);
+					LayoutProperties.setWeight(edge, level.weights[k]);
+					edges.add(edge);
+				}
+			}
+		}
+		Graph graph = new Graph(new HashMap<String, Object>(),
+				Arrays.asList(nodes), edges);
+		LayoutProperties.setBounds(graph, bounds);
+		LayoutContext levelContext = new LayoutContext();
+		levelContext.setGraph(graph);
+		springLayoutAlgorithm.setLayoutContext(levelContext);
+		springLayoutAlgorithm.applyLayout(true);
+		// the results are read from the view, so it does not need to be
+		// flushed
+		return levelContext.getLayoutView();
+	}
+
+	/**
+	 * Creates the finest level from the given {@link LayoutView}, weighting
+	 * the connections in the same way as the {@link SpringLayoutAlgorithm}.
+	 */
+	private Level createFinestLevel(LayoutView view) {
+		int n = view.getNodeCount();
+		int m = view.getEdgeCount();
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		double[] weights = new double[m];
+		int count = 0;
+		for (int e = 0; e < m; e++) {
+			int source = view.getSource(e);
+			int target = view.getTarget(e);
+			if (source < 0 || target < 0 || source == target) {
+				continue;
+			}
+			double weight = LayoutProperties.getWeight(view.getEdge(e));
+			sources[count] = source;
+			targets[count] = target;
+			weights[count++] = weight <= 0 ? 0.1 : weight;
+		}
+		Level level = createLevel(n, sources, targets, weights, count);
+		level.masses = new double[n];
+		Arrays.fill(level.masses, 1);
+		level.widths = Arrays.copyOf(view.getWidth(), n);
+		level.heights = Arrays.copyOf(view.getHeight(), n);
+		return level;
+	}
+
+	/**
+	 * Creates a level with the given number of nodes from the given
+	 * (undirected) connections, combining parallel connections.
+	 */
+	private static Level createLevel(int n, int[] sources, int[] targets,
+			double[] weights, int count) {
+		int[] offsets = new int[n + 1];
+		for (int e = 0; e < count; e++) {
+			offsets[sources[e] + 1]++;
+			offsets[targets[e] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] rowTargets = new int[offsets[n]];
+		double[] rowWeights = new double[offsets[n]];
+		int[] fill = Arrays.copyOf(offsets, n);
+		for (int e = 0; e < count; e++) {
+			rowTargets[fill[sources[e]]] = targets[e];
+			rowWeights[fill[sources[e]]++] = weights[e];
+			rowTargets[fill[targets[e]]] = sources[e];
+			rowWeights[fill[targets[e]]++] = weights[e];
+		}
+
+		// combine parallel connections, compacting the rows in place
+		Level level = new Level();
+		level.size = n;
+		level.offsets = new int[n + 1];
+		int[] positionInRow = new int[n];
+		Arrays.fill(positionInRow, -1);
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			level.offsets[i] = size;
+			for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+				int j = rowTargets[k];
+				if (positionInRow[j] >= level.offsets[i]) {
+					rowWeights[positionInRow[j]] += rowWeights[k];
+				} else {
+					positionInRow[j] = size;
+					rowTargets[size] = j;
+					rowWeights[size++] = rowWeights[k];
+				}
+			}
+		}
+		level.offsets[n] = size;
+		level.targets = Arrays.copyOf(rowTargets, size);
+		level.weights = Arrays.copyOf(rowWeights, size);
+		return level;
+	}
+
+	/**
+	 * Computes the next coarser level of the given level, by collapsing the
+	 * nodes of a heavy edge matching (preferring light nodes, so that the
+	 * masses stay balanced). Unmatched nodes are collapsed with the heaviest
+	 * matched neighbor, so that hubs with many leaves are reduced as well.
+	 */
+	private static Level coarsen(Level level, Random random) {
+		int n = level.size;
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+		}
+
+		int[] mate = new int[n];
+		Arrays.fill(mate, -1);
+		int[] coarse = new int[n];
+		Arrays.fill(coarse, -1);
+		int coarseSize = 0;
+		for (int u : order) {
+			if (mate[u] >= 0) {
+				continue;
+			}
+			int best = -1;
+			double bestScore = 0;
+			for (int k = level.offsets[u]; k < level.offsets[u + 1]; k++) {
+				int v = level.targets[k];
+				if (mate[v] < 0) {
+					double score = level.weights[k]
+							/ (level.masses[u] * level.masses[v]);
+					if (score > bestScore) {
+						best = v;
+						bestScore = score;
+					}
+				}
+			}
+			if (best >= 0) {
+				mate[u] = best;
+				mate[best] = u;
+				coarse[u] = coarse[best] = coarseSize++;
+			}
+		}
+		for (int u = 0; u < n; u++) {
+			if (coarse[u] >= 0) {
+				continue;
+			}
+			// join the heaviest matched neighbor, if any
+			int best = -1;
+			double bestWeight = 0;
+			for (int k = level.offsets[u]; k < level.offsets[u + 1]; k++) {
+				int v = level.targets[k];
+				if (mate[v] >= 0 && level.weights[k] > bestWeight) {
+					best = v;
+					bestWeight = level.weights[k];
+				}
+			}
+			coarse[u] = best >= 0 ? coarse[best] : coarseSize++;
+		}
+		level.coarse = coarse;
+
+		// collect the connections between different coarse nodes
+		int[] sources = new int[level.targets.length / 2];
+		int[] targets = new int[sources.length];
+		double[] weights = new double[sources.length];
+		int count = 0;
+		for (int u = 0; u < n; u++) {
+			for (int k = level.offsets[u]; k < level.offsets[u + 1]; k++) {
+				int v = level.targets[k];
+				if (v > u && coarse[u] != coarse[v]) {
+					sources[count] = coarse[u];
+					targets[count] = coarse[v];
+					weights[count++] = level.weights[k];
+				}
+			}
+		}
+		Level coarser = createLevel(coarseSize, sources, targets, weights,
+				count);
+		coarser.masses = new double[coarseSize];
+		coarser.widths = new double[coarseSize];
+		coarser.heights = new double[coarseSize];
+		for (int u = 0; u < n; u++) {
+			int c = coarse[u];
+			coarser.masses[c] += level.masses[u];
+			coarser.widths[c] = Math.max(coarser.widths[c], level.widths[u]);
+			coarser.heights[c] = Math.max(coarser.heights[c],
+					level.heights[u]);
+		}
+		return coarser;
+	}
+
+	/**
+	 * Places the nodes of the given fine level close to the nodes of the given
+	 * coarse level they were collapsed into, scattering them by a fraction of
+	 * the average length of the coarse connections.
+	 *
+	 * @return The x and y coordinates of the nodes of the fine level.
+	 */
+	private static double[][] interpolate(Level coarse, double[] coarseX,
+			double[] coarseY, Level fine, Rectangle bounds, Random random) {
+		double lengths = 0;
+		int count = 0;
+		for (int i = 0; i < coarse.size; i++) {
+			for (int k = coarse.offsets[i]; k < coarse.offsets[i + 1]; k++) {
+				int j = coarse.targets[k];
+				lengths += Math.hypot(coarseX[i] - coarseX[j],
+						coarseY[i] - coarseY[j]);
+				count++;
+			}
+		}
+		double spread = count > 0 ? 0.25 * lengths / count
+				: 0.25 * Math.min(bounds.getWidth(), bounds.getHeight())
+						/ Math.sqrt(coarse.size);
+
+		double[] x = new double[fine.size];
+		double[] y = new double[fine.size];
+		for (int i = 0; i < fine.size; i++) {
+			int c = fine.coarse[i];
+			x[i] = coarseX[c] + (random.nextDouble() - 0.5) * spread;
+			y[i] = coarseY[c] + (random.nextDouble() - 0.5) * spread;
+		}
+		return new double[][] { x, y };
+	}
+
+}
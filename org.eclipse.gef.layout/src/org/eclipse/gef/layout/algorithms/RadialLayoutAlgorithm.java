@@ -12,12 +12,13 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
-import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeListener;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
 
 /**
  * This layout will take the given entities, apply a tree layout to them, and
@@ -29,7 +30,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
+public class RadialLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	private static final double MAX_DEGREES = Math.PI * 2;
 	private double startDegree = 0;
@@ -40,6 +41,19 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private TreeLayoutAlgorithm treeLayout = new TreeLayoutAlgorithm();
 
+	/**
+	 * <code>true</code> if the tree structure was changed since the last
+	 * layout pass, so that a non-clean pass has to lay out the tree again.
+	 */
+	private boolean treeChanged = false;
+
+	private TreeListener treeListener = new TreeListener() {
+		@Override
+		protected void defaultHandle(TreeNode changedNode) {
+			treeChanged = true;
+		}
+	};
+
 	/**
 	 * Default constructor.
 	 */
@@ -47,49 +61,59 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void applyLayout(boolean clean) {
-		if (!clean)
+		if (!clean && !treeChanged && !context.isBoundsChanged())
 			return;
-		treeLayout.internalApplyLayout();
-		Node[] entities = context.getNodes();
+		treeChanged = false;
+		treeLayout.internalApplyLayout(clean);
+		LayoutView view = context.getLayoutView();
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
-		computeRadialPositions(entities, bounds);
+		computeRadialPositions(view, bounds);
 		if (resize)
-			AlgorithmHelper.maximizeSizes(entities);
+			AlgorithmHelper.maximizeSizes(view);
 		int insets = 4;
 		bounds.setX(bounds.getX() + insets);
 		bounds.setY(bounds.getY() + insets);
 		bounds.setWidth(bounds.getWidth() - 2 * insets);
 		bounds.setHeight(bounds.getHeight() - 2 * insets);
-		AlgorithmHelper.fitWithinBounds(entities, bounds, resize);
+		AlgorithmHelper.fitWithinBounds(view, bounds, resize);
 	}
 
-	private void computeRadialPositions(Node[] entities, Rectangle bounds) {
-		Rectangle layoutBounds = AlgorithmHelper.getLayoutBounds(entities,
-				false);
+	private void computeRadialPositions(LayoutView view, Rectangle bounds) {
+		Rectangle layoutBounds = AlgorithmHelper.getLayoutBounds(view, false);
 		layoutBounds.setX(bounds.getX());
 		layoutBounds.setWidth(bounds.getWidth());
-		for (int i = 0; i < entities.length; i++) {
-			Point location = LayoutProperties.getLocation(entities[i]);
+		double[] x = view.getX();
+		double[] y = view.getY();
+		for (int i = 0; i < view.getNodeCount(); i++) {
 			if (layoutBounds.getWidth() == 0 || layoutBounds.getHeight() == 0) {
-				location.x = 0;
-				location.y = 0;
+				x[i] = 0;
+				y[i] = 0;
 			} else {
-				double percenttheta = (location.x - layoutBounds.getX())
+				double percenttheta = (x[i] - layoutBounds.getX())
 						/ layoutBounds.getWidth();
-				double distance = (location.y - layoutBounds.getY())
+				double distance = (y[i] - layoutBounds.getY())
 						/ layoutBounds.getHeight();
 				double theta = startDegree
 						+ Math.abs(endDegree - startDegree) * percenttheta;
-				location.x = distance * Math.cos(theta);
-				location.y = distance * Math.sin(theta);
+				x[i] = distance * Math.cos(theta);
+				y[i] = distance * Math.sin(theta);
 			}
-			LayoutProperties.setLocation(entities[i], location);
 		}
 	}
 
 	public void setLayoutContext(LayoutContext context) {
 		this.context = context;
+		TreeLayoutObserver previousObserver = treeLayout.getTreeObserver();
 		treeLayout.setLayoutContext(context);
+		TreeLayoutObserver treeObserver = treeLayout.getTreeObserver();
+		if (treeObserver != previousObserver) {
+			if (previousObserver != null) {
+				previousObserver.removeTreeListener(treeListener);
+			}
+			if (treeObserver != null) {
+				treeObserver.addTreeListener(treeListener);
+			}
+		}
 	}
 
 	public LayoutContext getLayoutContext() {
@@ -17,17 +17,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeListener;
 import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
 
 /**
@@ -43,7 +47,7 @@ import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
+public class SpaceTreeLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	/**
 	 * Tree direction constant for which root is placed at the top and branches
@@ -83,18 +87,16 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			SpaceTreeNode child2 = (SpaceTreeNode) child;
 			child2.expanded = false;
 
+			// a layer (and the next one) has to exist for the old and the new
+			// depth of the child, which may have been moved by the observer
+			ensureLayers(Math.max(child.depth, this.depth + 1) + 1);
 			if (child.depth >= 0)
 				spaceTreeLayers.get(child.depth).removeNode(child2);
 
 			if (expanded) {
 				child.depth = this.depth + 1;
 
-				SpaceTreeLayer childLayer;
-				if (child.depth < spaceTreeLayers.size())
-					childLayer = spaceTreeLayers.get(child.depth);
-				else
-					spaceTreeLayers
-							.add(childLayer = new SpaceTreeLayer(child.depth));
+				SpaceTreeLayer childLayer = spaceTreeLayers.get(child.depth);
 
 				if (childLayer.nodes.isEmpty())
 					child.order = 0;
@@ -109,9 +111,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			super.precomputeTree();
 			if (this == owner.getSuperRoot()) {
 				expanded = true;
-				while (spaceTreeLayers.size() <= this.height)
-					spaceTreeLayers
-							.add(new SpaceTreeLayer(spaceTreeLayers.size()));
+				ensureLayers(this.height);
 			}
 		}
 
@@ -305,7 +305,8 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 					break;
 				}
 				Point currentLocation = LayoutProperties.getLocation(node);
-				if (currentLocation.x != x || currentLocation.y != y) {
+				if (currentLocation == null || currentLocation.x != x
+						|| currentLocation.y != y) {
 					LayoutProperties.setLocation(node, new Point(x, y));
 					SpaceTreeNode spaceTreeNode = (SpaceTreeNode) treeObserver
 							.getTreeNode(node);
@@ -493,12 +494,21 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 				}
 			}
 
+			// start positions that have already been tried; if the nodes
+			// cannot be placed from a start position that was tried before,
+			// the constraints of the nodes contradict each other, so that
+			// retrying would not terminate
+			Set<Double> triedStartPositions = new HashSet<>();
+			triedStartPositions.add(startPosition);
 			for (int i = 0; i < nodeList.size(); i++) {
 				SpaceTreeNode node = (SpaceTreeNode) nodeList.get(i);
 				double desiredPosition = startPosition + desiredPositions[i];
 				moveNode(node, desiredPosition);
 				if (Math.abs(node.positionInLayer - desiredPosition) > 0.5) {
 					startPosition += (node.positionInLayer - desiredPosition);
+					if (!triedStartPositions.add(startPosition)) {
+						break;
+					}
 					i = -1;
 					revertToSnapshot(snapShot);
 				}
@@ -581,7 +591,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 					if (currentNodeToMove.firstChild) {
 						SpaceTreeNode parent = (SpaceTreeNode) currentNodeToMove.parent;
 						if (depth > 0
-								&& parent.positionInLayer <= newPositionForCurrent) {
+								&& parent.positionInLayer < newPositionForCurrent) {
 							SpaceTreeLayer parentLayer = spaceTreeLayers
 									.get(depth - 1);
 							parentLayer.moveNodeForward(parent,
@@ -615,12 +625,14 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 									newPositionForCurrent
 											- expectedDistanceBetweenChildren);
 							if (currentNodeToMove.expanded
-									&& lastChild.positionInLayer < newPositionForCurrent) {
+									&& lastChild.positionInLayer < newPositionForCurrent
+											- POSITION_TOLERANCE) {
 								// the previous attempt failed -> try to move
 								// only the last child
 								childLayer.moveNodeForward(lastChild,
 										newPositionForCurrent);
-								if (lastChild.positionInLayer < newPositionForCurrent) {
+								if (lastChild.positionInLayer < newPositionForCurrent
+										- POSITION_TOLERANCE) {
 									// child couldn't be moved as far as needed
 									// -> move current node back to the position
 									// over the child
@@ -707,7 +719,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 					if (currentNodeToMove.lastChild) {
 						SpaceTreeNode parent = (SpaceTreeNode) currentNodeToMove.parent;
 						if (depth > 0
-								&& parent.positionInLayer >= newPositionForCurrent) {
+								&& parent.positionInLayer > newPositionForCurrent) {
 							SpaceTreeLayer parentLayer = spaceTreeLayers
 									.get(depth - 1);
 							parentLayer.moveNodeBackward(parent,
@@ -741,12 +753,14 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 									newPositionForCurrent
 											+ expectedDistanceBetweenChildren);
 							if (currentNodeToMove.expanded
-									&& firstChild.positionInLayer > newPositionForCurrent) {
+									&& firstChild.positionInLayer > newPositionForCurrent
+											+ POSITION_TOLERANCE) {
 								// the previous attempt failed -> try to move
 								// only the first child
 								childLayer.moveNodeBackward(firstChild,
 										newPositionForCurrent);
-								if (firstChild.positionInLayer > newPositionForCurrent) {
+								if (firstChild.positionInLayer > newPositionForCurrent
+										+ POSITION_TOLERANCE) {
 									// child couldn't be moved as far as needed
 									// -> move current node back to the position
 									// over the child
@@ -795,6 +809,13 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	/**
+	 * The tolerance within which a node is regarded to have reached the
+	 * position it was moved to, so that rounding errors of the accumulated
+	 * distances between pushed nodes do not cause further (recursive) moves.
+	 */
+	private static final double POSITION_TOLERANCE = 1e-6;
+
 	private int direction = TOP_DOWN;
 
 	private double leafGap = 15;
@@ -867,6 +888,43 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private TreeLayoutObserver treeObserver;
 
+	/**
+	 * The nodes whose children were changed by the observer since the last
+	 * layout pass, in the order in which they were changed.
+	 */
+	private final Set<SpaceTreeNode> changedBranches = new LinkedHashSet<>();
+
+	/**
+	 * Whether the nodes of the tree maintained by the current observer have
+	 * been placed in their layers by a clean layout pass. A newly created
+	 * observer (e.g. for the snapshot of an asynchronous layout pass, or when
+	 * returning from it to the original context) does not provide any
+	 * positions, so that the next pass has to be performed clean.
+	 */
+	private boolean treeLaidOut = false;
+
+	private TreeListener treeListener = new TreeListener() {
+		@Override
+		public void nodeAdded(TreeNode newNode) {
+			changedBranches.add((SpaceTreeNode) newNode.parent);
+		}
+
+		@Override
+		public void nodeRemoved(TreeNode removedNode) {
+			SpaceTreeNode node = (SpaceTreeNode) removedNode;
+			changedBranches.remove(node);
+			if (node.depth >= 0 && node.depth < spaceTreeLayers.size())
+				spaceTreeLayers.get(node.depth).removeNode(node);
+			changedBranches.add((SpaceTreeNode) node.parent);
+		}
+
+		@Override
+		public void parentChanged(TreeNode node, TreeNode previousParent) {
+			changedBranches.add((SpaceTreeNode) previousParent);
+			changedBranches.add((SpaceTreeNode) node.parent);
+		}
+	};
+
 	private double availableSpace;
 
 	private ArrayList<SpaceTreeLayer> spaceTreeLayers = new ArrayList<>();
@@ -930,9 +988,29 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			return;
 		}
 
-		if (clean) {
+		if (!clean && !treeLaidOut && !context.hasChanges()) {
+			// the layout was computed for another context (e.g. the snapshot
+			// of an asynchronous pass) and is still valid; the tree is laid
+			// out clean as soon as anything changes
+			return;
+		}
+
+		if (clean || !treeLaidOut) {
+			changedBranches.clear();
+			// the layers are populated with the recomputed nodes
+			spaceTreeLayers.clear();
 			treeObserver.recomputeTree();
 			maximizeExpansion((SpaceTreeNode) treeObserver.getSuperRoot());
+			treeLaidOut = true;
+		} else if (!changedBranches.isEmpty()) {
+			// only lay out the branches whose children were changed
+			ensureLayers(treeObserver.getSuperRoot().height);
+			for (SpaceTreeNode branch : new ArrayList<>(changedBranches)) {
+				if (branch.expanded) {
+					maximizeExpansion(branch);
+				}
+			}
+			changedBranches.clear();
 		}
 		SpaceTreeNode superRoot = ((SpaceTreeNode) treeObserver.getSuperRoot());
 		superRoot.flushExpansionChanges();
@@ -1021,11 +1099,33 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void setLayoutContext(LayoutContext context) {
-		if (this.context != null) {
+		if (treeObserver != null) {
+			if (treeObserver.isObserving(context)) {
+				// the observer keeps the tree structure up-to-date
+				return;
+			}
+			treeObserver.removeTreeListener(treeListener);
 			treeObserver.stop();
+			treeObserver = null;
 		}
 		this.context = context;
-		treeObserver = new TreeLayoutObserver(context, spaceTreeNodeFactory);
+		changedBranches.clear();
+		// the layers refer to the nodes of the previous observer
+		spaceTreeLayers.clear();
+		treeLaidOut = false;
+		if (context != null) {
+			treeObserver = new TreeLayoutObserver(context,
+					spaceTreeNodeFactory);
+			treeObserver.addTreeListener(treeListener);
+		}
+	}
+
+	/**
+	 * Ensures that the layers up to (and including) the given depth exist.
+	 */
+	private void ensureLayers(int depth) {
+		while (spaceTreeLayers.size() <= depth)
+			spaceTreeLayers.add(new SpaceTreeLayer(spaceTreeLayers.size()));
 	}
 
 	public LayoutContext getLayoutContext() {
@@ -14,16 +14,19 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import org.eclipse.gef.geometry.planar.Dimension;
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
 
 /**
  * The SpringLayoutAlgorithm has its own data repository and relation
@@ -37,7 +40,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
+public class SpringLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	/**
 	 * The default value for the spring layout number of iterations.
@@ -79,6 +82,72 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private static final double MIN_DISTANCE = 1.0d;
 
+	/**
+	 * The default value for approximating repulsion forces.
+	 */
+	private static final boolean DEFAULT_APPROXIMATE_REPULSION = false;
+
+	/**
+	 * The default value for the Barnes-Hut opening criterion.
+	 */
+	private static final double DEFAULT_BARNES_HUT_THETA = 0.8;
+
+	/**
+	 * The default value for computing forces in parallel.
+	 */
+	private static final boolean DEFAULT_PARALLEL = false;
+
+	/**
+	 * The number of nodes below which the force computation is not further
+	 * split into parallel tasks.
+	 */
+	private static final int PARALLEL_BLOCK_SIZE = 128;
+
+	/**
+	 * A {@link RecursiveAction} that computes the forces for a block of nodes,
+	 * recursively splitting the block until it is small enough. As the force
+	 * of each node is computed independently (and always in the same order),
+	 * the result does not depend on how the work is distributed.
+	 */
+	private class ForcesTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from, to;
+		private final double[] locationsX, locationsY;
+		private final double[] forcesX, forcesY;
+
+		private ForcesTask(int from, int to, double[] locationsX,
+				double[] locationsY, double[] forcesX, double[] forcesY) {
+			this.from = from;
+			this.to = to;
+			this.locationsX = locationsX;
+			this.locationsY = locationsY;
+			this.forcesX = forcesX;
+			this.forcesY = forcesY;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_BLOCK_SIZE) {
+				if (approximateRepulsion) {
+					computeApproximateForces(from, to, forcesX, forcesY,
+							BarnesHutQuadTree.newStack());
+				} else {
+					computeExactForces(from, to, locationsX, locationsY,
+							forcesX, forcesY);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+						new ForcesTask(from, middle, locationsX, locationsY,
+								forcesX, forcesY),
+						new ForcesTask(middle, to, locationsX, locationsY,
+								forcesX, forcesY));
+			}
+		}
+	}
+
 	/**
 	 * The variable can be customized to set the number of iterations used.
 	 */
@@ -117,6 +186,32 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private double sprGravitation = DEFAULT_SPRING_GRAVITATION;
 
+	/**
+	 * The variable can be customized to set whether repulsion forces are
+	 * approximated using a Barnes-Hut quadtree.
+	 */
+	private boolean approximateRepulsion = DEFAULT_APPROXIMATE_REPULSION;
+
+	/**
+	 * The variable can be customized to set the Barnes-Hut opening criterion
+	 * used for approximating repulsion forces.
+	 */
+	private double barnesHutTheta = DEFAULT_BARNES_HUT_THETA;
+
+	/**
+	 * The variable can be customized to set whether forces are computed in
+	 * parallel.
+	 */
+	private boolean parallel = DEFAULT_PARALLEL;
+
+	/**
+	 * The seed used for random placement, or <code>null</code> if no fixed
+	 * seed is used.
+	 */
+	private Long randomSeed;
+
+	private Random random;
+
 	/**
 	 * Variable indicating whether the algorithm should resize elements.
 	 */
@@ -124,9 +219,35 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private int iteration;
 
-	private double[][] srcDestToSumOfWeights;
+	/**
+	 * Sums of edge weights between connected nodes in compressed sparse row
+	 * format, i.e. the weights between node <i>i</i> and the nodes
+	 * <code>weightTargets[weightOffsets[i] .. weightOffsets[i + 1] - 1]</code>
+	 * are stored at the same positions within <code>weightSums</code>. Each
+	 * connected pair of nodes is contained in both directions, and the targets
+	 * within each row are sorted in ascending order.
+	 */
+	private int[] weightOffsets, weightTargets;
+
+	private double[] weightSums;
 
-	private Node[] entities;
+	private boolean[] movable;
+
+	/**
+	 * Marks the nodes that may be moved during an incremental layout pass, or
+	 * <code>null</code> if all nodes may be moved.
+	 */
+	private boolean[] affected;
+
+	private double[][] stepForcesX, stepForcesY;
+
+	private double[] stepLocationsX, stepLocationsY;
+
+	private double[] scaledX, scaledY;
+
+	private BarnesHutQuadTree quadTree;
+
+	private LayoutView view;
 
 	private double[] forcesX, forcesY;
 
@@ -145,18 +266,28 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	private LayoutContext context;
 
 	public void applyLayout(boolean clean) {
-		initLayout();
-		if (!clean) {
+		if (clean) {
+			initLayout();
+		} else if (!initIncrementalLayout()) {
+			// nothing changed since the last layout pass
 			return;
 		}
 
 		while (performAnotherNonContinuousIteration()) {
+			if (context.isLayoutCancelled()) {
+				return;
+			}
 			computeOneIteration();
 		}
 
 		saveLocations();
+		if (affected != null) {
+			// keep the existing layout, i.e. do not resize or scale
+			affected = null;
+			return;
+		}
 		if (resize)
-			AlgorithmHelper.maximizeSizes(entities);
+			AlgorithmHelper.maximizeSizes(view);
 
 		if (fitWithinBounds) {
 			Rectangle bounds2 = new Rectangle(bounds);
@@ -165,7 +296,20 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			bounds2.setY(bounds2.getY() + insets);
 			bounds2.setWidth(bounds2.getWidth() - 2 * insets);
 			bounds2.setHeight(bounds2.getHeight() - 2 * insets);
-			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
+			Rectangle unfittedBounds = getLocationBounds();
+			AlgorithmHelper.fitWithinBounds(view, bounds2, resize);
+			loadLocations();
+			// adjust the scale to the fitted locations, so that subsequent
+			// incremental layout passes start from an equilibrium
+			Rectangle fittedBounds = getLocationBounds();
+			if (unfittedBounds.getWidth() > 0) {
+				boundsScaleX *= fittedBounds.getWidth()
+						/ unfittedBounds.getWidth();
+			}
+			if (unfittedBounds.getHeight() > 0) {
+				boundsScaleY *= fittedBounds.getHeight()
+						/ unfittedBounds.getHeight();
+			}
 		}
 	}
 
@@ -187,15 +331,18 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	public void performNIteration(int n) {
 		context.preLayout();
 		if (iteration == 0) {
-			entities = context.getNodes();
-			loadLocations();
 			initLayout();
+		} else {
+			// the view of a previous invocation has already been flushed
+			view = context.getLayoutView();
 		}
 		bounds = LayoutProperties.getBounds(context.getGraph());
 		for (int i = 0; i < n; i++) {
 			computeOneIteration();
 			saveLocations();
 		}
+		// not performed within a layout pass, so flush explicitly
+		context.flushLayoutView();
 		context.postLayout();
 	}
 
@@ -205,13 +352,16 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	public void performOneIteration() {
 		context.preLayout();
 		if (iteration == 0) {
-			entities = context.getNodes();
-			loadLocations();
 			initLayout();
+		} else {
+			// the view of a previous invocation has already been flushed
+			view = context.getLayoutView();
 		}
 		bounds = LayoutProperties.getBounds(context.getGraph());
 		computeOneIteration();
 		saveLocations();
+		// not performed within a layout pass, so flush explicitly
+		context.flushLayoutView();
 		context.postLayout();
 	}
 
@@ -362,6 +512,113 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		sprRandom = random;
 	}
 
+	/**
+	 * Sets whether or not this {@link SpringLayoutAlgorithm} approximates the
+	 * repulsion forces between nodes using a Barnes-Hut quadtree. This reduces
+	 * the costs of an iteration from O(n<sup>2</sup>) to O(n log n + e), where
+	 * <i>n</i> is the number of nodes and <i>e</i> the number of edges, at the
+	 * price of some accuracy that is controlled by the
+	 * {@link #setBarnesHutTheta(double) Barnes-Hut theta}.
+	 * 
+	 * @param approximate
+	 *            <code>true</code> to approximate repulsion forces, otherwise
+	 *            <code>false</code> (default).
+	 */
+	public void setApproximateRepulsion(boolean approximate) {
+		approximateRepulsion = approximate;
+	}
+
+	/**
+	 * Returns whether or not this {@link SpringLayoutAlgorithm} approximates
+	 * the repulsion forces between nodes using a Barnes-Hut quadtree.
+	 * 
+	 * @return <code>true</code> if repulsion forces are approximated, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isApproximateRepulsion() {
+		return approximateRepulsion;
+	}
+
+	/**
+	 * Sets the Barnes-Hut opening criterion, which is used when
+	 * {@link #setApproximateRepulsion(boolean) approximating repulsion forces}.
+	 * A group of nodes is approximated by its center of mass if the ratio
+	 * between the size of the group and its distance is below this value.
+	 * Smaller values are more accurate, larger values are faster. A value of
+	 * <code>0</code> effectively disables the approximation.
+	 * 
+	 * @param theta
+	 *            The Barnes-Hut opening criterion (default is
+	 *            <code>0.8</code>).
+	 */
+	public void setBarnesHutTheta(double theta) {
+		if (theta < 0) {
+			throw new IllegalArgumentException(
+					"Theta may not be negative, but was " + theta + ".");
+		}
+		barnesHutTheta = theta;
+	}
+
+	/**
+	 * Returns the Barnes-Hut opening criterion, which is used when
+	 * {@link #setApproximateRepulsion(boolean) approximating repulsion forces}.
+	 * 
+	 * @return The Barnes-Hut opening criterion.
+	 */
+	public double getBarnesHutTheta() {
+		return barnesHutTheta;
+	}
+
+	/**
+	 * Sets whether or not this {@link SpringLayoutAlgorithm} computes the
+	 * forces of an iteration in parallel, distributing blocks of nodes to the
+	 * available processors via the common {@link ForkJoinPool}. The computed
+	 * forces do not depend on the number of processors, so that results are
+	 * reproducible when using a {@link #setRandomSeed(Long) fixed seed} and a
+	 * fixed number of {@link #setIterations(int) iterations} (i.e. no
+	 * {@link #setSpringTimeout(long) timeout}).
+	 * 
+	 * @param parallel
+	 *            <code>true</code> to compute forces in parallel, otherwise
+	 *            <code>false</code> (default).
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns whether or not this {@link SpringLayoutAlgorithm} computes the
+	 * forces of an iteration in parallel.
+	 * 
+	 * @return <code>true</code> if forces are computed in parallel, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Sets the seed that is used to {@link #setRandom(boolean) randomly
+	 * position} nodes before beginning iterations.
+	 * 
+	 * @param seed
+	 *            The seed to use, or <code>null</code> (default) to use a
+	 *            different random placement for each layout pass.
+	 */
+	public void setRandomSeed(Long seed) {
+		randomSeed = seed;
+	}
+
+	/**
+	 * Returns the seed that is used to {@link #setRandom(boolean) randomly
+	 * position} nodes before beginning iterations.
+	 * 
+	 * @return The seed, or <code>null</code> if no fixed seed is used.
+	 */
+	public Long getRandomSeed() {
+		return randomSeed;
+	}
+
 	/**
 	 * Returns whether or not this {@link SpringLayoutAlgorithm} will layout the
 	 * nodes randomly before beginning iterations.
@@ -376,63 +633,234 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	private long startTime = 0;
 
 	private void initLayout() {
-		entities = context.getNodes();
+		affected = null;
+		initLayoutData();
+		if (sprRandom)
+			placeRandomly(); // put vertices in random places
+	}
+
+	private void initLayoutData() {
+		view = context.getLayoutView();
 		bounds = LayoutProperties.getBounds(context.getGraph());
 		loadLocations();
 
-		srcDestToSumOfWeights = new double[entities.length][entities.length];
-		HashMap<Node, Integer> entityToPosition = new HashMap<>();
-		for (int i = 0; i < entities.length; i++) {
-			entityToPosition.put(entities[i], new Integer(i));
+		initWeights();
+
+		random = randomSeed == null ? new Random() : new Random(randomSeed);
+
+		iteration = 1;
+
+		startTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Prepares an incremental layout pass, which warm-starts from the current
+	 * locations and only moves the nodes that changed since the last layout
+	 * pass (according to the {@link LayoutContext}), together with their
+	 * direct neighbors. Changed nodes are initially placed close to the
+	 * barycenter of their already placed neighbors (unless they are not
+	 * connected to any unchanged node). If all nodes changed, a full
+	 * layout pass is prepared instead. If only the layout bounds changed, all
+	 * nodes are refined starting from their current locations.
+	 * 
+	 * @return <code>true</code> if a layout pass has to be performed,
+	 *         <code>false</code> if nothing changed.
+	 */
+	private boolean initIncrementalLayout() {
+		if (!context.hasChanges()) {
+			return false;
 		}
 
-		Edge[] connections = context.getEdges();
-		for (int i = 0; i < connections.length; i++) {
-			Edge connection = connections[i];
-			Integer source = entityToPosition.get(connection.getSource());
-			Integer target = entityToPosition.get(connection.getTarget());
-			if (source == null || target == null)
+		initLayoutData();
+		Set<Node> changedNodes = context.getChangedNodes();
+		Set<Edge> changedEdges = context.getChangedEdges();
+		if (changedNodes.isEmpty() && changedEdges.isEmpty()) {
+			// only the bounds changed, so the current layout is refined and
+			// fitted into the new bounds
+			return true;
+		}
+		int n = view.getNodeCount();
+		boolean[] changed = new boolean[n];
+		for (Node node : changedNodes) {
+			markChanged(changed, node);
+		}
+		for (Edge edge : changedEdges) {
+			markChanged(changed, edge.getSource());
+			markChanged(changed, edge.getTarget());
+		}
+		int changedCount = 0;
+		for (int i = 0; i < n; i++) {
+			if (changed[i]) {
+				changedCount++;
+			}
+		}
+		if (changedCount == n) {
+			if (sprRandom)
+				placeRandomly();
+			return true;
+		}
+
+		// place changed nodes close to the barycenter of their already placed
+		// neighbors, starting with those next to unchanged nodes; the jitter
+		// (within the size of a node) separates nodes that are placed at the
+		// same barycenter
+		affected = Arrays.copyOf(changed, n);
+		boolean[] placed = new boolean[n];
+		boolean[] queued = new boolean[n];
+		int[] queue = new int[changedCount];
+		int head = 0;
+		int tail = 0;
+		for (int i = 0; i < n; i++) {
+			if (!changed[i]) {
+				placed[i] = true;
 				continue;
-			double weight = LayoutProperties.getWeight(connection);
-			weight = (weight <= 0 ? 0.1 : weight);
-			srcDestToSumOfWeights[source.intValue()][target
-					.intValue()] += weight;
-			srcDestToSumOfWeights[target.intValue()][source
-					.intValue()] += weight;
+			}
+			for (int k = weightOffsets[i]; k < weightOffsets[i + 1]; k++) {
+				int j = weightTargets[k];
+				affected[j] = true;
+				if (!changed[j] && !queued[i]) {
+					queued[i] = true;
+					queue[tail++] = i;
+				}
+			}
 		}
+		while (head < tail) {
+			int i = queue[head++];
+			double sumX = 0;
+			double sumY = 0;
+			int count = 0;
+			for (int k = weightOffsets[i]; k < weightOffsets[i + 1]; k++) {
+				int j = weightTargets[k];
+				if (placed[j]) {
+					sumX += locationsX[j];
+					sumY += locationsY[j];
+					count++;
+				} else if (!queued[j]) {
+					queued[j] = true;
+					queue[tail++] = j;
+				}
+			}
+			locationsX[i] = sumX / count
+					+ (random.nextDouble() - 0.5) * Math.max(sizeW[i], 1);
+			locationsY[i] = sumY / count
+					+ (random.nextDouble() - 0.5) * Math.max(sizeH[i], 1);
+			placed[i] = true;
+		}
+		return true;
+	}
 
-		if (sprRandom)
-			placeRandomly(); // put vertices in random places
+	private void markChanged(boolean[] changed, Node node) {
+		int i = view.indexOf(node);
+		if (i >= 0) {
+			changed[i] = true;
+		}
+	}
 
-		iteration = 1;
+	/**
+	 * Computes the sums of edge weights between connected nodes in compressed
+	 * sparse row format, so that memory consumption is linear in the number of
+	 * nodes and edges.
+	 */
+	private void initWeights() {
+		int n = view.getNodeCount();
+
+		// collect (undirected) connections
+		int m = view.getEdgeCount();
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		double[] weights = new double[m];
+		int[] degrees = new int[n];
+		int count = 0;
+		for (int i = 0; i < m; i++) {
+			int source = view.getSource(i);
+			int target = view.getTarget(i);
+			if (source < 0 || target < 0 || source == target)
+				continue;
+			double weight = LayoutProperties.getWeight(view.getEdge(i));
+			sources[count] = source;
+			targets[count] = target;
+			weights[count] = (weight <= 0 ? 0.1 : weight);
+			degrees[source]++;
+			degrees[target]++;
+			count++;
+		}
 
-		startTime = System.currentTimeMillis();
+		// fill rows (in both directions)
+		int[] offsets = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] = offsets[i] + degrees[i];
+		}
+		int[] rowTargets = new int[offsets[n]];
+		double[] rowSums = new double[offsets[n]];
+		int[] fill = Arrays.copyOf(offsets, n);
+		for (int e = 0; e < count; e++) {
+			rowTargets[fill[sources[e]]] = targets[e];
+			rowSums[fill[sources[e]]++] = weights[e];
+			rowTargets[fill[targets[e]]] = sources[e];
+			rowSums[fill[targets[e]]++] = weights[e];
+		}
+
+		// combine parallel connections, compacting the rows in place
+		weightOffsets = new int[n + 1];
+		int[] positionInRow = new int[n];
+		Arrays.fill(positionInRow, -1);
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			weightOffsets[i] = size;
+			for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+				int j = rowTargets[k];
+				if (positionInRow[j] >= weightOffsets[i]) {
+					rowSums[positionInRow[j]] += rowSums[k];
+				} else {
+					positionInRow[j] = size;
+					rowTargets[size] = j;
+					rowSums[size++] = rowSums[k];
+				}
+			}
+		}
+		weightOffsets[n] = size;
+
+		// transpose (the matrix is symmetric), which sorts the targets of
+		// each row, because rows are scanned in ascending order
+		int[] transposedFill = Arrays.copyOf(weightOffsets, n);
+		weightTargets = new int[size];
+		weightSums = new double[size];
+		for (int i = 0; i < n; i++) {
+			for (int k = weightOffsets[i]; k < weightOffsets[i + 1]; k++) {
+				int j = rowTargets[k];
+				weightTargets[transposedFill[j]] = i;
+				weightSums[transposedFill[j]++] = rowSums[k];
+			}
+		}
 	}
 
 	private void loadLocations() {
-		if (locationsX == null || locationsX.length != entities.length) {
-			int length = entities.length;
+		int length = view.getNodeCount();
+		if (locationsX == null || locationsX.length != length) {
 			locationsX = new double[length];
 			locationsY = new double[length];
 			sizeW = new double[length];
 			sizeH = new double[length];
 			forcesX = new double[length];
 			forcesY = new double[length];
+			stepForcesX = new double[2][length];
+			stepForcesY = new double[2][length];
+			stepLocationsX = new double[length];
+			stepLocationsY = new double[length];
+			scaledX = new double[length];
+			scaledY = new double[length];
+			movable = new boolean[length];
 		}
-		for (int i = 0; i < entities.length; i++) {
-			Point location = LayoutProperties.getLocation(entities[i]);
-			locationsX[i] = location.x;
-			locationsY[i] = location.y;
-			Dimension size = LayoutProperties.getSize(entities[i]);
-			sizeW[i] = size.width;
-			sizeH[i] = size.height;
-		}
+		System.arraycopy(view.getX(), 0, locationsX, 0, length);
+		System.arraycopy(view.getY(), 0, locationsY, 0, length);
+		System.arraycopy(view.getWidth(), 0, sizeW, 0, length);
+		System.arraycopy(view.getHeight(), 0, sizeH, 0, length);
 	}
 
 	private void saveLocations() {
-		if (entities == null)
+		if (view == null)
 			return;
-		for (int i = 0; i < entities.length; i++) {
+		for (int i = 0; i < locationsX.length; i++) {
 			// TODO ensure no dynamic layout passes are triggered as a result of
 			// storing the positions
 			// TODO: check where NaN values originate from
@@ -440,8 +868,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 				locationsX[i] = 0;
 				locationsY[i] = 0;
 			}
-			LayoutProperties.setLocation(entities[i],
-					new Point(locationsX[i], locationsY[i]));
+			view.setLocation(i, locationsX[i], locationsY[i]);
 		}
 	}
 
@@ -499,10 +926,14 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	protected void computeOneIteration() {
 		computeForces();
 		computePositions();
-		Rectangle currentBounds = getLayoutBounds();
-		improveBoundScaleX(currentBounds);
-		improveBoundScaleY(currentBounds);
-		moveToCenter(currentBounds);
+		if (affected == null) {
+			// the unaffected nodes determine scale and center during
+			// incremental layout passes
+			Rectangle currentBounds = getLayoutBounds();
+			improveBoundScaleX(currentBounds);
+			improveBoundScaleY(currentBounds);
+			moveToCenter(currentBounds);
+		}
 		iteration++;
 	}
 
@@ -526,9 +957,9 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			locationsY[1] = bounds.getY() + bounds.getHeight();
 			for (int i = 2; i < locationsX.length; i++) {
 				locationsX[i] = bounds.getX()
-						+ Math.random() * bounds.getWidth();
+						+ random.nextDouble() * bounds.getWidth();
 				locationsY[i] = bounds.getY()
-						+ Math.random() * bounds.getHeight();
+						+ random.nextDouble() * bounds.getHeight();
 			}
 		}
 	}
@@ -538,66 +969,57 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 * computed force will be stored in the data repository
 	 */
 	protected void computeForces() {
+		double forcesX[][] = stepForcesX;
+		double forcesY[][] = stepForcesY;
+		double locationsX[] = stepLocationsX;
+		double locationsY[] = stepLocationsY;
+		int n = this.forcesX.length;
 
-		double forcesX[][] = new double[2][this.forcesX.length];
-		double forcesY[][] = new double[2][this.forcesX.length];
-		double locationsX[] = new double[this.forcesX.length];
-		double locationsY[] = new double[this.forcesX.length];
-
-		// // initialize all forces to zero
+		// initialize all forces to zero
 		for (int j = 0; j < 2; j++) {
-			for (int i = 0; i < this.forcesX.length; i++) {
-				forcesX[j][i] = 0;
-				forcesY[j][i] = 0;
-				locationsX[i] = this.locationsX[i];
-				locationsY[i] = this.locationsY[i];
-			}
+			Arrays.fill(forcesX[j], 0, n, 0);
+			Arrays.fill(forcesY[j], 0, n, 0);
+		}
+		System.arraycopy(this.locationsX, 0, locationsX, 0, n);
+		System.arraycopy(this.locationsY, 0, locationsY, 0, n);
+		for (int i = 0; i < n; i++) {
+			movable[i] = view.isMovable(i)
+					&& (affected == null || affected[i]);
 		}
-		// TODO: Again really really slow!
 
 		for (int k = 0; k < 2; k++) {
-			for (int i = 0; i < this.locationsX.length; i++) {
-
-				for (int j = i + 1; j < locationsX.length; j++) {
-					double dx = (locationsX[i] - locationsX[j])
-							/ bounds.getWidth() / boundsScaleX;
-					double dy = (locationsY[i] - locationsY[j])
-							/ bounds.getHeight() / boundsScaleY;
-					double distance_sq = dx * dx + dy * dy;
-					// make sure distance and distance squared not too small
-					distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
-							distance_sq);
-					double distance = Math.sqrt(distance_sq);
-
-					// If there are relationships between srcObj and destObj
-					// then decrease force on srcObj (a pull) in direction of
-					// destObj
-					// If no relation between srcObj and destObj then increase
-					// force on srcObj (a push) from direction of destObj.
-					double sumOfWeights = srcDestToSumOfWeights[i][j];
-
-					double f;
-					if (sumOfWeights > 0) {
-						// nodes are pulled towards each other
-						f = -sprStrain * Math.log(distance / sprLength)
-								* sumOfWeights;
+			if (approximateRepulsion) {
+				buildQuadTree(locationsX, locationsY);
+			}
+			if (affected != null) {
+				// only the forces of the movable nodes are needed
+				int[] stack = approximateRepulsion
+						? BarnesHutQuadTree.newStack() : null;
+				for (int i = 0; i < n; i++) {
+					if (!movable[i]) {
+						continue;
+					}
+					if (approximateRepulsion) {
+						computeApproximateForces(i, i + 1, forcesX[k],
+								forcesY[k], stack);
 					} else {
-						// nodes are repelled from each other
-						f = sprGravitation / (distance_sq);
+						computeExactForces(i, i + 1, locationsX, locationsY,
+								forcesX[k], forcesY[k]);
 					}
-					double dfx = f * dx / distance;
-					double dfy = f * dy / distance;
-
-					forcesX[k][i] += dfx;
-					forcesY[k][i] += dfy;
-
-					forcesX[k][j] -= dfx;
-					forcesY[k][j] -= dfy;
 				}
+			} else if (parallel && n > PARALLEL_BLOCK_SIZE) {
+				ForkJoinPool.commonPool().invoke(new ForcesTask(0, n,
+						locationsX, locationsY, forcesX[k], forcesY[k]));
+			} else if (approximateRepulsion) {
+				computeApproximateForces(0, n, forcesX[k], forcesY[k],
+						BarnesHutQuadTree.newStack());
+			} else {
+				computeExactForces(locationsX, locationsY, forcesX[k],
+						forcesY[k]);
 			}
 
-			for (int i = 0; i < entities.length; i++) {
-				if (LayoutProperties.isMovable(entities[i])) {
+			for (int i = 0; i < n; i++) {
+				if (movable[i]) {
 					double deltaX = sprMove * forcesX[k][i];
 					double deltaY = sprMove * forcesY[k][i];
 
@@ -618,7 +1040,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 
 		}
 		// // initialize all forces to zero
-		for (int i = 0; i < this.entities.length; i++) {
+		for (int i = 0; i < n; i++) {
 			if (forcesX[0][i] * forcesX[1][i] < 0) {
 				this.forcesX[i] = 0;
 			} else {
@@ -635,14 +1057,167 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 
 	}
 
+	/**
+	 * Computes the spring forces for all pairs of nodes in O(n<sup>2</sup>).
+	 * Connected nodes are pulled towards each other, while all other nodes are
+	 * repelled from each other.
+	 */
+	private void computeExactForces(double[] locationsX, double[] locationsY,
+			double[] forcesX, double[] forcesY) {
+		double scaleX = bounds.getWidth() * boundsScaleX;
+		double scaleY = bounds.getHeight() * boundsScaleY;
+		for (int i = 0; i < locationsX.length; i++) {
+			// rows are sorted, so the weights can be looked up by advancing a
+			// pointer along with j
+			int k = weightOffsets[i];
+			int end = weightOffsets[i + 1];
+			while (k < end && weightTargets[k] <= i) {
+				k++;
+			}
+
+			for (int j = i + 1; j < locationsX.length; j++) {
+				double dx = (locationsX[i] - locationsX[j]) / scaleX;
+				double dy = (locationsY[i] - locationsY[j]) / scaleY;
+				double distance_sq = dx * dx + dy * dy;
+				// make sure distance and distance squared not too small
+				distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
+						distance_sq);
+				double distance = Math.sqrt(distance_sq);
+
+				// If there are relationships between srcObj and destObj
+				// then decrease force on srcObj (a pull) in direction of
+				// destObj
+				// If no relation between srcObj and destObj then increase
+				// force on srcObj (a push) from direction of destObj.
+				double sumOfWeights = 0;
+				if (k < end && weightTargets[k] == j) {
+					sumOfWeights = weightSums[k++];
+				}
+
+				double f;
+				if (sumOfWeights > 0) {
+					// nodes are pulled towards each other
+					f = -sprStrain * Math.log(distance / sprLength)
+							* sumOfWeights;
+				} else {
+					// nodes are repelled from each other
+					f = sprGravitation / (distance_sq);
+				}
+				double dfx = f * dx / distance;
+				double dfy = f * dy / distance;
+
+				forcesX[i] += dfx;
+				forcesY[i] += dfy;
+
+				forcesX[j] -= dfx;
+				forcesY[j] -= dfy;
+			}
+		}
+	}
+
+	/**
+	 * Computes the spring forces for the nodes within the given index range,
+	 * considering all other nodes. In contrast to
+	 * {@link #computeExactForces(double[], double[], double[], double[])}
+	 * only the forces of the nodes within the range are written, so that
+	 * disjoint ranges may be computed in parallel.
+	 */
+	private void computeExactForces(int from, int to, double[] locationsX,
+			double[] locationsY, double[] forcesX, double[] forcesY) {
+		double scaleX = bounds.getWidth() * boundsScaleX;
+		double scaleY = bounds.getHeight() * boundsScaleY;
+		for (int i = from; i < to; i++) {
+			int k = weightOffsets[i];
+			int end = weightOffsets[i + 1];
+			double fx = 0;
+			double fy = 0;
+			for (int j = 0; j < locationsX.length; j++) {
+				if (j == i) {
+					continue;
+				}
+				double dx = (locationsX[i] - locationsX[j]) / scaleX;
+				double dy = (locationsY[i] - locationsY[j]) / scaleY;
+				double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
+						dx * dx + dy * dy);
+				double distance = Math.sqrt(distance_sq);
+
+				double sumOfWeights = 0;
+				if (k < end && weightTargets[k] == j) {
+					sumOfWeights = weightSums[k++];
+				}
+
+				double f;
+				if (sumOfWeights > 0) {
+					f = -sprStrain * Math.log(distance / sprLength)
+							* sumOfWeights;
+				} else {
+					f = sprGravitation / (distance_sq);
+				}
+				fx += f * dx / distance;
+				fy += f * dy / distance;
+			}
+			forcesX[i] += fx;
+			forcesY[i] += fy;
+		}
+	}
+
+	/**
+	 * Scales the given locations and builds the Barnes-Hut quadtree for them,
+	 * which is used to approximate repulsion forces.
+	 */
+	private void buildQuadTree(double[] locationsX, double[] locationsY) {
+		int n = locationsX.length;
+		double scaleX = bounds.getWidth() * boundsScaleX;
+		double scaleY = bounds.getHeight() * boundsScaleY;
+		for (int i = 0; i < n; i++) {
+			scaledX[i] = locationsX[i] / scaleX;
+			scaledY[i] = locationsY[i] / scaleY;
+		}
+		if (quadTree == null) {
+			quadTree = new BarnesHutQuadTree();
+		}
+		quadTree.build(scaledX, scaledY, n);
+	}
+
+	/**
+	 * Computes the spring forces for the nodes within the given index range in
+	 * O((to - from) log n + e), approximating the repulsion between all pairs
+	 * of nodes using the Barnes-Hut quadtree. The repulsion between connected
+	 * nodes is afterwards replaced by their attraction. Only the forces of the
+	 * nodes within the range are written, so that disjoint ranges may be
+	 * computed in parallel.
+	 */
+	private void computeApproximateForces(int from, int to, double[] forcesX,
+			double[] forcesY, int[] stack) {
+		for (int i = from; i < to; i++) {
+			// repulsion between all pairs of nodes
+			quadTree.accumulateRepulsion(i, barnesHutTheta, sprGravitation,
+					MIN_DISTANCE, forcesX, forcesY, stack);
+
+			// attraction between connected nodes
+			for (int k = weightOffsets[i]; k < weightOffsets[i + 1]; k++) {
+				int j = weightTargets[k];
+				double dx = scaledX[i] - scaledX[j];
+				double dy = scaledY[i] - scaledY[j];
+				double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
+						dx * dx + dy * dy);
+				double distance = Math.sqrt(distance_sq);
+				double f = -sprStrain * Math.log(distance / sprLength)
+						* weightSums[k] - sprGravitation / distance_sq;
+				forcesX[i] += f * dx / distance;
+				forcesY[i] += f * dy / distance;
+			}
+		}
+	}
+
 	/**
 	 * Computes the position for each node in this SpringLayoutAlgorithm. The
 	 * computed position will be stored in the data repository. position =
 	 * position + sprMove * force
 	 */
 	protected void computePositions() {
-		for (int i = 0; i < entities.length; i++) {
-			if (LayoutProperties.isMovable(entities[i])) {
+		for (int i = 0; i < locationsX.length; i++) {
+			if (movable[i]) {
 				double deltaX = sprMove * forcesX[i];
 				double deltaY = sprMove * forcesY[i];
 
@@ -675,6 +1250,20 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		return new Rectangle(minX, minY, maxX - minX, maxY - minY);
 	}
 
+	private Rectangle getLocationBounds() {
+		double minX, maxX, minY, maxY;
+		minX = minY = Double.POSITIVE_INFINITY;
+		maxX = maxY = Double.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < locationsX.length; i++) {
+			maxX = Math.max(maxX, locationsX[i]);
+			minX = Math.min(minX, locationsX[i]);
+			maxY = Math.max(maxY, locationsY[i]);
+			minY = Math.min(minY, locationsY[i]);
+		}
+		return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+	}
+
 	private void improveBoundScaleX(Rectangle currentBounds) {
 		double boundaryProportionX = currentBounds.getWidth()
 				/ bounds.getWidth();
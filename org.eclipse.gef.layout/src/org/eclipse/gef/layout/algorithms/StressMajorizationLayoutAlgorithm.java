@@ -0,0 +1,691 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
+
+/**
+ * The {@link StressMajorizationLayoutAlgorithm} computes a distance-preserving
+ * layout, i.e. it places the nodes so that their geometric distances
+ * correspond to their graph-theoretic (shortest path) distances. The edges
+ * are regarded as undirected, and the {@link LayoutProperties#getWeight(
+ * org.eclipse.gef.graph.Edge) weight} of an edge is used as its length (edges
+ * without a positive weight have unit length).
+ * <p>
+ * To scale to large graphs, only the distances from a small number of
+ * {@link #setPivotCount(int) pivots} are computed, so that time and memory
+ * are linear in the number of nodes (for a fixed number of pivots), instead of
+ * being quadratic as for a complete distance matrix:
+ * <ol>
+ * <li>The pivots are selected by a max/min strategy, each new pivot being the
+ * node farthest from the already selected ones.</li>
+ * <li>An initial layout is computed by pivot MDS, following Brandes, Pich:
+ * "Eigensolver Methods for Progressive Multidimensional Scaling of Large Data"
+ * (http://dx.doi.org/10.1007/978-3-540-70904-6_6).</li>
+ * <li>The layout is refined by sparse stress majorization, following
+ * Ortmann, Klimenta, Brandes: "A Sparse Stress Model"
+ * (http://dx.doi.org/10.1007/978-3-319-50106-2_2), which considers the
+ * distances between adjacent nodes and the (weighted) distances of each node
+ * to all pivots.</li>
+ * </ol>
+ * The resulting layout is fitted within the layout bounds. Disconnected nodes
+ * are regarded to be as far apart as the farthest connected ones.
+ *
+ * @author agent
+ *
+ */
+public class StressMajorizationLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
+
+	private static final int POWER_ITERATIONS = 100;
+
+	/**
+	 * The majorization stops when the nodes are moved by less than this
+	 * fraction of the average edge length (on average).
+	 */
+	private static final double CONVERGENCE_THRESHOLD = 1e-4;
+
+	private LayoutContext context;
+
+	private int pivotCount = 50;
+
+	private int iterations = 100;
+
+	private boolean resize = false;
+
+	private Long randomSeed;
+
+	// the undirected adjacency in compressed sparse row format, together with
+	// the lengths of the edges
+	private int[] offsets;
+	private int[] targets;
+	private double[] lengths;
+	private boolean uniformLengths;
+
+	/**
+	 * Returns the number of pivots whose distances to all other nodes are
+	 * computed.
+	 *
+	 * @return The number of pivots.
+	 */
+	public int getPivotCount() {
+		return pivotCount;
+	}
+
+	/**
+	 * Sets the number of pivots whose distances to all other nodes are
+	 * computed. More pivots improve the quality of the layout at the price of
+	 * time and memory, which are proportional to the number of pivots times
+	 * the number of nodes.
+	 *
+	 * @param pivotCount
+	 *            The number of pivots (default is <code>50</code>).
+	 */
+	public void setPivotCount(int pivotCount) {
+		if (pivotCount < 2) {
+			throw new IllegalArgumentException(
+					"At least 2 pivots are required, but " + pivotCount
+							+ " were requested.");
+		}
+		this.pivotCount = pivotCount;
+	}
+
+	/**
+	 * Returns the maximum number of stress majorization iterations.
+	 *
+	 * @return The maximum number of iterations.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Sets the maximum number of stress majorization iterations that are
+	 * performed to refine the initial (pivot MDS) layout. The iterations
+	 * stop early when the layout has converged.
+	 *
+	 * @param iterations
+	 *            The maximum number of iterations (default is
+	 *            <code>100</code>).
+	 */
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Returns the seed that is used to select the first pivot.
+	 *
+	 * @return The random seed, or <code>null</code> if no seed is used.
+	 */
+	public Long getRandomSeed() {
+		return randomSeed;
+	}
+
+	/**
+	 * Sets the seed that is used to select the first pivot, so that
+	 * subsequent layout passes on the same graph produce the same layout.
+	 *
+	 * @param seed
+	 *            The random seed, or <code>null</code> (default) to use a
+	 *            different seed for each layout pass.
+	 */
+	public void setRandomSeed(Long seed) {
+		randomSeed = seed;
+	}
+
+	/**
+	 * @return true if this algorithm is set to resize elements
+	 */
+	public boolean isResizing() {
+		return resize;
+	}
+
+	/**
+	 * @param resizing
+	 *            true if this algorithm should resize elements (default is
+	 *            false)
+	 */
+	public void setResizing(boolean resizing) {
+		resize = resizing;
+	}
+
+	public void setLayoutContext(LayoutContext context) {
+		this.context = context;
+	}
+
+	public LayoutContext getLayoutContext() {
+		return context;
+	}
+
+	public void applyLayout(boolean clean) {
+		if (!clean && !context.hasChanges()) {
+			return;
+		}
+		LayoutView view = context.getLayoutView();
+		int n = view.getNodeCount();
+		if (n == 0) {
+			return;
+		}
+
+		double[] x = new double[n];
+		double[] y = new double[n];
+		if (n > 1) {
+			buildAdjacency(view);
+			Random random = randomSeed == null ? new Random()
+					: new Random(randomSeed);
+			int k = Math.min(pivotCount, n);
+			int[] pivots = new int[k];
+			double[][] distances = selectPivots(n, k, random.nextInt(n),
+					pivots);
+			pivotMds(distances, x, y, random);
+			majorize(view, pivots, distances, x, y);
+		}
+		for (int i = 0; i < n; i++) {
+			if (view.isMovable(i)) {
+				view.setLocation(i, x[i], y[i]);
+			}
+		}
+
+		if (resize) {
+			AlgorithmHelper.maximizeSizes(view);
+		}
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		int insets = 4;
+		bounds.setX(bounds.getX() + insets);
+		bounds.setY(bounds.getY() + insets);
+		bounds.setWidth(bounds.getWidth() - 2 * insets);
+		bounds.setHeight(bounds.getHeight() - 2 * insets);
+		AlgorithmHelper.fitWithinBounds(view, bounds, resize);
+	}
+
+	/**
+	 * Builds the undirected adjacency of the given view, combining parallel
+	 * edges (using the shortest length) and ignoring self loops.
+	 */
+	private void buildAdjacency(LayoutView view) {
+		int n = view.getNodeCount();
+		int m = view.getEdgeCount();
+		int[] degrees = new int[n + 1];
+		for (int e = 0; e < m; e++) {
+			int source = view.getSource(e);
+			int target = view.getTarget(e);
+			if (source >= 0 && target >= 0 && source != target) {
+				degrees[source + 1]++;
+				degrees[target + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			degrees[i + 1] += degrees[i];
+		}
+		int[] rowTargets = new int[degrees[n]];
+		double[] rowLengths = new double[degrees[n]];
+		int[] fill = Arrays.copyOf(degrees, n);
+		for (int e = 0; e < m; e++) {
+			int source = view.getSource(e);
+			int target = view.getTarget(e);
+			if (source >= 0 && target >= 0 && source != target) {
+				double weight = LayoutProperties.getWeight(view.getEdge(e));
+				double length = weight > 0 ? weight : 1;
+				rowTargets[fill[source]] = target;
+				rowLengths[fill[source]++] = length;
+				rowTargets[fill[target]] = source;
+				rowLengths[fill[target]++] = length;
+			}
+		}
+
+		// combine parallel edges, compacting the rows in place
+		offsets = new int[n + 1];
+		int[] positionInRow = new int[n];
+		Arrays.fill(positionInRow, -1);
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			offsets[i] = size;
+			for (int k = degrees[i]; k < degrees[i + 1]; k++) {
+				int j = rowTargets[k];
+				if (positionInRow[j] >= offsets[i]) {
+					rowLengths[positionInRow[j]] = Math
+							.min(rowLengths[positionInRow[j]], rowLengths[k]);
+				} else {
+					positionInRow[j] = size;
+					rowTargets[size] = j;
+					rowLengths[size++] = rowLengths[k];
+				}
+			}
+		}
+		offsets[n] = size;
+		targets = Arrays.copyOf(rowTargets, size);
+		lengths = Arrays.copyOf(rowLengths, size);
+		uniformLengths = true;
+		for (int k = 1; k < size && uniformLengths; k++) {
+			uniformLengths = lengths[k] == lengths[0];
+		}
+	}
+
+	/**
+	 * Selects the given number of pivots by a max/min strategy, starting with
+	 * the given node, and computes their distances to all nodes.
+	 *
+	 * @return The distances of the nodes to the pivots (one row per pivot),
+	 *         where unreachable nodes have the largest finite distance.
+	 */
+	private double[][] selectPivots(int n, int k, int first, int[] pivots) {
+		double[][] distances = new double[k][];
+		double[] minDistances = new double[n];
+		Arrays.fill(minDistances, Double.POSITIVE_INFINITY);
+		int pivot = first;
+		int[] queue = new int[n];
+		for (int p = 0; p < k; p++) {
+			pivots[p] = pivot;
+			distances[p] = new double[n];
+			computeDistances(pivot, distances[p], queue);
+			// prefer the farthest reachable node, so that a component is
+			// covered before pivots are spent on unreachable nodes
+			int farthest = -1;
+			int unreachable = -1;
+			for (int i = 0; i < n; i++) {
+				minDistances[i] = Math.min(minDistances[i], distances[p][i]);
+				if (minDistances[i] == Double.POSITIVE_INFINITY) {
+					if (unreachable < 0) {
+						unreachable = i;
+					}
+				} else if (minDistances[i] > 0 && (farthest < 0
+						|| minDistances[i] > minDistances[farthest])) {
+					farthest = i;
+				}
+			}
+			int next = farthest >= 0 ? farthest : unreachable;
+			if (next < 0) {
+				// all nodes are pivots already
+				pivots = Arrays.copyOf(pivots, p + 1);
+				distances = Arrays.copyOf(distances, p + 1);
+				break;
+			}
+			pivot = next;
+		}
+
+		// unreachable nodes are as far apart as the farthest reachable ones
+		double maxDistance = 0;
+		for (double[] row : distances) {
+			for (double d : row) {
+				if (d != Double.POSITIVE_INFINITY) {
+					maxDistance = Math.max(maxDistance, d);
+				}
+			}
+		}
+		for (double[] row : distances) {
+			for (int i = 0; i < n; i++) {
+				if (row[i] == Double.POSITIVE_INFINITY) {
+					row[i] = Math.max(maxDistance, 1);
+				}
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Computes the shortest path distances from the given source to all
+	 * nodes, using a breadth-first search if all edges have the same length,
+	 * and Dijkstra's algorithm otherwise. Unreachable nodes have an infinite
+	 * distance.
+	 */
+	private void computeDistances(int source, double[] distances,
+			int[] queue) {
+		Arrays.fill(distances, Double.POSITIVE_INFINITY);
+		distances[source] = 0;
+		if (uniformLengths) {
+			double length = lengths.length == 0 ? 1 : lengths[0];
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = source;
+			while (head < tail) {
+				int i = queue[head++];
+				for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+					int j = targets[k];
+					if (distances[j] == Double.POSITIVE_INFINITY) {
+						distances[j] = distances[i] + length;
+						queue[tail++] = j;
+					}
+				}
+			}
+			return;
+		}
+
+		// binary heap with lazy deletion of outdated entries
+		int[] heapNodes = new int[targets.length + 1];
+		double[] heapKeys = new double[targets.length + 1];
+		int size = 0;
+		heapNodes[size] = source;
+		heapKeys[size++] = 0;
+		while (size > 0) {
+			int i = heapNodes[0];
+			double d = heapKeys[0];
+			size--;
+			siftDown(heapNodes, heapKeys, size, heapNodes[size],
+					heapKeys[size]);
+			if (d > distances[i]) {
+				continue;
+			}
+			for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+				int j = targets[k];
+				double candidate = d + lengths[k];
+				if (candidate < distances[j]) {
+					distances[j] = candidate;
+					siftUp(heapNodes, heapKeys, size++, j, candidate);
+				}
+			}
+		}
+	}
+
+	private static void siftUp(int[] nodes, double[] keys, int position,
+			int node, double key) {
+		while (position > 0) {
+			int parent = (position - 1) / 2;
+			if (keys[parent] <= key) {
+				break;
+			}
+			nodes[position] = nodes[parent];
+			keys[position] = keys[parent];
+			position = parent;
+		}
+		nodes[position] = node;
+		keys[position] = key;
+	}
+
+	private static void siftDown(int[] nodes, double[] keys, int size,
+			int node, double key) {
+		if (size == 0) {
+			return;
+		}
+		int position = 0;
+		while (2 * position + 1 < size) {
+			int child = 2 * position + 1;
+			if (child + 1 < size && keys[child + 1] < keys[child]) {
+				child++;
+			}
+			if (key <= keys[child]) {
+				break;
+			}
+			nodes[position] = nodes[child];
+			keys[position] = keys[child];
+			position = child;
+		}
+		nodes[position] = node;
+		keys[position] = key;
+	}
+
+	/**
+	 * Computes the initial layout by classical multidimensional scaling of the
+	 * (double centered) squared distances to the pivots, using the two
+	 * dominant eigenvectors of the (small) pivots x pivots inner product
+	 * matrix.
+	 */
+	private void pivotMds(double[][] distances, double[] x, double[] y,
+			Random random) {
+		int k = distances.length;
+		int n = x.length;
+
+		// double centering of the squared distances
+		double[][] c = new double[k][n];
+		double[] nodeMeans = new double[n];
+		double grandMean = 0;
+		for (int p = 0; p < k; p++) {
+			double pivotMean = 0;
+			for (int i = 0; i < n; i++) {
+				double squared = distances[p][i] * distances[p][i];
+				c[p][i] = squared;
+				pivotMean += squared;
+				nodeMeans[i] += squared / k;
+			}
+			pivotMean /= n;
+			grandMean += pivotMean / k;
+			for (int i = 0; i < n; i++) {
+				c[p][i] -= pivotMean;
+			}
+		}
+		for (int p = 0; p < k; p++) {
+			for (int i = 0; i < n; i++) {
+				c[p][i] = -0.5 * (c[p][i] - nodeMeans[i] + grandMean);
+			}
+		}
+
+		// inner products of the pivot columns
+		double[][] b = new double[k][k];
+		for (int p = 0; p < k; p++) {
+			for (int q = p; q < k; q++) {
+				double sum = 0;
+				for (int i = 0; i < n; i++) {
+					sum += c[p][i] * c[q][i];
+				}
+				b[p][q] = b[q][p] = sum;
+			}
+		}
+
+		// dominant eigenvectors by power iteration (with orthogonalization)
+		double[] first = powerIteration(b, null, random);
+		double[] second = powerIteration(b, first, random);
+		for (int i = 0; i < n; i++) {
+			double xi = 0;
+			double yi = 0;
+			for (int p = 0; p < k; p++) {
+				xi += c[p][i] * first[p];
+				yi += c[p][i] * second[p];
+			}
+			x[i] = xi;
+			y[i] = yi;
+		}
+	}
+
+	private static double[] powerIteration(double[][] matrix,
+			double[] orthogonalTo, Random random) {
+		int k = matrix.length;
+		double[] vector = new double[k];
+		for (int p = 0; p < k; p++) {
+			vector[p] = random.nextDouble() - 0.5;
+		}
+		double[] next = new double[k];
+		for (int iteration = 0; iteration < POWER_ITERATIONS; iteration++) {
+			if (orthogonalTo != null) {
+				double dot = 0;
+				for (int p = 0; p < k; p++) {
+					dot += vector[p] * orthogonalTo[p];
+				}
+				for (int p = 0; p < k; p++) {
+					vector[p] -= dot * orthogonalTo[p];
+				}
+			}
+			double norm = 0;
+			for (int p = 0; p < k; p++) {
+				double sum = 0;
+				for (int q = 0; q < k; q++) {
+					sum += matrix[p][q] * vector[q];
+				}
+				next[p] = sum;
+				norm += sum * sum;
+			}
+			norm = Math.sqrt(norm);
+			if (norm == 0) {
+				break;
+			}
+			double change = 0;
+			for (int p = 0; p < k; p++) {
+				double value = next[p] / norm;
+				change += Math.abs(value - vector[p]);
+				vector[p] = value;
+			}
+			if (change < 1e-9) {
+				break;
+			}
+		}
+		return vector;
+	}
+
+	/**
+	 * Refines the given layout by sparse stress majorization. Each node is
+	 * placed at the weighted average of the positions its adjacent nodes and
+	 * the pivots suggest for it. A pivot term is weighted by the number of
+	 * nodes of the pivot's region (the nodes closest to the pivot) that are
+	 * at most half as far from the pivot as the node, because it represents
+	 * the distances to all of them.
+	 */
+	private void majorize(LayoutView view, int[] pivots, double[][] distances,
+			double[] x, double[] y) {
+		int n = x.length;
+		int k = pivots.length;
+
+		// assign the nodes to the region of their closest pivot
+		int[] regions = new int[n];
+		int[] regionSizes = new int[k];
+		for (int i = 0; i < n; i++) {
+			int region = 0;
+			for (int p = 1; p < k; p++) {
+				if (distances[p][i] < distances[region][i]) {
+					region = p;
+				}
+			}
+			regions[i] = region;
+			regionSizes[region]++;
+		}
+		double[][] regionDistances = new double[k][];
+		int[] fill = new int[k];
+		for (int p = 0; p < k; p++) {
+			regionDistances[p] = new double[regionSizes[p]];
+		}
+		for (int i = 0; i < n; i++) {
+			int region = regions[i];
+			regionDistances[region][fill[region]++] = distances[region][i];
+		}
+		for (int p = 0; p < k; p++) {
+			Arrays.sort(regionDistances[p]);
+		}
+
+		// weights of the pivot terms
+		double[][] weights = new double[k][n];
+		for (int p = 0; p < k; p++) {
+			for (int i = 0; i < n; i++) {
+				double d = distances[p][i];
+				if (d > 0) {
+					int count = upperBound(regionDistances[p], d / 2);
+					weights[p][i] = Math.max(count, 1) / (d * d);
+				}
+			}
+		}
+
+		// scale the initial layout to fit the distances to the pivots best
+		double numerator = 0;
+		double denominator = 0;
+		for (int p = 0; p < k; p++) {
+			int pivot = pivots[p];
+			for (int i = 0; i < n; i++) {
+				double w = weights[p][i];
+				if (w > 0) {
+					double distance = Math.hypot(x[i] - x[pivot],
+							y[i] - y[pivot]);
+					numerator += w * distances[p][i] * distance;
+					denominator += w * distance * distance;
+				}
+			}
+		}
+		if (denominator > 0) {
+			double scale = numerator / denominator;
+			for (int i = 0; i < n; i++) {
+				x[i] *= scale;
+				y[i] *= scale;
+			}
+		}
+
+		double averageLength = 1;
+		if (lengths.length > 0) {
+			averageLength = 0;
+			for (double length : lengths) {
+				averageLength += length;
+			}
+			averageLength /= lengths.length;
+		}
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			if (context.isLayoutCancelled()) {
+				return;
+			}
+			double movement = 0;
+			for (int i = 0; i < n; i++) {
+				if (!view.isMovable(i)) {
+					continue;
+				}
+				double sumX = 0;
+				double sumY = 0;
+				double sumWeights = 0;
+				for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+					int j = targets[e];
+					double d = lengths[e];
+					double w = 1 / (d * d);
+					double dx = x[i] - x[j];
+					double dy = y[i] - y[j];
+					double distance = Math.hypot(dx, dy);
+					double factor = distance > 0 ? d / distance : 0;
+					sumX += w * (x[j] + factor * dx);
+					sumY += w * (y[j] + factor * dy);
+					sumWeights += w;
+				}
+				for (int p = 0; p < k; p++) {
+					double w = weights[p][i];
+					if (w == 0) {
+						continue;
+					}
+					int j = pivots[p];
+					double dx = x[i] - x[j];
+					double dy = y[i] - y[j];
+					double distance = Math.hypot(dx, dy);
+					double factor = distance > 0 ? distances[p][i] / distance
+							: 0;
+					sumX += w * (x[j] + factor * dx);
+					sumY += w * (y[j] + factor * dy);
+					sumWeights += w;
+				}
+				if (sumWeights > 0) {
+					double newX = sumX / sumWeights;
+					double newY = sumY / sumWeights;
+					movement += Math.hypot(newX - x[i], newY - y[i]);
+					x[i] = newX;
+					y[i] = newY;
+				}
+			}
+			if (movement / n < CONVERGENCE_THRESHOLD * averageLength) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of values of the given sorted array that are less
+	 * than or equal to the given value.
+	 */
+	private static int upperBound(double[] sorted, double value) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sorted[middle] <= value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+}
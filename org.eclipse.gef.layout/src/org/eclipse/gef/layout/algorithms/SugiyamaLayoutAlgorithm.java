@@ -18,26 +18,28 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 
 import org.eclipse.gef.geometry.planar.Dimension;
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.graph.algorithms.FeedbackArcSet;
+import org.eclipse.gef.graph.algorithms.IndexedGraph;
+import org.eclipse.gef.graph.algorithms.Layering;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
 
 /**
  * The SugiyamaLayoutAlgorithm class implements an algorithm to arrange a
@@ -58,7 +60,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Adam Kovacs
  * @author mwienand
  */
-public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
+public class SugiyamaLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	/**
 	 * Specifies the direction for the {@link SugiyamaLayoutAlgorithm}.
@@ -75,6 +77,27 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		VERTICAL
 	}
 
+	/**
+	 * Specifies how the nodes are positioned within their layers by the
+	 * {@link SugiyamaLayoutAlgorithm}.
+	 */
+	public enum CoordinateAssignment {
+		/**
+		 * Nodes are placed on a uniform grid that is stretched to the layout
+		 * bounds, ignoring their sizes.
+		 */
+		GRID,
+
+		/**
+		 * Nodes are placed compactly (respecting their sizes) using a
+		 * Brandes-Köpf style vertical alignment and horizontal compaction,
+		 * which keeps edges short and long edges straight. Layers are spaced
+		 * according to the sizes of their nodes. The layout starts at the
+		 * top-left corner of the layout bounds and is not scaled.
+		 */
+		BRANDES_KOEPF
+	}
+
 	/**
 	 * 
 	 * An interface for heuristics that reduces edge crossings.
@@ -639,6 +662,385 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	/**
+	 * Implements the CrossingReducer interface. This algorithm repeatedly
+	 * sweeps down and up the layers, ordering the nodes of each layer by the
+	 * barycenter of their neighbors in the preceding layer. The total number
+	 * of crossings is counted after each sweep in O(e log v) using an
+	 * accumulator tree (Barth, Jünger, Mutzel: "Simple and Efficient Bilayer
+	 * Cross Counting", http://dx.doi.org/10.7155/jgaa.00088), and the ordering
+	 * with the fewest crossings is retained. All computations are performed on
+	 * integer position arrays that are prepared once per reduction.
+	 * <p>
+	 * If the layers are connected via predecessors and successors of the
+	 * {@link NodeWrapper}s (as created by the {@link SimpleLayerProvider}),
+	 * these are used. Otherwise, the edges of the graph that connect nodes of
+	 * adjacent layers are considered.
+	 * 
+	 * @author agent
+	 *
+	 */
+	public static class LayerSweepCrossingReducer implements CrossingReducer {
+
+		private static final int DEFAULT_MAX_SWEEPS = 24;
+
+		/**
+		 * The number of subsequent sweeps without improvement after which the
+		 * reduction stops.
+		 */
+		private static final int MAX_SWEEPS_WITHOUT_IMPROVEMENT = 4;
+
+		private int maxSweeps = DEFAULT_MAX_SWEEPS;
+
+		private int numberOfCrossings;
+
+		// per node data (nodes are numbered layer by layer)
+		private int[] layerOf;
+		private int[] position;
+		private double[] keys;
+
+		// per layer data
+		private int[] layerOffsets;
+		private int[][] orders;
+
+		// neighbors in the previous (upper) and next (lower) layer, in
+		// compressed sparse row format
+		private int[] upperOffsets, upperNeighbors;
+		private int[] lowerOffsets, lowerNeighbors;
+
+		// scratch arrays
+		private int[] accumulatorTree = new int[0];
+		private int[] southPositions = new int[0];
+		private int[] mergeBuffer = new int[0];
+
+		/**
+		 * Returns the maximum number of (down or up) sweeps that are
+		 * performed.
+		 * 
+		 * @return The maximum number of sweeps.
+		 */
+		public int getMaxSweeps() {
+			return maxSweeps;
+		}
+
+		/**
+		 * Sets the maximum number of (down or up) sweeps that are performed.
+		 * The reduction stops earlier if the number of crossings did not
+		 * improve during several subsequent sweeps.
+		 * 
+		 * @param maxSweeps
+		 *            The maximum number of sweeps (default is 24).
+		 */
+		public void setMaxSweeps(int maxSweeps) {
+			if (maxSweeps < 0) {
+				throw new IllegalArgumentException(
+						"The maximum number of sweeps may not be negative, but was "
+								+ maxSweeps + ".");
+			}
+			this.maxSweeps = maxSweeps;
+		}
+
+		/**
+		 * Returns the number of crossings between adjacent layers of the
+		 * ordering that resulted from the last
+		 * {@link #crossReduction(List) reduction}.
+		 * 
+		 * @return The number of crossings after the last reduction.
+		 */
+		public int getNumberOfCrossings() {
+			return numberOfCrossings;
+		}
+
+		public void crossReduction(List<List<NodeWrapper>> nodes) {
+			List<NodeWrapper> wrappers = index(nodes);
+			buildAdjacency(nodes, wrappers);
+
+			int[][] best = copyOrders();
+			int bestCrossings = countCrossings();
+			int sweepsWithoutImprovement = 0;
+			for (int sweep = 0; sweep < maxSweeps && bestCrossings > 0
+					&& sweepsWithoutImprovement < MAX_SWEEPS_WITHOUT_IMPROVEMENT; sweep++) {
+				if ((sweep & 1) == 0) {
+					for (int l = 1; l < orders.length; l++) {
+						orderByBarycenter(l, upperOffsets, upperNeighbors);
+					}
+				} else {
+					for (int l = orders.length - 2; l >= 0; l--) {
+						orderByBarycenter(l, lowerOffsets, lowerNeighbors);
+					}
+				}
+				int crossings = countCrossings();
+				if (crossings < bestCrossings) {
+					bestCrossings = crossings;
+					best = copyOrders();
+					sweepsWithoutImprovement = 0;
+				} else {
+					sweepsWithoutImprovement++;
+				}
+			}
+			numberOfCrossings = bestCrossings;
+
+			// transfer the best ordering to the layers
+			for (int l = 0; l < best.length; l++) {
+				List<NodeWrapper> layer = nodes.get(l);
+				for (int i = 0; i < best[l].length; i++) {
+					NodeWrapper nw = wrappers.get(best[l][i]);
+					nw.index = i;
+					layer.set(i, nw);
+				}
+			}
+		}
+
+		/**
+		 * Numbers the given nodes layer by layer and initializes the per node
+		 * and per layer data.
+		 */
+		private List<NodeWrapper> index(List<List<NodeWrapper>> nodes) {
+			List<NodeWrapper> wrappers = new ArrayList<>();
+			layerOffsets = new int[nodes.size() + 1];
+			orders = new int[nodes.size()][];
+			for (int l = 0; l < nodes.size(); l++) {
+				layerOffsets[l] = wrappers.size();
+				List<NodeWrapper> layer = nodes.get(l);
+				orders[l] = new int[layer.size()];
+				for (int i = 0; i < layer.size(); i++) {
+					orders[l][i] = wrappers.size();
+					wrappers.add(layer.get(i));
+				}
+			}
+			int n = wrappers.size();
+			layerOffsets[nodes.size()] = n;
+			layerOf = new int[n];
+			position = new int[n];
+			keys = new double[n];
+			for (int l = 0; l < nodes.size(); l++) {
+				for (int i = 0; i < orders[l].length; i++) {
+					layerOf[orders[l][i]] = l;
+					position[orders[l][i]] = i;
+				}
+			}
+			return wrappers;
+		}
+
+		/**
+		 * Determines the neighbors of all nodes within the adjacent layers.
+		 */
+		private void buildAdjacency(List<List<NodeWrapper>> nodes,
+				List<NodeWrapper> wrappers) {
+			int n = wrappers.size();
+			Map<NodeWrapper, Integer> ids = new IdentityHashMap<>();
+			boolean linked = false;
+			for (int i = 0; i < n; i++) {
+				NodeWrapper nw = wrappers.get(i);
+				ids.put(nw, i);
+				linked |= !nw.pred.isEmpty() || !nw.succ.isEmpty();
+			}
+
+			// collect (undirected) connections between adjacent layers
+			int[] upper = new int[16];
+			int[] lower = new int[16];
+			int count = 0;
+			if (linked) {
+				for (int i = 0; i < n; i++) {
+					for (NodeWrapper succ : wrappers.get(i).succ) {
+						Integer j = ids.get(succ);
+						if (j != null && layerOf[j] == layerOf[i] + 1) {
+							if (count == upper.length) {
+								upper = Arrays.copyOf(upper, 2 * count);
+								lower = Arrays.copyOf(lower, 2 * count);
+							}
+							upper[count] = i;
+							lower[count++] = j;
+						}
+					}
+				}
+			} else {
+				Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+				for (int i = 0; i < n; i++) {
+					if (wrappers.get(i).node != null) {
+						nodeIds.put(wrappers.get(i).node, i);
+					}
+				}
+				for (int i = 0; i < n; i++) {
+					Node node = wrappers.get(i).node;
+					if (node == null) {
+						continue;
+					}
+					for (Edge edge : node.getLocalOutgoingEdges()) {
+						Integer j = nodeIds.get(edge.getTarget());
+						if (j == null) {
+							continue;
+						}
+						int u, v;
+						if (layerOf[j] == layerOf[i] + 1) {
+							u = i;
+							v = j;
+						} else if (layerOf[i] == layerOf[j] + 1) {
+							u = j;
+							v = i;
+						} else {
+							continue;
+						}
+						if (count == upper.length) {
+							upper = Arrays.copyOf(upper, 2 * count);
+							lower = Arrays.copyOf(lower, 2 * count);
+						}
+						upper[count] = u;
+						lower[count++] = v;
+					}
+				}
+			}
+
+			upperOffsets = new int[n + 1];
+			lowerOffsets = new int[n + 1];
+			for (int e = 0; e < count; e++) {
+				upperOffsets[lower[e] + 1]++;
+				lowerOffsets[upper[e] + 1]++;
+			}
+			for (int i = 0; i < n; i++) {
+				upperOffsets[i + 1] += upperOffsets[i];
+				lowerOffsets[i + 1] += lowerOffsets[i];
+			}
+			upperNeighbors = new int[count];
+			lowerNeighbors = new int[count];
+			int[] upperFill = Arrays.copyOf(upperOffsets, n);
+			int[] lowerFill = Arrays.copyOf(lowerOffsets, n);
+			for (int e = 0; e < count; e++) {
+				upperNeighbors[upperFill[lower[e]]++] = upper[e];
+				lowerNeighbors[lowerFill[upper[e]]++] = lower[e];
+			}
+		}
+
+		private int[][] copyOrders() {
+			int[][] copy = new int[orders.length][];
+			for (int l = 0; l < orders.length; l++) {
+				copy[l] = orders[l].clone();
+			}
+			return copy;
+		}
+
+		/**
+		 * Orders the nodes of the given layer by the barycenter of their
+		 * neighbors (as given by the offsets and neighbors arrays). Nodes
+		 * without neighbors retain their position.
+		 */
+		private void orderByBarycenter(int l, int[] offsets,
+				int[] neighbors) {
+			int[] order = orders[l];
+			for (int v : order) {
+				int degree = offsets[v + 1] - offsets[v];
+				if (degree == 0) {
+					keys[v] = position[v];
+				} else {
+					double sum = 0;
+					for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+						sum += position[neighbors[k]];
+					}
+					keys[v] = sum / degree;
+				}
+			}
+			mergeSort(order, 0, order.length);
+			for (int i = 0; i < order.length; i++) {
+				position[order[i]] = i;
+			}
+		}
+
+		/**
+		 * Stable sort of the given range of node indices by their keys.
+		 */
+		private void mergeSort(int[] order, int from, int to) {
+			if (to - from < 2) {
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			mergeSort(order, from, middle);
+			mergeSort(order, middle, to);
+			if (keys[order[middle - 1]] <= keys[order[middle]]) {
+				return;
+			}
+			if (mergeBuffer.length < to - from) {
+				mergeBuffer = new int[Math.max(to - from,
+						2 * mergeBuffer.length)];
+			}
+			int i = from, j = middle, k = 0;
+			while (i < middle && j < to) {
+				mergeBuffer[k++] = keys[order[j]] < keys[order[i]] ? order[j++]
+						: order[i++];
+			}
+			while (i < middle) {
+				mergeBuffer[k++] = order[i++];
+			}
+			while (j < to) {
+				mergeBuffer[k++] = order[j++];
+			}
+			System.arraycopy(mergeBuffer, 0, order, from, k);
+		}
+
+		/**
+		 * Counts the crossings between all pairs of adjacent layers.
+		 */
+		private int countCrossings() {
+			int crossings = 0;
+			for (int l = 0; l < orders.length - 1; l++) {
+				crossings += countCrossings(orders[l], orders[l + 1].length);
+			}
+			return crossings;
+		}
+
+		/**
+		 * Counts the crossings between the given (northern) layer and the
+		 * layer below it (having the given size) using an accumulator tree.
+		 * The edges are traversed in lexicographical order of their
+		 * (northern, southern) end positions, and for each edge the number of
+		 * previously inserted edges whose southern end lies further right is
+		 * accumulated.
+		 */
+		private int countCrossings(int[] northOrder, int southSize) {
+			if (southSize < 2) {
+				return 0;
+			}
+			// sort the southern end positions of each northern node
+			int count = 0;
+			for (int u : northOrder) {
+				int from = count;
+				for (int k = lowerOffsets[u]; k < lowerOffsets[u + 1]; k++) {
+					if (count == southPositions.length) {
+						southPositions = Arrays.copyOf(southPositions,
+								Math.max(16, 2 * count));
+					}
+					southPositions[count++] = position[lowerNeighbors[k]];
+				}
+				Arrays.sort(southPositions, from, count);
+			}
+
+			int firstIndex = 1;
+			while (firstIndex < southSize) {
+				firstIndex *= 2;
+			}
+			int treeSize = 2 * firstIndex - 1;
+			firstIndex -= 1;
+			if (accumulatorTree.length < treeSize) {
+				accumulatorTree = new int[treeSize];
+			}
+			Arrays.fill(accumulatorTree, 0, treeSize, 0);
+
+			int crossings = 0;
+			for (int e = 0; e < count; e++) {
+				int index = southPositions[e] + firstIndex;
+				accumulatorTree[index]++;
+				while (index > 0) {
+					if ((index & 1) == 1) {
+						// left child, so count the right sibling
+						crossings += accumulatorTree[index + 1];
+					}
+					index = (index - 1) / 2;
+					accumulatorTree[index]++;
+				}
+			}
+			return crossings;
+		}
+	}
+
 	/**
 	 * Structure to store nodes and their positions in the layers. Furthermore
 	 * predecessors and successors can be assigned to the nodes.
@@ -856,30 +1258,24 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 
 		private Map<Node, Integer> assignedNodes = new IdentityHashMap<>();
 
-		/**
-		 * Returns the mutual connections of the two array given as parameters.
-		 * 
-		 * @param a
-		 * @param b
-		 * @return
-		 */
-		private List<Edge> intersectOfConnections(Collection<Edge> a,
-				Collection<Edge> b) {
-			ArrayList<Edge> res = new ArrayList<>();
-
-			for (Edge e : a) {
-				if (b.contains(e)) {
-					res.add(e);
+		private static boolean isRoot(IndexedGraph graph, int node) {
+			// a root has outgoing edges, or no incoming edges, besides
+			// self-loops
+			int incoming = 0;
+			for (int i = 0; i < graph.getIncomingEdgeCount(node); i++) {
+				if (!graph.isSelfLoop(graph.getIncomingEdge(node, i))) {
+					incoming++;
 				}
 			}
-			return res;
-		}
-
-		private void addToInitClosedList(Node node, int layout,
-				List<Node> initClosedList, Map<Node, NodeWrapper> map) {
-			NodeWrapper nw = new NodeWrapper(node, layout);
-			map.put(node, nw);
-			initClosedList.add(node);
+			if (incoming == 0) {
+				return true;
+			}
+			for (int i = 0; i < graph.getOutgoingEdgeCount(node); i++) {
+				if (!graph.isSelfLoop(graph.getOutgoingEdge(node, i))) {
+					return true;
+				}
+			}
+			return false;
 		}
 
 		/**
@@ -892,24 +1288,11 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		 * @return the list of root elements
 		 */
 		public ArrayList<Node> getRoots(List<Node> nodes) {
+			IndexedGraph graph = IndexedGraph.of(nodes);
 			ArrayList<Node> res = new ArrayList<>();
-
-			for (Node node : nodes) {
-				// directed edges
-				if (node.getLocalIncomingEdges().size() == 0)
-					res.add(node);
-				else {
-					int sizeOfIntersect = intersectOfConnections(
-							node.getLocalIncomingEdges(),
-							node.getLocalOutgoingEdges()).size();
-					// there are more outgoing edges, besides the bidirectionals
-					if (node.getLocalOutgoingEdges().size() > sizeOfIntersect)
-						res.add(node);
-					// only bidirectional edges, no incoming directed edges
-					if (node.getLocalIncomingEdges().size() == sizeOfIntersect
-							&& node.getLocalOutgoingEdges()
-									.size() == sizeOfIntersect)
-						res.add(node);
+			for (int v = 0; v < graph.getNodeCount(); v++) {
+				if (isRoot(graph, v)) {
+					res.add(graph.getNode(v));
 				}
 			}
 
@@ -950,278 +1333,248 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			assignedNodes.clear();
 		}
 
-		private static void updateIndex(List<NodeWrapper> list) {
-			for (int index = 0; index < list.size(); index++)
-				list.get(index).index = index;
-		}
-
-		/**
-		 * Creates a new layer and puts the elements of this layer to the map.
-		 * 
-		 * @param list
-		 */
-		private void addLayer(List<Node> list, List<List<NodeWrapper>> layers,
-				Map<Node, NodeWrapper> map) {
-			ArrayList<NodeWrapper> layer = new ArrayList<>(list.size());
-			for (Node node : list) {
-				// wrap each NodeLayout with the internal data object and
-				// provide a
-				// corresponding mapping
-				NodeWrapper nw = new NodeWrapper(node, layers.size());
-				map.put(node, nw);
-				layer.add(nw);
-			}
-			layers.add(layer);
-			updateIndex(layer);
-		}
-
 		/**
-		 * Finds the connected nodes to be processed.
-		 * 
-		 * @param toUnfold
-		 * @return
+		 * Assigns the nodes to layers by a breadth first search, which
+		 * follows edges in both directions, starting at a node that was
+		 * assigned to the first layer, or at a root. Assigned nodes keep their
+		 * layers, and are not unfolded (unless they are the start node).
+		 * Unconnected nodes are placed on the first layer.
 		 */
-		private ArrayList<Node> Unfold(Node toUnfold, Set<Node> openedList,
-				Set<Node> closedList) {
-			ArrayList<Node> res = new ArrayList<>();
-
-			for (Edge e : toUnfold.getLocalOutgoingEdges()) {
-				Node endPoint = e.getTarget();
-				if (endPoint.equals(toUnfold))
-					endPoint = e.getSource();
-				if (!closedList.contains(endPoint)
-						&& !openedList.contains(endPoint)
-						&& !res.contains(endPoint))
-					res.add(endPoint);
-			}
-			for (Edge e : toUnfold.getLocalIncomingEdges()) {
-				Node endPoint = e.getTarget();
-				if (endPoint.equals(toUnfold))
-					endPoint = e.getSource();
-				if (!closedList.contains(endPoint)
-						&& !openedList.contains(endPoint)
-						&& !res.contains(endPoint))
-					res.add(endPoint);
-			}
-
-			return res;
-		}
-
 		public List<List<NodeWrapper>> calculateLayers(List<Node> nodeLayouts) {
-			List<Node> nodes = new ArrayList<>(nodeLayouts);
-			Set<Node> openedList = new HashSet<>();
-			List<Node> initClosedList = new ArrayList<>();
-			Set<Node> closedList = new HashSet<>();
-			List<List<NodeWrapper>> layers = new ArrayList<>();
-			Map<Node, NodeWrapper> map = new IdentityHashMap<>();
-
-			// Assigns the given nodes to there layers
-			if (assignedNodes.size() > 0) {
-				for (Node node : nodes) {
-					if (assignedNodes.containsKey(node))
-						addToInitClosedList(node, assignedNodes.get(node),
-								initClosedList, map);
+			IndexedGraph graph = IndexedGraph.of(nodeLayouts);
+			int n = graph.getNodeCount();
+			int[] layerIndices = new int[n];
+			Arrays.fill(layerIndices, -1);
+			// the nodes in the order in which they are added to the layers
+			int[] order = new int[n];
+			int count = 0;
+			for (int v = 0; v < n; v++) {
+				Integer layer = assignedNodes.get(graph.getNode(v));
+				if (layer != null) {
+					layerIndices[v] = layer;
+					order[count++] = v;
 				}
 			}
 
-			// Only at first iteration, clearing initClosedList, starting to
-			// build
-			// layers
-			if (initClosedList.size() > 0) {
-				closedList.addAll(initClosedList);
-				nodes.removeAll(initClosedList);
-				initClosedList.clear();
-
-				for (Node node : closedList) {
-					if (map.get(node).layer < layers.size()) {
-						layers.get(map.get(node).layer).add(map.get(node));
-						updateIndex(layers.get(map.get(node).layer));
-					} else {
-						while (map.get(node).layer != layers.size()) {
-							ArrayList<Node> layer = new ArrayList<>();
-							addLayer(layer, layers, map);
-						}
-						ArrayList<Node> layer = new ArrayList<>();
-						layer.add(node);
-						addLayer(layer, layers, map);
-					}
+			// start at an assigned node on the first layer, or at a root
+			int start = -1;
+			for (int i = 0; i < count && start < 0; i++) {
+				if (layerIndices[order[i]] == 0) {
+					start = order[i];
 				}
 			}
-
-			ArrayList<Node> startPoints = new ArrayList<>();
-			// Starts by finding a root or selecting the first from the assigned
-			// ones
-			if (layers.size() > 0 && layers.get(0).size() > 0)
-				startPoints.add(layers.get(0).get(0).node);
-			else if (layers.size() == 0) {
-				startPoints.add(getRoots(nodes).get(0));
-				addLayer(startPoints, layers, map);
-			} else {
-				startPoints.add(getRoots(nodes).get(0));
-				for (Node startPoint : startPoints) {
-					if (!map.containsKey(startPoint)) {
-						NodeWrapper nw = new NodeWrapper(startPoint, 0);
-						map.put(startPoint, nw);
-						layers.get(0).add(nw);
-					}
+			for (int v = 0; v < n && start < 0; v++) {
+				if (layerIndices[v] < 0 && isRoot(graph, v)) {
+					start = v;
 				}
-				updateIndex(layers.get(0));
 			}
-			openedList.addAll(startPoints);
-			Node toUnfold = startPoints.get(0);
-
-			while (nodes.size() > 0) {
-				// while openedList isn't empty it searches for further nodes
-				// and
-				// adding them to the next layer
-				while (openedList.size() != 0) {
-					ArrayList<Node> unfolded = Unfold(toUnfold, openedList,
-							closedList);
-					if (unfolded.size() > 0) {
-						int level = map.get(toUnfold).layer + 1;
-						if (level < layers.size()) {
-							for (Node n : unfolded) {
-								if (!map.containsKey(n)) {
-									NodeWrapper nw = new NodeWrapper(n, level);
-									map.put(n, nw);
-									layers.get(level).add(nw);
-								}
-							}
-							updateIndex(layers.get(level));
-						} else {
-							ArrayList<Node> layer = new ArrayList<>();
-							layer.addAll(unfolded);
-							addLayer(layer, layers, map);
+			int[] queue = new int[n];
+			int head = 0;
+			int tail = 0;
+			int next = 0;
+			while (start >= 0) {
+				if (layerIndices[start] < 0) {
+					layerIndices[start] = 0;
+					order[count++] = start;
+				}
+				queue[tail++] = start;
+				// unfold the connected nodes
+				while (head < tail) {
+					int v = queue[head++];
+					int outgoing = graph.getOutgoingEdgeCount(v);
+					int degree = outgoing + graph.getIncomingEdgeCount(v);
+					for (int i = 0; i < degree; i++) {
+						int e = i < outgoing ? graph.getOutgoingEdge(v, i)
+								: graph.getIncomingEdge(v, i - outgoing);
+						int w = graph.getOpposite(e, v);
+						if (layerIndices[w] < 0) {
+							layerIndices[w] = layerIndices[v] + 1;
+							order[count++] = w;
+							queue[tail++] = w;
 						}
-						openedList.addAll(unfolded);
 					}
-					closedList.add(toUnfold);
-					openedList.remove(toUnfold);
-					nodes.remove(toUnfold);
-
-					if (openedList.size() != 0)
-						toUnfold = openedList.iterator().next();
 				}
-				if (nodes.size() > 0) {
-					final Node node = nodes.get(0);
-					openedList.add(node);
-					NodeWrapper nw = new NodeWrapper(node, 0);
-					map.put(node, nw);
-					layers.get(0).add(nw);
+				// continue with the next node that is not yet assigned
+				while (next < n && layerIndices[next] >= 0) {
+					next++;
 				}
+				start = next < n ? next : -1;
+			}
+
+			List<List<NodeWrapper>> layers = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				int v = order[i];
+				while (layers.size() <= layerIndices[v]) {
+					layers.add(new ArrayList<NodeWrapper>());
+				}
+				layers.get(layerIndices[v])
+						.add(new NodeWrapper(graph.getNode(v), layerIndices[v]));
+			}
+			for (List<NodeWrapper> layer : layers) {
+				updateIndex(layer);
 			}
 			return layers;
 		}
 	}
 
 	/**
+	 * A {@link LayerProvider} that assigns each node to the layer that
+	 * corresponds to the length of the longest path from a root to it (see
+	 * {@link Layering#longestPath(IndexedGraph)}). Cycles are broken by
+	 * reversing a {@link FeedbackArcSet}.
 	 * 
 	 * @author Rene Kuhlemann
-	 *
+	 * 
 	 */
 	public static class SimpleLayerProvider implements LayerProvider {
 
 		private static final int MAX_LAYERS = 10;
-		private final List<List<NodeWrapper>> layers = new ArrayList<>(
-				MAX_LAYERS);
-		private final Map<Node, NodeWrapper> map = new IdentityHashMap<>();
 
-		private static List<Node> findRoots(List<Node> list) {
-			List<Node> roots = new ArrayList<>();
-			for (Node iter : list) { // no predecessors means: this is a
-										// root,
-										// add it to list
-				if (iter.getLocalPredecessorNodes().size() == 0)
-					roots.add(iter);
+		public List<List<NodeWrapper>> calculateLayers(List<Node> nodes) {
+			IndexedGraph graph = IndexedGraph.of(nodes);
+			IndexedGraph acyclicGraph = graph
+					.reverse(FeedbackArcSet.compute(graph));
+			int[] layerIndices = Layering.longestPath(acyclicGraph);
+			for (int layer : layerIndices) {
+				if (layer > MAX_LAYERS)
+					throw new RuntimeException(
+							"Graphical tree exceeds maximum depth of "
+									+ MAX_LAYERS
+									+ "! (Graph not directed? Cycles?)");
 			}
-			return (roots);
+			return createLayers(acyclicGraph, layerIndices);
 		}
 
+	}
+
+	/**
+	 * A {@link LayerProvider} that minimizes the total length of all edges
+	 * (and thereby the number of dummy nodes) using the network simplex method
+	 * (see {@link Layering#networkSimplex(IndexedGraph)}). Cycles are broken
+	 * by reversing a {@link FeedbackArcSet}.
+	 * <p>
+	 * As the number of simplex iterations grows with the size of the graph,
+	 * it is limited (by default to {@link #DEFAULT_MAX_ITERATIONS}); the
+	 * resulting layering is valid in any case, but not necessarily optimal
+	 * for larger graphs.
+	 * 
+	 * @author agent
+	 * 
+	 */
+	public static class NetworkSimplexLayerProvider implements LayerProvider {
+
 		/**
-		 * Wraps all {@link Node} objects into an internal presentation
-		 * {@link NodeWrapper} and inserts dummy wrappers into the layers
-		 * between an object and their predecessing nodes if necessary. Finally,
-		 * all nodes are chained over immediate adjacent layers down to their
-		 * predecessors. This is necessary to apply the final step of the
-		 * Sugiyama algorithm to refine the node position within a layer.
-		 * 
-		 * @param list
-		 *            : List of all {@link Node} objects within the current
-		 *            layer
+		 * The default maximum number of simplex iterations, which suffices
+		 * to find an optimal layering for most graphs of up to about a
+		 * thousand nodes.
 		 */
-		private void addLayer(List<Node> list) {
-			ArrayList<NodeWrapper> layer = new ArrayList<>(list.size());
-			for (Node node : list) {
-				// wrap each NodeLayout with the internal data object and
-				// provide a
-				// corresponding mapping
-				NodeWrapper nw = new NodeWrapper(node, layers.size());
-				map.put(node, nw);
-				layer.add(nw);
-				// insert dummy nodes if the adjacent layer does not contain the
-				// predecessor
-				for (Node node_predecessor : node.getLocalPredecessorNodes()) { // for
-																				// all
-																				// predecessors
-					NodeWrapper nw_predecessor = map.get(node_predecessor);
-					if (nw_predecessor != null) {
-						for (int level = nw_predecessor.layer
-								+ 1; level < nw.layer; level++) {
-							// add "virtual" wrappers (dummies) to the layers in
-							// between
-							// virtual wrappers are in fact parts of a double
-							// linked
-							// list
-							NodeWrapper nw_dummy = new NodeWrapper(level);
-							nw_dummy.addPredecessor(nw_predecessor);
-							nw_predecessor.addSuccessor(nw_dummy);
-							nw_predecessor = nw_dummy;
-							layers.get(level).add(nw_dummy);
-						}
-						nw.addPredecessor(nw_predecessor);
-						nw_predecessor.addSuccessor(nw);
-					}
-				}
-			}
-			layers.add(layer);
-			updateIndex(layer);
+		public static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+		private final int maxIterations;
+
+		/**
+		 * Creates a new {@link NetworkSimplexLayerProvider} that performs at
+		 * most {@link #DEFAULT_MAX_ITERATIONS} simplex iterations.
+		 */
+		public NetworkSimplexLayerProvider() {
+			this(DEFAULT_MAX_ITERATIONS);
 		}
 
-		private static void updateIndex(List<NodeWrapper> list) {
-			for (int index = 0; index < list.size(); index++)
-				list.get(index).index = index;
+		/**
+		 * Creates a new {@link NetworkSimplexLayerProvider} that performs at
+		 * most the given number of simplex iterations.
+		 * 
+		 * @param maxIterations
+		 *            The maximum number of simplex iterations, or
+		 *            {@link Integer#MAX_VALUE} to always compute an optimal
+		 *            layering.
+		 */
+		public NetworkSimplexLayerProvider(int maxIterations) {
+			this.maxIterations = maxIterations;
 		}
 
 		public List<List<NodeWrapper>> calculateLayers(List<Node> nodes) {
-			map.clear();
-
-			List<Node> predecessors = findRoots(nodes);
-			nodes.removeAll(predecessors); // nodes now contains only nodes that
-											// are
-											// no roots
-			addLayer(predecessors);
-			for (int level = 1; nodes.isEmpty() == false; level++) {
-				if (level > MAX_LAYERS)
-					throw new RuntimeException(
-							"Graphical tree exceeds maximum depth of "
-									+ MAX_LAYERS
-									+ "! (Graph not directed? Cycles?)");
-				List<Node> layer = new ArrayList<>();
-				for (Node item : nodes) {
-					if (predecessors
-							.containsAll(item.getLocalPredecessorNodes()))
-						layer.add(item);
+			IndexedGraph graph = IndexedGraph.of(nodes);
+			IndexedGraph acyclicGraph = graph
+					.reverse(FeedbackArcSet.compute(graph));
+			return createLayers(acyclicGraph,
+					Layering.networkSimplex(acyclicGraph, maxIterations));
+		}
+
+	}
+
+	/**
+	 * Wraps all {@link Node}s into {@link NodeWrapper}s on their assigned
+	 * layers (in the order of the nodes), and inserts dummy wrappers into the
+	 * layers between each node and its predecessors. Finally, all nodes are
+	 * chained over immediate adjacent layers down to their predecessors. This
+	 * is necessary to apply the final step of the Sugiyama algorithm to
+	 * refine the node position within a layer.
+	 * 
+	 * @param acyclicGraph
+	 *            The {@link IndexedGraph}, in which all edges (besides
+	 *            self-loops) lead from a lower to a higher layer.
+	 * @param layerIndices
+	 *            The layer of each node.
+	 * @return The layers of {@link NodeWrapper}s.
+	 */
+	private static List<List<NodeWrapper>> createLayers(
+			IndexedGraph acyclicGraph, int[] layerIndices) {
+		int n = acyclicGraph.getNodeCount();
+		List<List<NodeWrapper>> layers = new ArrayList<>();
+		List<List<Integer>> nodesByLayer = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			while (nodesByLayer.size() <= layerIndices[v]) {
+				nodesByLayer.add(new ArrayList<Integer>());
+				layers.add(new ArrayList<NodeWrapper>());
+			}
+			nodesByLayer.get(layerIndices[v]).add(v);
+		}
+		NodeWrapper[] wrappers = new NodeWrapper[n];
+		// the node that was last chained to a predecessor, used to skip
+		// parallel edges
+		int[] lastSuccessors = new int[n];
+		Arrays.fill(lastSuccessors, -1);
+		for (int l = 0; l < nodesByLayer.size(); l++) {
+			for (int v : nodesByLayer.get(l)) {
+				NodeWrapper nw = new NodeWrapper(acyclicGraph.getNode(v), l);
+				wrappers[v] = nw;
+				layers.get(l).add(nw);
+				// insert dummy nodes if the adjacent layer does not contain the
+				// predecessor
+				for (int i = 0; i < acyclicGraph.getIncomingEdgeCount(v); i++) {
+					int u = acyclicGraph
+							.getSource(acyclicGraph.getIncomingEdge(v, i));
+					if (u == v || lastSuccessors[u] == v) {
+						continue;
+					}
+					lastSuccessors[u] = v;
+					NodeWrapper nw_predecessor = wrappers[u];
+					for (int level = nw_predecessor.layer
+							+ 1; level < nw.layer; level++) {
+						// add "virtual" wrappers (dummies) to the layers in
+						// between; virtual wrappers are in fact parts of a
+						// double linked list
+						NodeWrapper nw_dummy = new NodeWrapper(level);
+						nw_dummy.addPredecessor(nw_predecessor);
+						nw_predecessor.addSuccessor(nw_dummy);
+						nw_predecessor = nw_dummy;
+						layers.get(level).add(nw_dummy);
+					}
+					nw.addPredecessor(nw_predecessor);
+					nw_predecessor.addSuccessor(nw);
 				}
-				if (layer.size() == 0)
-					layer.add(nodes.get(0));
-				nodes.removeAll(layer);
-				predecessors.addAll(layer);
-				addLayer(layer);
 			}
-
-			return layers;
 		}
+		for (List<NodeWrapper> layer : layers) {
+			updateIndex(layer);
+		}
+		return layers;
+	}
 
+	private static void updateIndex(List<NodeWrapper> list) {
+		for (int index = 0; index < list.size(); index++)
+			list.get(index).index = index;
 	}
 
 	private List<List<NodeWrapper>> layers = new ArrayList<>();
@@ -1235,6 +1588,9 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private LayerProvider layerProvider;
 	private CrossingReducer crossingReducer;
+	private CoordinateAssignment coordinateAssignment = CoordinateAssignment.GRID;
+	private double nodeSpacing = 10;
+	private double layerSpacing = 40;
 
 	/**
 	 * Constructs a tree-like, layered layout of a directed graph.
@@ -1345,6 +1701,77 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		this(Direction.VERTICAL, null, null, null);
 	}
 
+	/**
+	 * Returns the {@link CoordinateAssignment} that is used to position the
+	 * nodes within their layers.
+	 * 
+	 * @return The {@link CoordinateAssignment} of this
+	 *         {@link SugiyamaLayoutAlgorithm}.
+	 */
+	public CoordinateAssignment getCoordinateAssignment() {
+		return coordinateAssignment;
+	}
+
+	/**
+	 * Sets the {@link CoordinateAssignment} that is used to position the nodes
+	 * within their layers.
+	 * 
+	 * @param coordinateAssignment
+	 *            The {@link CoordinateAssignment} to use (default is
+	 *            {@link CoordinateAssignment#GRID}).
+	 */
+	public void setCoordinateAssignment(
+			CoordinateAssignment coordinateAssignment) {
+		if (coordinateAssignment == null) {
+			throw new IllegalArgumentException(
+					"Coordinate assignment may not be null.");
+		}
+		this.coordinateAssignment = coordinateAssignment;
+	}
+
+	/**
+	 * Returns the minimum gap between adjacent layers, which is used by the
+	 * {@link CoordinateAssignment#BRANDES_KOEPF} coordinate assignment.
+	 * 
+	 * @return The gap between adjacent layers.
+	 */
+	public double getLayerSpacing() {
+		return layerSpacing;
+	}
+
+	/**
+	 * Sets the gap between adjacent layers, which is used by the
+	 * {@link CoordinateAssignment#BRANDES_KOEPF} coordinate assignment.
+	 * 
+	 * @param layerSpacing
+	 *            The gap between adjacent layers (default is <code>40</code>).
+	 */
+	public void setLayerSpacing(double layerSpacing) {
+		this.layerSpacing = layerSpacing;
+	}
+
+	/**
+	 * Returns the minimum gap between adjacent nodes of a layer, which is used
+	 * by the {@link CoordinateAssignment#BRANDES_KOEPF} coordinate assignment.
+	 * 
+	 * @return The minimum gap between adjacent nodes of a layer.
+	 */
+	public double getNodeSpacing() {
+		return nodeSpacing;
+	}
+
+	/**
+	 * Sets the minimum gap between adjacent nodes of a layer, which is used by
+	 * the {@link CoordinateAssignment#BRANDES_KOEPF} coordinate assignment.
+	 * 
+	 * @param nodeSpacing
+	 *            The minimum gap between adjacent nodes of a layer (default
+	 *            is <code>10</code>).
+	 */
+	public void setNodeSpacing(double nodeSpacing) {
+		this.nodeSpacing = nodeSpacing;
+	}
+
 	public void setLayoutContext(LayoutContext context) {
 		this.context = context;
 	}
@@ -1354,16 +1781,15 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void applyLayout(boolean clean) {
-		if (!clean)
+		if (!clean && !context.hasChanges())
 			return;
 		layers.clear();
 		map.clear();
 
-		ArrayList<Node> nodes = new ArrayList<>();
-		ArrayList<Node> nodes2 = new ArrayList<>();
-		for (Node node : context.getNodes()) {
-			nodes.add(node);
-			nodes2.add(node);
+		LayoutView view = context.getLayoutView();
+		ArrayList<Node> nodes = new ArrayList<>(view.getNodeCount());
+		for (int i = 0; i < view.getNodeCount(); i++) {
+			nodes.add(view.getNode(i));
 		}
 		layers = layerProvider.calculateLayers(nodes);
 		crossingReducer.crossReduction(layers);
@@ -1379,24 +1805,79 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	private void calculatePositions() {
+		if (coordinateAssignment == CoordinateAssignment.BRANDES_KOEPF) {
+			calculateCompactPositions();
+			return;
+		}
 		Rectangle boundary = LayoutProperties.getBounds(context.getGraph());
 		if (dimension != null)
 			boundary = new Rectangle(0, 0, dimension.getWidth(),
 					dimension.getHeight());
 		double dx = boundary.getWidth() / layers.size();
 		double dy = boundary.getHeight() / (last + 1);
+		LayoutView view = context.getLayoutView();
 		if (direction == Direction.HORIZONTAL)
-			for (Node node : context.getNodes()) {
-				NodeWrapper nw = map.get(node);
-				LayoutProperties.setLocation(node, new Point(
-						(nw.layer + 0.5d) * dx, (nw.index + 0.5d) * dy));
+			for (int i = 0; i < view.getNodeCount(); i++) {
+				NodeWrapper nw = map.get(view.getNode(i));
+				view.setLocation(i, (nw.layer + 0.5d) * dx,
+						(nw.index + 0.5d) * dy);
 			}
 		else
-			for (Node node : context.getNodes()) {
-				NodeWrapper nw = map.get(node);
-				LayoutProperties.setLocation(node, new Point(
-						(nw.index + 0.5d) * dx, (nw.layer + 0.5d) * dy));
+			for (int i = 0; i < view.getNodeCount(); i++) {
+				NodeWrapper nw = map.get(view.getNode(i));
+				view.setLocation(i, (nw.index + 0.5d) * dx,
+						(nw.layer + 0.5d) * dy);
 			}
 	}
 
+	/**
+	 * Positions the nodes using a {@link BrandesKoepfPlacement} within their
+	 * layers, and spaces the layers according to the sizes of their nodes.
+	 */
+	private void calculateCompactPositions() {
+		boolean horizontal = direction == Direction.HORIZONTAL;
+		LayoutView view = context.getLayoutView();
+		double[] widths = view.getWidth();
+		double[] heights = view.getHeight();
+		double[][] breadths = new double[layers.size()][];
+		double[] depths = new double[layers.size()];
+		for (int l = 0; l < layers.size(); l++) {
+			List<NodeWrapper> layer = layers.get(l);
+			breadths[l] = new double[layer.size()];
+			for (int i = 0; i < layer.size(); i++) {
+				Node node = layer.get(i).node;
+				if (node != null) {
+					int n = view.indexOf(node);
+					breadths[l][i] = horizontal ? heights[n] : widths[n];
+					depths[l] = Math.max(depths[l],
+							horizontal ? widths[n] : heights[n]);
+				}
+			}
+		}
+		double[][] coordinates = new BrandesKoepfPlacement()
+				.computeCoordinates(layers, breadths, nodeSpacing);
+
+		Rectangle boundary = LayoutProperties.getBounds(context.getGraph());
+		double x0 = boundary == null ? 0 : boundary.getX();
+		double y0 = boundary == null ? 0 : boundary.getY();
+		double depth = horizontal ? x0 : y0;
+		for (int l = 0; l < layers.size(); l++) {
+			List<NodeWrapper> layer = layers.get(l);
+			double center = depth + depths[l] / 2;
+			for (int i = 0; i < layer.size(); i++) {
+				Node node = layer.get(i).node;
+				if (node == null) {
+					continue;
+				}
+				if (horizontal) {
+					view.setLocation(view.indexOf(node), center,
+							y0 + coordinates[l][i]);
+				} else {
+					view.setLocation(view.indexOf(node),
+							x0 + coordinates[l][i], center);
+				}
+			}
+			depth += depths[l] + layerSpacing;
+		}
+	}
 }
\ No newline at end of file
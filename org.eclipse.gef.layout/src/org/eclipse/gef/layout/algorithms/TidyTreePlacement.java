@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * The {@link TidyTreePlacement} computes a tidy drawing of a rooted, ordered
+ * tree following Buchheim, Jünger, Leipert: "Improving Walker's Algorithm to
+ * Run in Linear Time" (http://dx.doi.org/10.1007/3-540-36151-0_32). Subtrees
+ * are placed as close to each other as their contours permit, parents are
+ * centered above their children, and smaller subtrees between larger ones
+ * are spaced out evenly. Nodes may have different extents along their layer.
+ * <p>
+ * The nodes have to be numbered in breadth-first order (with the root having
+ * index <code>0</code>), so that the children of each node form a contiguous
+ * range of indices, each node is preceded by its parent, and the tree can be
+ * traversed without recursion. The running time is linear in the number of
+ * nodes.
+ *
+ * @author agent
+ *
+ */
+class TidyTreePlacement {
+
+	private final int[] parents;
+	private final int[] childOffsets;
+	private final double[] breadths;
+	private final double spacing;
+
+	private final double[] prelim;
+	private final double[] mod;
+	private final double[] shift;
+	private final double[] change;
+	private final int[] thread;
+	private final int[] ancestor;
+
+	/**
+	 * Creates a new {@link TidyTreePlacement} for the given tree.
+	 *
+	 * @param parents
+	 *            The index of the parent of each node, <code>-1</code> for the
+	 *            root.
+	 * @param childOffsets
+	 *            The children of node <code>i</code> are the nodes with
+	 *            indices from <code>childOffsets[i]</code> (inclusive) to
+	 *            <code>childOffsets[i + 1]</code> (exclusive).
+	 * @param breadths
+	 *            The extent of each node along its layer.
+	 * @param spacing
+	 *            The minimum gap between adjacent nodes of a layer.
+	 */
+	TidyTreePlacement(int[] parents, int[] childOffsets, double[] breadths,
+			double spacing) {
+		this.parents = parents;
+		this.childOffsets = childOffsets;
+		this.breadths = breadths;
+		this.spacing = spacing;
+		int n = parents.length;
+		prelim = new double[n];
+		mod = new double[n];
+		shift = new double[n];
+		change = new double[n];
+		thread = new int[n];
+		ancestor = new int[n];
+	}
+
+	/**
+	 * Computes the coordinates of the nodes along their layers.
+	 *
+	 * @return The center coordinate of each node. The smallest left border of
+	 *         all nodes is <code>0</code>.
+	 */
+	double[] computeCoordinates() {
+		int n = parents.length;
+		double[] coordinates = new double[n];
+		if (n == 0) {
+			return coordinates;
+		}
+		Arrays.fill(thread, -1);
+		for (int v = 0; v < n; v++) {
+			ancestor[v] = v;
+		}
+
+		// first walk in post-order, visiting the children from left to right,
+		// so that the left siblings of a node are placed and apportioned
+		// before it
+		int[] defaultAncestors = new int[n];
+		int[] nextChild = new int[n];
+		for (int v = 0; v < n; v++) {
+			defaultAncestors[v] = childOffsets[v];
+			nextChild[v] = childOffsets[v];
+		}
+		int[] stack = new int[n];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int v = stack[top - 1];
+			if (nextChild[v] < childOffsets[v + 1]) {
+				stack[top++] = nextChild[v]++;
+				continue;
+			}
+			top--;
+			firstWalk(v);
+			int parent = parents[v];
+			if (parent >= 0) {
+				defaultAncestors[parent] = apportion(v,
+						defaultAncestors[parent]);
+			}
+		}
+
+		// second walk (top-down), accumulating the modifiers
+		double[] modSums = new double[n];
+		double minLeft = Double.POSITIVE_INFINITY;
+		for (int v = 0; v < n; v++) {
+			double m = parents[v] < 0 ? 0 : modSums[parents[v]];
+			coordinates[v] = prelim[v] + m;
+			modSums[v] = m + mod[v];
+			minLeft = Math.min(minLeft, coordinates[v] - breadths[v] / 2);
+		}
+		for (int v = 0; v < n; v++) {
+			coordinates[v] -= minLeft;
+		}
+		return coordinates;
+	}
+
+	private void firstWalk(int v) {
+		int leftSibling = getLeftSibling(v);
+		if (isLeaf(v)) {
+			prelim[v] = leftSibling < 0 ? 0
+					: prelim[leftSibling] + distance(leftSibling, v);
+			return;
+		}
+		int first = childOffsets[v];
+		int last = childOffsets[v + 1] - 1;
+		// the children have already been apportioned
+		executeShifts(v);
+		double midpoint = (prelim[first] + prelim[last]) / 2;
+		if (leftSibling < 0) {
+			prelim[v] = midpoint;
+		} else {
+			prelim[v] = prelim[leftSibling] + distance(leftSibling, v);
+			mod[v] = prelim[v] - midpoint;
+		}
+	}
+
+	private int apportion(int v, int defaultAncestor) {
+		int w = getLeftSibling(v);
+		if (w < 0) {
+			return defaultAncestor;
+		}
+		// inner and outer contours on the right (p) and left (m) side
+		int vip = v;
+		int vop = v;
+		int vim = w;
+		int vom = childOffsets[parents[v]];
+		double sip = mod[vip];
+		double sop = mod[vop];
+		double sim = mod[vim];
+		double som = mod[vom];
+		while (nextRight(vim) >= 0 && nextLeft(vip) >= 0) {
+			vim = nextRight(vim);
+			vip = nextLeft(vip);
+			vom = nextLeft(vom);
+			vop = nextRight(vop);
+			ancestor[vop] = v;
+			double delta = (prelim[vim] + sim) - (prelim[vip] + sip)
+					+ distance(vim, vip);
+			if (delta > 0) {
+				moveSubtree(getAncestor(vim, v, defaultAncestor), v, delta);
+				sip += delta;
+				sop += delta;
+			}
+			sim += mod[vim];
+			sip += mod[vip];
+			som += mod[vom];
+			sop += mod[vop];
+		}
+		if (nextRight(vim) >= 0 && nextRight(vop) < 0) {
+			thread[vop] = nextRight(vim);
+			mod[vop] += sim - sop;
+		}
+		if (nextLeft(vip) >= 0 && nextLeft(vom) < 0) {
+			thread[vom] = nextLeft(vip);
+			mod[vom] += sip - som;
+			defaultAncestor = v;
+		}
+		return defaultAncestor;
+	}
+
+	private double distance(int left, int right) {
+		return (breadths[left] + breadths[right]) / 2 + spacing;
+	}
+
+	private void executeShifts(int v) {
+		double currentShift = 0;
+		double currentChange = 0;
+		for (int w = childOffsets[v + 1] - 1; w >= childOffsets[v]; w--) {
+			prelim[w] += currentShift;
+			mod[w] += currentShift;
+			currentChange += change[w];
+			currentShift += shift[w] + currentChange;
+		}
+	}
+
+	private int getAncestor(int vim, int v, int defaultAncestor) {
+		return parents[ancestor[vim]] == parents[v] ? ancestor[vim]
+				: defaultAncestor;
+	}
+
+	private int getLeftSibling(int v) {
+		int parent = parents[v];
+		return parent < 0 || v == childOffsets[parent] ? -1 : v - 1;
+	}
+
+	private boolean isLeaf(int v) {
+		return childOffsets[v] == childOffsets[v + 1];
+	}
+
+	private void moveSubtree(int wm, int wp, double delta) {
+		// siblings are numbered consecutively
+		int subtrees = wp - wm;
+		change[wp] -= delta / subtrees;
+		shift[wp] += delta;
+		change[wm] += delta / subtrees;
+		prelim[wp] += delta;
+		mod[wp] += delta;
+	}
+
+	private int nextLeft(int v) {
+		return isLeaf(v) ? thread[v] : childOffsets[v];
+	}
+
+	private int nextRight(int v) {
+		return isLeaf(v) ? thread[v] : childOffsets[v + 1] - 1;
+	}
+
+}
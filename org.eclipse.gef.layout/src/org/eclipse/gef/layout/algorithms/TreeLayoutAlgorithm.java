@@ -14,15 +14,17 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.eclipse.gef.geometry.planar.Dimension;
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
-import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutView;
 import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
 
 /**
@@ -37,29 +39,56 @@ import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
  * @author Miles Parker
  * @author mwienand
  */
-public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
+public class TreeLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
+
+	/**
+	 * Specifies how the nodes are positioned within their layers by the
+	 * {@link TreeLayoutAlgorithm}.
+	 */
+	public enum Placement {
+		/**
+		 * Each subtree gets a share of the layout bounds that is proportional
+		 * to its number of leaves, ignoring the sizes of the nodes. The layout
+		 * is scaled to the layout bounds.
+		 */
+		LEAF_COUNT,
+
+		/**
+		 * Nodes are placed compactly (respecting their sizes) using the
+		 * linear-time variant of Walker's tidy tree algorithm by Buchheim,
+		 * Jünger, and Leipert, which centers parents above their children and
+		 * places subtrees as close to each other as their contours permit.
+		 * Layers are spaced according to the sizes of their nodes. The layout
+		 * starts at the top-left corner of the layout bounds and is not
+		 * scaled.
+		 */
+		TIDY
+	}
 
 	/**
 	 * Tree direction constant for which root is placed at the top and branches
-	 * spread downwards
+	 * spread downwards (equal to {@link LayoutProperties#DIRECTION_TOP_DOWN})
 	 */
 	public final static int TOP_DOWN = 1;
 
 	/**
 	 * Tree direction constant for which root is placed at the bottom and
-	 * branches spread upwards
+	 * branches spread upwards (equal to
+	 * {@link LayoutProperties#DIRECTION_BOTTOM_UP})
 	 */
 	public final static int BOTTOM_UP = 2;
 
 	/**
 	 * Tree direction constant for which root is placed at the left and branches
-	 * spread to the right
+	 * spread to the right (equal to
+	 * {@link LayoutProperties#DIRECTION_LEFT_RIGHT})
 	 */
 	public final static int LEFT_RIGHT = 3;
 
 	/**
 	 * Tree direction constant for which root is placed at the right and
-	 * branches spread to the left
+	 * branches spread to the left (equal to
+	 * {@link LayoutProperties#DIRECTION_RIGHT_LEFT})
 	 */
 	public final static int RIGHT_LEFT = 4;
 
@@ -77,6 +106,10 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private Dimension nodeSpace;
 
+	private Placement placement = Placement.LEAF_COUNT;
+	private double nodeSpacing = 10;
+	private double layerSpacing = 40;
+
 	/**
 	 * Create a default Tree Layout.
 	 */
@@ -149,6 +182,76 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 					"Invalid direction: " + direction);
 	}
 
+	/**
+	 * Returns the minimum gap between adjacent layers, which is used by the
+	 * {@link Placement#TIDY} placement.
+	 * 
+	 * @return The gap between adjacent layers.
+	 */
+	public double getLayerSpacing() {
+		return layerSpacing;
+	}
+
+	/**
+	 * Returns the minimum gap between adjacent nodes of a layer, which is used
+	 * by the {@link Placement#TIDY} placement.
+	 * 
+	 * @return The minimum gap between adjacent nodes of a layer.
+	 */
+	public double getNodeSpacing() {
+		return nodeSpacing;
+	}
+
+	/**
+	 * Returns the {@link Placement} that is used to position the nodes within
+	 * their layers.
+	 * 
+	 * @return The {@link Placement} of this {@link TreeLayoutAlgorithm}.
+	 */
+	public Placement getPlacement() {
+		return placement;
+	}
+
+	/**
+	 * Sets the gap between adjacent layers, which is used by the
+	 * {@link Placement#TIDY} placement.
+	 * 
+	 * @param layerSpacing
+	 *            The gap between adjacent layers (default is <code>40</code>).
+	 */
+	public void setLayerSpacing(double layerSpacing) {
+		this.layerSpacing = layerSpacing;
+	}
+
+	/**
+	 * Sets the minimum gap between adjacent nodes of a layer, which is used by
+	 * the {@link Placement#TIDY} placement.
+	 * 
+	 * @param nodeSpacing
+	 *            The minimum gap between adjacent nodes of a layer (default
+	 *            is <code>10</code>).
+	 */
+	public void setNodeSpacing(double nodeSpacing) {
+		this.nodeSpacing = nodeSpacing;
+	}
+
+	/**
+	 * Sets the {@link Placement} that is used to position the nodes within
+	 * their layers. The {@link Placement#TIDY} placement uses the sizes of the
+	 * nodes, and neither resizes the nodes nor respects the
+	 * {@link #setNodeSpace(Dimension) node space}.
+	 * 
+	 * @param placement
+	 *            The {@link Placement} to use (default is
+	 *            {@link Placement#LEAF_COUNT}).
+	 */
+	public void setPlacement(Placement placement) {
+		if (placement == null) {
+			throw new IllegalArgumentException("Placement may not be null.");
+		}
+		this.placement = placement;
+	}
+
 	/**
 	 * 
 	 * @return true if this algorithm is set to resize elements
@@ -169,9 +272,17 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 
 	public void setLayoutContext(LayoutContext context) {
 		if (treeObserver != null) {
+			if (treeObserver.isObserving(context)) {
+				// the observer keeps the tree structure up-to-date
+				return;
+			}
 			treeObserver.stop();
+			treeObserver = null;
 		}
 		this.context = context;
+		// the new observer computes the tree of the current graph, so that
+		// subsequent non-clean passes do not depend on the previous context
+		// (e.g. the snapshot of an asynchronous pass)
 		if (context != null) {
 			treeObserver = new TreeLayoutObserver(context, null);
 		}
@@ -182,19 +293,26 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void applyLayout(boolean clean) {
-		if (!clean)
+		if (!clean && !context.hasChanges()) {
+			// the tree structure (maintained by the observer), the sizes, and
+			// the bounds did not change, so the previous layout is still valid
 			return;
+		}
 
-		internalApplyLayout();
+		internalApplyLayout(clean);
+		if (placement == Placement.TIDY) {
+			// the tidy placement is not scaled
+			return;
+		}
 
-		Node[] entities = context.getNodes();
+		LayoutView view = context.getLayoutView();
 		if (resize) {
-			AlgorithmHelper.maximizeSizes(entities);
+			AlgorithmHelper.maximizeSizes(view);
 		}
-		scaleEntities(entities);
+		scaleEntities(view);
 	}
 
-	private void scaleEntities(Node[] entities) {
+	private void scaleEntities(LayoutView view) {
 		if (nodeSpace == null) {
 			Rectangle resizedBounds = new Rectangle(bounds);
 			int insets = 4;
@@ -202,25 +320,134 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 			resizedBounds.setY(resizedBounds.getY() + insets);
 			resizedBounds.setWidth(resizedBounds.getWidth() - 2 * insets);
 			resizedBounds.setHeight(resizedBounds.getHeight() - 2 * insets);
-			AlgorithmHelper.fitWithinBounds(entities, resizedBounds, resize);
+			AlgorithmHelper.fitWithinBounds(view, resizedBounds, resize);
 		}
 	}
 
+	/**
+	 * Returns the {@link TreeLayoutObserver} that maintains the tree structure
+	 * for the current {@link LayoutContext}.
+	 * 
+	 * @return The {@link TreeLayoutObserver}, or <code>null</code> if no
+	 *         {@link LayoutContext} is set.
+	 */
+	TreeLayoutObserver getTreeObserver() {
+		return treeObserver;
+	}
+
 	/**
 	 * Performs a layout pass for the tree without scaling the entities to
-	 * maximum size / use the whole bounds.
+	 * maximum size / use the whole bounds. A clean pass rebuilds the tree
+	 * structure, otherwise the (incrementally updated) tree structure of the
+	 * observer is used.
 	 */
-	void internalApplyLayout() {
+	void internalApplyLayout(boolean clean) {
+		if (clean) {
+			treeObserver.recomputeTree();
+		}
 		TreeNode superRoot = treeObserver.getSuperRoot();
 		bounds = LayoutProperties.getBounds(context.getGraph());
+		LayoutView view = context.getLayoutView();
+		if (placement == Placement.TIDY) {
+			computeTidyPositions(view, superRoot);
+			return;
+		}
 		updateLeafAndLayerSizes();
+		// traverse the trees iteratively, so that deep trees do not exhaust
+		// the stack
+		LinkedList<TreeNode> treeNodes = new LinkedList<>();
+		LinkedList<Integer> relativePositions = new LinkedList<>();
 		int leafCountSoFar = 0;
 		for (Iterator<TreeNode> iterator = superRoot.getChildren()
 				.iterator(); iterator.hasNext();) {
 			TreeNode rootInfo = iterator.next();
-			computePositionRecursively(rootInfo, leafCountSoFar);
+			treeNodes.addLast(rootInfo);
+			relativePositions.addLast(leafCountSoFar);
 			leafCountSoFar = leafCountSoFar + rootInfo.numOfLeaves;
 		}
+		while (!treeNodes.isEmpty()) {
+			TreeNode entityInfo = treeNodes.removeFirst();
+			int relativePosition = relativePositions.removeFirst();
+			computePosition(view, entityInfo, relativePosition);
+			for (Iterator<TreeNode> iterator = entityInfo.children
+					.iterator(); iterator.hasNext();) {
+				TreeNode childInfo = iterator.next();
+				treeNodes.addLast(childInfo);
+				relativePositions.addLast(relativePosition);
+				relativePosition += childInfo.numOfLeaves;
+			}
+		}
+	}
+
+	/**
+	 * Computes the positions of the {@link Placement#TIDY} placement, treating
+	 * the super root as a virtual root (of zero size) of all trees.
+	 */
+	private void computeTidyPositions(LayoutView view, TreeNode superRoot) {
+		// number the tree nodes in breadth-first order, so that children are
+		// numbered consecutively and follow their parents
+		List<TreeNode> treeNodes = new ArrayList<>();
+		treeNodes.add(superRoot);
+		for (int i = 0; i < treeNodes.size(); i++) {
+			treeNodes.addAll(treeNodes.get(i).children);
+		}
+		int n = treeNodes.size();
+		int[] parents = new int[n];
+		int[] childOffsets = new int[n + 1];
+		int[] depths = new int[n];
+		int[] nodes = new int[n];
+		parents[0] = -1;
+		depths[0] = -1;
+		int next = 1;
+		for (int i = 0; i < n; i++) {
+			childOffsets[i] = next;
+			for (int c = 0; c < treeNodes.get(i).children.size(); c++) {
+				parents[next] = i;
+				depths[next++] = depths[i] + 1;
+			}
+			nodes[i] = i == 0 ? -1 : view.indexOf(treeNodes.get(i).getNode());
+		}
+		childOffsets[n] = next;
+
+		// determine the extents of the nodes and layers
+		boolean vertical = direction == TOP_DOWN || direction == BOTTOM_UP;
+		double[] breadths = new double[n];
+		double[] layerDepths = new double[n == 1 ? 0 : depths[n - 1] + 1];
+		for (int i = 1; i < n; i++) {
+			if (nodes[i] >= 0) {
+				double width = view.getWidth()[nodes[i]];
+				double height = view.getHeight()[nodes[i]];
+				breadths[i] = vertical ? width : height;
+				layerDepths[depths[i]] = Math.max(layerDepths[depths[i]],
+						vertical ? height : width);
+			}
+		}
+		double[] layerCenters = new double[layerDepths.length];
+		double totalDepth = 0;
+		for (int d = 0; d < layerDepths.length; d++) {
+			layerCenters[d] = totalDepth + layerDepths[d] / 2;
+			totalDepth += layerDepths[d] + layerSpacing;
+		}
+		totalDepth -= layerSpacing;
+
+		double[] coordinates = new TidyTreePlacement(parents, childOffsets,
+				breadths, nodeSpacing).computeCoordinates();
+		double x0 = bounds == null ? 0 : bounds.getX();
+		double y0 = bounds == null ? 0 : bounds.getY();
+		for (int i = 1; i < n; i++) {
+			if (nodes[i] < 0) {
+				continue;
+			}
+			double depth = layerCenters[depths[i]];
+			if (direction == BOTTOM_UP || direction == RIGHT_LEFT) {
+				depth = totalDepth - depth;
+			}
+			if (vertical) {
+				view.setLocation(nodes[i], x0 + coordinates[i], y0 + depth);
+			} else {
+				view.setLocation(nodes[i], x0 + depth, y0 + coordinates[i]);
+			}
+		}
 	}
 
 	private void updateLeafAndLayerSizes() {
@@ -245,41 +472,35 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	/**
-	 * Computes positions recursively until the leaf nodes are reached.
+	 * Computes the position of the given node, whose subtree starts at the
+	 * given leaf position.
 	 */
-	private void computePositionRecursively(TreeNode entityInfo,
+	private void computePosition(LayoutView view, TreeNode entityInfo,
 			int relativePosition) {
 		double breadthPosition = relativePosition
 				+ entityInfo.numOfLeaves / 2.0;
 		double depthPosition = (entityInfo.depth + 0.5);
+		int node = view.indexOf(entityInfo.getNode());
 
 		switch (direction) {
 		case TOP_DOWN:
-			LayoutProperties.setLocation(entityInfo.getNode(), new Point(
-					breadthPosition * leafSize, depthPosition * layerSize));
+			view.setLocation(node, breadthPosition * leafSize,
+					depthPosition * layerSize);
 			break;
 		case BOTTOM_UP:
-			LayoutProperties.setLocation(entityInfo.getNode(),
-					new Point(breadthPosition * leafSize,
-							bounds.getHeight() - depthPosition * layerSize));
+			view.setLocation(node, breadthPosition * leafSize,
+					bounds.getHeight() - depthPosition * layerSize);
 			break;
 		case LEFT_RIGHT:
-			LayoutProperties.setLocation(entityInfo.getNode(), new Point(
-					depthPosition * layerSize, breadthPosition * leafSize));
+			view.setLocation(node, depthPosition * layerSize,
+					breadthPosition * leafSize);
 			break;
 		case RIGHT_LEFT:
-			LayoutProperties.setLocation(entityInfo.getNode(),
-					new Point(bounds.getWidth() - depthPosition * layerSize,
-							breadthPosition * leafSize));
+			view.setLocation(node,
+					bounds.getWidth() - depthPosition * layerSize,
+					breadthPosition * leafSize);
 			break;
 		}
-
-		for (Iterator<TreeNode> iterator = entityInfo.children
-				.iterator(); iterator.hasNext();) {
-			TreeNode childInfo = iterator.next();
-			computePositionRecursively(childInfo, relativePosition);
-			relativePosition += childInfo.numOfLeaves;
-		}
 	}
 
 	@Override
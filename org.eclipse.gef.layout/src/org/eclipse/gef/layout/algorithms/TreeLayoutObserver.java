@@ -19,17 +19,29 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Set;
 
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.LayoutContext;
 
+import javafx.collections.ListChangeListener;
+import javafx.collections.WeakListChangeListener;
+
 /**
  * A helper class for layout algorithms that are based on tree structure. It
  * keeps track of changes in observed layout context and stores current
  * information about the tree structure - children of each node and several
  * other parameters.
+ * <p>
+ * The observer listens to the nodes and edges of the {@link Graph} of the
+ * observed {@link LayoutContext}. When nodes or edges are added or removed,
+ * only the affected subtrees are patched, i.e. the depths of a moved subtree
+ * and the heights, numbers of leaves, and numbers of descendants of the
+ * ancestors of a changed node are updated, and the registered
+ * {@link TreeListener}s are notified. The {@link TreeNode#getOrder() orders}
+ * of the nodes are only assigned by {@link #recomputeTree()}.
  * 
  * @author Ian Bull
  * @author Mateusz Matela
@@ -246,30 +258,45 @@ public class TreeLayoutObserver {
 		/**
 		 * Performs a DFS on the tree structure and calculates all parameters of
 		 * its nodes. Should be called on
-		 * {@link TreeLayoutObserver#getSuperRoot() Super Root}. Uses recurrence
-		 * to go through all the nodes.
+		 * {@link TreeLayoutObserver#getSuperRoot() Super Root}. Traverses the
+		 * nodes iteratively, so that deep trees do not exhaust the stack.
 		 */
 		protected void precomputeTree() {
-			if (children.isEmpty()) {
-				height = 0;
-				numOfLeaves = 1;
-				numOfDescendants = 0;
-			} else {
-				height = 0;
-				numOfLeaves = 0;
-				numOfDescendants = 0;
-				for (ListIterator<TreeNode> iterator = children
-						.listIterator(); iterator.hasNext();) {
-					TreeNode child = iterator.next();
-					child.depth = this.depth + 1;
-					child.order = this.order + this.numOfLeaves;
-					child.precomputeTree();
-					child.firstChild = (this.numOfLeaves == 0);
-					child.lastChild = !iterator.hasNext();
-
-					this.height = Math.max(this.height, child.height + 1);
-					this.numOfLeaves += child.numOfLeaves;
-					this.numOfDescendants += child.numOfDescendants + 1;
+			// collect the subtree in pre-order, computing depths and sibling
+			// flags on the way down
+			List<TreeNode> subtree = new ArrayList<>();
+			LinkedList<TreeNode> stack = new LinkedList<>();
+			stack.push(this);
+			while (!stack.isEmpty()) {
+				TreeNode current = stack.pop();
+				subtree.add(current);
+				for (int i = current.children.size() - 1; i >= 0; i--) {
+					TreeNode child = current.children.get(i);
+					child.depth = current.depth + 1;
+					child.firstChild = i == 0;
+					child.lastChild = i == current.children.size() - 1;
+					stack.push(child);
+				}
+			}
+			// compute the aggregated values on the way up
+			for (int i = subtree.size() - 1; i >= 0; i--) {
+				TreeNode current = subtree.get(i);
+				current.height = 0;
+				current.numOfLeaves = current.children.isEmpty() ? 1 : 0;
+				current.numOfDescendants = 0;
+				for (TreeNode child : current.children) {
+					current.height = Math.max(current.height,
+							child.height + 1);
+					current.numOfLeaves += child.numOfLeaves;
+					current.numOfDescendants += child.numOfDescendants + 1;
+				}
+			}
+			// compute the leaf orders on the way down again
+			for (TreeNode current : subtree) {
+				int order = current.order;
+				for (TreeNode child : current.children) {
+					child.order = order;
+					order += child.numOfLeaves;
 				}
 			}
 		}
@@ -395,6 +422,55 @@ public class TreeLayoutObserver {
 	private TreeNode superRoot;
 	private ArrayList<TreeListener> treeListeners = new ArrayList<>();
 
+	/**
+	 * The {@link Graph} whose nodes and edges are observed, or
+	 * <code>null</code> if this observer was stopped.
+	 */
+	private Graph graph;
+
+	private ListChangeListener<Node> nodesChangeListener = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> change) {
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					continue;
+				}
+				for (Node node : change.getRemoved()) {
+					removeNode(node);
+				}
+				for (Node node : change.getAddedSubList()) {
+					addNode(node);
+				}
+			}
+		}
+	};
+
+	private ListChangeListener<Edge> edgesChangeListener = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					continue;
+				}
+				for (Edge edge : change.getRemoved()) {
+					removeEdge(edge);
+				}
+				for (Edge edge : change.getAddedSubList()) {
+					addEdge(edge);
+				}
+			}
+		}
+	};
+
+	// the listeners are registered weakly, so that an observer that is
+	// abandoned without being stopped (e.g. together with its layout
+	// algorithm) can still be garbage collected
+	private WeakListChangeListener<Node> weakNodesChangeListener = new WeakListChangeListener<>(
+			nodesChangeListener);
+
+	private WeakListChangeListener<Edge> weakEdgesChangeListener = new WeakListChangeListener<>(
+			edgesChangeListener);
+
 	/**
 	 * Constructs a new {@link TreeLayoutObserver} for observing the given
 	 * {@link LayoutContext}. The given {@link TreeNodeFactory} will be used for
@@ -414,6 +490,9 @@ public class TreeLayoutObserver {
 			this.factory = nodeFactory;
 		this.context = context;
 		recomputeTree();
+		graph = context.getGraph();
+		graph.getNodes().addListener(weakNodesChangeListener);
+		graph.getEdges().addListener(weakEdgesChangeListener);
 	}
 
 	/**
@@ -421,6 +500,7 @@ public class TreeLayoutObserver {
 	 * as creating new <code>TreeLayoutObserver</code>).
 	 */
 	public void recomputeTree() {
+		layoutToTree.clear();
 		superRoot = factory.createTreeNode(null, this);
 		layoutToTree.put(null, superRoot);
 		createTrees(context.getNodes());
@@ -432,6 +512,27 @@ public class TreeLayoutObserver {
 	 * updated only when {@link #recomputeTree()} is called.
 	 */
 	public void stop() {
+		if (graph != null) {
+			graph.getNodes().removeListener(weakNodesChangeListener);
+			graph.getEdges().removeListener(weakEdgesChangeListener);
+			graph = null;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if this observer keeps track of the
+	 * {@link Graph} that is currently laid out by the given
+	 * {@link LayoutContext}, so that it can be reused for it.
+	 * 
+	 * @param context
+	 *            The {@link LayoutContext} in question.
+	 * @return <code>true</code> if this observer was created for the given
+	 *         {@link LayoutContext}, was not stopped, and the graph of the
+	 *         context was not exchanged, otherwise <code>false</code>.
+	 */
+	boolean isObserving(LayoutContext context) {
+		return context != null && this.context == context && graph != null
+				&& graph == context.getGraph();
 	}
 
 	/**
@@ -482,7 +583,166 @@ public class TreeLayoutObserver {
 	 *            listener to remove
 	 */
 	public void removeTreeListener(TreeListener listener) {
-		treeListeners.add(listener);
+		treeListeners.remove(listener);
+	}
+
+	private void addNode(Node node) {
+		if (layoutToTree.containsKey(node)) {
+			return;
+		}
+		TreeNode treeNode = getTreeNode(node);
+		// a new node is a leaf, until its successors are moved to it
+		treeNode.numOfLeaves = 1;
+		treeNode.findNewParent();
+		updateStructure(treeNode, null);
+		for (TreeListener listener : new ArrayList<>(treeListeners)) {
+			listener.nodeAdded(treeNode);
+		}
+		// the new node may be a better parent for its successors
+		for (Node successor : node.getAllSuccessorNodes()) {
+			TreeNode successorNode = layoutToTree.get(successor);
+			if (successorNode != null) {
+				moveIfBetterParent(successorNode, treeNode);
+			}
+		}
+	}
+
+	private void removeNode(Node node) {
+		TreeNode treeNode = layoutToTree.remove(node);
+		if (treeNode == null || treeNode == superRoot) {
+			return;
+		}
+		TreeNode previousParent = treeNode.parent;
+		previousParent.children.remove(treeNode);
+		updateStructure(null, previousParent);
+		for (TreeNode child : new ArrayList<>(treeNode.children)) {
+			child.findNewParent();
+			updateStructure(child, null);
+			fireParentChanged(child, treeNode);
+		}
+		for (TreeListener listener : new ArrayList<>(treeListeners)) {
+			listener.nodeRemoved(treeNode);
+		}
+	}
+
+	private void addEdge(Edge edge) {
+		TreeNode source = layoutToTree.get(edge.getSource());
+		TreeNode target = layoutToTree.get(edge.getTarget());
+		if (source != null && target != null) {
+			moveIfBetterParent(target, source);
+		}
+	}
+
+	private void removeEdge(Edge edge) {
+		TreeNode source = layoutToTree.get(edge.getSource());
+		TreeNode target = layoutToTree.get(edge.getTarget());
+		if (source == null || target == null || target.parent != source
+				|| target.node.getAllPredecessorNodes()
+						.contains(source.node)) {
+			// the tree edge is not affected (or still backed by another edge)
+			return;
+		}
+		TreeNode previousParent = target.parent;
+		target.findNewParent();
+		updateStructure(target, previousParent);
+		fireParentChanged(target, previousParent);
+	}
+
+	/**
+	 * Moves the given node (together with its subtree) to the given potential
+	 * parent, if the latter is shallower than the current parent (or the
+	 * current parent is the {@link #getSuperRoot() Super Root}) and is not a
+	 * descendant of the node.
+	 */
+	private void moveIfBetterParent(TreeNode treeNode,
+			TreeNode potentialParent) {
+		TreeNode previousParent = treeNode.parent;
+		if (potentialParent == treeNode || potentialParent == previousParent) {
+			return;
+		}
+		boolean better = previousParent == superRoot
+				? !treeNode.isAncestorOf(potentialParent)
+				: potentialParent.depth < previousParent.depth;
+		if (!better) {
+			return;
+		}
+		previousParent.children.remove(treeNode);
+		potentialParent.addChild(treeNode);
+		updateStructure(treeNode, previousParent);
+		fireParentChanged(treeNode, previousParent);
+	}
+
+	private void fireParentChanged(TreeNode treeNode,
+			TreeNode previousParent) {
+		if (treeNode.parent == previousParent) {
+			return;
+		}
+		for (TreeListener listener : new ArrayList<>(treeListeners)) {
+			listener.parentChanged(treeNode, previousParent);
+		}
+	}
+
+	/**
+	 * Updates the parameters of the tree nodes that are affected when the
+	 * given node was (re-)attached to its current parent, after it was
+	 * detached from the given previous parent. The depths of the subtree of
+	 * the moved node are updated, as well as the sibling flags of the
+	 * children of both parents, and the aggregated parameters of their
+	 * ancestors.
+	 * 
+	 * @param moved
+	 *            The node that was (re-)attached, may be <code>null</code>.
+	 * @param previousParent
+	 *            The parent the node was detached from, may be
+	 *            <code>null</code>.
+	 */
+	private void updateStructure(TreeNode moved, TreeNode previousParent) {
+		if (moved != null) {
+			LinkedList<TreeNode> stack = new LinkedList<>();
+			stack.push(moved);
+			while (!stack.isEmpty()) {
+				TreeNode current = stack.pop();
+				current.depth = current.parent.depth + 1;
+				for (TreeNode child : current.children) {
+					stack.push(child);
+				}
+			}
+			updateSiblingFlags(moved.parent);
+			updateAncestors(moved.parent);
+		}
+		if (previousParent != null) {
+			updateSiblingFlags(previousParent);
+			updateAncestors(previousParent);
+		}
+	}
+
+	private void updateSiblingFlags(TreeNode parent) {
+		for (int i = 0; i < parent.children.size(); i++) {
+			TreeNode child = parent.children.get(i);
+			child.firstChild = i == 0;
+			child.lastChild = i == parent.children.size() - 1;
+		}
+	}
+
+	private void updateAncestors(TreeNode treeNode) {
+		for (TreeNode current = treeNode; current != null; current = current.parent) {
+			int height = 0;
+			int numOfLeaves = current.children.isEmpty() ? 1 : 0;
+			int numOfDescendants = 0;
+			for (TreeNode child : current.children) {
+				height = Math.max(height, child.height + 1);
+				numOfLeaves += child.numOfLeaves;
+				numOfDescendants += child.numOfDescendants + 1;
+			}
+			if (current.height == height && current.numOfLeaves == numOfLeaves
+					&& current.numOfDescendants == numOfDescendants) {
+				// the ancestors are not affected either
+				return;
+			}
+			current.height = height;
+			current.numOfLeaves = numOfLeaves;
+			current.numOfDescendants = numOfDescendants;
+		}
 	}
 
 	/**
@@ -493,9 +753,10 @@ public class TreeLayoutObserver {
 	 */
 	private void createTrees(Node[] nodes) {
 		HashSet<Node> alreadyVisited = new HashSet<>();
+		HashSet<Node> alreadyWalked = new HashSet<>();
 		LinkedList<Object[]> nodesToAdd = new LinkedList<>();
 		for (int i = 0; i < nodes.length; i++) {
-			Node root = findRoot(nodes[i], alreadyVisited);
+			Node root = findRoot(nodes[i], alreadyVisited, alreadyWalked);
 			if (root != null) {
 				alreadyVisited.add(root);
 				nodesToAdd.addLast(new Object[] { root, superRoot });
@@ -534,12 +795,29 @@ public class TreeLayoutObserver {
 	 * @param alreadyVisited
 	 *            set of nodes that can't lay on path to the root (if one does,
 	 *            method stops and returns null).
+	 * @param alreadyWalked
+	 *            set of nodes that were passed by previous searches, whose
+	 *            root has thus already been found (if one is reached, method
+	 *            stops and returns null). The nodes passed by this search are
+	 *            added to it, so that the overall effort is linear.
 	 * @return
 	 */
-	private Node findRoot(Node nodeLayout, Set<Node> alreadyVisited) {
+	private Node findRoot(Node nodeLayout, Set<Node> alreadyVisited,
+			Set<Node> alreadyWalked) {
 		HashSet<Node> alreadyVisitedRoot = new HashSet<>();
+		try {
+			return findRoot(nodeLayout, alreadyVisited, alreadyWalked,
+					alreadyVisitedRoot);
+		} finally {
+			alreadyWalked.addAll(alreadyVisitedRoot);
+		}
+	}
+
+	private Node findRoot(Node nodeLayout, Set<Node> alreadyVisited,
+			Set<Node> alreadyWalked, Set<Node> alreadyVisitedRoot) {
 		while (true) {
-			if (alreadyVisited.contains(nodeLayout))
+			if (alreadyVisited.contains(nodeLayout)
+					|| alreadyWalked.contains(nodeLayout))
 				return null;
 			if (alreadyVisitedRoot.contains(nodeLayout))
 				return nodeLayout;
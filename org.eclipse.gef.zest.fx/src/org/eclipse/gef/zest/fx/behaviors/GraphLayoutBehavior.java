@@ -12,10 +12,16 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutFilter;
 import org.eclipse.gef.layout.LayoutContext;
@@ -30,6 +36,7 @@ import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.geometry.Bounds;
@@ -46,6 +53,28 @@ import javafx.scene.Parent;
 // only applicable for GraphPart (see #getHost())
 public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
+	/**
+	 * The {@link Executor} used to perform layout passes in the background.
+	 * Layout passes are executed one after the other on a single daemon
+	 * thread.
+	 */
+	private static ExecutorService layoutExecutor;
+
+	/**
+	 * The {@link Executor} used to transfer the results of background layout
+	 * passes on the JavaFX application thread.
+	 */
+	private static final Executor FX_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			if (Platform.isFxApplicationThread()) {
+				command.run();
+			} else {
+				Platform.runLater(command);
+			}
+		}
+	};
+
 	private Runnable postLayout = new Runnable() {
 		@Override
 		public void run() {
@@ -83,9 +112,33 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	 * configured for the layout context.
 	 *
 	 * @param clean
-	 *            Whether to fully re-compute the layout or not.
+	 *            Whether to fully re-compute the layout or not. Algorithms
+	 *            that are not {@link IIncrementalLayoutAlgorithm}s always
+	 *            fully re-compute the layout.
 	 */
 	public void applyLayout(boolean clean) {
+		LayoutContext layoutContext = updateLayoutContext();
+		// apply layout (if no algorithm is set, will be a no-op)
+		layoutContext.applyLayout(clean || !isIncremental(layoutContext));
+	}
+
+	/**
+	 * Returns whether the layout algorithm of the given {@link LayoutContext}
+	 * supports non-clean layout passes. Static layout algorithms may ignore
+	 * non-clean passes, so that they have to be requested to perform clean
+	 * passes instead.
+	 */
+	private static boolean isIncremental(LayoutContext layoutContext) {
+		return layoutContext.getLayoutAlgorithm() instanceof IIncrementalLayoutAlgorithm;
+	}
+
+	/**
+	 * Updates the layout algorithm and graph of the {@link LayoutContext} from
+	 * the {@link #getHost() host's} content.
+	 *
+	 * @return The updated {@link LayoutContext}.
+	 */
+	private LayoutContext updateLayoutContext() {
 		Graph graph = getHost().getContent();
 
 		// update layout algorithm (apply layout will depend on it)
@@ -105,9 +158,24 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		if (layoutContext.getGraph() != graph) {
 			layoutContext.setGraph(graph);
 		}
+		return layoutContext;
+	}
 
+	/**
+	 * Performs one layout pass in the background using the static layout
+	 * algorithm that is configured for the layout context. The results are
+	 * transferred on the JavaFX application thread. A pending background
+	 * layout pass is cancelled when another layout pass is requested.
+	 *
+	 * @param clean
+	 *            Whether to fully re-compute the layout or not. Algorithms
+	 *            that are not {@link IIncrementalLayoutAlgorithm}s always
+	 *            fully re-compute the layout.
+	 */
+	public void applyLayoutAsync(boolean clean) {
+		LayoutContext layoutContext = updateLayoutContext();
 		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
+		layoutContext.applyLayoutAsync(clean || !isIncremental(layoutContext), getLayoutExecutor(), FX_EXECUTOR);
 	}
 
 	/**
@@ -152,21 +220,26 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 			nestingVisual.layoutBoundsProperty().addListener(nestingVisualLayoutBoundsChangeListener);
 		}
 
-		// add layout filter for hidden/layout irrelevant elements
+		// add layout filter for hidden/layout irrelevant elements; its results
+		// are cached by the context until the hidden nodes or the attributes
+		// change, so that the end points of an edge are looked up from the
+		// context rather than evaluated again
 		final HidingModel hidingModel = getHost().getRoot().getViewer().getAdapter(HidingModel.class);
 		if (hidingModel != null) {
-			getLayoutContext().addLayoutFilter(new ILayoutFilter() {
+			final LayoutContext filteredContext = getLayoutContext();
+			filteredContext.addLayoutFilter(new ILayoutFilter() {
 				@Override
 				public boolean isLayoutIrrelevant(Edge edge) {
 					return Boolean.TRUE.equals(ZestProperties.getLayoutIrrelevant(edge))
-							|| isLayoutIrrelevant(edge.getSource()) || isLayoutIrrelevant(edge.getTarget());
+							|| filteredContext.isLayoutIrrelevant(edge.getSource())
+							|| filteredContext.isLayoutIrrelevant(edge.getTarget());
 				}
 
 				@Override
 				public boolean isLayoutIrrelevant(org.eclipse.gef.graph.Node node) {
 					return Boolean.TRUE.equals(ZestProperties.getLayoutIrrelevant(node)) || hidingModel.isHidden(node);
 				}
-			});
+			}, hidingModel.hiddenProperty());
 		}
 
 		// initially apply layout if no viewport state is saved for this graph,
@@ -218,6 +291,28 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return ((FXViewer) getHost().getRoot().getViewer()).getCanvas();
 	}
 
+	/**
+	 * Returns the {@link Executor} that is used to perform layout passes in the
+	 * background.
+	 *
+	 * @return The {@link Executor} used for background layout passes.
+	 */
+	protected Executor getLayoutExecutor() {
+		synchronized (GraphLayoutBehavior.class) {
+			if (layoutExecutor == null) {
+				layoutExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "GEF Zest Layout");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+			return layoutExecutor;
+		}
+	}
+
 	@Override
 	protected LayoutContext getLayoutContext() {
 		return getHost().getAdapter(LayoutContext.class);
@@ -239,23 +334,37 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void postLayout() {
-		// execute post-layout of all nodes and edges
-		for (IVisualPart<Node, ? extends Node> child : getHost().getChildrenUnmodifiable()) {
-			AbstractLayoutBehavior childLayoutBehavior = child.getAdapter(AbstractLayoutBehavior.class);
-			if (childLayoutBehavior != null) {
-				childLayoutBehavior.postLayout();
+		// execute post-layout of all nodes and edges within a single attributes
+		// update, so that listeners are only notified about actual changes
+		Graph graph = getHost().getContent();
+		graph.beginAttributesUpdate();
+		try {
+			for (IVisualPart<Node, ? extends Node> child : getHost().getChildrenUnmodifiable()) {
+				AbstractLayoutBehavior childLayoutBehavior = child.getAdapter(AbstractLayoutBehavior.class);
+				if (childLayoutBehavior != null) {
+					childLayoutBehavior.postLayout();
+				}
 			}
+		} finally {
+			graph.endAttributesUpdate();
 		}
 	}
 
 	@Override
 	protected void preLayout() {
-		// execute pre-layout of all nodes and edges
-		for (IVisualPart<Node, ? extends Node> child : getHost().getChildrenUnmodifiable()) {
-			AbstractLayoutBehavior childLayoutBehavior = child.getAdapter(AbstractLayoutBehavior.class);
-			if (childLayoutBehavior != null) {
-				childLayoutBehavior.preLayout();
+		// execute pre-layout of all nodes and edges within a single attributes
+		// update, so that listeners are only notified about actual changes
+		Graph graph = getHost().getContent();
+		graph.beginAttributesUpdate();
+		try {
+			for (IVisualPart<Node, ? extends Node> child : getHost().getChildrenUnmodifiable()) {
+				AbstractLayoutBehavior childLayoutBehavior = child.getAdapter(AbstractLayoutBehavior.class);
+				if (childLayoutBehavior != null) {
+					childLayoutBehavior.preLayout();
+				}
 			}
+		} finally {
+			graph.endAttributesUpdate();
 		}
 	}
 
@@ -267,7 +376,9 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		Rectangle oldBounds = LayoutProperties.getBounds(getHost().getContent());
 		if (oldBounds != newBounds && (oldBounds == null || !oldBounds.equals(newBounds))) {
 			LayoutProperties.setBounds(getHost().getContent(), newBounds);
-			applyLayout(true);
+			// layout incrementally in the background, so that resizing does
+			// not block the UI
+			applyLayoutAsync(false);
 		}
 	}
 }
@@ -71,7 +71,11 @@ public abstract class AbstractLabelPart extends AbstractFXContentPart<Group>
 	private MapChangeListener<String, Object> elementAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			refreshVisual();
+			// changes within an attributes update are refreshed by the
+			// GraphPart once the update is finished
+			if (!GraphPart.isUpdatingAttributes(getContent().getKey())) {
+				refreshVisual();
+			}
 		}
 	};
 
@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.gef.fx.anchors.IAnchor;
 import org.eclipse.gef.fx.nodes.Connection;
@@ -78,16 +79,11 @@ public class EdgePart extends AbstractFXContentPart<Connection>
 
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			if (ZestProperties.ROUTER__E.equals(change.getKey())) {
-				// if the router changed, re-attach the visual (so we attach to
-				// a different anchor)
-				for (Entry<IVisualPart<Node, ? extends Node>, String> anchoragesByRole : getAnchoragesUnmodifiable()
-						.entries()) {
-					detachFromAnchorageVisual(anchoragesByRole.getKey(), anchoragesByRole.getValue());
-					attachToAnchorageVisual(anchoragesByRole.getKey(), anchoragesByRole.getValue());
-				}
+			// changes within an attributes update are refreshed by the
+			// GraphPart once the update is finished
+			if (!GraphPart.isUpdatingAttributes(getContent())) {
+				refreshAttributes(Collections.singleton(change.getKey()));
 			}
-			refreshVisual();
 		}
 
 	};
@@ -393,6 +389,26 @@ public class EdgePart extends AbstractFXContentPart<Connection>
 		return getVisual().getCurve();
 	}
 
+	/**
+	 * Refreshes this {@link EdgePart} after the given attributes of its
+	 * {@link #getContent() content} have changed. If the router changed, the
+	 * visual is re-attached to its anchorages (so that it attaches to a
+	 * different anchor).
+	 *
+	 * @param keys
+	 *            The keys of the changed attributes.
+	 */
+	protected void refreshAttributes(Set<String> keys) {
+		if (keys.contains(ZestProperties.ROUTER__E)) {
+			for (Entry<IVisualPart<Node, ? extends Node>, String> anchoragesByRole : getAnchoragesUnmodifiable()
+					.entries()) {
+				detachFromAnchorageVisual(anchoragesByRole.getKey(), anchoragesByRole.getValue());
+				attachToAnchorageVisual(anchoragesByRole.getKey(), anchoragesByRole.getValue());
+			}
+		}
+		refreshVisual();
+	}
+
 	private void refreshCurve() {
 		Node curve = ZestProperties.getCurve(getContent());
 		if (getVisual().getCurve() != curve && curve != null) {
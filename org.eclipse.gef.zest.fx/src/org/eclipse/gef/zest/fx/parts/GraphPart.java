@@ -14,11 +14,17 @@ package org.eclipse.gef.zest.fx.parts;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.graph.AttributesUpdateListener;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.mvc.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.parts.AbstractFXContentPart;
+import org.eclipse.gef.mvc.parts.IContentPart;
 import org.eclipse.gef.mvc.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.ZestProperties;
 import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
@@ -36,7 +42,8 @@ import javafx.util.Pair;
 /**
  * The {@link GraphPart} is the controller for a {@link Graph} content object.
  * It starts a layout pass after activation and when its content children
- * change.
+ * change. After an {@link Graph#beginAttributesUpdate() attributes update} of
+ * its content, it refreshes the parts of all changed elements once.
  *
  * @author mwienand
  *
@@ -44,6 +51,29 @@ import javafx.util.Pair;
 // TODO: most of the listeners should probably be moved to GraphLayoutBehavior
 public class GraphPart extends AbstractFXContentPart<Group> {
 
+	/**
+	 * Returns whether the given {@link org.eclipse.gef.graph.Node} or
+	 * {@link Edge} is changed within an attributes update of its {@link Graph},
+	 * in which case the parts are refreshed by the {@link GraphPart} when the
+	 * update is finished.
+	 */
+	static boolean isUpdatingAttributes(IAttributeStore element) {
+		Graph graph = null;
+		if (element instanceof org.eclipse.gef.graph.Node) {
+			graph = ((org.eclipse.gef.graph.Node) element).getGraph();
+		} else if (element instanceof Edge) {
+			graph = ((Edge) element).getGraph();
+		}
+		return graph != null && graph.isUpdatingAttributes();
+	}
+
+	private AttributesUpdateListener graphAttributesUpdateObserver = new AttributesUpdateListener() {
+		@Override
+		public void onUpdated(Graph graph, Map<IAttributeStore, Set<String>> changes) {
+			refreshAttributes(changes);
+		}
+	};
+
 	private ListChangeListener<Object> graphChildrenObserver = new ListChangeListener<Object>() {
 
 		@SuppressWarnings("serial")
@@ -53,10 +83,11 @@ public class GraphPart extends AbstractFXContentPart<Group> {
 			getAdapter(new TypeToken<ContentBehavior<Node>>() {
 			}).synchronizeContentChildren(doGetContentChildren());
 
-			// apply layout
+			// apply layout incrementally, so that only the changed nodes and
+			// edges are (re-)positioned
 			GraphLayoutBehavior layoutBehavior = getAdapter(GraphLayoutBehavior.class);
 			if (layoutBehavior != null) {
-				layoutBehavior.applyLayout(true);
+				layoutBehavior.applyLayout(false);
 			}
 		}
 	};
@@ -79,10 +110,12 @@ public class GraphPart extends AbstractFXContentPart<Group> {
 
 		getContent().getNodes().addListener(graphChildrenObserver);
 		getContent().getEdges().addListener(graphChildrenObserver);
+		getContent().addAttributesUpdateListener(graphAttributesUpdateObserver);
 	}
 
 	@Override
 	protected void doDeactivate() {
+		getContent().removeAttributesUpdateListener(graphAttributesUpdateObserver);
 		getContent().getNodes().removeListener(graphChildrenObserver);
 		getContent().getEdges().removeListener(graphChildrenObserver);
 
@@ -152,6 +185,36 @@ public class GraphPart extends AbstractFXContentPart<Group> {
 		return (Graph) super.getContent();
 	}
 
+	/**
+	 * Refreshes the parts of the given changed elements (i.e. the
+	 * {@link NodePart}s and {@link EdgePart}s, as well as the labels attached
+	 * to them) once after an attributes update of the {@link #getContent()
+	 * content} (including nested {@link Graph}s) has been finished.
+	 *
+	 * @param changes
+	 *            The keys of the changed attributes, mapped to the elements
+	 *            whose attributes were changed.
+	 */
+	protected void refreshAttributes(Map<IAttributeStore, Set<String>> changes) {
+		Map<Object, IContentPart<Node, ? extends Node>> contentPartMap = getViewer().getContentPartMap();
+		for (Entry<IAttributeStore, Set<String>> change : changes.entrySet()) {
+			IContentPart<Node, ? extends Node> part = contentPartMap.get(change.getKey());
+			if (part instanceof EdgePart) {
+				((EdgePart) part).refreshAttributes(change.getValue());
+			} else if (part instanceof NodePart) {
+				part.refreshVisual();
+			} else {
+				continue;
+			}
+			for (IVisualPart<Node, ? extends Node> anchored : part.getAnchoredsUnmodifiable().elementSet()) {
+				if (anchored instanceof AbstractLabelPart
+						&& ((AbstractLabelPart) anchored).getContent().getKey() == change.getKey()) {
+					anchored.refreshVisual();
+				}
+			}
+		}
+	}
+
 	@Override
 	protected void removeChildVisual(IVisualPart<Node, ? extends Node> child, int index) {
 		getVisual().getChildren().remove(child.getVisual());
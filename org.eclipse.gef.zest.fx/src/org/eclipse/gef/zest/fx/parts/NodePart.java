@@ -172,7 +172,11 @@ public class NodePart extends AbstractFXContentPart<Group>
 	private MapChangeListener<String, Object> nodeAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
-			refreshVisual();
+			// changes within an attributes update are refreshed by the
+			// GraphPart once the update is finished
+			if (!GraphPart.isUpdatingAttributes(getContent())) {
+				refreshVisual();
+			}
 		}
 	};
 